@@ -38,7 +38,7 @@ public class UserAccountController {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
 
-        Long userId = principal.getUser().getId();
+        Long userId = principal.getUserId();
         return ResponseEntity.ok(userAccountService.getWallets(userId));
     }
 
@@ -64,7 +64,7 @@ public class UserAccountController {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
 
-        Long userId = principal.getUser().getId();
+        Long userId = principal.getUserId();
         Page<WalletTransactionResponse> response = userAccountService.getUserAccountTxs(
             userId,
             currency,
@@ -1,6 +1,7 @@
 package ru.maltsev.primemarketbackend.account.repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import jakarta.persistence.LockModeType;
@@ -19,10 +20,26 @@ public interface UserAccountRepository extends JpaRepository<UserAccount, Long>
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     Optional<UserAccount> findByUserIdAndCurrencyCodeIgnoreCase(Long userId, String currencyCode);
 
+    @Query("""
+        select ua.id
+        from UserAccount ua
+        where ua.user.id = :userId
+          and lower(ua.currencyCode) = lower(:currencyCode)
+        """)
+    Optional<Long> findIdByUserIdAndCurrencyCodeIgnoreCase(
+        @Param("userId") Long userId,
+        @Param("currencyCode") String currencyCode
+    );
+
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("select ua from UserAccount ua where ua.id = :userAccountId")
     Optional<UserAccount> findByIdForUpdate(@Param("userAccountId") Long userAccountId);
 
+    // Rows are locked in id order, which is the canonical order for taking several wallet locks at once.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select ua from UserAccount ua where ua.id in :userAccountIds order by ua.id")
+    List<UserAccount> findAllByIdInForUpdate(@Param("userAccountIds") Collection<Long> userAccountIds);
+
     @Modifying
     @Query("""
         update UserAccount ua
@@ -116,7 +116,7 @@ public class AuthService {
         if (!user.isActive()) {
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "User is inactive");
         }
-        String accessToken = jwtService.generateToken(new UserPrincipal(user));
+        String accessToken = jwtService.generateToken(principalOf(user));
         String rotatedRefreshToken = refreshTokenService.rotateToken(storedToken);
         return new AuthTokens(accessToken, rotatedRefreshToken);
     }
@@ -127,7 +127,7 @@ public class AuthService {
 
     public AuthTokens verifyEmail(String token) {
         User user = emailVerificationService.verify(token);
-        String accessToken = jwtService.generateToken(new UserPrincipal(user));
+        String accessToken = jwtService.generateToken(principalOf(user));
         String refreshToken = refreshTokenService.issueToken(user);
         return new AuthTokens(accessToken, refreshToken);
     }
@@ -136,6 +136,10 @@ public class AuthService {
         emailVerificationService.resend(email);
     }
 
+    private UserPrincipal principalOf(User user) {
+        return new UserPrincipal(userRepository.findWithRolesById(user.getId()).orElse(user));
+    }
+
     private String normalizeEmail(String email) {
         return requireNonBlank(email, "Email").trim().toLowerCase(Locale.ROOT);
     }
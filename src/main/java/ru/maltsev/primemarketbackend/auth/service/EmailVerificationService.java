@@ -24,6 +24,7 @@ import lombok.RequiredArgsConstructor;
 import ru.maltsev.primemarketbackend.auth.verification.EmailVerificationToken;
 import ru.maltsev.primemarketbackend.auth.verification.EmailVerificationTokenRepository;
 import ru.maltsev.primemarketbackend.config.EmailProperties;
+import ru.maltsev.primemarketbackend.security.user.PrincipalCache;
 import ru.maltsev.primemarketbackend.user.domain.User;
 import ru.maltsev.primemarketbackend.user.repository.UserRepository;
 
@@ -36,6 +37,7 @@ public class EmailVerificationService {
     private final UserRepository userRepository;
     private final JavaMailSender mailSender;
     private final EmailProperties emailProperties;
+    private final PrincipalCache principalCache;
     private final SecureRandom secureRandom = new SecureRandom();
 
     @Transactional
@@ -77,6 +79,7 @@ public class EmailVerificationService {
         if (!user.isActive()) {
             user.setActive(true);
             userRepository.save(user);
+            principalCache.evictAfterCommit(user.getEmail());
         }
         return user;
     }
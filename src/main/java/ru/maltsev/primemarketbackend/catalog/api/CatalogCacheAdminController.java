@@ -0,0 +1,31 @@
+package ru.maltsev.primemarketbackend.catalog.api;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import ru.maltsev.primemarketbackend.catalog.api.dto.CatalogCacheStatsResponse;
+import ru.maltsev.primemarketbackend.catalog.service.CatalogCache;
+import ru.maltsev.primemarketbackend.security.PermissionCodes;
+
+@RestController
+@RequestMapping({"/api/admin/catalog/cache", "/api/backoffice/catalog/cache"})
+@RequiredArgsConstructor
+@PreAuthorize("hasAuthority('" + PermissionCodes.CATALOG_MANAGE + "')")
+public class CatalogCacheAdminController {
+    private final CatalogCache catalogCache;
+
+    @GetMapping
+    public ResponseEntity<CatalogCacheStatsResponse> stats() {
+        return ResponseEntity.ok(catalogCache.stats());
+    }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<CatalogCacheStatsResponse> refresh() {
+        catalogCache.refresh();
+        return ResponseEntity.ok(catalogCache.stats());
+    }
+}
@@ -0,0 +1,18 @@
+package ru.maltsev.primemarketbackend.catalog.api.dto;
+
+import java.time.Instant;
+
+public record CatalogCacheStatsResponse(
+    Long version,
+    Instant loadedAt,
+    int games,
+    int categories,
+    int currencies,
+    long hits,
+    long misses,
+    long refreshes,
+    long refreshFailures,
+    long invalidations,
+    Long lastRefreshMillis
+) {
+}
@@ -0,0 +1,89 @@
+package ru.maltsev.primemarketbackend.catalog.service;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import ru.maltsev.primemarketbackend.catalog.api.dto.CatalogCacheStatsResponse;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CatalogCache {
+    private final CatalogSnapshotLoader catalogSnapshotLoader;
+
+    private final AtomicReference<CatalogSnapshot> current = new AtomicReference<>();
+    private final AtomicLong versions = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong refreshes = new AtomicLong();
+    private final AtomicLong refreshFailures = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+    private volatile Duration lastRefreshDuration;
+
+    public CatalogSnapshot snapshot() {
+        CatalogSnapshot snapshot = current.get();
+        if (snapshot != null) {
+            hits.incrementAndGet();
+            return snapshot;
+        }
+        misses.incrementAndGet();
+        return load(false);
+    }
+
+    public CatalogSnapshot refresh() {
+        return load(true);
+    }
+
+    public void invalidate() {
+        invalidations.incrementAndGet();
+        current.set(null);
+    }
+
+    public CatalogCacheStatsResponse stats() {
+        CatalogSnapshot snapshot = current.get();
+        return new CatalogCacheStatsResponse(
+            snapshot == null ? null : snapshot.version(),
+            snapshot == null ? null : snapshot.loadedAt(),
+            snapshot == null ? 0 : snapshot.gamesBySlug().size(),
+            snapshot == null ? 0 : snapshot.categoriesBySlug().size(),
+            snapshot == null ? 0 : snapshot.activeCurrencyCodes().size(),
+            hits.get(),
+            misses.get(),
+            refreshes.get(),
+            refreshFailures.get(),
+            invalidations.get(),
+            lastRefreshDuration == null ? null : lastRefreshDuration.toMillis()
+        );
+    }
+
+    private synchronized CatalogSnapshot load(boolean force) {
+        CatalogSnapshot existing = current.get();
+        if (!force && existing != null) {
+            return existing;
+        }
+
+        long startedAt = System.nanoTime();
+        CatalogSnapshot snapshot;
+        try {
+            snapshot = catalogSnapshotLoader.load(versions.incrementAndGet());
+        } catch (RuntimeException ex) {
+            refreshFailures.incrementAndGet();
+            throw ex;
+        }
+        lastRefreshDuration = Duration.ofNanos(System.nanoTime() - startedAt);
+        refreshes.incrementAndGet();
+        current.set(snapshot);
+        log.debug(
+            "Catalog snapshot v{} loaded in {} ms: {} games, {} categories, {} currencies",
+            snapshot.version(),
+            lastRefreshDuration.toMillis(),
+            snapshot.gamesBySlug().size(),
+            snapshot.categoriesBySlug().size(),
+            snapshot.activeCurrencyCodes().size()
+        );
+        return snapshot;
+    }
+}
@@ -0,0 +1,25 @@
+package ru.maltsev.primemarketbackend.catalog.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CatalogCacheScheduler {
+    private final CatalogCache catalogCache;
+
+    @Scheduled(
+        initialDelayString = "${app.catalog.refresh-interval:5m}",
+        fixedDelayString = "${app.catalog.refresh-interval:5m}"
+    )
+    public void refresh() {
+        try {
+            catalogCache.refresh();
+        } catch (RuntimeException ex) {
+            log.warn("Failed to refresh catalog snapshot", ex);
+        }
+    }
+}
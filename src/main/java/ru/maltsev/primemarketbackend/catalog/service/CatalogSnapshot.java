@@ -0,0 +1,60 @@
+package ru.maltsev.primemarketbackend.catalog.service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import ru.maltsev.primemarketbackend.category.api.dto.CategoryResponse;
+import ru.maltsev.primemarketbackend.currency.api.dto.CurrencyResponse;
+import ru.maltsev.primemarketbackend.game.api.dto.GameResponse;
+import ru.maltsev.primemarketbackend.offer.api.dto.OfferSchemaResponse;
+
+public record CatalogSnapshot(
+    long version,
+    Instant loadedAt,
+    List<GameResponse> activeGames,
+    Map<String, CatalogGame> gamesBySlug,
+    Map<String, CatalogCategory> categoriesBySlug,
+    List<CurrencyResponse> activeCurrencies,
+    Set<String> activeCurrencyCodes
+) {
+    public Optional<CatalogGame> findGame(String gameSlug) {
+        return Optional.ofNullable(gamesBySlug.get(normalize(gameSlug)));
+    }
+
+    public Optional<CatalogCategory> findCategory(String gameSlug, String categorySlug) {
+        return Optional.ofNullable(categoriesBySlug.get(categoryKey(gameSlug, categorySlug)));
+    }
+
+    public boolean isActiveCurrency(String currencyCode) {
+        return currencyCode != null && activeCurrencyCodes.contains(currencyCode.toUpperCase(Locale.ROOT));
+    }
+
+    static String normalize(String slug) {
+        return slug == null ? null : slug.toLowerCase(Locale.ROOT);
+    }
+
+    static String categoryKey(String gameSlug, String categorySlug) {
+        return normalize(gameSlug) + "/" + normalize(categorySlug);
+    }
+
+    public record CatalogGame(
+        Long id,
+        String slug,
+        String title,
+        List<CategoryResponse> activeCategories
+    ) {
+    }
+
+    public record CatalogCategory(
+        Long id,
+        Long gameId,
+        String gameSlug,
+        String slug,
+        String title,
+        OfferSchemaResponse offerSchema
+    ) {
+    }
+}
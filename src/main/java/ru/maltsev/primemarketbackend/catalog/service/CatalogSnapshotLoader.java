@@ -0,0 +1,184 @@
+package ru.maltsev.primemarketbackend.catalog.service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import ru.maltsev.primemarketbackend.attribute.api.dto.CategoryAttributeOptionResponse;
+import ru.maltsev.primemarketbackend.attribute.api.dto.CategoryAttributeResponse;
+import ru.maltsev.primemarketbackend.attribute.domain.CategoryAttribute;
+import ru.maltsev.primemarketbackend.attribute.repository.CategoryAttributeOptionRepository;
+import ru.maltsev.primemarketbackend.attribute.repository.CategoryAttributeRepository;
+import ru.maltsev.primemarketbackend.catalog.service.CatalogSnapshot.CatalogCategory;
+import ru.maltsev.primemarketbackend.catalog.service.CatalogSnapshot.CatalogGame;
+import ru.maltsev.primemarketbackend.category.api.dto.CategoryResponse;
+import ru.maltsev.primemarketbackend.category.domain.Category;
+import ru.maltsev.primemarketbackend.category.repository.CategoryRepository;
+import ru.maltsev.primemarketbackend.context.api.dto.ContextResponse;
+import ru.maltsev.primemarketbackend.context.api.dto.ContextValueResponse;
+import ru.maltsev.primemarketbackend.context.domain.CategoryContextDimension;
+import ru.maltsev.primemarketbackend.context.domain.ContextDimensionValue;
+import ru.maltsev.primemarketbackend.context.repository.CategoryContextDimensionRepository;
+import ru.maltsev.primemarketbackend.context.repository.ContextDimensionValueRepository;
+import ru.maltsev.primemarketbackend.currency.api.dto.CurrencyResponse;
+import ru.maltsev.primemarketbackend.currency.repository.CurrencyRepository;
+import ru.maltsev.primemarketbackend.delivery.repository.DeliveryMethodRepository;
+import ru.maltsev.primemarketbackend.game.api.dto.GameResponse;
+import ru.maltsev.primemarketbackend.game.domain.Game;
+import ru.maltsev.primemarketbackend.game.repository.GameRepository;
+import ru.maltsev.primemarketbackend.offer.api.dto.OfferSchemaDeliveryMethodResponse;
+import ru.maltsev.primemarketbackend.offer.api.dto.OfferSchemaResponse;
+import ru.maltsev.primemarketbackend.offer.api.dto.OfferSchemaTradeFieldResponse;
+import ru.maltsev.primemarketbackend.offer.service.TradeFieldDictionary;
+import ru.maltsev.primemarketbackend.tradefield.repository.CategoryTradeFieldConfigRepository;
+
+@Component
+@RequiredArgsConstructor
+public class CatalogSnapshotLoader {
+    private final GameRepository gameRepository;
+    private final CategoryRepository categoryRepository;
+    private final CategoryContextDimensionRepository categoryContextDimensionRepository;
+    private final ContextDimensionValueRepository contextDimensionValueRepository;
+    private final CategoryAttributeRepository categoryAttributeRepository;
+    private final CategoryAttributeOptionRepository categoryAttributeOptionRepository;
+    private final CategoryTradeFieldConfigRepository categoryTradeFieldConfigRepository;
+    private final DeliveryMethodRepository deliveryMethodRepository;
+    private final CurrencyRepository currencyRepository;
+
+    @Transactional(readOnly = true)
+    public CatalogSnapshot load(long version) {
+        List<Game> games = gameRepository.findAllByActiveTrueOrderBySortOrderAsc();
+        Map<String, CatalogGame> gamesBySlug = new HashMap<>();
+        Map<String, CatalogCategory> categoriesBySlug = new HashMap<>();
+
+        for (Game game : games) {
+            List<Category> categories = categoryRepository.findActiveByGameSlug(game.getSlug());
+            gamesBySlug.put(
+                CatalogSnapshot.normalize(game.getSlug()),
+                new CatalogGame(
+                    game.getId(),
+                    game.getSlug(),
+                    game.getTitle(),
+                    categories.stream().map(CategoryResponse::from).toList()
+                )
+            );
+            for (Category category : categories) {
+                categoriesBySlug.put(
+                    CatalogSnapshot.categoryKey(game.getSlug(), category.getSlug()),
+                    new CatalogCategory(
+                        category.getId(),
+                        game.getId(),
+                        game.getSlug(),
+                        category.getSlug(),
+                        category.getTitle(),
+                        loadOfferSchema(game.getSlug(), category.getSlug())
+                    )
+                );
+            }
+        }
+
+        List<CurrencyResponse> currencies = currencyRepository.findAllByActiveTrueOrderBySortOrderAscCodeAsc()
+            .stream()
+            .map(CurrencyResponse::from)
+            .toList();
+        Set<String> currencyCodes = currencies.stream()
+            .map(currency -> currency.code().toUpperCase(Locale.ROOT))
+            .collect(Collectors.toCollection(LinkedHashSet::new));
+
+        return new CatalogSnapshot(
+            version,
+            Instant.now(),
+            games.stream().map(GameResponse::from).toList(),
+            Map.copyOf(gamesBySlug),
+            Map.copyOf(categoriesBySlug),
+            currencies,
+            Set.copyOf(currencyCodes)
+        );
+    }
+
+    private OfferSchemaResponse loadOfferSchema(String gameSlug, String categorySlug) {
+        return new OfferSchemaResponse(
+            loadContexts(gameSlug, categorySlug),
+            loadAttributes(gameSlug, categorySlug),
+            loadTradeFields(gameSlug, categorySlug),
+            loadDeliveryMethods(gameSlug, categorySlug)
+        );
+    }
+
+    private List<ContextResponse> loadContexts(String gameSlug, String categorySlug) {
+        List<CategoryContextDimension> links = categoryContextDimensionRepository
+            .findActiveByGameAndCategorySlug(gameSlug, categorySlug);
+        if (links.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> dimensionIds = links.stream()
+            .map(link -> link.getContextDimension().getId())
+            .distinct()
+            .toList();
+
+        Map<Long, List<ContextValueResponse>> optionsByDimensionId = new HashMap<>();
+        for (ContextDimensionValue value : contextDimensionValueRepository.findActiveByDimensionIds(dimensionIds)) {
+            optionsByDimensionId
+                .computeIfAbsent(value.getContextDimension().getId(), key -> new ArrayList<>())
+                .add(ContextValueResponse.from(value));
+        }
+
+        return links.stream()
+            .map(link -> ContextResponse.from(
+                link,
+                List.copyOf(optionsByDimensionId.getOrDefault(link.getContextDimension().getId(), List.of()))
+            ))
+            .toList();
+    }
+
+    private List<CategoryAttributeResponse> loadAttributes(String gameSlug, String categorySlug) {
+        List<CategoryAttribute> attributes =
+            categoryAttributeRepository.findActiveByGameAndCategorySlug(gameSlug, categorySlug);
+        if (attributes.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> attributeIds = attributes.stream().map(CategoryAttribute::getId).toList();
+        Map<Long, List<CategoryAttributeOptionResponse>> optionsByAttributeId = categoryAttributeOptionRepository
+            .findActiveByAttributeIds(attributeIds)
+            .stream()
+            .collect(Collectors.groupingBy(
+                option -> option.getCategoryAttribute().getId(),
+                Collectors.mapping(CategoryAttributeOptionResponse::from, Collectors.toUnmodifiableList())
+            ));
+
+        return attributes.stream()
+            .map(attribute -> CategoryAttributeResponse.from(
+                attribute,
+                optionsByAttributeId.getOrDefault(attribute.getId(), List.of())
+            ))
+            .toList();
+    }
+
+    private List<OfferSchemaTradeFieldResponse> loadTradeFields(String gameSlug, String categorySlug) {
+        return categoryTradeFieldConfigRepository.findByGameAndCategorySlug(gameSlug, categorySlug)
+            .stream()
+            .map(config -> {
+                TradeFieldDictionary.TradeFieldMeta meta =
+                    TradeFieldDictionary.get(config.getFieldSlug(), config.isMultiselect());
+                return OfferSchemaTradeFieldResponse.from(config, meta.title(), meta.dataType());
+            })
+            .toList();
+    }
+
+    private List<OfferSchemaDeliveryMethodResponse> loadDeliveryMethods(String gameSlug, String categorySlug) {
+        return deliveryMethodRepository.findActiveByGameAndCategorySlug(gameSlug, categorySlug)
+            .stream()
+            .map(OfferSchemaDeliveryMethodResponse::from)
+            .toList();
+    }
+}
@@ -0,0 +1,12 @@
+package ru.maltsev.primemarketbackend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "app.access-log")
+public record AccessLogProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("8192") int bufferSize,
+    @DefaultValue("256") int drainBatchSize
+) {
+}
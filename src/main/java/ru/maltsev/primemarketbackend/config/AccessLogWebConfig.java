@@ -0,0 +1,18 @@
+package ru.maltsev.primemarketbackend.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import ru.maltsev.primemarketbackend.logging.AccessLogUserInterceptor;
+
+@Configuration
+@RequiredArgsConstructor
+public class AccessLogWebConfig implements WebMvcConfigurer {
+    private final AccessLogUserInterceptor accessLogUserInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(accessLogUserInterceptor);
+    }
+}
@@ -0,0 +1,14 @@
+package ru.maltsev.primemarketbackend.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "app.orders.funds-locks")
+public record FundsLockProperties(
+    @DefaultValue("true") boolean offerStripesEnabled,
+    @DefaultValue("1024") int stripes,
+    @DefaultValue("3") int deadlockMaxAttempts,
+    @DefaultValue("PT0.025S") Duration deadlockBackoff
+) {
+}
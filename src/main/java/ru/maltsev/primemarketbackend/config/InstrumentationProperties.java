@@ -0,0 +1,18 @@
+package ru.maltsev.primemarketbackend.config;
+
+import java.time.Duration;
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "app.instrumentation")
+public record InstrumentationProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("0.1") double sampleRate,
+    @DefaultValue("ru.maltsev.primemarketbackend") List<String> includePackages,
+    @DefaultValue List<String> includeAnnotations,
+    @DefaultValue("false") boolean dumpEnabled,
+    @DefaultValue("PT5M") Duration dumpInterval,
+    @DefaultValue("20") int topN
+) {
+}
@@ -0,0 +1,14 @@
+package ru.maltsev.primemarketbackend.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "app.ledger.group-commit")
+public record LedgerWriterProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("500") int batchSize,
+    @DefaultValue("20ms") Duration maxLinger,
+    @DefaultValue("1s") Duration pollInterval
+) {
+}
@@ -0,0 +1,13 @@
+package ru.maltsev.primemarketbackend.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "app.market.order-book")
+public record MarketOrderBookProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("false") boolean consistencyCheck,
+    @DefaultValue("PT1M") Duration refreshInterval
+) {
+}
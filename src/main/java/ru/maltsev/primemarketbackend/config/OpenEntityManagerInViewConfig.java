@@ -0,0 +1,28 @@
+package ru.maltsev.primemarketbackend.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+// Replaces the auto-configured open-in-view interceptor to leave the SSE endpoint out: it keeps the
+// EntityManager, and the pooled JDBC connection behind it, open until the async request completes, so
+// every open stream would pin a connection for up to the emitter timeout.
+@Configuration
+@ConditionalOnBooleanProperty(name = "spring.jpa.open-in-view", matchIfMissing = true)
+public class OpenEntityManagerInViewConfig implements WebMvcConfigurer {
+    private static final String NOTIFICATION_STREAM_PATH = "/api/notifications/stream";
+
+    @Bean
+    public OpenEntityManagerInViewInterceptor openEntityManagerInViewInterceptor() {
+        return new OpenEntityManagerInViewInterceptor();
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addWebRequestInterceptor(openEntityManagerInViewInterceptor())
+            .excludePathPatterns(NOTIFICATION_STREAM_PATH);
+    }
+}
@@ -8,6 +8,12 @@ import org.springframework.boot.context.properties.bind.DefaultValue;
 public record OrderProperties(
     @DefaultValue("PT15M") Duration pendingTtl,
     @DefaultValue("PT1M") Duration pendingExpireSweepDelay,
+    @DefaultValue("100") int pendingExpireBatchSize,
+    @DefaultValue("50") int pendingExpireMaxBatchesPerSweep,
+    @DefaultValue("true") boolean expiryTimerEnabled,
+    @DefaultValue("100") int expiryTimerBatchSize,
+    @DefaultValue("true") boolean optimisticTransitionsEnabled,
+    @DefaultValue("PT15M") Duration reservedQuantityReconcileDelay,
     @DefaultValue("100") int defaultSellerFeeBps
 ) {
 }
@@ -0,0 +1,15 @@
+package ru.maltsev.primemarketbackend.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "app.order-quotes.retention")
+public record OrderQuoteRetentionProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("PT1M") Duration sweepInterval,
+    @DefaultValue("PT24H") Duration retention,
+    @DefaultValue("500") int batchSize,
+    @DefaultValue("20") int maxBatchesPerSweep
+) {
+}
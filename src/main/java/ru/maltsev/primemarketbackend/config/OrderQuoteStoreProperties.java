@@ -0,0 +1,13 @@
+package ru.maltsev.primemarketbackend.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "app.order-quotes.store")
+public record OrderQuoteStoreProperties(
+    @DefaultValue("false") boolean inMemory,
+    @DefaultValue("100000") int maxSize,
+    @DefaultValue("PT5M") Duration retainAfterExpiry
+) {
+}
@@ -0,0 +1,13 @@
+package ru.maltsev.primemarketbackend.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "app.platform.fee-shards")
+public record PlatformFeeShardProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("16") int shards,
+    @DefaultValue("1m") Duration rollUpInterval
+) {
+}
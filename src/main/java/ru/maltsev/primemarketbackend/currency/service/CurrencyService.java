@@ -4,23 +4,20 @@ import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import ru.maltsev.primemarketbackend.catalog.service.CatalogCache;
 import ru.maltsev.primemarketbackend.currency.api.dto.CurrencyResponse;
 import ru.maltsev.primemarketbackend.currency.api.dto.CurrencyRateResponse;
-import ru.maltsev.primemarketbackend.currency.repository.CurrencyRepository;
 import ru.maltsev.primemarketbackend.currency.repository.CurrencyRateRepository;
 import ru.maltsev.primemarketbackend.exception.ApiProblemException;
 
 @Service
 @RequiredArgsConstructor
 public class CurrencyService {
-    private final CurrencyRepository currencyRepository;
+    private final CatalogCache catalogCache;
     private final CurrencyRateRepository currencyRateRepository;
 
     public List<CurrencyResponse> getActiveCurrencies() {
-        return currencyRepository.findAllByActiveTrueOrderBySortOrderAscCodeAsc()
-            .stream()
-            .map(CurrencyResponse::from)
-            .toList();
+        return catalogCache.snapshot().activeCurrencies();
     }
 
     public CurrencyRateResponse getCurrencyRate(String fromCurrencyCode, String toCurrencyCode) {
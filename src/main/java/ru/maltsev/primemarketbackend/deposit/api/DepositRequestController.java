@@ -48,7 +48,7 @@ public class DepositRequestController {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
 
-        DepositRequest depositRequest = depositRequestService.create(principal.getUser().getId(), request);
+        DepositRequest depositRequest = depositRequestService.create(principal.getUserId(), request);
         return ResponseEntity.status(HttpStatus.CREATED).body(DepositRequestResponse.from(depositRequest));
     }
 
@@ -79,7 +79,7 @@ public class DepositRequestController {
         }
 
         Page<DepositRequestResponse> response = depositRequestService
-            .listForUser(principal.getUser().getId(), status, pageable)
+            .listForUser(principal.getUserId(), status, pageable)
             .map(DepositRequestResponse::from);
         return ResponseEntity.ok(response);
     }
@@ -93,7 +93,7 @@ public class DepositRequestController {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
 
-        DepositRequest depositRequest = depositRequestService.getForUser(publicId, principal.getUser().getId());
+        DepositRequest depositRequest = depositRequestService.getForUser(publicId, principal.getUserId());
         return ResponseEntity.ok(DepositRequestResponse.from(depositRequest));
     }
 
@@ -106,7 +106,7 @@ public class DepositRequestController {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
 
-        DepositRequest depositRequest = depositRequestService.markPaid(publicId, principal.getUser().getId());
+        DepositRequest depositRequest = depositRequestService.markPaid(publicId, principal.getUserId());
         return ResponseEntity.ok(DepositRequestResponse.from(depositRequest));
     }
 
@@ -119,7 +119,7 @@ public class DepositRequestController {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
 
-        DepositRequest depositRequest = depositRequestService.cancel(publicId, principal.getUser().getId());
+        DepositRequest depositRequest = depositRequestService.cancel(publicId, principal.getUserId());
         return ResponseEntity.ok(DepositRequestResponse.from(depositRequest));
     }
 }
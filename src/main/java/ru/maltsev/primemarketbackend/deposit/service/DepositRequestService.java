@@ -7,8 +7,6 @@ import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.maltsev.primemarketbackend.account.domain.UserAccount;
-import ru.maltsev.primemarketbackend.account.domain.UserAccountTx;
-import ru.maltsev.primemarketbackend.account.repository.UserAccountTxRepository;
 import ru.maltsev.primemarketbackend.account.service.UserAccountService;
 import ru.maltsev.primemarketbackend.deposit.api.dto.AdminDepositRequestShortResponse;
 import ru.maltsev.primemarketbackend.deposit.api.dto.CreateDepositRequest;
@@ -18,6 +16,7 @@ import ru.maltsev.primemarketbackend.deposit.domain.DepositRequestStatus;
 import ru.maltsev.primemarketbackend.deposit.repository.DepositMethodRepository;
 import ru.maltsev.primemarketbackend.deposit.repository.DepositRequestRepository;
 import ru.maltsev.primemarketbackend.exception.ApiProblemException;
+import ru.maltsev.primemarketbackend.ledger.service.LedgerWriter;
 import ru.maltsev.primemarketbackend.notification.service.NotificationService;
 
 import java.util.EnumSet;
@@ -38,7 +37,7 @@ public class DepositRequestService {
 
     private final DepositRequestRepository depositRequestRepository;
     private final DepositMethodRepository depositMethodRepository;
-    private final UserAccountTxRepository userAccountTxRepository;
+    private final LedgerWriter ledgerWriter;
     private final UserAccountService userAccountService;
     private final NotificationService notificationService;
 
@@ -151,14 +150,13 @@ public class DepositRequestService {
         requireStatus(request, DepositRequestStatus.PAYMENT_VERIFICATION, "confirm payment");
 
         UserAccount account = getUserAccountForDeposit(request);
-        UserAccountTx tx = new UserAccountTx(
+        ledgerWriter.creditUser(
             account,
             request.getAmount(),
             TX_TYPE_DEPOSIT,
             REF_TYPE_DEPOSIT_REQUEST,
             request.getId()
         );
-        userAccountTxRepository.save(tx);
         request.confirm();
         DepositRequest confirmedRequest = depositRequestRepository.save(request);
         notificationService.notifyDepositConfirmed(confirmedRequest);
@@ -4,25 +4,22 @@ import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import ru.maltsev.primemarketbackend.catalog.service.CatalogCache;
+import ru.maltsev.primemarketbackend.catalog.service.CatalogSnapshot.CatalogGame;
 import ru.maltsev.primemarketbackend.exception.ApiProblemException;
 import ru.maltsev.primemarketbackend.game.api.dto.GameResponse;
-import ru.maltsev.primemarketbackend.game.domain.Game;
-import ru.maltsev.primemarketbackend.game.repository.GameRepository;
 
 @Service
 @RequiredArgsConstructor
 public class GameService {
-    private final GameRepository gameRepository;
+    private final CatalogCache catalogCache;
 
     public List<GameResponse> getActiveGames() {
-        return gameRepository.findAllByActiveTrueOrderBySortOrderAsc()
-            .stream()
-            .map(GameResponse::from)
-            .toList();
+        return catalogCache.snapshot().activeGames();
     }
 
-    public Game requireActiveGame(String gameSlug) {
-        return gameRepository.findBySlugIgnoreCaseAndActiveTrue(gameSlug)
+    public CatalogGame requireActiveGame(String gameSlug) {
+        return catalogCache.snapshot().findGame(gameSlug)
             .orElseThrow(() -> new ApiProblemException(
                 HttpStatus.NOT_FOUND,
                 "GAME_NOT_FOUND",
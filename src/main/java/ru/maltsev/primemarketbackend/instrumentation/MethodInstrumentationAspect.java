@@ -0,0 +1,53 @@
+package ru.maltsev.primemarketbackend.instrumentation;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+import ru.maltsev.primemarketbackend.instrumentation.service.LatencyHistogram;
+import ru.maltsev.primemarketbackend.instrumentation.service.MethodStatsRegistry;
+
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class MethodInstrumentationAspect {
+    private final MethodStatsRegistry registry;
+
+    @Around(
+        "execution(* ru.maltsev.primemarketbackend..*(..))"
+            + " && !within(ru.maltsev.primemarketbackend.logging..*)"
+            + " && !within(ru.maltsev.primemarketbackend.instrumentation..*)"
+            + " && !@within(org.springframework.boot.context.properties.ConfigurationProperties)"
+            + " && !within(jakarta.servlet.Filter+)"
+    )
+    public Object instrument(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!registry.isEnabled()) {
+            return joinPoint.proceed();
+        }
+
+        LatencyHistogram histogram = registry.histogramFor(
+            (MethodSignature) joinPoint.getSignature(),
+            joinPoint.getTarget()
+        );
+        if (histogram == null) {
+            return joinPoint.proceed();
+        }
+
+        boolean sampled = registry.shouldSample();
+        long start = sampled ? System.nanoTime() : 0L;
+        boolean failed = false;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable ex) {
+            failed = true;
+            throw ex;
+        } finally {
+            histogram.recordCall(failed);
+            if (sampled) {
+                histogram.recordLatency(System.nanoTime() - start);
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package ru.maltsev.primemarketbackend.instrumentation.api;
+
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import ru.maltsev.primemarketbackend.instrumentation.api.dto.AccessLogStatsResponse;
+import ru.maltsev.primemarketbackend.instrumentation.api.dto.LatencyStatsResponse;
+import ru.maltsev.primemarketbackend.instrumentation.service.LatencyStatsSort;
+import ru.maltsev.primemarketbackend.instrumentation.service.MethodStatsRegistry;
+import ru.maltsev.primemarketbackend.instrumentation.service.RouteStatsRegistry;
+import ru.maltsev.primemarketbackend.logging.AccessLogWriter;
+import ru.maltsev.primemarketbackend.security.PermissionCodes;
+
+@RestController
+@RequestMapping({"/api/admin/instrumentation", "/api/backoffice/instrumentation"})
+@RequiredArgsConstructor
+@PreAuthorize("hasAuthority('" + PermissionCodes.METRICS_VIEW + "')")
+public class InstrumentationAdminController {
+    private final MethodStatsRegistry methodStatsRegistry;
+    private final RouteStatsRegistry routeStatsRegistry;
+    private final AccessLogWriter accessLogWriter;
+
+    @GetMapping("/methods")
+    public ResponseEntity<List<LatencyStatsResponse>> methods(
+        @RequestParam(defaultValue = "20") int limit,
+        @RequestParam(required = false) String sort
+    ) {
+        return ResponseEntity.ok(methodStatsRegistry.top(limit, LatencyStatsSort.resolve(sort)));
+    }
+
+    @PostMapping("/methods/reset")
+    public ResponseEntity<Void> resetMethods() {
+        methodStatsRegistry.reset();
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/routes")
+    public ResponseEntity<List<LatencyStatsResponse>> routes(
+        @RequestParam(defaultValue = "20") int limit,
+        @RequestParam(required = false) String sort
+    ) {
+        return ResponseEntity.ok(routeStatsRegistry.top(limit, LatencyStatsSort.resolve(sort)));
+    }
+
+    @PostMapping("/routes/reset")
+    public ResponseEntity<Void> resetRoutes() {
+        routeStatsRegistry.reset();
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/access-log")
+    public ResponseEntity<AccessLogStatsResponse> accessLog() {
+        return ResponseEntity.ok(accessLogWriter.stats());
+    }
+}
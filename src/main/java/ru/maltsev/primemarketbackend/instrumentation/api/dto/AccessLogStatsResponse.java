@@ -0,0 +1,11 @@
+package ru.maltsev.primemarketbackend.instrumentation.api.dto;
+
+public record AccessLogStatsResponse(
+    boolean enabled,
+    int capacity,
+    int queued,
+    long accepted,
+    long written,
+    long dropped
+) {
+}
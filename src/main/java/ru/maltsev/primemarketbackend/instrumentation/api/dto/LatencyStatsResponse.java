@@ -0,0 +1,14 @@
+package ru.maltsev.primemarketbackend.instrumentation.api.dto;
+
+public record LatencyStatsResponse(
+    String name,
+    long calls,
+    long errors,
+    long sampled,
+    long meanMicros,
+    long p50Micros,
+    long p95Micros,
+    long p99Micros,
+    long maxMicros
+) {
+}
@@ -0,0 +1,85 @@
+package ru.maltsev.primemarketbackend.instrumentation.service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import ru.maltsev.primemarketbackend.instrumentation.api.dto.LatencyStatsResponse;
+
+public final class LatencyHistogram {
+    // Bucket 0 holds sub-microsecond samples, bucket i holds [2^(i-1), 2^i) microseconds.
+    private static final int BUCKETS = 40;
+
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder sampled = new LongAdder();
+    private final LongAdder sampledNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Long::max, 0L);
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+
+    public LatencyHistogram() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    public void recordCall(boolean failed) {
+        calls.increment();
+        if (failed) {
+            errors.increment();
+        }
+    }
+
+    public void recordLatency(long nanos) {
+        long value = Math.max(nanos, 0L);
+        sampled.increment();
+        sampledNanos.add(value);
+        maxNanos.accumulate(value);
+        buckets[bucketOf(value)].increment();
+    }
+
+    public LatencyStatsResponse snapshot(String name) {
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets[i].sum();
+            total += counts[i];
+        }
+        long maxMicros = TimeUnit.NANOSECONDS.toMicros(maxNanos.get());
+        long sampledCount = sampled.sum();
+        long meanMicros = sampledCount == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(sampledNanos.sum() / sampledCount);
+        return new LatencyStatsResponse(
+            name,
+            calls.sum(),
+            errors.sum(),
+            sampledCount,
+            meanMicros,
+            percentile(counts, total, 0.50, maxMicros),
+            percentile(counts, total, 0.95, maxMicros),
+            percentile(counts, total, 0.99, maxMicros),
+            maxMicros
+        );
+    }
+
+    private static int bucketOf(long nanos) {
+        long micros = TimeUnit.NANOSECONDS.toMicros(nanos);
+        if (micros == 0) {
+            return 0;
+        }
+        return Math.min(64 - Long.numberOfLeadingZeros(micros), BUCKETS - 1);
+    }
+
+    private static long percentile(long[] counts, long total, double quantile, long maxMicros) {
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(quantile * total);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(1L << i, maxMicros);
+            }
+        }
+        return maxMicros;
+    }
+}
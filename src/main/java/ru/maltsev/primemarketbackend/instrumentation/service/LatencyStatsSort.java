@@ -0,0 +1,40 @@
+package ru.maltsev.primemarketbackend.instrumentation.service;
+
+import java.util.Comparator;
+import java.util.Locale;
+import org.springframework.http.HttpStatus;
+import ru.maltsev.primemarketbackend.exception.ApiProblemException;
+import ru.maltsev.primemarketbackend.instrumentation.api.dto.LatencyStatsResponse;
+
+public enum LatencyStatsSort {
+    P99(Comparator.comparingLong(LatencyStatsResponse::p99Micros)),
+    MEAN(Comparator.comparingLong(LatencyStatsResponse::meanMicros)),
+    MAX(Comparator.comparingLong(LatencyStatsResponse::maxMicros)),
+    TOTAL(Comparator.comparingLong(stats -> stats.meanMicros() * stats.calls())),
+    CALLS(Comparator.comparingLong(LatencyStatsResponse::calls));
+
+    private final Comparator<LatencyStatsResponse> comparator;
+
+    LatencyStatsSort(Comparator<LatencyStatsResponse> comparator) {
+        this.comparator = comparator;
+    }
+
+    public Comparator<LatencyStatsResponse> descending() {
+        return comparator.reversed().thenComparing(LatencyStatsResponse::name);
+    }
+
+    public static LatencyStatsSort resolve(String rawSort) {
+        if (rawSort == null || rawSort.isBlank()) {
+            return P99;
+        }
+        try {
+            return valueOf(rawSort.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new ApiProblemException(
+                HttpStatus.BAD_REQUEST,
+                "VALIDATION_ERROR",
+                "Unknown sort " + rawSort
+            );
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package ru.maltsev.primemarketbackend.instrumentation.service;
+
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.maltsev.primemarketbackend.config.InstrumentationProperties;
+import ru.maltsev.primemarketbackend.instrumentation.api.dto.LatencyStatsResponse;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MethodStatsDumpScheduler {
+    private final InstrumentationProperties properties;
+    private final MethodStatsRegistry registry;
+
+    @Scheduled(
+        initialDelayString = "${app.instrumentation.dump-interval:5m}",
+        fixedDelayString = "${app.instrumentation.dump-interval:5m}"
+    )
+    public void dump() {
+        if (!properties.enabled() || !properties.dumpEnabled()) {
+            return;
+        }
+        List<LatencyStatsResponse> top = registry.top(properties.topN(), LatencyStatsSort.P99);
+        if (top.isEmpty()) {
+            return;
+        }
+        log.info("Top {} slowest methods by p99:", top.size());
+        for (LatencyStatsResponse stats : top) {
+            log.info(
+                "  {} calls={} errors={} sampled={} mean={}us p50={}us p95={}us p99={}us max={}us",
+                stats.name(),
+                stats.calls(),
+                stats.errors(),
+                stats.sampled(),
+                stats.meanMicros(),
+                stats.p50Micros(),
+                stats.p95Micros(),
+                stats.p99Micros(),
+                stats.maxMicros()
+            );
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package ru.maltsev.primemarketbackend.instrumentation.service;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+import ru.maltsev.primemarketbackend.config.InstrumentationProperties;
+import ru.maltsev.primemarketbackend.instrumentation.api.dto.LatencyStatsResponse;
+
+@Slf4j
+@Component
+public class MethodStatsRegistry {
+    private final InstrumentationProperties properties;
+    private final List<Class<? extends Annotation>> includeAnnotations;
+    private final Map<Method, Optional<NamedHistogram>> histogramsByMethod = new ConcurrentHashMap<>();
+
+    public MethodStatsRegistry(InstrumentationProperties properties) {
+        this.properties = properties;
+        this.includeAnnotations = resolveAnnotations(properties.includeAnnotations());
+    }
+
+    public boolean isEnabled() {
+        return properties.enabled();
+    }
+
+    public boolean shouldSample() {
+        double rate = properties.sampleRate();
+        if (rate >= 1.0) {
+            return true;
+        }
+        return rate > 0.0 && ThreadLocalRandom.current().nextDouble() < rate;
+    }
+
+    // The hot path is a plain lookup by Method; the target class and display name are only resolved
+    // the first time a method is seen, so steady-state calls allocate nothing here.
+    public LatencyHistogram histogramFor(MethodSignature signature, Object target) {
+        Method method = signature.getMethod();
+        Optional<NamedHistogram> entry = histogramsByMethod.get(method);
+        if (entry == null) {
+            entry = histogramsByMethod.computeIfAbsent(method, key -> register(key, signature, target));
+        }
+        return entry.map(NamedHistogram::histogram).orElse(null);
+    }
+
+    public List<LatencyStatsResponse> top(int limit, LatencyStatsSort sort) {
+        List<LatencyStatsResponse> snapshots = new ArrayList<>();
+        for (Optional<NamedHistogram> entry : histogramsByMethod.values()) {
+            entry
+                .map(named -> named.histogram().snapshot(named.name()))
+                .filter(stats -> stats.calls() > 0)
+                .ifPresent(snapshots::add);
+        }
+        return snapshots.stream()
+            .sorted(sort.descending())
+            .limit(Math.max(limit, 0))
+            .toList();
+    }
+
+    public void reset() {
+        histogramsByMethod.clear();
+    }
+
+    private Optional<NamedHistogram> register(Method method, MethodSignature signature, Object target) {
+        Class<?> targetClass = target == null ? null : AopProxyUtils.ultimateTargetClass(target);
+        return isIncluded(method, targetClass)
+            ? Optional.of(new NamedHistogram(signature.toShortString(), new LatencyHistogram()))
+            : Optional.empty();
+    }
+
+    private boolean isIncluded(Method method, Class<?> targetClass) {
+        String declaringType = method.getDeclaringClass().getName();
+        String targetType = targetClass == null ? declaringType : targetClass.getName();
+        boolean packageAllowed = properties.includePackages().isEmpty()
+            || properties.includePackages().stream()
+                .anyMatch(prefix -> declaringType.startsWith(prefix) || targetType.startsWith(prefix));
+        if (!packageAllowed) {
+            return false;
+        }
+        if (includeAnnotations.isEmpty()) {
+            return true;
+        }
+        Class<?> annotated = targetClass == null ? method.getDeclaringClass() : targetClass;
+        return includeAnnotations.stream()
+            .anyMatch(annotation -> AnnotatedElementUtils.hasAnnotation(annotated, annotation)
+                || AnnotatedElementUtils.hasAnnotation(method.getDeclaringClass(), annotation));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Class<? extends Annotation>> resolveAnnotations(List<String> names) {
+        List<Class<? extends Annotation>> resolved = new ArrayList<>();
+        for (String name : names) {
+            try {
+                Class<?> type = ClassUtils.forName(name.trim(), getClass().getClassLoader());
+                if (type.isAnnotation()) {
+                    resolved.add((Class<? extends Annotation>) type);
+                } else {
+                    log.warn("Instrumentation allowlist entry {} is not an annotation, ignoring", name);
+                }
+            } catch (ClassNotFoundException | LinkageError ex) {
+                log.warn("Instrumentation allowlist annotation {} not found, ignoring", name);
+            }
+        }
+        return List.copyOf(resolved);
+    }
+
+    private record NamedHistogram(String name, LatencyHistogram histogram) {
+    }
+}
@@ -0,0 +1,33 @@
+package ru.maltsev.primemarketbackend.instrumentation.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.stereotype.Component;
+import ru.maltsev.primemarketbackend.instrumentation.api.dto.LatencyStatsResponse;
+
+@Component
+public class RouteStatsRegistry {
+    private final Map<String, LatencyHistogram> histogramsByRoute = new ConcurrentHashMap<>();
+
+    public void record(String method, String route, long nanos, boolean failed) {
+        LatencyHistogram histogram = histogramsByRoute.computeIfAbsent(
+            method + " " + route,
+            key -> new LatencyHistogram()
+        );
+        histogram.recordCall(failed);
+        histogram.recordLatency(nanos);
+    }
+
+    public List<LatencyStatsResponse> top(int limit, LatencyStatsSort sort) {
+        return histogramsByRoute.entrySet().stream()
+            .map(entry -> entry.getValue().snapshot(entry.getKey()))
+            .sorted(sort.descending())
+            .limit(Math.max(limit, 0))
+            .toList();
+    }
+
+    public void reset() {
+        histogramsByRoute.clear();
+    }
+}
@@ -0,0 +1,24 @@
+package ru.maltsev.primemarketbackend.ledger.api;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import ru.maltsev.primemarketbackend.ledger.api.dto.LedgerWriterStatsResponse;
+import ru.maltsev.primemarketbackend.ledger.service.LedgerWriter;
+import ru.maltsev.primemarketbackend.security.PermissionCodes;
+
+@RestController
+@RequestMapping({"/api/admin/ledger/writer", "/api/backoffice/ledger/writer"})
+@RequiredArgsConstructor
+@PreAuthorize("hasAuthority('" + PermissionCodes.METRICS_VIEW + "')")
+public class LedgerWriterAdminController {
+    private final LedgerWriter ledgerWriter;
+
+    @GetMapping
+    public ResponseEntity<LedgerWriterStatsResponse> stats() {
+        return ResponseEntity.ok(ledgerWriter.stats());
+    }
+}
@@ -0,0 +1,16 @@
+package ru.maltsev.primemarketbackend.ledger.api.dto;
+
+import ru.maltsev.primemarketbackend.instrumentation.api.dto.LatencyStatsResponse;
+
+public record LedgerWriterStatsResponse(
+    String mode,
+    long pending,
+    long enqueued,
+    long batches,
+    long applied,
+    long duplicatesSkipped,
+    long failedBatches,
+    long largestBatch,
+    LatencyStatsResponse batchLatency
+) {
+}
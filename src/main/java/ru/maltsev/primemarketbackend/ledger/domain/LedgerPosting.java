@@ -0,0 +1,88 @@
+package ru.maltsev.primemarketbackend.ledger.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import java.math.BigDecimal;
+import java.time.Instant;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Entity
+@Table(name = "ledger_postings")
+public class LedgerPosting {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_account_id")
+    private Long userAccountId;
+
+    @Column(name = "platform_account_id")
+    private Long platformAccountId;
+
+    @Column(name = "amount", nullable = false, precision = 13, scale = 4)
+    private BigDecimal amount;
+
+    @Column(name = "type", nullable = false)
+    private String txType;
+
+    @Column(name = "ref_type", nullable = false)
+    private String refType;
+
+    @Column(name = "ref_id", nullable = false)
+    private Long refId;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    private LedgerPosting(
+        Long userAccountId,
+        Long platformAccountId,
+        BigDecimal amount,
+        String txType,
+        String refType,
+        Long refId
+    ) {
+        this.userAccountId = userAccountId;
+        this.platformAccountId = platformAccountId;
+        this.amount = amount;
+        this.txType = txType;
+        this.refType = refType;
+        this.refId = refId;
+    }
+
+    public static LedgerPosting userCredit(
+        Long userAccountId,
+        BigDecimal amount,
+        String txType,
+        String refType,
+        Long refId
+    ) {
+        return new LedgerPosting(userAccountId, null, amount, txType, refType, refId);
+    }
+
+    public static LedgerPosting platformCredit(
+        Long platformAccountId,
+        BigDecimal amount,
+        String txType,
+        String refType,
+        Long refId
+    ) {
+        return new LedgerPosting(null, platformAccountId, amount, txType, refType, refId);
+    }
+
+    @PrePersist
+    private void onCreate() {
+        if (createdAt == null) {
+            createdAt = Instant.now();
+        }
+    }
+}
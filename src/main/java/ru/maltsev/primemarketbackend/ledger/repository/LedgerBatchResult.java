@@ -0,0 +1,7 @@
+package ru.maltsev.primemarketbackend.ledger.repository;
+
+public interface LedgerBatchResult {
+    long getDrained();
+
+    long getApplied();
+}
@@ -0,0 +1,60 @@
+package ru.maltsev.primemarketbackend.ledger.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ru.maltsev.primemarketbackend.ledger.domain.LedgerPosting;
+
+public interface LedgerPostingRepository extends JpaRepository<LedgerPosting, Long> {
+    // One multi-row insert per batch; the statement-level balance trigger then updates each account once.
+    // Postings whose ref was already booked are dropped by the ref unique index.
+    @Query(value = """
+        with batch as (
+            delete from ledger_postings
+            where id in (
+                select id
+                from ledger_postings
+                where user_account_id is not null
+                order by id
+                limit :limit
+                for update skip locked
+            )
+            returning user_account_id, amount, type, ref_type, ref_id, created_at
+        ),
+        applied as (
+            insert into user_account_txs (user_account_id, amount, type, ref_type, ref_id, created_at)
+            select user_account_id, amount, type, ref_type, ref_id, created_at
+            from batch
+            on conflict (ref_type, ref_id) do nothing
+            returning 1
+        )
+        select (select count(*) from batch) as drained,
+               (select count(*) from applied) as applied
+        """, nativeQuery = true)
+    LedgerBatchResult applyUserBatch(@Param("limit") int limit);
+
+    @Query(value = """
+        with batch as (
+            delete from ledger_postings
+            where id in (
+                select id
+                from ledger_postings
+                where platform_account_id is not null
+                order by id
+                limit :limit
+                for update skip locked
+            )
+            returning platform_account_id, amount, type, ref_type, ref_id, created_at
+        ),
+        applied as (
+            insert into platform_account_txs (platform_account_id, amount, type, ref_type, ref_id, created_at)
+            select platform_account_id, amount, type, ref_type, ref_id, created_at
+            from batch
+            on conflict (ref_type, ref_id) do nothing
+            returning 1
+        )
+        select (select count(*) from batch) as drained,
+               (select count(*) from applied) as applied
+        """, nativeQuery = true)
+    LedgerBatchResult applyPlatformBatch(@Param("limit") int limit);
+}
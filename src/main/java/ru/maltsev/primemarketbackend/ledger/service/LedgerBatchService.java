@@ -0,0 +1,23 @@
+package ru.maltsev.primemarketbackend.ledger.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.maltsev.primemarketbackend.ledger.repository.LedgerBatchResult;
+import ru.maltsev.primemarketbackend.ledger.repository.LedgerPostingRepository;
+
+@Service
+@RequiredArgsConstructor
+public class LedgerBatchService {
+    private final LedgerPostingRepository ledgerPostingRepository;
+
+    @Transactional
+    public LedgerBatchResult applyUserBatch(int batchSize) {
+        return ledgerPostingRepository.applyUserBatch(batchSize);
+    }
+
+    @Transactional
+    public LedgerBatchResult applyPlatformBatch(int batchSize) {
+        return ledgerPostingRepository.applyPlatformBatch(batchSize);
+    }
+}
@@ -0,0 +1,208 @@
+package ru.maltsev.primemarketbackend.ledger.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.math.BigDecimal;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.maltsev.primemarketbackend.account.domain.UserAccount;
+import ru.maltsev.primemarketbackend.account.domain.UserAccountTx;
+import ru.maltsev.primemarketbackend.account.repository.UserAccountTxRepository;
+import ru.maltsev.primemarketbackend.config.LedgerWriterProperties;
+import ru.maltsev.primemarketbackend.instrumentation.service.LatencyHistogram;
+import ru.maltsev.primemarketbackend.ledger.api.dto.LedgerWriterStatsResponse;
+import ru.maltsev.primemarketbackend.ledger.domain.LedgerPosting;
+import ru.maltsev.primemarketbackend.ledger.repository.LedgerBatchResult;
+import ru.maltsev.primemarketbackend.ledger.repository.LedgerPostingRepository;
+import ru.maltsev.primemarketbackend.platform.domain.PlatformAccount;
+import ru.maltsev.primemarketbackend.platform.domain.PlatformAccountTx;
+import ru.maltsev.primemarketbackend.platform.repository.PlatformAccountTxRepository;
+import ru.maltsev.primemarketbackend.platform.service.PlatformAccountService;
+import ru.maltsev.primemarketbackend.platform.service.PlatformFeeShardService;
+
+// Credits either go straight into the tx tables (default) or, in group-commit mode, into ledger_postings
+// inside the caller's transaction. A single writer thread then moves them over in batches, so hot accounts
+// such as the platform fee account take one balance update per batch instead of one row lock per order.
+// Debits always stay synchronous: they must see the balance >= reserved check in the caller's transaction.
+@Slf4j
+@Component
+public class LedgerWriter {
+    private final LedgerWriterProperties properties;
+    private final UserAccountTxRepository userAccountTxRepository;
+    private final PlatformAccountTxRepository platformAccountTxRepository;
+    private final PlatformAccountService platformAccountService;
+    private final PlatformFeeShardService platformFeeShardService;
+    private final LedgerPostingRepository ledgerPostingRepository;
+    private final LedgerBatchService ledgerBatchService;
+    private final Semaphore wakeups = new Semaphore(0);
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder applied = new LongAdder();
+    private final LongAdder duplicatesSkipped = new LongAdder();
+    private final LongAdder failedBatches = new LongAdder();
+    private final LongAccumulator largestBatch = new LongAccumulator(Math::max, 0L);
+    private final LatencyHistogram batchLatency = new LatencyHistogram();
+    private volatile boolean running;
+    private Thread worker;
+
+    public LedgerWriter(
+        LedgerWriterProperties properties,
+        UserAccountTxRepository userAccountTxRepository,
+        PlatformAccountTxRepository platformAccountTxRepository,
+        PlatformAccountService platformAccountService,
+        PlatformFeeShardService platformFeeShardService,
+        LedgerPostingRepository ledgerPostingRepository,
+        LedgerBatchService ledgerBatchService
+    ) {
+        this.properties = properties;
+        this.userAccountTxRepository = userAccountTxRepository;
+        this.platformAccountTxRepository = platformAccountTxRepository;
+        this.platformAccountService = platformAccountService;
+        this.platformFeeShardService = platformFeeShardService;
+        this.ledgerPostingRepository = ledgerPostingRepository;
+        this.ledgerBatchService = ledgerBatchService;
+    }
+
+    @PostConstruct
+    void start() {
+        if (!properties.enabled()) {
+            return;
+        }
+        running = true;
+        worker = Thread.ofPlatform()
+            .name("ledger-writer")
+            .daemon(true)
+            .start(this::drainLoop);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (worker == null) {
+            return;
+        }
+        running = false;
+        worker.interrupt();
+        worker.join(TimeUnit.SECONDS.toMillis(2));
+        try {
+            flush();
+        } catch (RuntimeException ex) {
+            log.warn("Ledger writer failed to flush pending postings on shutdown", ex);
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void creditUser(UserAccount account, BigDecimal amount, String txType, String refType, Long refId) {
+        if (!properties.enabled() || amount.signum() <= 0) {
+            userAccountTxRepository.save(new UserAccountTx(account, amount, txType, refType, refId));
+            return;
+        }
+        ledgerPostingRepository.save(LedgerPosting.userCredit(account.getId(), amount, txType, refType, refId));
+        enqueued();
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void creditPlatform(String currencyCode, BigDecimal amount, String txType, String refType, Long refId) {
+        if (properties.enabled() && amount.signum() > 0) {
+            PlatformAccount account = platformAccountService.getOrCreateAccount(currencyCode);
+            ledgerPostingRepository.save(LedgerPosting.platformCredit(account.getId(), amount, txType, refType, refId));
+            enqueued();
+            return;
+        }
+        if (platformFeeShardService.isEnabled() && amount.signum() > 0) {
+            // Lands on a fee stripe; the platform account row itself is only touched by the roll-up.
+            PlatformAccount account = platformAccountService.getOrCreateAccount(currencyCode);
+            platformAccountTxRepository.save(new PlatformAccountTx(
+                account,
+                amount,
+                txType,
+                refType,
+                refId,
+                platformFeeShardService.shardFor(refId)
+            ));
+            return;
+        }
+        PlatformAccount account = platformAccountService.getOrCreateAccountForUpdate(currencyCode);
+        platformAccountTxRepository.save(new PlatformAccountTx(account, amount, txType, refType, refId));
+    }
+
+    // Applies everything queued so far; safe to call concurrently with the writer thread (SKIP LOCKED batches).
+    public long flush() {
+        return drain(ledgerBatchService::applyUserBatch) + drain(ledgerBatchService::applyPlatformBatch);
+    }
+
+    public LedgerWriterStatsResponse stats() {
+        return new LedgerWriterStatsResponse(
+            properties.enabled() ? "group-commit" : "direct",
+            ledgerPostingRepository.count(),
+            enqueued.sum(),
+            batches.sum(),
+            applied.sum(),
+            duplicatesSkipped.sum(),
+            failedBatches.sum(),
+            largestBatch.get(),
+            batchLatency.snapshot("ledger-batch")
+        );
+    }
+
+    private void enqueued() {
+        enqueued.increment();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    wakeups.release();
+                }
+            });
+        }
+    }
+
+    private void drainLoop() {
+        long pollMillis = Math.max(properties.pollInterval().toMillis(), 1L);
+        while (running) {
+            try {
+                // Linger after the first wake-up so postings from concurrent settlements share one batch.
+                if (wakeups.tryAcquire(pollMillis, TimeUnit.MILLISECONDS)) {
+                    Thread.sleep(properties.maxLinger().toMillis());
+                    wakeups.drainPermits();
+                }
+                flush();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException ex) {
+                failedBatches.increment();
+                log.warn("Ledger writer batch failed, postings stay queued for the next attempt", ex);
+            }
+        }
+    }
+
+    private long drain(IntFunction<LedgerBatchResult> applyBatch) {
+        int batchSize = Math.max(properties.batchSize(), 1);
+        long total = 0;
+        while (true) {
+            long startedAt = System.nanoTime();
+            LedgerBatchResult result = applyBatch.apply(batchSize);
+            if (result.getDrained() == 0) {
+                return total;
+            }
+            batchLatency.recordLatency(System.nanoTime() - startedAt);
+            batches.increment();
+            applied.add(result.getApplied());
+            duplicatesSkipped.add(result.getDrained() - result.getApplied());
+            largestBatch.accumulate(result.getDrained());
+            total += result.getApplied();
+            if (result.getDrained() < batchSize) {
+                return total;
+            }
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package ru.maltsev.primemarketbackend.logging;
+
+import java.time.Instant;
+
+public record AccessLogRecord(
+    Instant timestamp,
+    String method,
+    String route,
+    int status,
+    long durationMicros,
+    Long userId,
+    long bytes,
+    String error
+) {
+}
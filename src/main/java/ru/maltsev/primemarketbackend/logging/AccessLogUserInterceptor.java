@@ -0,0 +1,29 @@
+package ru.maltsev.primemarketbackend.logging;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.jspecify.annotations.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import ru.maltsev.primemarketbackend.security.user.UserPrincipal;
+
+// The access log filter runs outside the security chain, so the user id is captured while it is still set.
+@Component
+public class AccessLogUserInterceptor implements HandlerInterceptor {
+    static final String USER_ID_ATTRIBUTE = AccessLogUserInterceptor.class.getName() + ".userId";
+
+    @Override
+    public boolean preHandle(
+        @NonNull HttpServletRequest request,
+        @NonNull HttpServletResponse response,
+        @NonNull Object handler
+    ) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal) {
+            request.setAttribute(USER_ID_ATTRIBUTE, principal.getUserId());
+        }
+        return true;
+    }
+}
@@ -0,0 +1,140 @@
+package ru.maltsev.primemarketbackend.logging;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import ru.maltsev.primemarketbackend.config.AccessLogProperties;
+import ru.maltsev.primemarketbackend.instrumentation.api.dto.AccessLogStatsResponse;
+
+@Slf4j
+@Component
+public class AccessLogWriter {
+    private final AccessLogProperties properties;
+    private final BlockingQueue<AccessLogRecord> buffer;
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private volatile boolean running;
+    private Thread worker;
+    private long reportedDropped;
+
+    public AccessLogWriter(AccessLogProperties properties) {
+        this.properties = properties;
+        this.buffer = new ArrayBlockingQueue<>(Math.max(properties.bufferSize(), 1));
+    }
+
+    @PostConstruct
+    void start() {
+        if (!properties.enabled()) {
+            return;
+        }
+        running = true;
+        worker = Thread.ofPlatform()
+            .name("access-log-writer")
+            .daemon(true)
+            .start(this::drainLoop);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+            worker.join(TimeUnit.SECONDS.toMillis(2));
+        }
+        drain(Integer.MAX_VALUE);
+    }
+
+    public boolean isEnabled() {
+        return properties.enabled();
+    }
+
+    // Never blocks the request thread: when the buffer is full the record is counted and dropped.
+    public void submit(AccessLogRecord record) {
+        if (buffer.offer(record)) {
+            accepted.increment();
+        } else {
+            dropped.increment();
+        }
+    }
+
+    public AccessLogStatsResponse stats() {
+        return new AccessLogStatsResponse(
+            properties.enabled(),
+            properties.bufferSize(),
+            buffer.size(),
+            accepted.sum(),
+            written.sum(),
+            dropped.sum()
+        );
+    }
+
+    private void drainLoop() {
+        while (running) {
+            try {
+                AccessLogRecord first = buffer.poll(1, TimeUnit.SECONDS);
+                if (first != null) {
+                    write(first);
+                    drain(properties.drainBatchSize());
+                }
+                reportDrops();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException ex) {
+                log.warn("Access log writer failed", ex);
+            }
+        }
+    }
+
+    private void drain(int limit) {
+        List<AccessLogRecord> batch = new ArrayList<>();
+        buffer.drainTo(batch, limit);
+        batch.forEach(this::write);
+    }
+
+    private void write(AccessLogRecord record) {
+        if (record.error() == null) {
+            log.info(
+                "method={} route={} status={} durationMs={} userId={} bytes={}",
+                record.method(),
+                record.route(),
+                record.status(),
+                formatMillis(record.durationMicros()),
+                record.userId(),
+                record.bytes()
+            );
+        } else {
+            log.warn(
+                "method={} route={} status={} durationMs={} userId={} bytes={} error={}",
+                record.method(),
+                record.route(),
+                record.status(),
+                formatMillis(record.durationMicros()),
+                record.userId(),
+                record.bytes(),
+                record.error()
+            );
+        }
+        written.increment();
+    }
+
+    private void reportDrops() {
+        long total = dropped.sum();
+        if (total > reportedDropped) {
+            log.warn("Access log buffer full, dropped {} records ({} total)", total - reportedDropped, total);
+            reportedDropped = total;
+        }
+    }
+
+    private String formatMillis(long micros) {
+        return micros / 1000 + "." + String.format("%03d", micros % 1000);
+    }
+}
@@ -1,22 +1,33 @@
 package ru.maltsev.primemarketbackend.logging;
 
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
-import lombok.extern.slf4j.Slf4j;
+import lombok.RequiredArgsConstructor;
 import org.jspecify.annotations.NonNull;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import ru.maltsev.primemarketbackend.instrumentation.service.RouteStatsRegistry;
 
-@Slf4j
 @Component
 @Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
 public class HttpLoggingFilter extends OncePerRequestFilter {
+    private static final String UNMATCHED_ROUTE = "unmatched";
+
+    private final AccessLogWriter accessLogWriter;
+    private final RouteStatsRegistry routeStatsRegistry;
 
     @Override
     protected void doFilterInternal(
@@ -24,38 +35,81 @@ public class HttpLoggingFilter extends OncePerRequestFilter {
             @NonNull HttpServletResponse response,
             @NonNull FilterChain filterChain
     ) throws ServletException, IOException {
+        if (!accessLogWriter.isEnabled()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
         long start = System.nanoTime();
+        CountingResponseWrapper countingResponse = new CountingResponseWrapper(response);
         Throwable error = null;
         try {
-            filterChain.doFilter(request, response);
+            filterChain.doFilter(request, countingResponse);
         } catch (IOException | ServletException | RuntimeException | Error ex) {
             error = ex;
             throw ex;
         } finally {
-            long durationMs = (System.nanoTime() - start) / 1_000_000;
-            String path = buildPath(request);
-            int status = response.getStatus();
-            if (error == null) {
-                log.info("HTTP {} {} -> {} ({} ms)", request.getMethod(), path, status, durationMs);
+            if (error == null && request.isAsyncStarted()) {
+                // Streaming responses (SSE) are logged once, when the async exchange completes.
+                request.getAsyncContext().addListener(new CompletionListener(request, countingResponse, start));
             } else {
-                log.warn(
-                    "HTTP {} {} -> {} ({} ms) error={}",
-                    request.getMethod(),
-                    path,
-                    status,
-                    durationMs,
-                    error.getClass().getSimpleName()
-                );
+                complete(request, countingResponse, start, error);
             }
         }
     }
 
-    private String buildPath(HttpServletRequest request) {
-        String uri = request.getRequestURI();
-        String query = request.getQueryString();
-        if (query == null || query.isBlank()) {
-            return uri;
+    private void complete(
+        HttpServletRequest request,
+        CountingResponseWrapper response,
+        long start,
+        Throwable error
+    ) {
+        long nanos = System.nanoTime() - start;
+        String route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE) instanceof String pattern
+            ? pattern
+            : UNMATCHED_ROUTE;
+        int status = response.getStatus();
+        routeStatsRegistry.record(request.getMethod(), route, nanos, error != null || status >= 500);
+        accessLogWriter.submit(new AccessLogRecord(
+            Instant.now(),
+            request.getMethod(),
+            route,
+            status,
+            TimeUnit.NANOSECONDS.toMicros(nanos),
+            request.getAttribute(AccessLogUserInterceptor.USER_ID_ATTRIBUTE) instanceof Long userId ? userId : null,
+            response.bytesWritten(),
+            error == null ? null : error.getClass().getSimpleName()
+        ));
+    }
+
+    private final class CompletionListener implements AsyncListener {
+        private final HttpServletRequest request;
+        private final CountingResponseWrapper response;
+        private final long start;
+        private final AtomicReference<Throwable> error = new AtomicReference<>();
+
+        private CompletionListener(HttpServletRequest request, CountingResponseWrapper response, long start) {
+            this.request = request;
+            this.response = response;
+            this.start = start;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            complete(request, response, start, error.get());
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            error.compareAndSet(null, event.getThrowable());
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
         }
-        return uri + "?" + query;
     }
 }
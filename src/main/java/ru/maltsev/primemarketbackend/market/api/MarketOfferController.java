@@ -52,7 +52,16 @@ public class MarketOfferController {
             description = "Explicit sort order. When omitted, backend uses `price_asc` for `buy` and `price_desc` for `sell`.",
             schema = @Schema(type = "string", allowableValues = { "price_asc", "price_desc" })
         )
-        @RequestParam(name = "sort", required = false) String sort
+        @RequestParam(name = "sort", required = false) String sort,
+        @Parameter(
+            description = "Pagination mode. `keyset` ignores `page`, returns `nextCursor`, and skips the total count unless `includeTotal` is set. Defaults to `offset`, or to `keyset` when `cursor` is present.",
+            schema = @Schema(type = "string", allowableValues = { "offset", "keyset" })
+        )
+        @RequestParam(name = "pagination", required = false) String pagination,
+        @Parameter(description = "Opaque `nextCursor` value from the previous keyset page.")
+        @RequestParam(name = "cursor", required = false) String cursor,
+        @Parameter(description = "Keyset mode only: also compute `total`.")
+        @RequestParam(name = "includeTotal", required = false) Boolean includeTotal
     ) {
         MarketOfferListResponse response = marketOfferService.listOffers(new MarketOfferListRequest(
             gameSlug,
@@ -66,7 +75,10 @@ public class MarketOfferController {
             currencyType,
             page,
             size,
-            sort
+            sort,
+            pagination,
+            cursor,
+            includeTotal
         ));
         return ResponseEntity.ok(response);
     }
@@ -12,6 +12,9 @@ public record MarketOfferListRequest(
     String currencyType,
     Integer page,
     Integer size,
-    String sort
+    String sort,
+    String pagination,
+    String cursor,
+    Boolean includeTotal
 ) {
 }
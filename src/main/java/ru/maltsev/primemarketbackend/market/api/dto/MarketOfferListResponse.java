@@ -9,7 +9,8 @@ public record MarketOfferListResponse(
     List<Item> items,
     int page,
     int size,
-    long total
+    Long total,
+    String nextCursor
 ) {
     @Schema(name = "MarketOfferListItem")
     public record Item(
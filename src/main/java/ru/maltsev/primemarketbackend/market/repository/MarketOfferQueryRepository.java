@@ -5,7 +5,10 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -16,13 +19,16 @@ import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Repository;
 import ru.maltsev.primemarketbackend.market.service.MarketIntent;
+import ru.maltsev.primemarketbackend.market.service.MarketOfferCursor;
 import ru.maltsev.primemarketbackend.market.service.MarketPriceSort;
 
 @Repository
 @RequiredArgsConstructor
 public class MarketOfferQueryRepository {
     private static final String ACTIVE_OFFERS_FROM_WHERE = """
-        from offers o
+        from offer_display_prices dp
+        join offers o
+          on o.id = dp.offer_id
         join games g
           on g.id = o.game_id
          and g.is_active = true
@@ -32,22 +38,10 @@ public class MarketOfferQueryRepository {
         join users u
           on u.id = o.user_id
          and u.is_active = true
-        join lateral (
-            select greatest(
-                o.quantity - coalesce((
-                    select sum(r.quantity)
-                    from offer_reservations r
-                    where r.offer_id = o.id
-                      and r.status = 'active'
-                ), 0),
-                0
-            ) as available_quantity
-        ) aq
-          on true
         join lateral (
             select
                 floor(
-                    least(aq.available_quantity, coalesce(o.max_trade_quantity, aq.available_quantity))
+                    least(o.available_quantity, coalesce(o.max_trade_quantity, o.available_quantity))
                         / o.quantity_step
                 ) * o.quantity_step as effective_max_trade_quantity,
                 case
@@ -56,52 +50,24 @@ public class MarketOfferQueryRepository {
                 end as effective_min_trade_quantity
         ) eql
           on true
-        left join currency_rates cr
-          on %s
-        where o.status = 'active'
+        where dp.viewer_currency_code = :viewerCurrencyCode
+          and dp.game_id = :gameId
+          and dp.category_id = :categoryId
+          and dp.side = :offerSide
+          and dp.is_listed
+          and o.status = 'active'
           and o.published_at is not null
-          and o.game_id = :gameId
-          and o.category_id = :categoryId
-          and o.side = :offerSide
           and o.price_amount is not null
           and o.price_currency_code is not null
           and o.quantity is not null
           and o.quantity_step is not null
           and o.quantity_step > 0
+          and o.available_quantity > 0
           and eql.effective_max_trade_quantity > 0
           and (
               eql.effective_min_trade_quantity is null
                   or eql.effective_min_trade_quantity <= eql.effective_max_trade_quantity
           )
-          and (o.price_currency_code = :viewerCurrencyCode or cr.id is not null)
-        """;
-    private static final String BUY_RATE_JOIN = """
-        o.price_currency_code <> :viewerCurrencyCode
-        and cr.from_currency_code = :viewerCurrencyCode
-        and cr.to_currency_code = o.price_currency_code
-        """;
-    private static final String SELL_RATE_JOIN = """
-        o.price_currency_code <> :viewerCurrencyCode
-        and cr.from_currency_code = o.price_currency_code
-        and cr.to_currency_code = :viewerCurrencyCode
-        """;
-    private static final String RATE_EXPRESSION = """
-        case
-            when o.price_currency_code = :viewerCurrencyCode then cast(1 as numeric(20, 8))
-            else cr.rate
-        end
-        """;
-    private static final String BUY_DISPLAY_PRICE_EXPRESSION = """
-        case
-            when o.price_currency_code = :viewerCurrencyCode then o.price_amount
-            else round(o.price_amount / cr.rate, 8)
-        end
-        """;
-    private static final String SELL_DISPLAY_PRICE_EXPRESSION = """
-        case
-            when o.price_currency_code = :viewerCurrencyCode then o.price_amount
-            else round(o.price_amount * cr.rate, 8)
-        end
         """;
     private static final String MARKET_DETAILS_FROM_WHERE = """
         from offers o
@@ -115,22 +81,10 @@ public class MarketOfferQueryRepository {
         join users u
           on u.id = o.user_id
          and u.is_active = true
-        join lateral (
-            select greatest(
-                o.quantity - coalesce((
-                    select sum(r.quantity)
-                    from offer_reservations r
-                    where r.offer_id = o.id
-                      and r.status = 'active'
-                ), 0),
-                0
-            ) as available_quantity
-        ) aq
-          on true
         join lateral (
             select
                 floor(
-                    least(aq.available_quantity, coalesce(o.max_trade_quantity, aq.available_quantity))
+                    least(o.available_quantity, coalesce(o.max_trade_quantity, o.available_quantity))
                         / o.quantity_step
                 ) * o.quantity_step as effective_max_trade_quantity,
                 case
@@ -139,8 +93,9 @@ public class MarketOfferQueryRepository {
                 end as effective_min_trade_quantity
         ) eql
           on true
-        left join currency_rates cr
-          on %s
+        join offer_display_prices dp
+          on dp.offer_id = o.id
+         and dp.viewer_currency_code = :viewerCurrencyCode
         where o.id = :offerId
           and o.status = 'active'
           and o.published_at is not null
@@ -150,13 +105,55 @@ public class MarketOfferQueryRepository {
           and o.quantity is not null
           and o.quantity_step is not null
           and o.quantity_step > 0
+          and o.available_quantity > 0
+          and eql.effective_max_trade_quantity > 0
+          and (
+              eql.effective_min_trade_quantity is null
+                  or eql.effective_min_trade_quantity <= eql.effective_max_trade_quantity
+          )
+        """;
+    private static final String ORDER_BOOK_FROM_WHERE = """
+        from offers o
+        join games g
+          on g.id = o.game_id
+         and g.is_active = true
+        join categories c
+          on c.id = o.category_id
+         and c.is_active = true
+         and lower(c.slug) = 'currency'
+        join users u
+          on u.id = o.user_id
+         and u.is_active = true
+        join lateral (
+            select
+                floor(
+                    least(o.available_quantity, coalesce(o.max_trade_quantity, o.available_quantity))
+                        / o.quantity_step
+                ) * o.quantity_step as effective_max_trade_quantity,
+                case
+                    when o.min_trade_quantity is null then null
+                    else ceil(o.min_trade_quantity / o.quantity_step) * o.quantity_step
+                end as effective_min_trade_quantity
+        ) eql
+          on true
+        where o.status = 'active'
+          and o.published_at is not null
+          and o.price_amount is not null
+          and o.price_currency_code is not null
+          and o.quantity is not null
+          and o.quantity_step is not null
+          and o.quantity_step > 0
+          and o.available_quantity > 0
           and eql.effective_max_trade_quantity > 0
           and (
               eql.effective_min_trade_quantity is null
                   or eql.effective_min_trade_quantity <= eql.effective_max_trade_quantity
           )
-          and (o.price_currency_code = :viewerCurrencyCode or cr.id is not null)
         """;
+    private static final int ORDER_BOOK_DETAILS_BATCH_SIZE = 1000;
+    private static final int FACET_CONTEXT = 1;
+    private static final int FACET_ATTRIBUTE = 2;
+    private static final int FACET_DELIVERY_METHOD = 3;
     private static final RowMapper<MarketOfferRow> MARKET_OFFER_ROW_MAPPER = (rs, rowNum) -> new MarketOfferRow(
         rs.getLong("id"),
         rs.getLong("offer_version"),
@@ -182,24 +179,31 @@ public class MarketOfferQueryRepository {
         rs.getBigDecimal("quantity_step"),
         getInstant(rs, "published_at")
     );
-    private static final RowMapper<MarketOfferContextRecord> CONTEXT_ROW_MAPPER = (rs, rowNum) -> new MarketOfferContextRecord(
-        rs.getLong("offer_id"),
-        rs.getString("dimension_slug"),
-        rs.getString("value_slug"),
-        rs.getString("value_title")
-    );
-    private static final RowMapper<MarketOfferAttributeRecord> ATTRIBUTE_ROW_MAPPER = (rs, rowNum) -> new MarketOfferAttributeRecord(
-        rs.getLong("offer_id"),
-        rs.getString("attribute_slug"),
-        rs.getString("option_slug"),
-        rs.getString("option_title")
-    );
-    private static final RowMapper<MarketOfferDeliveryMethodRecord> DELIVERY_METHOD_ROW_MAPPER = (rs, rowNum) -> new MarketOfferDeliveryMethodRecord(
-        rs.getLong("offer_id"),
-        rs.getString("slug"),
-        rs.getString("title")
+    private static final RowMapper<MarketOfferRow> ORDER_BOOK_ROW_MAPPER = (rs, rowNum) -> new MarketOfferRow(
+        rs.getLong("id"),
+        rs.getLong("offer_version"),
+        rs.getString("side"),
+        rs.getLong("owner_user_id"),
+        rs.getLong("game_id"),
+        rs.getString("game_slug"),
+        rs.getString("game_title"),
+        rs.getLong("category_id"),
+        rs.getString("category_slug"),
+        rs.getString("category_title"),
+        rs.getString("owner_username"),
+        rs.getString("title"),
+        rs.getString("description"),
+        rs.getString("trade_terms"),
+        rs.getString("price_currency_code"),
+        rs.getBigDecimal("price_amount"),
+        null,
+        null,
+        rs.getBigDecimal("quantity"),
+        rs.getBigDecimal("min_trade_quantity"),
+        rs.getBigDecimal("max_trade_quantity"),
+        rs.getBigDecimal("quantity_step"),
+        getInstant(rs, "published_at")
     );
-
     private final NamedParameterJdbcTemplate jdbcTemplate;
 
     public MarketOfferPageData findCurrencyOffers(MarketOfferSearchCriteria criteria) {
@@ -217,6 +221,22 @@ public class MarketOfferQueryRepository {
         return new MarketOfferPageData(toOfferRecords(rows, criteria.viewerCurrencyCode()), total);
     }
 
+    public MarketOfferSliceData findCurrencyOffersAfter(MarketOfferSearchCriteria criteria) {
+        SqlFragments sqlFragments = buildSqlFragments(criteria);
+        List<MarketOfferRow> rows = querySeekRows(criteria, sqlFragments);
+        boolean hasMore = rows.size() > criteria.size();
+        List<MarketOfferRow> pageRows = hasMore ? rows.subList(0, criteria.size()) : rows;
+        if (pageRows.isEmpty()) {
+            return new MarketOfferSliceData(List.of(), false);
+        }
+
+        return new MarketOfferSliceData(toOfferRecords(pageRows, criteria.viewerCurrencyCode()), hasMore);
+    }
+
+    public long countCurrencyOffers(MarketOfferSearchCriteria criteria) {
+        return queryTotal(buildSqlFragments(criteria));
+    }
+
     public Optional<MarketOfferRecord> findCurrencyOfferById(
         Long offerId,
         MarketIntent intent,
@@ -226,11 +246,7 @@ public class MarketOfferQueryRepository {
             .addValue("offerId", offerId)
             .addValue("offerSide", intent.offerSide())
             .addValue("viewerCurrencyCode", viewerCurrencyCode);
-        String fromWhere = MARKET_DETAILS_FROM_WHERE.formatted(rateJoin(intent));
-        String sql = buildSelectSql(
-            intent == MarketIntent.BUY ? BUY_DISPLAY_PRICE_EXPRESSION : SELL_DISPLAY_PRICE_EXPRESSION,
-            fromWhere
-        );
+        String sql = buildSelectSql(MARKET_DETAILS_FROM_WHERE);
         List<MarketOfferRow> rows = jdbcTemplate.query(sql, parameters, MARKET_OFFER_ROW_MAPPER);
         if (rows.isEmpty()) {
             return Optional.empty();
@@ -239,6 +255,94 @@ public class MarketOfferQueryRepository {
         return toOfferRecords(rows, viewerCurrencyCode).stream().findFirst();
     }
 
+    public List<MarketOrderBookOfferRecord> findOrderBookOffers() {
+        return queryOrderBookOffers("", new MapSqlParameterSource());
+    }
+
+    public List<MarketOrderBookOfferRecord> findOrderBookOffers(Collection<Long> offerIds) {
+        if (offerIds.isEmpty()) {
+            return List.of();
+        }
+        return queryOrderBookOffers(
+            "and o.id in (:offerIds)",
+            new MapSqlParameterSource("offerIds", offerIds)
+        );
+    }
+
+    @SuppressWarnings("SqlSourceToSinkFlow")
+    private List<MarketOrderBookOfferRecord> queryOrderBookOffers(String idFilter, MapSqlParameterSource parameters) {
+        String sql = """
+            select
+                o.id,
+                o.version as offer_version,
+                o.side,
+                o.user_id as owner_user_id,
+                g.id as game_id,
+                g.slug as game_slug,
+                g.title as game_title,
+                c.id as category_id,
+                c.slug as category_slug,
+                c.title as category_title,
+                u.username as owner_username,
+                o.title,
+                o.description,
+                o.trade_terms,
+                o.price_currency_code,
+                o.price_amount,
+                o.available_quantity as quantity,
+                eql.effective_min_trade_quantity as min_trade_quantity,
+                eql.effective_max_trade_quantity as max_trade_quantity,
+                o.quantity_step,
+                o.published_at
+            %s
+            %s
+            """.formatted(ORDER_BOOK_FROM_WHERE, idFilter);
+        List<MarketOfferRow> rows = jdbcTemplate.query(sql, parameters, ORDER_BOOK_ROW_MAPPER);
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+
+        List<MarketOrderBookOfferRecord> offers = new ArrayList<>(rows.size());
+        for (int from = 0; from < rows.size(); from += ORDER_BOOK_DETAILS_BATCH_SIZE) {
+            List<MarketOfferRow> batch = rows.subList(from, Math.min(from + ORDER_BOOK_DETAILS_BATCH_SIZE, rows.size()));
+            List<Long> offerIds = batch.stream()
+                .map(MarketOfferRow::id)
+                .toList();
+
+            MarketOfferFacets facets = loadFacets(offerIds);
+
+            for (MarketOfferRow row : batch) {
+                offers.add(new MarketOrderBookOfferRecord(
+                    row.id(),
+                    row.offerVersion(),
+                    row.side(),
+                    row.ownerUserId(),
+                    row.gameId(),
+                    row.gameSlug(),
+                    row.gameTitle(),
+                    row.categoryId(),
+                    row.categorySlug(),
+                    row.categoryTitle(),
+                    row.ownerUsername(),
+                    row.title(),
+                    row.description(),
+                    row.tradeTerms(),
+                    row.priceCurrencyCode(),
+                    row.priceAmount(),
+                    row.quantity(),
+                    row.minTradeQuantity(),
+                    row.maxTradeQuantity(),
+                    row.quantityStep(),
+                    facets.contextsOf(row.id()),
+                    facets.attributesOf(row.id()),
+                    facets.deliveryMethodsOf(row.id()),
+                    row.publishedAt()
+                ));
+            }
+        }
+        return offers;
+    }
+
     @SuppressWarnings("SqlSourceToSinkFlow")
     private long queryTotal(SqlFragments sqlFragments) {
         String countSql = "select count(*) " + sqlFragments.fromWhereClause();
@@ -248,10 +352,7 @@ public class MarketOfferQueryRepository {
 
     @SuppressWarnings("SqlSourceToSinkFlow")
     private List<MarketOfferRow> queryRows(MarketOfferSearchCriteria criteria, SqlFragments sqlFragments) {
-        String selectSql = buildSelectSql(
-            sqlFragments.displayPriceExpression(),
-            sqlFragments.fromWhereClause()
-        ) + """
+        String selectSql = buildSelectSql(sqlFragments.fromWhereClause()) + """
             order by %s
             limit :limit
             offset :offset
@@ -263,7 +364,37 @@ public class MarketOfferQueryRepository {
         return jdbcTemplate.query(selectSql, parameters, MARKET_OFFER_ROW_MAPPER);
     }
 
-    private String buildSelectSql(String displayPriceExpression, String fromWhereClause) {
+    @SuppressWarnings("SqlSourceToSinkFlow")
+    private List<MarketOfferRow> querySeekRows(MarketOfferSearchCriteria criteria, SqlFragments sqlFragments) {
+        MapSqlParameterSource parameters = copyOf(sqlFragments.parameters())
+            .addValue("limit", criteria.size() + 1);
+        String seekCondition = "";
+        MarketOfferCursor after = criteria.after();
+        if (after != null) {
+            seekCondition = "where " + toSeekCondition(criteria.sort());
+            parameters
+                .addValue("cursorDisplayPriceAmount", after.displayPriceAmount())
+                .addValue("cursorPublishedAt", OffsetDateTime.ofInstant(after.publishedAt(), ZoneOffset.UTC))
+                .addValue("cursorOfferId", after.offerId());
+        }
+
+        String selectSql = """
+            select *
+            from (
+            %s
+            ) market_offers
+            %s
+            order by %s
+            limit :limit
+            """.formatted(
+            buildSelectSql(sqlFragments.fromWhereClause()),
+            seekCondition,
+            toSeekOrderBy(criteria.sort())
+        );
+        return jdbcTemplate.query(selectSql, parameters, MARKET_OFFER_ROW_MAPPER);
+    }
+
+    private String buildSelectSql(String fromWhereClause) {
         return """
             select
                 o.id,
@@ -282,85 +413,111 @@ public class MarketOfferQueryRepository {
                 o.trade_terms,
                 o.price_currency_code,
                 o.price_amount,
-                %s as display_price_amount,
-                %s as rate,
-                aq.available_quantity as quantity,
+                dp.display_price_amount,
+                dp.rate,
+                o.available_quantity as quantity,
                 eql.effective_min_trade_quantity as min_trade_quantity,
                 eql.effective_max_trade_quantity as max_trade_quantity,
                 o.quantity_step,
-                o.published_at
+                dp.published_at
             %s
-            """.formatted(
-            displayPriceExpression,
-            RATE_EXPRESSION,
-            fromWhereClause
-        );
+            """.formatted(fromWhereClause);
     }
 
-    private Map<Long, List<MarketOfferContextRecord>> loadContexts(List<Long> offerIds) {
+    public MarketOfferFacets loadFacets(Collection<Long> offerIds) {
         String sql = """
             select
-                ocv.offer_id,
-                cd.slug as dimension_slug,
-                cdv.slug as value_slug,
-                cdv.title as value_title
-            from offer_context_values ocv
-            join context_dimensions cd
-              on cd.id = ocv.context_dimension_id
-            join context_dimension_values cdv
-              on cdv.id = ocv.context_dimension_value_id
-            where ocv.offer_id in (:offerIds)
-            order by ocv.offer_id , cd.sort_order , cd.title
+                facets.facet,
+                facets.offer_id,
+                facets.slug,
+                facets.value_slug,
+                facets.value_title,
+                facets.value_text
+            from (
+                select
+                    1 as facet,
+                    ocv.offer_id,
+                    cd.sort_order,
+                    cd.title as sort_title,
+                    cd.slug,
+                    cdv.slug as value_slug,
+                    cdv.title as value_title,
+                    null as value_text
+                from offer_context_values ocv
+                join context_dimensions cd
+                  on cd.id = ocv.context_dimension_id
+                join context_dimension_values cdv
+                  on cdv.id = ocv.context_dimension_value_id
+                where ocv.offer_id in (:offerIds)
+                union all
+                select
+                    2,
+                    oav.offer_id,
+                    ca.sort_order,
+                    ca.title,
+                    ca.slug,
+                    cao.slug,
+                    cao.title,
+                    oav.value_text
+                from offer_attribute_values oav
+                join category_attributes ca
+                  on ca.id = oav.category_attribute_id
+                left join category_attribute_options cao
+                  on cao.id = oav.category_attribute_option_id
+                where oav.offer_id in (:offerIds)
+                union all
+                select
+                    3,
+                    odm.offer_id,
+                    dm.sort_order,
+                    dm.title,
+                    dm.slug,
+                    null,
+                    dm.title,
+                    null
+                from offer_delivery_methods odm
+                join delivery_methods dm
+                  on dm.id = odm.delivery_method_id
+                where odm.offer_id in (:offerIds)
+            ) facets
+            order by facets.offer_id, facets.facet, facets.sort_order, facets.sort_title
             """;
-        List<MarketOfferContextRecord> rows = jdbcTemplate.query(
-            sql,
-            new MapSqlParameterSource("offerIds", offerIds),
-            CONTEXT_ROW_MAPPER
+        MarketOfferFacets facets = new MarketOfferFacets(
+            new LinkedHashMap<>(),
+            new LinkedHashMap<>(),
+            new LinkedHashMap<>()
         );
-        return groupByOfferId(rows, MarketOfferContextRecord::offerId);
-    }
-
-    private Map<Long, List<MarketOfferAttributeRecord>> loadAttributes(List<Long> offerIds) {
-        String sql = """
-            select
-                oav.offer_id,
-                ca.slug as attribute_slug,
-                cao.slug as option_slug,
-                cao.title as option_title
-            from offer_attribute_values oav
-            join category_attributes ca
-              on ca.id = oav.category_attribute_id
-            left join category_attribute_options cao
-              on cao.id = oav.category_attribute_option_id
-            where oav.offer_id in (:offerIds)
-            order by oav.offer_id , ca.sort_order , ca.title
-            """;
-        List<MarketOfferAttributeRecord> rows = jdbcTemplate.query(
-            sql,
-            new MapSqlParameterSource("offerIds", offerIds),
-            ATTRIBUTE_ROW_MAPPER
-        );
-        return groupByOfferId(rows, MarketOfferAttributeRecord::offerId);
-    }
-
-    private Map<Long, List<MarketOfferDeliveryMethodRecord>> loadDeliveryMethods(List<Long> offerIds) {
-        String sql = """
-            select
-                odm.offer_id,
-                dm.slug,
-                dm.title
-            from offer_delivery_methods odm
-            join delivery_methods dm
-              on dm.id = odm.delivery_method_id
-            where odm.offer_id in (:offerIds)
-            order by odm.offer_id , dm.sort_order , dm.title
-            """;
-        List<MarketOfferDeliveryMethodRecord> rows = jdbcTemplate.query(
-            sql,
-            new MapSqlParameterSource("offerIds", offerIds),
-            DELIVERY_METHOD_ROW_MAPPER
-        );
-        return groupByOfferId(rows, MarketOfferDeliveryMethodRecord::offerId);
+        jdbcTemplate.query(sql, new MapSqlParameterSource("offerIds", offerIds), rs -> {
+            long offerId = rs.getLong("offer_id");
+            switch (rs.getInt("facet")) {
+                case FACET_CONTEXT -> facets.contexts()
+                    .computeIfAbsent(offerId, key -> new ArrayList<>())
+                    .add(new MarketOfferContextRecord(
+                        offerId,
+                        rs.getString("slug"),
+                        rs.getString("value_slug"),
+                        rs.getString("value_title")
+                    ));
+                case FACET_ATTRIBUTE -> facets.attributes()
+                    .computeIfAbsent(offerId, key -> new ArrayList<>())
+                    .add(new MarketOfferAttributeRecord(
+                        offerId,
+                        rs.getString("slug"),
+                        rs.getString("value_slug"),
+                        rs.getString("value_title"),
+                        rs.getString("value_text")
+                    ));
+                case FACET_DELIVERY_METHOD -> facets.deliveryMethods()
+                    .computeIfAbsent(offerId, key -> new ArrayList<>())
+                    .add(new MarketOfferDeliveryMethodRecord(
+                        offerId,
+                        rs.getString("slug"),
+                        rs.getString("value_title")
+                    ));
+                default -> throw new IllegalStateException("Unknown offer facet " + rs.getInt("facet"));
+            }
+        });
+        return facets;
     }
 
     private SqlFragments buildSqlFragments(MarketOfferSearchCriteria criteria) {
@@ -370,18 +527,14 @@ public class MarketOfferQueryRepository {
             .addValue("offerSide", criteria.offerSide())
             .addValue("viewerCurrencyCode", criteria.viewerCurrencyCode());
 
-        StringBuilder fromWhere = new StringBuilder(ACTIVE_OFFERS_FROM_WHERE.formatted(rateJoin(criteria.intent())));
+        StringBuilder fromWhere = new StringBuilder(ACTIVE_OFFERS_FROM_WHERE);
         appendContextFilter(fromWhere, parameters, "platform", criteria.platform());
         appendContextFilter(fromWhere, parameters, "league", criteria.league());
         appendContextFilter(fromWhere, parameters, "mode", criteria.mode());
         appendContextFilter(fromWhere, parameters, "ruthless", criteria.ruthless());
         appendAttributeFilter(fromWhere, parameters, criteria.currencyType());
 
-        return new SqlFragments(
-            fromWhere.toString(),
-            criteria.intent() == MarketIntent.BUY ? BUY_DISPLAY_PRICE_EXPRESSION : SELL_DISPLAY_PRICE_EXPRESSION,
-            parameters
-        );
+        return new SqlFragments(fromWhere.toString(), parameters);
     }
 
     private List<MarketOfferRecord> toOfferRecords(List<MarketOfferRow> rows, String viewerCurrencyCode) {
@@ -389,9 +542,7 @@ public class MarketOfferQueryRepository {
             .map(MarketOfferRow::id)
             .toList();
 
-        Map<Long, List<MarketOfferContextRecord>> contextsByOfferId = loadContexts(offerIds);
-        Map<Long, List<MarketOfferAttributeRecord>> attributesByOfferId = loadAttributes(offerIds);
-        Map<Long, List<MarketOfferDeliveryMethodRecord>> deliveryMethodsByOfferId = loadDeliveryMethods(offerIds);
+        MarketOfferFacets facets = loadFacets(offerIds);
 
         return rows.stream()
             .map(row -> new MarketOfferRecord(
@@ -418,9 +569,9 @@ public class MarketOfferQueryRepository {
                 row.minTradeQuantity(),
                 row.maxTradeQuantity(),
                 row.quantityStep(),
-                contextsByOfferId.getOrDefault(row.id(), List.of()),
-                attributesByOfferId.getOrDefault(row.id(), List.of()),
-                deliveryMethodsByOfferId.getOrDefault(row.id(), List.of()),
+                facets.contextsOf(row.id()),
+                facets.attributesOf(row.id()),
+                facets.deliveryMethodsOf(row.id()),
                 row.publishedAt()
             ))
             .toList();
@@ -483,14 +634,44 @@ public class MarketOfferQueryRepository {
         parameters.addValue("currencyType", currencyType);
     }
 
-    private String rateJoin(MarketIntent intent) {
-        return intent == MarketIntent.BUY ? BUY_RATE_JOIN : SELL_RATE_JOIN;
+    private String toOrderBy(MarketPriceSort sort) {
+        return switch (sort) {
+            case PRICE_ASC -> "dp.display_price_amount asc, dp.published_at desc, dp.offer_id asc";
+            case PRICE_DESC -> "dp.display_price_amount desc, dp.published_at desc, dp.offer_id desc";
+        };
+    }
+
+    private String toSeekOrderBy(MarketPriceSort sort) {
+        return switch (sort) {
+            case PRICE_ASC -> "display_price_amount asc, published_at desc, id asc";
+            case PRICE_DESC -> "display_price_amount desc, published_at desc, id desc";
+        };
     }
 
-    private String toOrderBy(MarketPriceSort sort) {
+    private String toSeekCondition(MarketPriceSort sort) {
         return switch (sort) {
-            case PRICE_ASC -> "display_price_amount asc, o.published_at desc, o.id asc";
-            case PRICE_DESC -> "display_price_amount desc, o.published_at desc, o.id desc";
+            case PRICE_ASC -> """
+                (
+                    display_price_amount > :cursorDisplayPriceAmount
+                    or (display_price_amount = :cursorDisplayPriceAmount and published_at < :cursorPublishedAt)
+                    or (
+                        display_price_amount = :cursorDisplayPriceAmount
+                            and published_at = :cursorPublishedAt
+                            and id > :cursorOfferId
+                    )
+                )
+                """;
+            case PRICE_DESC -> """
+                (
+                    display_price_amount < :cursorDisplayPriceAmount
+                    or (display_price_amount = :cursorDisplayPriceAmount and published_at < :cursorPublishedAt)
+                    or (
+                        display_price_amount = :cursorDisplayPriceAmount
+                            and published_at = :cursorPublishedAt
+                            and id < :cursorOfferId
+                    )
+                )
+                """;
         };
     }
 
@@ -507,23 +688,8 @@ public class MarketOfferQueryRepository {
         return timestamp == null ? null : timestamp.toInstant();
     }
 
-    private static <T> Map<Long, List<T>> groupByOfferId(List<T> rows, OfferIdExtractor<T> offerIdExtractor) {
-        Map<Long, List<T>> grouped = new LinkedHashMap<>();
-        for (T row : rows) {
-            grouped.computeIfAbsent(offerIdExtractor.offerId(row), key -> new ArrayList<>())
-                .add(row);
-        }
-        return grouped;
-    }
-
-    @FunctionalInterface
-    private interface OfferIdExtractor<T> {
-        Long offerId(T value);
-    }
-
     private record SqlFragments(
         String fromWhereClause,
-        String displayPriceExpression,
         MapSqlParameterSource parameters
     ) {
     }
@@ -561,6 +727,12 @@ public class MarketOfferQueryRepository {
     ) {
     }
 
+    public record MarketOfferSliceData(
+        List<MarketOfferRecord> items,
+        boolean hasMore
+    ) {
+    }
+
     public record MarketOfferRecord(
         Long id,
         Long offerVersion,
@@ -592,6 +764,52 @@ public class MarketOfferQueryRepository {
     ) {
     }
 
+    public record MarketOrderBookOfferRecord(
+        Long id,
+        Long offerVersion,
+        String side,
+        Long ownerUserId,
+        Long gameId,
+        String gameSlug,
+        String gameTitle,
+        Long categoryId,
+        String categorySlug,
+        String categoryTitle,
+        String ownerUsername,
+        String title,
+        String description,
+        String tradeTerms,
+        String priceCurrencyCode,
+        BigDecimal priceAmount,
+        BigDecimal quantity,
+        BigDecimal minTradeQuantity,
+        BigDecimal maxTradeQuantity,
+        BigDecimal quantityStep,
+        List<MarketOfferContextRecord> contexts,
+        List<MarketOfferAttributeRecord> attributes,
+        List<MarketOfferDeliveryMethodRecord> deliveryMethods,
+        Instant publishedAt
+    ) {
+    }
+
+    public record MarketOfferFacets(
+        Map<Long, List<MarketOfferContextRecord>> contexts,
+        Map<Long, List<MarketOfferAttributeRecord>> attributes,
+        Map<Long, List<MarketOfferDeliveryMethodRecord>> deliveryMethods
+    ) {
+        public List<MarketOfferContextRecord> contextsOf(Long offerId) {
+            return contexts.getOrDefault(offerId, List.of());
+        }
+
+        public List<MarketOfferAttributeRecord> attributesOf(Long offerId) {
+            return attributes.getOrDefault(offerId, List.of());
+        }
+
+        public List<MarketOfferDeliveryMethodRecord> deliveryMethodsOf(Long offerId) {
+            return deliveryMethods.getOrDefault(offerId, List.of());
+        }
+    }
+
     public record MarketOfferContextRecord(
         Long offerId,
         String dimensionSlug,
@@ -604,7 +822,8 @@ public class MarketOfferQueryRepository {
         Long offerId,
         String attributeSlug,
         String optionSlug,
-        String optionTitle
+        String optionTitle,
+        String valueText
     ) {
     }
 
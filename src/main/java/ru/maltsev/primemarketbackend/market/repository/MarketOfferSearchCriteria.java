@@ -1,6 +1,7 @@
 package ru.maltsev.primemarketbackend.market.repository;
 
 import ru.maltsev.primemarketbackend.market.service.MarketIntent;
+import ru.maltsev.primemarketbackend.market.service.MarketOfferCursor;
 import ru.maltsev.primemarketbackend.market.service.MarketPriceSort;
 
 public record MarketOfferSearchCriteria(
@@ -16,6 +17,7 @@ public record MarketOfferSearchCriteria(
     String ruthless,
     String currencyType,
     int page,
-    int size
+    int size,
+    MarketOfferCursor after
 ) {
 }
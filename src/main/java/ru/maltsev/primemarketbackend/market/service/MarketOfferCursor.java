@@ -0,0 +1,53 @@
+package ru.maltsev.primemarketbackend.market.service;
+
+import java.math.BigDecimal;
+import java.time.DateTimeException;
+import java.time.Instant;
+import ru.maltsev.primemarketbackend.exception.ApiProblemException;
+import ru.maltsev.primemarketbackend.pagination.KeysetCursorCodec;
+
+public record MarketOfferCursor(
+    MarketPriceSort sort,
+    BigDecimal displayPriceAmount,
+    Instant publishedAt,
+    Long offerId
+) {
+    public String encode() {
+        return KeysetCursorCodec.encode(
+            sort.name(),
+            displayPriceAmount.toPlainString(),
+            Long.toString(publishedAt.getEpochSecond()),
+            Integer.toString(publishedAt.getNano()),
+            Long.toString(offerId)
+        );
+    }
+
+    public static MarketOfferCursor decode(String rawCursor, MarketPriceSort expectedSort) {
+        try {
+            String[] parts = KeysetCursorCodec.decode(rawCursor, 5);
+            if (parts == null) {
+                return null;
+            }
+
+            MarketPriceSort sort = MarketPriceSort.valueOf(parts[0]);
+            if (sort != expectedSort) {
+                throw invalidCursor();
+            }
+            return new MarketOfferCursor(
+                sort,
+                new BigDecimal(parts[1]),
+                Instant.ofEpochSecond(Long.parseLong(parts[2]), Integer.parseInt(parts[3])),
+                Long.parseLong(parts[4])
+            );
+        } catch (IllegalArgumentException | DateTimeException ex) {
+            throw invalidCursor();
+        }
+    }
+
+    private static ApiProblemException invalidCursor() {
+        return KeysetCursorCodec.invalidCursor(
+            "INVALID_MARKET_CURSOR",
+            "Query parameter 'cursor' is invalid for the requested sort"
+        );
+    }
+}
@@ -2,15 +2,16 @@ package ru.maltsev.primemarketbackend.market.service;
 
 import java.util.List;
 import java.util.Locale;
+import java.util.Optional;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import ru.maltsev.primemarketbackend.category.domain.Category;
-import ru.maltsev.primemarketbackend.category.repository.CategoryRepository;
-import ru.maltsev.primemarketbackend.currency.repository.CurrencyRepository;
+import ru.maltsev.primemarketbackend.catalog.service.CatalogCache;
+import ru.maltsev.primemarketbackend.catalog.service.CatalogSnapshot;
+import ru.maltsev.primemarketbackend.catalog.service.CatalogSnapshot.CatalogCategory;
 import ru.maltsev.primemarketbackend.exception.ApiProblemException;
-import ru.maltsev.primemarketbackend.game.repository.GameRepository;
 import ru.maltsev.primemarketbackend.market.api.dto.MarketOfferDetailsResponse;
 import ru.maltsev.primemarketbackend.market.api.dto.MarketOfferListRequest;
 import ru.maltsev.primemarketbackend.market.api.dto.MarketOfferListResponse;
@@ -20,8 +21,10 @@ import ru.maltsev.primemarketbackend.market.repository.MarketOfferQueryRepositor
 import ru.maltsev.primemarketbackend.market.repository.MarketOfferQueryRepository.MarketOfferDeliveryMethodRecord;
 import ru.maltsev.primemarketbackend.market.repository.MarketOfferQueryRepository.MarketOfferPageData;
 import ru.maltsev.primemarketbackend.market.repository.MarketOfferQueryRepository.MarketOfferRecord;
+import ru.maltsev.primemarketbackend.market.repository.MarketOfferQueryRepository.MarketOfferSliceData;
 import ru.maltsev.primemarketbackend.market.repository.MarketOfferSearchCriteria;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class MarketOfferService {
@@ -29,29 +32,33 @@ public class MarketOfferService {
     private static final int DEFAULT_PAGE = 0;
     private static final int DEFAULT_SIZE = 20;
 
-    private final GameRepository gameRepository;
-    private final CategoryRepository categoryRepository;
-    private final CurrencyRepository currencyRepository;
+    private final CatalogCache catalogCache;
     private final MarketOfferQueryRepository marketOfferQueryRepository;
+    private final MarketOrderBook marketOrderBook;
 
     @Transactional(readOnly = true)
     public MarketOfferListResponse listOffers(MarketOfferListRequest request) {
         String gameSlug = requireSlug(request.gameSlug(), "gameSlug");
         String categorySlug = requireSlug(request.categorySlug(), "categorySlug");
         MarketIntent intent = MarketIntent.from(request.intent());
-        String viewerCurrencyCode = requireValidViewerCurrencyCode(request.viewerCurrencyCode());
+        CatalogSnapshot catalog = catalogCache.snapshot();
+        String viewerCurrencyCode = requireValidViewerCurrencyCode(catalog, request.viewerCurrencyCode());
         int page = normalizePage(request.page());
         int size = normalizeSize(request.size());
         MarketPriceSort sort = MarketPriceSort.resolve(request.sort(), intent);
+        MarketPagination pagination = MarketPagination.resolve(request.pagination(), request.cursor());
+        MarketOfferCursor after = pagination == MarketPagination.KEYSET
+            ? MarketOfferCursor.decode(request.cursor(), sort)
+            : null;
 
-        gameRepository.findBySlugIgnoreCaseAndActiveTrue(gameSlug)
+        catalog.findGame(gameSlug)
             .orElseThrow(() -> new ApiProblemException(
                 HttpStatus.NOT_FOUND,
                 "GAME_NOT_FOUND",
                 "Game not found"
             ));
 
-        Category category = categoryRepository.findActiveByGameSlugAndCategorySlug(gameSlug, categorySlug)
+        CatalogCategory category = catalog.findCategory(gameSlug, categorySlug)
             .orElseThrow(() -> new ApiProblemException(
                 HttpStatus.NOT_FOUND,
                 "CATEGORY_NOT_FOUND",
@@ -61,8 +68,8 @@ public class MarketOfferService {
         validateSupportedCategory(category);
 
         MarketOfferSearchCriteria criteria = new MarketOfferSearchCriteria(
-            category.getGame().getId(),
-            category.getId(),
+            category.gameId(),
+            category.id(),
             intent.offerSide(),
             viewerCurrencyCode,
             intent,
@@ -73,23 +80,53 @@ public class MarketOfferService {
             normalizeOptionalSlug(request.ruthless()),
             normalizeOptionalSlug(request.currencyType()),
             page,
-            size
+            size,
+            after
         );
 
-        MarketOfferPageData pageData = marketOfferQueryRepository.findCurrencyOffers(criteria);
+        if (pagination == MarketPagination.KEYSET) {
+            return listOffersAfter(criteria, intent, Boolean.TRUE.equals(request.includeTotal()));
+        }
+
+        MarketOfferPageData pageData = findCurrencyOffers(criteria);
         List<MarketOfferListResponse.Item> items = pageData.items().stream()
             .map(item -> toResponseItem(item, intent))
             .toList();
 
-        return new MarketOfferListResponse(items, page, size, pageData.total());
+        return new MarketOfferListResponse(items, page, size, pageData.total(), null);
+    }
+
+    private MarketOfferListResponse listOffersAfter(
+        MarketOfferSearchCriteria criteria,
+        MarketIntent intent,
+        boolean includeTotal
+    ) {
+        MarketOfferSliceData sliceData = findCurrencyOffersAfter(criteria);
+        List<MarketOfferListResponse.Item> items = sliceData.items().stream()
+            .map(item -> toResponseItem(item, intent))
+            .toList();
+
+        String nextCursor = null;
+        if (sliceData.hasMore()) {
+            MarketOfferRecord last = sliceData.items().getLast();
+            nextCursor = new MarketOfferCursor(
+                criteria.sort(),
+                last.displayPriceAmount(),
+                last.publishedAt(),
+                last.id()
+            ).encode();
+        }
+        Long total = includeTotal ? countCurrencyOffers(criteria) : null;
+
+        return new MarketOfferListResponse(items, 0, criteria.size(), total, nextCursor);
     }
 
     @Transactional(readOnly = true)
     public MarketOfferDetailsResponse getOffer(Long offerId, String rawIntent, String rawViewerCurrencyCode) {
         MarketIntent intent = MarketIntent.from(rawIntent);
-        String viewerCurrencyCode = requireValidViewerCurrencyCode(rawViewerCurrencyCode);
+        String viewerCurrencyCode = requireValidViewerCurrencyCode(catalogCache.snapshot(), rawViewerCurrencyCode);
 
-        MarketOfferRecord offer = marketOfferQueryRepository.findCurrencyOfferById(offerId, intent, viewerCurrencyCode)
+        MarketOfferRecord offer = findCurrencyOfferById(offerId, intent, viewerCurrencyCode)
             .orElseThrow(() -> new ApiProblemException(
                 HttpStatus.NOT_FOUND,
                 "MARKET_OFFER_NOT_FOUND",
@@ -119,6 +156,103 @@ public class MarketOfferService {
         );
     }
 
+    private MarketOfferPageData findCurrencyOffers(MarketOfferSearchCriteria criteria) {
+        if (!marketOrderBook.isServing()) {
+            return marketOfferQueryRepository.findCurrencyOffers(criteria);
+        }
+        MarketOfferPageData fromBook = marketOrderBook.findCurrencyOffers(criteria);
+        if (!marketOrderBook.isConsistencyCheckEnabled()) {
+            return fromBook;
+        }
+        MarketOfferPageData fromSql = marketOfferQueryRepository.findCurrencyOffers(criteria);
+        boolean consistent = fromBook.total() == fromSql.total()
+            && sameOffers(fromBook.items(), fromSql.items());
+        return consistent ? fromBook : diverged("listOffers", criteria, fromBook, fromSql);
+    }
+
+    private MarketOfferSliceData findCurrencyOffersAfter(MarketOfferSearchCriteria criteria) {
+        if (!marketOrderBook.isServing()) {
+            return marketOfferQueryRepository.findCurrencyOffersAfter(criteria);
+        }
+        MarketOfferSliceData fromBook = marketOrderBook.findCurrencyOffersAfter(criteria);
+        if (!marketOrderBook.isConsistencyCheckEnabled()) {
+            return fromBook;
+        }
+        MarketOfferSliceData fromSql = marketOfferQueryRepository.findCurrencyOffersAfter(criteria);
+        boolean consistent = fromBook.hasMore() == fromSql.hasMore()
+            && sameOffers(fromBook.items(), fromSql.items());
+        return consistent ? fromBook : diverged("listOffersAfter", criteria, fromBook, fromSql);
+    }
+
+    private long countCurrencyOffers(MarketOfferSearchCriteria criteria) {
+        if (!marketOrderBook.isServing()) {
+            return marketOfferQueryRepository.countCurrencyOffers(criteria);
+        }
+        long fromBook = marketOrderBook.countCurrencyOffers(criteria);
+        if (!marketOrderBook.isConsistencyCheckEnabled()) {
+            return fromBook;
+        }
+        long fromSql = marketOfferQueryRepository.countCurrencyOffers(criteria);
+        return fromBook == fromSql ? fromBook : diverged("countOffers", criteria, fromBook, fromSql);
+    }
+
+    private Optional<MarketOfferRecord> findCurrencyOfferById(
+        Long offerId,
+        MarketIntent intent,
+        String viewerCurrencyCode
+    ) {
+        if (!marketOrderBook.isServing()) {
+            return marketOfferQueryRepository.findCurrencyOfferById(offerId, intent, viewerCurrencyCode);
+        }
+        Optional<MarketOfferRecord> fromBook = marketOrderBook.findCurrencyOfferById(
+            offerId,
+            intent,
+            viewerCurrencyCode
+        );
+        if (!marketOrderBook.isConsistencyCheckEnabled()) {
+            return fromBook;
+        }
+        Optional<MarketOfferRecord> fromSql = marketOfferQueryRepository.findCurrencyOfferById(
+            offerId,
+            intent,
+            viewerCurrencyCode
+        );
+        return sameOffers(fromBook.stream().toList(), fromSql.stream().toList())
+            ? fromBook
+            : diverged("getOffer", offerId, fromBook, fromSql);
+    }
+
+    private boolean sameOffers(List<MarketOfferRecord> fromBook, List<MarketOfferRecord> fromSql) {
+        return fromBook.stream().map(this::consistencyKey).toList()
+            .equals(fromSql.stream().map(this::consistencyKey).toList());
+    }
+
+    private List<Object> consistencyKey(MarketOfferRecord offer) {
+        return List.of(
+            offer.id(),
+            offer.offerVersion(),
+            offer.displayPriceAmount().stripTrailingZeros(),
+            offer.rate().stripTrailingZeros(),
+            offer.quantity().stripTrailingZeros(),
+            String.valueOf(offer.minTradeQuantity() == null ? null : offer.minTradeQuantity().stripTrailingZeros()),
+            offer.maxTradeQuantity().stripTrailingZeros(),
+            offer.contexts(),
+            offer.attributes(),
+            offer.deliveryMethods()
+        );
+    }
+
+    private <T> T diverged(String operation, Object request, T fromBook, T fromSql) {
+        log.warn(
+            "Market order book diverged from SQL: operation={}, request={}, book={}, sql={}",
+            operation,
+            request,
+            fromBook,
+            fromSql
+        );
+        return fromSql;
+    }
+
     private MarketOfferListResponse.Item toResponseItem(MarketOfferRecord item, MarketIntent intent) {
         return new MarketOfferListResponse.Item(
             item.id(),
@@ -207,9 +341,9 @@ public class MarketOfferService {
         return value.trim().toUpperCase(Locale.ROOT);
     }
 
-    private String requireValidViewerCurrencyCode(String value) {
+    private String requireValidViewerCurrencyCode(CatalogSnapshot catalog, String value) {
         String normalized = requireViewerCurrencyCode(value);
-        if (!currencyRepository.existsByCodeIgnoreCaseAndActiveTrue(normalized)) {
+        if (!catalog.isActiveCurrency(normalized)) {
             throw new ApiProblemException(
                 HttpStatus.BAD_REQUEST,
                 "INVALID_VIEWER_CURRENCY_CODE",
@@ -226,8 +360,8 @@ public class MarketOfferService {
         return value.trim().toLowerCase(Locale.ROOT);
     }
 
-    private void validateSupportedCategory(Category category) {
-        if (!SUPPORTED_CATEGORY_SLUG.equals(category.getSlug())) {
+    private void validateSupportedCategory(CatalogCategory category) {
+        if (!SUPPORTED_CATEGORY_SLUG.equals(category.slug())) {
             throw new ApiProblemException(
                 HttpStatus.BAD_REQUEST,
                 "UNSUPPORTED_MARKET_CATEGORY",
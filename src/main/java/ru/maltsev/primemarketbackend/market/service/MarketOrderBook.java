@@ -0,0 +1,461 @@
+package ru.maltsev.primemarketbackend.market.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.maltsev.primemarketbackend.config.MarketOrderBookProperties;
+import ru.maltsev.primemarketbackend.currency.domain.CurrencyRate;
+import ru.maltsev.primemarketbackend.currency.repository.CurrencyRateRepository;
+import ru.maltsev.primemarketbackend.market.repository.MarketOfferQueryRepository;
+import ru.maltsev.primemarketbackend.market.repository.MarketOfferQueryRepository.MarketOfferAttributeRecord;
+import ru.maltsev.primemarketbackend.market.repository.MarketOfferQueryRepository.MarketOfferContextRecord;
+import ru.maltsev.primemarketbackend.market.repository.MarketOfferQueryRepository.MarketOfferPageData;
+import ru.maltsev.primemarketbackend.market.repository.MarketOfferQueryRepository.MarketOfferRecord;
+import ru.maltsev.primemarketbackend.market.repository.MarketOfferQueryRepository.MarketOfferSliceData;
+import ru.maltsev.primemarketbackend.market.repository.MarketOfferQueryRepository.MarketOrderBookOfferRecord;
+import ru.maltsev.primemarketbackend.market.repository.MarketOfferSearchCriteria;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MarketOrderBook {
+    private static final BigDecimal SAME_CURRENCY_RATE = new BigDecimal("1.00000000");
+    private static final int DISPLAY_PRICE_SCALE = 8;
+    private static final int REFRESH_LOCK_STRIPES = 64;
+    private static final String CURRENCY_TYPE_ATTRIBUTE_SLUG = "currency-type";
+    private static final Comparator<Entry> NATIVE_PRICE_ORDER = Comparator
+        .comparing((Entry entry) -> entry.offer().priceCurrencyCode())
+        .thenComparing(entry -> entry.offer().priceAmount())
+        .thenComparing((Entry entry) -> entry.offer().publishedAt(), Comparator.reverseOrder())
+        .thenComparing(entry -> entry.offer().id());
+
+    private final MarketOrderBookProperties properties;
+    private final MarketOfferQueryRepository marketOfferQueryRepository;
+    private final CurrencyRateRepository currencyRateRepository;
+
+    private final Map<BookKey, Book> books = new ConcurrentHashMap<>();
+    private final Map<Long, BookKey> bookKeysByOfferId = new ConcurrentHashMap<>();
+    private final Object[] refreshLocks = newRefreshLocks();
+    private final Object stateLock = new Object();
+    private final Object rebuildLock = new Object();
+    private volatile Map<String, BigDecimal> rates = Map.of();
+    private volatile Set<Long> offersChangedDuringRebuild;
+    private volatile boolean ready;
+
+    public boolean isServing() {
+        return properties.enabled() && ready;
+    }
+
+    public boolean isConsistencyCheckEnabled() {
+        return properties.consistencyCheck();
+    }
+
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            Set<Long> changedOfferIds = ConcurrentHashMap.newKeySet();
+            offersChangedDuringRebuild = changedOfferIds;
+            try {
+                Map<String, BigDecimal> loadedRates = loadRates();
+                List<MarketOrderBookOfferRecord> offers = marketOfferQueryRepository.findOrderBookOffers();
+
+                Map<BookKey, List<Entry>> entriesByBook = new HashMap<>();
+                Map<Long, BookKey> loadedBookKeys = new HashMap<>();
+                for (MarketOrderBookOfferRecord offer : offers) {
+                    BookKey key = BookKey.of(offer);
+                    entriesByBook.computeIfAbsent(key, ignored -> new ArrayList<>()).add(Entry.of(offer));
+                    loadedBookKeys.put(offer.id(), key);
+                }
+                Map<BookKey, Book> loadedBooks = new HashMap<>();
+                entriesByBook.forEach((key, entries) -> loadedBooks.put(key, Book.of(entries)));
+
+                synchronized (stateLock) {
+                    rates = loadedRates;
+                    books.putAll(loadedBooks);
+                    books.keySet().retainAll(loadedBooks.keySet());
+                    bookKeysByOfferId.putAll(loadedBookKeys);
+                    bookKeysByOfferId.keySet().retainAll(loadedBookKeys.keySet());
+                    ready = true;
+                }
+                log.info("Market order book rebuilt: offers={}, books={}", offers.size(), loadedBooks.size());
+            } finally {
+                offersChangedDuringRebuild = null;
+            }
+            changedOfferIds.forEach(this::refreshOffer);
+        }
+    }
+
+    public void offerChanged(Long offerId) {
+        if (offerId == null || (!ready && offersChangedDuringRebuild == null)) {
+            return;
+        }
+        afterCommit(() -> refreshOffer(offerId));
+    }
+
+    public void refreshOffer(Long offerId) {
+        Set<Long> changedOfferIds = offersChangedDuringRebuild;
+        if (changedOfferIds != null) {
+            changedOfferIds.add(offerId);
+        }
+
+        synchronized (refreshLocks[Math.floorMod(offerId.hashCode(), REFRESH_LOCK_STRIPES)]) {
+            Optional<MarketOrderBookOfferRecord> offer = marketOfferQueryRepository
+                .findOrderBookOffers(List.of(offerId))
+                .stream()
+                .findFirst();
+            synchronized (stateLock) {
+                removeEntry(offerId);
+                offer.ifPresent(this::putEntry);
+            }
+        }
+    }
+
+    public MarketOfferPageData findCurrencyOffers(MarketOfferSearchCriteria criteria) {
+        List<Quote> matching = matchingQuotes(view(criteria).quotes(), criteria, 0, Integer.MAX_VALUE);
+        long offset = (long) criteria.page() * criteria.size();
+        if (offset >= matching.size()) {
+            return new MarketOfferPageData(List.of(), matching.size());
+        }
+
+        int from = (int) offset;
+        int to = Math.min(from + criteria.size(), matching.size());
+        List<MarketOfferRecord> items = matching.subList(from, to).stream()
+            .map(quote -> quote.toRecord(criteria.viewerCurrencyCode()))
+            .toList();
+        return new MarketOfferPageData(items, matching.size());
+    }
+
+    public MarketOfferSliceData findCurrencyOffersAfter(MarketOfferSearchCriteria criteria) {
+        View view = view(criteria);
+        int start = criteria.after() == null ? 0 : firstAfter(view, criteria.after(), criteria.sort());
+        List<Quote> matching = matchingQuotes(view.quotes(), criteria, start, criteria.size() + 1);
+        boolean hasMore = matching.size() > criteria.size();
+        List<MarketOfferRecord> items = (hasMore ? matching.subList(0, criteria.size()) : matching).stream()
+            .map(quote -> quote.toRecord(criteria.viewerCurrencyCode()))
+            .toList();
+        return new MarketOfferSliceData(items, hasMore);
+    }
+
+    public long countCurrencyOffers(MarketOfferSearchCriteria criteria) {
+        return matchingQuotes(view(criteria).quotes(), criteria, 0, Integer.MAX_VALUE).size();
+    }
+
+    public Optional<MarketOfferRecord> findCurrencyOfferById(
+        Long offerId,
+        MarketIntent intent,
+        String viewerCurrencyCode
+    ) {
+        BookKey key = bookKeysByOfferId.get(offerId);
+        if (key == null || !key.side().equals(intent.offerSide())) {
+            return Optional.empty();
+        }
+        Book book = books.get(key);
+        Entry entry = book == null ? null : book.entriesById().get(offerId);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(quote(entry, intent, viewerCurrencyCode, rates))
+            .map(quote -> quote.toRecord(viewerCurrencyCode));
+    }
+
+    private List<Quote> matchingQuotes(List<Quote> quotes, MarketOfferSearchCriteria criteria, int start, int limit) {
+        Predicate<Entry> filter = filter(criteria);
+        List<Quote> matching = new ArrayList<>();
+        for (int index = start; index < quotes.size() && matching.size() < limit; index++) {
+            Quote quote = quotes.get(index);
+            if (filter.test(quote.entry())) {
+                matching.add(quote);
+            }
+        }
+        return matching;
+    }
+
+    private View view(MarketOfferSearchCriteria criteria) {
+        Book book = books.get(new BookKey(criteria.gameId(), criteria.categoryId(), criteria.offerSide()));
+        if (book == null) {
+            return View.EMPTY;
+        }
+
+        Map<String, BigDecimal> currentRates = rates;
+        ViewKey viewKey = new ViewKey(criteria.intent(), criteria.viewerCurrencyCode(), criteria.sort());
+        View cached = book.views().get(viewKey);
+        if (cached != null && cached.rates() == currentRates) {
+            return cached;
+        }
+
+        List<Quote> quotes = new ArrayList<>(book.entries().size());
+        for (Entry entry : book.entries()) {
+            Quote quote = quote(entry, criteria.intent(), criteria.viewerCurrencyCode(), currentRates);
+            if (quote != null) {
+                quotes.add(quote);
+            }
+        }
+        quotes.sort(displayOrder(criteria.sort()));
+        View view = new View(currentRates, Collections.unmodifiableList(quotes));
+        book.views().put(viewKey, view);
+        return view;
+    }
+
+    private Quote quote(Entry entry, MarketIntent intent, String viewerCurrencyCode, Map<String, BigDecimal> currentRates) {
+        MarketOrderBookOfferRecord offer = entry.offer();
+        if (offer.priceCurrencyCode().equals(viewerCurrencyCode)) {
+            return new Quote(entry, offer.priceAmount(), SAME_CURRENCY_RATE);
+        }
+
+        if (intent == MarketIntent.BUY) {
+            BigDecimal rate = currentRates.get(rateKey(viewerCurrencyCode, offer.priceCurrencyCode()));
+            return rate == null
+                ? null
+                : new Quote(entry, offer.priceAmount().divide(rate, DISPLAY_PRICE_SCALE, RoundingMode.HALF_UP), rate);
+        }
+
+        BigDecimal rate = currentRates.get(rateKey(offer.priceCurrencyCode(), viewerCurrencyCode));
+        return rate == null
+            ? null
+            : new Quote(
+                entry,
+                offer.priceAmount().multiply(rate).setScale(DISPLAY_PRICE_SCALE, RoundingMode.HALF_UP),
+                rate
+            );
+    }
+
+    private Predicate<Entry> filter(MarketOfferSearchCriteria criteria) {
+        List<String> contextKeys = new ArrayList<>(4);
+        addContextKey(contextKeys, "platform", criteria.platform());
+        addContextKey(contextKeys, "league", criteria.league());
+        addContextKey(contextKeys, "mode", criteria.mode());
+        addContextKey(contextKeys, "ruthless", criteria.ruthless());
+        String currencyType = criteria.currencyType();
+        return entry -> entry.contextKeys().containsAll(contextKeys)
+            && (currencyType == null || entry.currencyTypes().contains(currencyType));
+    }
+
+    private int firstAfter(View view, MarketOfferCursor cursor, MarketPriceSort sort) {
+        List<Quote> quotes = view.quotes();
+        int low = 0;
+        int high = quotes.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (compareToCursor(quotes.get(middle), cursor, sort) > 0) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        return low;
+    }
+
+    private int compareToCursor(Quote quote, MarketOfferCursor cursor, MarketPriceSort sort) {
+        int priceComparison = quote.displayPriceAmount().compareTo(cursor.displayPriceAmount());
+        if (priceComparison != 0) {
+            return sort == MarketPriceSort.PRICE_ASC ? priceComparison : -priceComparison;
+        }
+        int publishedComparison = cursor.publishedAt().compareTo(quote.entry().offer().publishedAt());
+        if (publishedComparison != 0) {
+            return publishedComparison;
+        }
+        int idComparison = quote.entry().offer().id().compareTo(cursor.offerId());
+        return sort == MarketPriceSort.PRICE_ASC ? idComparison : -idComparison;
+    }
+
+    private void putEntry(MarketOrderBookOfferRecord offer) {
+        BookKey key = BookKey.of(offer);
+        books.compute(key, (ignored, book) -> (book == null ? Book.EMPTY : book).with(Entry.of(offer)));
+        bookKeysByOfferId.put(offer.id(), key);
+    }
+
+    private void removeEntry(Long offerId) {
+        BookKey key = bookKeysByOfferId.remove(offerId);
+        if (key == null) {
+            return;
+        }
+        books.computeIfPresent(key, (ignored, book) -> {
+            Book next = book.without(offerId);
+            return next.entries().isEmpty() ? null : next;
+        });
+    }
+
+    private Map<String, BigDecimal> loadRates() {
+        Map<String, BigDecimal> loadedRates = new HashMap<>();
+        for (CurrencyRate rate : currencyRateRepository.findAll()) {
+            loadedRates.put(rateKey(rate.getFromCurrencyCode(), rate.getToCurrencyCode()), rate.getRate());
+        }
+        return Map.copyOf(loadedRates);
+    }
+
+    private void afterCommit(Runnable action) {
+        Runnable guarded = () -> {
+            try {
+                action.run();
+            } catch (RuntimeException ex) {
+                log.warn("Failed to refresh market order book entry", ex);
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()
+            && TransactionSynchronizationManager.isActualTransactionActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    guarded.run();
+                }
+            });
+            return;
+        }
+        guarded.run();
+    }
+
+    private static void addContextKey(List<String> contextKeys, String dimensionSlug, String valueSlug) {
+        if (valueSlug != null) {
+            contextKeys.add(contextKey(dimensionSlug, valueSlug));
+        }
+    }
+
+    private static Comparator<Quote> displayOrder(MarketPriceSort sort) {
+        Comparator<Quote> byPrice = Comparator.comparing(Quote::displayPriceAmount);
+        Comparator<Quote> byId = Comparator.comparing(quote -> quote.entry().offer().id());
+        if (sort == MarketPriceSort.PRICE_DESC) {
+            byPrice = byPrice.reversed();
+            byId = byId.reversed();
+        }
+        return byPrice
+            .thenComparing((Quote quote) -> quote.entry().offer().publishedAt(), Comparator.reverseOrder())
+            .thenComparing(byId);
+    }
+
+    private static String contextKey(String dimensionSlug, String valueSlug) {
+        return dimensionSlug + "=" + valueSlug;
+    }
+
+    private static String rateKey(String fromCurrencyCode, String toCurrencyCode) {
+        return fromCurrencyCode + ":" + toCurrencyCode;
+    }
+
+    private static Object[] newRefreshLocks() {
+        Object[] locks = new Object[REFRESH_LOCK_STRIPES];
+        for (int index = 0; index < locks.length; index++) {
+            locks[index] = new Object();
+        }
+        return locks;
+    }
+
+    private record BookKey(Long gameId, Long categoryId, String side) {
+        static BookKey of(MarketOrderBookOfferRecord offer) {
+            return new BookKey(offer.gameId(), offer.categoryId(), offer.side());
+        }
+    }
+
+    private record ViewKey(MarketIntent intent, String viewerCurrencyCode, MarketPriceSort sort) {
+    }
+
+    private record Entry(MarketOrderBookOfferRecord offer, Set<String> contextKeys, Set<String> currencyTypes) {
+        static Entry of(MarketOrderBookOfferRecord offer) {
+            Set<String> contextKeys = new HashSet<>();
+            for (MarketOfferContextRecord context : offer.contexts()) {
+                contextKeys.add(contextKey(context.dimensionSlug(), context.valueSlug()));
+            }
+            Set<String> currencyTypes = new HashSet<>();
+            for (MarketOfferAttributeRecord attribute : offer.attributes()) {
+                if (CURRENCY_TYPE_ATTRIBUTE_SLUG.equals(attribute.attributeSlug()) && attribute.optionSlug() != null) {
+                    currencyTypes.add(attribute.optionSlug());
+                }
+            }
+            return new Entry(offer, Set.copyOf(contextKeys), Set.copyOf(currencyTypes));
+        }
+    }
+
+    private record Book(List<Entry> entries, Map<Long, Entry> entriesById, Map<ViewKey, View> views) {
+        static final Book EMPTY = of(List.of());
+
+        static Book of(List<Entry> entries) {
+            List<Entry> sorted = new ArrayList<>(entries);
+            sorted.sort(NATIVE_PRICE_ORDER);
+            Map<Long, Entry> entriesById = new HashMap<>();
+            for (Entry entry : sorted) {
+                entriesById.put(entry.offer().id(), entry);
+            }
+            return new Book(Collections.unmodifiableList(sorted), entriesById, new ConcurrentHashMap<>());
+        }
+
+        Book with(Entry entry) {
+            List<Entry> next = new ArrayList<>(entries.size() + 1);
+            for (Entry existing : entries) {
+                if (!existing.offer().id().equals(entry.offer().id())) {
+                    next.add(existing);
+                }
+            }
+            int position = Collections.binarySearch(next, entry, NATIVE_PRICE_ORDER);
+            next.add(position < 0 ? -position - 1 : position, entry);
+            Map<Long, Entry> nextById = new HashMap<>(entriesById);
+            nextById.put(entry.offer().id(), entry);
+            return new Book(Collections.unmodifiableList(next), nextById, new ConcurrentHashMap<>());
+        }
+
+        Book without(Long offerId) {
+            if (!entriesById.containsKey(offerId)) {
+                return this;
+            }
+            List<Entry> next = new ArrayList<>(entries.size());
+            for (Entry existing : entries) {
+                if (!existing.offer().id().equals(offerId)) {
+                    next.add(existing);
+                }
+            }
+            Map<Long, Entry> nextById = new HashMap<>(entriesById);
+            nextById.remove(offerId);
+            return new Book(Collections.unmodifiableList(next), nextById, new ConcurrentHashMap<>());
+        }
+    }
+
+    private record View(Map<String, BigDecimal> rates, List<Quote> quotes) {
+        static final View EMPTY = new View(Map.of(), List.of());
+    }
+
+    private record Quote(Entry entry, BigDecimal displayPriceAmount, BigDecimal rate) {
+        MarketOfferRecord toRecord(String viewerCurrencyCode) {
+            MarketOrderBookOfferRecord offer = entry.offer();
+            return new MarketOfferRecord(
+                offer.id(),
+                offer.offerVersion(),
+                offer.side(),
+                offer.ownerUserId(),
+                offer.gameId(),
+                offer.gameSlug(),
+                offer.gameTitle(),
+                offer.categoryId(),
+                offer.categorySlug(),
+                offer.categoryTitle(),
+                offer.ownerUsername(),
+                offer.title(),
+                offer.description(),
+                offer.tradeTerms(),
+                offer.priceCurrencyCode(),
+                offer.priceAmount(),
+                displayPriceAmount,
+                viewerCurrencyCode,
+                rate,
+                offer.quantity(),
+                offer.minTradeQuantity(),
+                offer.maxTradeQuantity(),
+                offer.quantityStep(),
+                offer.contexts(),
+                offer.attributes(),
+                offer.deliveryMethods(),
+                offer.publishedAt()
+            );
+        }
+    }
+}
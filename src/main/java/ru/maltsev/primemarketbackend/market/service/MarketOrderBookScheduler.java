@@ -0,0 +1,41 @@
+package ru.maltsev.primemarketbackend.market.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.maltsev.primemarketbackend.config.MarketOrderBookProperties;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MarketOrderBookScheduler {
+    private final MarketOrderBookProperties properties;
+    private final MarketOrderBook marketOrderBook;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        rebuild();
+    }
+
+    @Scheduled(
+        initialDelayString = "${app.market.order-book.refresh-interval:1m}",
+        fixedDelayString = "${app.market.order-book.refresh-interval:1m}"
+    )
+    public void refresh() {
+        rebuild();
+    }
+
+    private void rebuild() {
+        if (!properties.enabled()) {
+            return;
+        }
+        try {
+            marketOrderBook.rebuild();
+        } catch (RuntimeException ex) {
+            log.warn("Failed to rebuild market order book", ex);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package ru.maltsev.primemarketbackend.market.service;
+
+import java.util.Locale;
+import org.springframework.http.HttpStatus;
+import ru.maltsev.primemarketbackend.exception.ApiProblemException;
+
+public enum MarketPagination {
+    OFFSET,
+    KEYSET;
+
+    public static MarketPagination resolve(String rawPagination, String rawCursor) {
+        if (rawPagination == null || rawPagination.isBlank()) {
+            return rawCursor == null || rawCursor.isBlank() ? OFFSET : KEYSET;
+        }
+
+        String normalized = rawPagination.trim().toLowerCase(Locale.ROOT);
+        return switch (normalized) {
+            case "offset" -> OFFSET;
+            case "keyset" -> KEYSET;
+            default -> throw new ApiProblemException(
+                HttpStatus.BAD_REQUEST,
+                "INVALID_MARKET_PAGINATION",
+                "Unknown market pagination " + rawPagination
+            );
+        };
+    }
+}
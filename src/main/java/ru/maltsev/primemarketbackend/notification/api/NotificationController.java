@@ -1,6 +1,7 @@
 package ru.maltsev.primemarketbackend.notification.api;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -20,11 +21,13 @@ import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import ru.maltsev.primemarketbackend.notification.api.dto.MarkAllNotificationsReadResponse;
+import ru.maltsev.primemarketbackend.notification.api.dto.NotificationFeedResponse;
 import ru.maltsev.primemarketbackend.notification.api.dto.NotificationResponse;
 import ru.maltsev.primemarketbackend.notification.api.dto.UnreadNotificationsCountResponse;
 import ru.maltsev.primemarketbackend.notification.service.NotificationService;
@@ -56,6 +59,7 @@ public class NotificationController {
                     event: notifications.unread_count
                     data: {"count":5}
 
+                    id: 42
                     event: notification.created
                     data: {"publicId":"311f9519-a43a-4305-9d26-bd0941961ec7","type":"order_created","title":"Order created","body":"A new order has been created.","payload":{"orderPublicId":"55c1327d-749e-4d9f-9f95-c56dcafec1d9"},"isRead":false,"createdAt":"2026-04-23T10:16:00Z","readAt":null}
                     """
@@ -63,7 +67,11 @@ public class NotificationController {
         )
     )
     @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
-    public ResponseEntity<SseEmitter> stream(@AuthenticationPrincipal UserPrincipal principal) {
+    public ResponseEntity<SseEmitter> stream(
+        @AuthenticationPrincipal UserPrincipal principal,
+        @Parameter(description = "Id of the last `notification.created` event received; missed notifications are replayed.")
+        @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId
+    ) {
         if (principal == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
@@ -72,7 +80,7 @@ public class NotificationController {
             .cacheControl(CacheControl.noStore())
             .header("X-Accel-Buffering", "no")
             .contentType(MediaType.TEXT_EVENT_STREAM)
-            .body(notificationStreamService.subscribe(principal.getUser().getId()));
+            .body(notificationStreamService.subscribe(principal.getUserId(), lastEventId));
     }
 
     @GetMapping
@@ -86,7 +94,27 @@ public class NotificationController {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
 
-        return ResponseEntity.ok(notificationService.listForUser(principal.getUser().getId(), isRead, pageable));
+        return ResponseEntity.ok(notificationService.listForUser(principal.getUserId(), isRead, pageable));
+    }
+
+    @Operation(
+        summary = "List notifications by cursor",
+        description = "Newest first. Follow `nextCursor` until it is null; no total is computed."
+    )
+    @GetMapping("/feed")
+    public ResponseEntity<NotificationFeedResponse> feed(
+        @AuthenticationPrincipal UserPrincipal principal,
+        @RequestParam(required = false) Boolean isRead,
+        @Parameter(description = "Opaque `nextCursor` value from the previous page.")
+        @RequestParam(required = false) String cursor,
+        @Parameter(description = "Page size, capped at 100.")
+        @RequestParam(required = false) Integer size
+    ) {
+        if (principal == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        return ResponseEntity.ok(notificationService.listForUser(principal.getUserId(), isRead, cursor, size));
     }
 
     @GetMapping("/unread-count")
@@ -98,7 +126,7 @@ public class NotificationController {
         }
 
         return ResponseEntity.ok(new UnreadNotificationsCountResponse(
-            notificationService.countUnread(principal.getUser().getId())
+            notificationService.countUnread(principal.getUserId())
         ));
     }
 
@@ -111,7 +139,7 @@ public class NotificationController {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
 
-        return ResponseEntity.ok(notificationService.markRead(principal.getUser().getId(), publicId));
+        return ResponseEntity.ok(notificationService.markRead(principal.getUserId(), publicId));
     }
 
     @PostMapping("/read-all")
@@ -123,7 +151,7 @@ public class NotificationController {
         }
 
         return ResponseEntity.ok(new MarkAllNotificationsReadResponse(
-            notificationService.markAllRead(principal.getUser().getId())
+            notificationService.markAllRead(principal.getUserId())
         ));
     }
 }
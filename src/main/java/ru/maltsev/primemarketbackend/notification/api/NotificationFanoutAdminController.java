@@ -0,0 +1,24 @@
+package ru.maltsev.primemarketbackend.notification.api;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import ru.maltsev.primemarketbackend.notification.api.dto.NotificationFanoutStatsResponse;
+import ru.maltsev.primemarketbackend.notification.service.NotificationFanout;
+import ru.maltsev.primemarketbackend.security.PermissionCodes;
+
+@RestController
+@RequestMapping({"/api/admin/notifications/fanout", "/api/backoffice/notifications/fanout"})
+@RequiredArgsConstructor
+@PreAuthorize("hasAuthority('" + PermissionCodes.METRICS_VIEW + "')")
+public class NotificationFanoutAdminController {
+    private final NotificationFanout notificationFanout;
+
+    @GetMapping
+    public ResponseEntity<NotificationFanoutStatsResponse> stats() {
+        return ResponseEntity.ok(notificationFanout.stats());
+    }
+}
@@ -0,0 +1,24 @@
+package ru.maltsev.primemarketbackend.notification.api;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import ru.maltsev.primemarketbackend.notification.api.dto.NotificationRetentionStatsResponse;
+import ru.maltsev.primemarketbackend.notification.service.NotificationRetentionSweeper;
+import ru.maltsev.primemarketbackend.security.PermissionCodes;
+
+@RestController
+@RequestMapping({"/api/admin/notifications/retention", "/api/backoffice/notifications/retention"})
+@RequiredArgsConstructor
+@PreAuthorize("hasAuthority('" + PermissionCodes.METRICS_VIEW + "')")
+public class NotificationRetentionAdminController {
+    private final NotificationRetentionSweeper notificationRetentionSweeper;
+
+    @GetMapping
+    public ResponseEntity<NotificationRetentionStatsResponse> stats() {
+        return ResponseEntity.ok(notificationRetentionSweeper.stats());
+    }
+}
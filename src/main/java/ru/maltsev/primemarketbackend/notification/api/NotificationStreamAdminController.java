@@ -0,0 +1,24 @@
+package ru.maltsev.primemarketbackend.notification.api;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import ru.maltsev.primemarketbackend.notification.api.dto.NotificationStreamStatsResponse;
+import ru.maltsev.primemarketbackend.notification.service.NotificationSseRegistry;
+import ru.maltsev.primemarketbackend.security.PermissionCodes;
+
+@RestController
+@RequestMapping({"/api/admin/notifications/stream", "/api/backoffice/notifications/stream"})
+@RequiredArgsConstructor
+@PreAuthorize("hasAuthority('" + PermissionCodes.METRICS_VIEW + "')")
+public class NotificationStreamAdminController {
+    private final NotificationSseRegistry notificationSseRegistry;
+
+    @GetMapping
+    public ResponseEntity<NotificationStreamStatsResponse> stats() {
+        return ResponseEntity.ok(notificationSseRegistry.stats());
+    }
+}
@@ -0,0 +1,18 @@
+package ru.maltsev.primemarketbackend.notification.api.dto;
+
+public record NotificationFanoutStatsResponse(
+    String mode,
+    String channel,
+    boolean listening,
+    long published,
+    long received,
+    long delivered,
+    long dropped,
+    long reloaded,
+    long reloadMisses,
+    int queueDepth,
+    int localConnections,
+    int unreadCounters,
+    long unreadCorrections
+) {
+}
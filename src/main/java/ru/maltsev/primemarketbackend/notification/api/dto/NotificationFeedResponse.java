@@ -0,0 +1,10 @@
+package ru.maltsev.primemarketbackend.notification.api.dto;
+
+import java.util.List;
+
+public record NotificationFeedResponse(
+    List<NotificationResponse> items,
+    int size,
+    String nextCursor
+) {
+}
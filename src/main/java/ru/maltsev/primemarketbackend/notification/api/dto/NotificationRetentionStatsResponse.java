@@ -0,0 +1,13 @@
+package ru.maltsev.primemarketbackend.notification.api.dto;
+
+import java.time.Instant;
+
+public record NotificationRetentionStatsResponse(
+    String readRetention,
+    Instant lastSweepAt,
+    int lastSweepArchived,
+    long lastSweepDurationMs,
+    long totalArchived,
+    long failedBatches
+) {
+}
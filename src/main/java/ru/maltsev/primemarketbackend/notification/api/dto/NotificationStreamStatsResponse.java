@@ -0,0 +1,16 @@
+package ru.maltsev.primemarketbackend.notification.api.dto;
+
+public record NotificationStreamStatsResponse(
+    int connections,
+    int queueCapacity,
+    String slowConsumerPolicy,
+    String deliveryExecutor,
+    long queuedEvents,
+    int maxQueueDepth,
+    long sent,
+    long coalesced,
+    long dropped,
+    long slowConsumerDisconnects,
+    long writeFailures
+) {
+}
@@ -0,0 +1,29 @@
+package ru.maltsev.primemarketbackend.notification.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+// Maintained by triggers on notifications (V53); the application only reads it.
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Entity
+@Immutable
+@Table(name = "notification_unread_counters")
+public class NotificationUnreadCounter {
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "unread_count", nullable = false)
+    private long unreadCount;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+}
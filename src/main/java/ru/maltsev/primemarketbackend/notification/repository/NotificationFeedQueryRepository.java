@@ -0,0 +1,50 @@
+package ru.maltsev.primemarketbackend.notification.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+import ru.maltsev.primemarketbackend.notification.domain.Notification;
+import ru.maltsev.primemarketbackend.notification.service.NotificationFeedCursor;
+
+@Repository
+@RequiredArgsConstructor
+public class NotificationFeedQueryRepository {
+    private final EntityManager entityManager;
+
+    // The read-state filter is inlined rather than bound, so the planner can pick the partial unread index
+    // even for generic prepared plans; the cursor is a row comparison that seeks the (user, created_at, id) index.
+    @SuppressWarnings("unchecked")
+    public List<Notification> findFeedAfter(Long userId, Boolean isRead, NotificationFeedCursor after, int limit) {
+        String seekCondition = after == null
+            ? ""
+            : " and (n.created_at, n.id) < (:cursorCreatedAt, :cursorNotificationId)";
+        String sql = """
+            select n.*
+            from notifications n
+            where n.user_id = :userId%s%s
+            order by n.created_at desc, n.id desc
+            limit :limit
+            """.formatted(readCondition(isRead), seekCondition);
+
+        Query query = entityManager.createNativeQuery(sql, Notification.class)
+            .setParameter("userId", userId)
+            .setParameter("limit", limit);
+        if (after != null) {
+            query
+                .setParameter("cursorCreatedAt", OffsetDateTime.ofInstant(after.createdAt(), ZoneOffset.UTC))
+                .setParameter("cursorNotificationId", after.notificationId());
+        }
+        return query.getResultList();
+    }
+
+    private String readCondition(Boolean isRead) {
+        if (isRead == null) {
+            return "";
+        }
+        return isRead ? " and n.is_read" : " and not n.is_read";
+    }
+}
@@ -2,8 +2,10 @@ package ru.maltsev.primemarketbackend.notification.repository;
 
 import jakarta.persistence.LockModeType;
 import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -18,9 +20,7 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
 
     Page<Notification> findAllByUserIdAndIsReadOrderByCreatedAtDesc(Long userId, boolean isRead, Pageable pageable);
 
-    long countByUserIdAndIsReadFalse(Long userId);
-
-    Optional<Notification> findByPublicIdAndUserId(UUID publicId, Long userId);
+    List<Notification> findAllByUserIdAndIdGreaterThanOrderByIdAsc(Long userId, Long id, Limit limit);
 
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("""
@@ -43,4 +43,26 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
           and n.isRead = false
         """)
     int markAllAsRead(@Param("userId") Long userId, @Param("readAt") Instant readAt);
+
+    // Unread rows are never archived, so the unread counters are untouched by a batch.
+    @Modifying
+    @Query(value = """
+        with archived as (
+            delete from notifications
+            where id in (
+                select n.id
+                from notifications n
+                where n.is_read
+                  and n.read_at < :cutoff
+                order by n.read_at asc
+                limit :limit
+                for update skip locked
+            )
+            returning id, public_id, user_id, type, title, body, payload, created_at, read_at
+        )
+        insert into notifications_archive (id, public_id, user_id, type, title, body, payload, created_at, read_at)
+        select id, public_id, user_id, type, title, body, payload, created_at, read_at
+        from archived
+        """, nativeQuery = true)
+    int archiveReadBatch(@Param("cutoff") Instant cutoff, @Param("limit") int limit);
 }
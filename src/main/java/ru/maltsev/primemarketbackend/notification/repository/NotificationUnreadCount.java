@@ -0,0 +1,7 @@
+package ru.maltsev.primemarketbackend.notification.repository;
+
+public record NotificationUnreadCount(
+    Long userId,
+    long count
+) {
+}
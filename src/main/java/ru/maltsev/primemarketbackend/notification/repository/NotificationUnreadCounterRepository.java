@@ -0,0 +1,24 @@
+package ru.maltsev.primemarketbackend.notification.repository;
+
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ru.maltsev.primemarketbackend.notification.domain.NotificationUnreadCounter;
+
+public interface NotificationUnreadCounterRepository extends JpaRepository<NotificationUnreadCounter, Long> {
+    @Query("""
+        select c.unreadCount
+        from NotificationUnreadCounter c
+        where c.userId = :userId
+        """)
+    Long findUnreadCount(@Param("userId") Long userId);
+
+    @Query("""
+        select new ru.maltsev.primemarketbackend.notification.repository.NotificationUnreadCount(c.userId, c.unreadCount)
+        from NotificationUnreadCounter c
+        where c.userId in :userIds
+        """)
+    List<NotificationUnreadCount> findUnreadCounts(@Param("userIds") Collection<Long> userIds);
+}
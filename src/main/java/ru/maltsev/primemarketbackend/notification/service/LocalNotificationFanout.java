@@ -0,0 +1,58 @@
+package ru.maltsev.primemarketbackend.notification.service;
+
+import java.util.concurrent.atomic.LongAdder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.maltsev.primemarketbackend.notification.api.dto.NotificationFanoutStatsResponse;
+
+// Single-node mode: events only reach connections held by this JVM, after the publishing transaction commits.
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "app.notifications.fanout", name = "mode", havingValue = NotificationFanoutProperties.MODE_LOCAL)
+public class LocalNotificationFanout implements NotificationFanout {
+    private final NotificationSseRegistry notificationSseRegistry;
+    private final NotificationStreamDelivery notificationStreamDelivery;
+    private final NotificationUnreadCounters notificationUnreadCounters;
+    private final LongAdder published = new LongAdder();
+
+    @Override
+    public void publish(NotificationStreamMessage message) {
+        published.increment();
+        Runnable delivery = () -> notificationStreamDelivery.deliver(message);
+        if (TransactionSynchronizationManager.isSynchronizationActive()
+            && TransactionSynchronizationManager.isActualTransactionActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    delivery.run();
+                }
+            });
+            return;
+        }
+
+        delivery.run();
+    }
+
+    @Override
+    public NotificationFanoutStatsResponse stats() {
+        long count = published.sum();
+        return new NotificationFanoutStatsResponse(
+            NotificationFanoutProperties.MODE_LOCAL,
+            null,
+            false,
+            count,
+            count,
+            count,
+            0,
+            0,
+            0,
+            0,
+            notificationSseRegistry.totalConnectionCount(),
+            notificationUnreadCounters.trackedUsers(),
+            notificationUnreadCounters.corrections()
+        );
+    }
+}
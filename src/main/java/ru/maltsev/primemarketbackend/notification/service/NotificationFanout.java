@@ -0,0 +1,10 @@
+package ru.maltsev.primemarketbackend.notification.service;
+
+import ru.maltsev.primemarketbackend.notification.api.dto.NotificationFanoutStatsResponse;
+
+// Carries stream events to every node; each node then writes them to its own SSE connections.
+public interface NotificationFanout {
+    void publish(NotificationStreamMessage message);
+
+    NotificationFanoutStatsResponse stats();
+}
@@ -0,0 +1,34 @@
+package ru.maltsev.primemarketbackend.notification.service;
+
+import java.time.Duration;
+import java.util.regex.Pattern;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "app.notifications.fanout")
+public record NotificationFanoutProperties(
+    String mode,
+    String channel,
+    Integer queueCapacity,
+    Integer batchSize,
+    Duration pollInterval,
+    Integer maxPayloadBytes,
+    Integer replayLimit
+) {
+    public static final String MODE_LOCAL = "local";
+    public static final String MODE_POSTGRES = "postgres";
+    private static final Pattern CHANNEL_NAME = Pattern.compile("[a-z_][a-z0-9_]{0,62}");
+
+    public NotificationFanoutProperties {
+        mode = mode == null || mode.isBlank() ? MODE_POSTGRES : mode;
+        channel = channel == null || channel.isBlank() ? "notification_stream" : channel;
+        queueCapacity = queueCapacity == null ? 10_000 : queueCapacity;
+        batchSize = batchSize == null ? 256 : batchSize;
+        pollInterval = pollInterval == null ? Duration.ofMillis(500) : pollInterval;
+        // NOTIFY payloads are capped at 8000 bytes; larger events travel as a notification id instead.
+        maxPayloadBytes = maxPayloadBytes == null ? 7_500 : maxPayloadBytes;
+        replayLimit = replayLimit == null ? 100 : replayLimit;
+        if (!CHANNEL_NAME.matcher(channel).matches()) {
+            throw new IllegalArgumentException("Invalid notification fan-out channel: " + channel);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package ru.maltsev.primemarketbackend.notification.service;
+
+import java.time.Instant;
+import ru.maltsev.primemarketbackend.pagination.InstantIdCursor;
+
+public record NotificationFeedCursor(
+    Instant createdAt,
+    Long notificationId
+) {
+    private static final String INVALID_CURSOR_CODE = "INVALID_NOTIFICATION_CURSOR";
+
+    public String encode() {
+        return new InstantIdCursor(createdAt, notificationId).encode();
+    }
+
+    public static NotificationFeedCursor decode(String rawCursor) {
+        InstantIdCursor cursor = InstantIdCursor.decode(rawCursor, INVALID_CURSOR_CODE);
+        return cursor == null ? null : new NotificationFeedCursor(cursor.instant(), cursor.id());
+    }
+}
@@ -0,0 +1,15 @@
+package ru.maltsev.primemarketbackend.notification.service;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "app.notifications.retention")
+public record NotificationRetentionProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("PT1H") Duration sweepInterval,
+    @DefaultValue("P90D") Duration readRetention,
+    @DefaultValue("1000") int batchSize,
+    @DefaultValue("50") int maxBatchesPerSweep
+) {
+}
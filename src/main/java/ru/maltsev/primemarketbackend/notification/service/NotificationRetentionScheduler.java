@@ -0,0 +1,24 @@
+package ru.maltsev.primemarketbackend.notification.service;
+
+import java.time.Instant;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class NotificationRetentionScheduler {
+    private final NotificationRetentionProperties properties;
+    private final NotificationRetentionSweeper notificationRetentionSweeper;
+
+    @Scheduled(
+        initialDelayString = "${app.notifications.retention.sweep-interval:1h}",
+        fixedDelayString = "${app.notifications.retention.sweep-interval:1h}"
+    )
+    public void sweep() {
+        if (!properties.enabled()) {
+            return;
+        }
+        notificationRetentionSweeper.sweep(Instant.now());
+    }
+}
@@ -0,0 +1,18 @@
+package ru.maltsev.primemarketbackend.notification.service;
+
+import java.time.Instant;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.maltsev.primemarketbackend.notification.repository.NotificationRepository;
+
+@Service
+@RequiredArgsConstructor
+public class NotificationRetentionService {
+    private final NotificationRepository notificationRepository;
+
+    @Transactional
+    public int archiveBatch(Instant cutoff, int batchSize) {
+        return notificationRepository.archiveReadBatch(cutoff, batchSize);
+    }
+}
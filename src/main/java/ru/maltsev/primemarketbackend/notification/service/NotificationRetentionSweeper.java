@@ -0,0 +1,66 @@
+package ru.maltsev.primemarketbackend.notification.service;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import ru.maltsev.primemarketbackend.notification.api.dto.NotificationRetentionStatsResponse;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NotificationRetentionSweeper {
+    private final NotificationRetentionService notificationRetentionService;
+    private final NotificationRetentionProperties properties;
+
+    private final AtomicLong totalArchived = new AtomicLong();
+    private final AtomicLong failedBatches = new AtomicLong();
+    private volatile SweepResult lastSweep;
+
+    // Moves notifications read before the retention window into notifications_archive; one transaction per batch.
+    public void sweep(Instant now) {
+        long startedAt = System.nanoTime();
+        Instant cutoff = now.minus(properties.readRetention());
+        int batchSize = Math.max(properties.batchSize(), 1);
+        int maxBatches = Math.max(properties.maxBatchesPerSweep(), 1);
+        int archived = 0;
+        for (int i = 0; i < maxBatches; i++) {
+            int rows;
+            try {
+                rows = notificationRetentionService.archiveBatch(cutoff, batchSize);
+            } catch (RuntimeException ex) {
+                failedBatches.incrementAndGet();
+                log.warn("Notification retention batch failed", ex);
+                break;
+            }
+            archived += rows;
+            if (rows < batchSize) {
+                break;
+            }
+        }
+
+        long durationMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+        totalArchived.addAndGet(archived);
+        lastSweep = new SweepResult(now, archived, durationMs);
+        if (archived > 0) {
+            log.info("Notification retention: archived={} ({} ms)", archived, durationMs);
+        }
+    }
+
+    public NotificationRetentionStatsResponse stats() {
+        SweepResult sweep = lastSweep;
+        return new NotificationRetentionStatsResponse(
+            properties.readRetention().toString(),
+            sweep == null ? null : sweep.at(),
+            sweep == null ? 0 : sweep.archived(),
+            sweep == null ? 0 : sweep.durationMs(),
+            totalArchived.get(),
+            failedBatches.get()
+        );
+    }
+
+    private record SweepResult(Instant at, int archived, long durationMs) {
+    }
+}
@@ -5,8 +5,9 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.Collection;
-import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -15,14 +16,15 @@ import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.transaction.support.TransactionSynchronization;
-import org.springframework.transaction.support.TransactionSynchronizationManager;
 import ru.maltsev.primemarketbackend.deposit.domain.DepositRequest;
 import ru.maltsev.primemarketbackend.exception.ApiProblemException;
+import ru.maltsev.primemarketbackend.notification.api.dto.NotificationFeedResponse;
 import ru.maltsev.primemarketbackend.notification.api.dto.NotificationResponse;
 import ru.maltsev.primemarketbackend.notification.domain.Notification;
 import ru.maltsev.primemarketbackend.notification.domain.NotificationTypes;
+import ru.maltsev.primemarketbackend.notification.repository.NotificationFeedQueryRepository;
 import ru.maltsev.primemarketbackend.notification.repository.NotificationRepository;
+import ru.maltsev.primemarketbackend.notification.repository.NotificationUnreadCounterRepository;
 import ru.maltsev.primemarketbackend.order.domain.Order;
 import ru.maltsev.primemarketbackend.order.domain.OrderConversation;
 import ru.maltsev.primemarketbackend.order.domain.OrderDispute;
@@ -32,7 +34,12 @@ import ru.maltsev.primemarketbackend.withdrawal.domain.WithdrawalRequest;
 @Service
 @RequiredArgsConstructor
 public class NotificationService {
+    private static final int DEFAULT_FEED_SIZE = 20;
+    private static final int MAX_FEED_SIZE = 100;
+
     private final NotificationRepository notificationRepository;
+    private final NotificationFeedQueryRepository notificationFeedQueryRepository;
+    private final NotificationUnreadCounterRepository notificationUnreadCounterRepository;
     private final NotificationStreamService notificationStreamService;
 
     @Transactional(readOnly = true)
@@ -43,9 +50,35 @@ public class NotificationService {
         return page.map(NotificationResponse::from);
     }
 
+    // Keyset feed: no offset to skip over and no count query, so deep pages cost the same as the first one.
+    @Transactional(readOnly = true)
+    public NotificationFeedResponse listForUser(Long userId, Boolean isRead, String cursor, Integer size) {
+        int pageSize = normalizeFeedSize(size);
+        List<Notification> rows = notificationFeedQueryRepository.findFeedAfter(
+            userId,
+            isRead,
+            NotificationFeedCursor.decode(cursor),
+            pageSize + 1
+        );
+        boolean hasMore = rows.size() > pageSize;
+        List<Notification> pageRows = hasMore ? rows.subList(0, pageSize) : rows;
+
+        String nextCursor = null;
+        if (hasMore) {
+            Notification last = pageRows.getLast();
+            nextCursor = new NotificationFeedCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new NotificationFeedResponse(
+            pageRows.stream().map(NotificationResponse::from).toList(),
+            pageSize,
+            nextCursor
+        );
+    }
+
     @Transactional(readOnly = true)
     public long countUnread(Long userId) {
-        return notificationRepository.countByUserIdAndIsReadFalse(userId);
+        Long count = notificationUnreadCounterRepository.findUnreadCount(userId);
+        return count == null ? 0L : count;
     }
 
     @Transactional
@@ -58,15 +91,18 @@ public class NotificationService {
     public NotificationResponse markRead(Long userId, UUID publicId) {
         Notification notification = notificationRepository.findByPublicIdAndUserIdForUpdate(publicId, userId)
             .orElseThrow(this::notificationNotFound);
+        boolean wasUnread = !notification.isRead();
         notification.markRead(Instant.now());
-        publishUnreadCountAfterCommit(userId);
+        if (wasUnread) {
+            notificationStreamService.publishUnreadDelta(userId, -1L);
+        }
         return NotificationResponse.from(notification);
     }
 
     @Transactional
     public long markAllRead(Long userId) {
         long updatedCount = notificationRepository.markAllAsRead(userId, Instant.now());
-        publishUnreadCountAfterCommit(userId);
+        notificationStreamService.publishUnreadDelta(userId, -updatedCount);
         return updatedCount;
     }
 
@@ -218,8 +254,14 @@ public class NotificationService {
             return;
         }
 
-        Set<Long> uniqueRecipients = new LinkedHashSet<>(recipientUserIds);
-        uniqueRecipients.remove(null);
+        // Each insert locks the recipient's unread counter row until commit, so recipients are written
+        // in ascending user id order, the same way wallets are locked, to keep crossed fan-outs deadlock-free.
+        Set<Long> uniqueRecipients = new TreeSet<>();
+        for (Long recipientUserId : recipientUserIds) {
+            if (recipientUserId != null) {
+                uniqueRecipients.add(recipientUserId);
+            }
+        }
         for (Long recipientUserId : uniqueRecipients) {
             create(recipientUserId, type, title, body, payload);
         }
@@ -237,7 +279,7 @@ public class NotificationService {
             body,
             payload
         ));
-        publishCreatedNotificationAfterCommit(userId, notification.getPublicId());
+        notificationStreamService.publishNotificationCreated(notification);
         return notification;
     }
 
@@ -315,31 +357,18 @@ public class NotificationService {
         return amount == null ? "0" : amount.toPlainString();
     }
 
-    private void publishCreatedNotificationAfterCommit(Long userId, UUID publicId) {
-        afterCommit(() -> {
-            notificationStreamService.publishNotificationCreated(userId, publicId);
-            notificationStreamService.publishUnreadCount(userId);
-        });
-    }
-
-    private void publishUnreadCountAfterCommit(Long userId) {
-        afterCommit(() -> notificationStreamService.publishUnreadCount(userId));
-    }
-
-    // Live events must be emitted only after a successful database commit.
-    private void afterCommit(Runnable action) {
-        if (TransactionSynchronizationManager.isSynchronizationActive()
-            && TransactionSynchronizationManager.isActualTransactionActive()) {
-            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
-                @Override
-                public void afterCommit() {
-                    action.run();
-                }
-            });
-            return;
+    private int normalizeFeedSize(Integer size) {
+        if (size == null) {
+            return DEFAULT_FEED_SIZE;
         }
-
-        action.run();
+        if (size <= 0) {
+            throw new ApiProblemException(
+                HttpStatus.BAD_REQUEST,
+                "INVALID_PAGE_SIZE",
+                "Query parameter 'size' must be greater than 0"
+            );
+        }
+        return Math.min(size, MAX_FEED_SIZE);
     }
 
     private ApiProblemException notificationNotFound() {
@@ -1,28 +1,76 @@
 package ru.maltsev.primemarketbackend.notification.service;
 
+import jakarta.annotation.PreDestroy;
 import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
-import lombok.RequiredArgsConstructor;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.maltsev.primemarketbackend.notification.api.dto.NotificationStreamStatsResponse;
 
+// Callers only enqueue: every connection has a bounded queue drained on the delivery executor, so a slow
+// client never holds up a transaction callback, the fan-out delivery thread or the keepalive loop. Idle
+// connections hold no thread at all; a drain task exists only while a connection has pending events.
+// Events that only carry the latest state are coalesced, so a burst keeps just the newest one pending.
 @Component
-@RequiredArgsConstructor
 public class NotificationSseRegistry {
+    private static final Set<String> COALESCED_EVENTS = Set.of(
+        NotificationStreamEventNames.UNREAD_COUNT_UPDATED,
+        NotificationStreamEventNames.STREAM_KEEPALIVE
+    );
+
     private final NotificationStreamProperties properties;
-    private final Map<Long, Map<String, SseEmitter>> emittersByUserId = new ConcurrentHashMap<>();
+    private final Executor deliveryExecutor;
+    private final Map<Long, Map<String, Connection>> connectionsByUserId = new ConcurrentHashMap<>();
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder slowConsumerDisconnects = new LongAdder();
+    private final LongAdder writeFailures = new LongAdder();
+
+    @Autowired
+    public NotificationSseRegistry(NotificationStreamProperties properties) {
+        this(properties, deliveryExecutor(properties));
+    }
+
+    NotificationSseRegistry(NotificationStreamProperties properties, Executor deliveryExecutor) {
+        this.properties = properties;
+        this.deliveryExecutor = deliveryExecutor;
+    }
+
+    private static ExecutorService deliveryExecutor(NotificationStreamProperties properties) {
+        return switch (properties.deliveryExecutor()) {
+            case VIRTUAL -> Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("notification-sse-", 0).factory()
+            );
+            case PLATFORM -> Executors.newFixedThreadPool(
+                properties.deliveryThreads(),
+                Thread.ofPlatform().name("notification-sse-", 0).daemon(true).factory()
+            );
+        };
+    }
 
     public NotificationSseSession register(Long userId) {
         String connectionId = UUID.randomUUID().toString();
         SseEmitter emitter = new ManagedSseEmitter(properties.emitterTimeout().toMillis(), () -> remove(userId, connectionId));
-        Map<String, SseEmitter> userEmitters = emittersByUserId.computeIfAbsent(
+        Map<String, Connection> userConnections = connectionsByUserId.computeIfAbsent(
             userId,
             ignored -> new ConcurrentHashMap<>()
         );
-        userEmitters.put(connectionId, emitter);
+        userConnections.put(connectionId, new Connection(userId, connectionId, emitter));
         emitter.onCompletion(() -> remove(userId, connectionId));
         emitter.onTimeout(() -> {
             remove(userId, connectionId);
@@ -33,78 +81,266 @@ public class NotificationSseRegistry {
     }
 
     public boolean sendToConnection(Long userId, String connectionId, String eventName, Object payload) {
-        Map<String, SseEmitter> userEmitters = emittersByUserId.get(userId);
-        if (userEmitters == null) {
+        return sendToConnection(userId, connectionId, eventName, null, payload);
+    }
+
+    public boolean sendToConnection(Long userId, String connectionId, String eventName, Long eventId, Object payload) {
+        Map<String, Connection> userConnections = connectionsByUserId.get(userId);
+        if (userConnections == null) {
             return false;
         }
 
-        SseEmitter emitter = userEmitters.get(connectionId);
-        if (emitter == null) {
+        Connection connection = userConnections.get(connectionId);
+        if (connection == null) {
             return false;
         }
 
-        return send(userId, connectionId, emitter, eventName, payload);
+        return connection.enqueue(new PendingEvent(eventName, eventId, payload));
     }
 
     public void sendToUser(Long userId, String eventName, Object payload) {
-        Map<String, SseEmitter> userEmitters = emittersByUserId.get(userId);
-        if (userEmitters == null || userEmitters.isEmpty()) {
+        sendToUser(userId, eventName, null, payload);
+    }
+
+    public void sendToUser(Long userId, String eventName, Long eventId, Object payload) {
+        Map<String, Connection> userConnections = connectionsByUserId.get(userId);
+        if (userConnections == null || userConnections.isEmpty()) {
             return;
         }
 
-        for (Map.Entry<String, SseEmitter> entry : userEmitters.entrySet()) {
-            send(userId, entry.getKey(), entry.getValue(), eventName, payload);
+        PendingEvent event = new PendingEvent(eventName, eventId, payload);
+        for (Connection connection : userConnections.values()) {
+            connection.enqueue(event);
         }
     }
 
     public void sendToAll(String eventName, Object payload) {
-        for (Map.Entry<Long, Map<String, SseEmitter>> entry : emittersByUserId.entrySet()) {
-            for (Map.Entry<String, SseEmitter> emitterEntry : entry.getValue().entrySet()) {
-                send(entry.getKey(), emitterEntry.getKey(), emitterEntry.getValue(), eventName, payload);
+        PendingEvent event = new PendingEvent(eventName, null, payload);
+        for (Map<String, Connection> userConnections : connectionsByUserId.values()) {
+            for (Connection connection : userConnections.values()) {
+                connection.enqueue(event);
             }
         }
     }
 
     public void disconnectAll() {
-        emittersByUserId.values().forEach(userEmitters -> userEmitters.values().forEach(SseEmitter::complete));
-        emittersByUserId.clear();
+        connectionsByUserId.values().forEach(userConnections -> userConnections.values().forEach(connection -> {
+            connection.close();
+            connection.emitter().complete();
+        }));
+        connectionsByUserId.clear();
     }
 
     public int connectionCount(Long userId) {
-        Map<String, SseEmitter> userEmitters = emittersByUserId.get(userId);
-        return userEmitters == null ? 0 : userEmitters.size();
+        Map<String, Connection> userConnections = connectionsByUserId.get(userId);
+        return userConnections == null ? 0 : userConnections.size();
     }
 
     public int totalConnectionCount() {
-        return emittersByUserId.values().stream()
+        return connectionsByUserId.values().stream()
             .mapToInt(Map::size)
             .sum();
     }
 
-    private boolean send(Long userId, String connectionId, SseEmitter emitter, String eventName, Object payload) {
-        try {
-            emitter.send(SseEmitter.event().name(eventName).data(payload, MediaType.APPLICATION_JSON));
-            return true;
-        } catch (IOException | IllegalStateException ex) {
-            remove(userId, connectionId);
-            emitter.completeWithError(ex);
-            return false;
+    public NotificationStreamStatsResponse stats() {
+        int connections = 0;
+        long queuedEvents = 0;
+        int maxQueueDepth = 0;
+        for (Map<String, Connection> userConnections : connectionsByUserId.values()) {
+            for (Connection connection : userConnections.values()) {
+                int depth = connection.depth();
+                connections++;
+                queuedEvents += depth;
+                maxQueueDepth = Math.max(maxQueueDepth, depth);
+            }
+        }
+        return new NotificationStreamStatsResponse(
+            connections,
+            properties.connectionQueueCapacity(),
+            properties.slowConsumerPolicy().name().toLowerCase(Locale.ROOT),
+            properties.deliveryExecutor().name().toLowerCase(Locale.ROOT),
+            queuedEvents,
+            maxQueueDepth,
+            sent.sum(),
+            coalesced.sum(),
+            dropped.sum(),
+            slowConsumerDisconnects.sum(),
+            writeFailures.sum()
+        );
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (deliveryExecutor instanceof ExecutorService executorService) {
+            executorService.shutdown();
         }
     }
 
     private void remove(Long userId, String connectionId) {
-        emittersByUserId.computeIfPresent(userId, (ignored, userEmitters) -> {
-            userEmitters.remove(connectionId);
-            return userEmitters.isEmpty() ? null : userEmitters;
+        connectionsByUserId.computeIfPresent(userId, (ignored, userConnections) -> {
+            Connection connection = userConnections.remove(connectionId);
+            if (connection != null) {
+                connection.close();
+            }
+            return userConnections.isEmpty() ? null : userConnections;
         });
     }
 
+    private void onSlowConsumer(Connection connection) {
+        if (properties.slowConsumerPolicy() == NotificationStreamProperties.SlowConsumerPolicy.DROP) {
+            dropped.increment();
+            return;
+        }
+
+        slowConsumerDisconnects.increment();
+        remove(connection.userId(), connection.connectionId());
+        // complete() waits for the write lock a stuck send may be holding, so it must not run on the caller.
+        dispatch(() -> connection.emitter().complete());
+    }
+
+    private boolean dispatch(Runnable task) {
+        try {
+            deliveryExecutor.execute(task);
+            return true;
+        } catch (RejectedExecutionException ex) {
+            // Only happens while the application context is shutting down.
+            return false;
+        }
+    }
+
     public interface NotificationSseSession {
         String connectionId();
 
         SseEmitter emitter();
     }
 
+    private final class Connection {
+        private final Long userId;
+        private final String connectionId;
+        private final SseEmitter emitter;
+        private final ArrayDeque<PendingEvent> queue = new ArrayDeque<>();
+        private final Map<String, PendingEvent> latestByEvent = new LinkedHashMap<>();
+        private boolean draining;
+        private boolean closed;
+
+        private Connection(Long userId, String connectionId, SseEmitter emitter) {
+            this.userId = userId;
+            this.connectionId = connectionId;
+            this.emitter = emitter;
+        }
+
+        Long userId() {
+            return userId;
+        }
+
+        String connectionId() {
+            return connectionId;
+        }
+
+        SseEmitter emitter() {
+            return emitter;
+        }
+
+        boolean enqueue(PendingEvent event) {
+            boolean overflow = false;
+            boolean schedule = false;
+            synchronized (this) {
+                if (closed) {
+                    return false;
+                }
+                if (COALESCED_EVENTS.contains(event.name())) {
+                    if (latestByEvent.put(event.name(), event) != null) {
+                        coalesced.increment();
+                    }
+                } else if (queue.size() >= properties.connectionQueueCapacity()) {
+                    overflow = true;
+                } else {
+                    queue.add(event);
+                }
+                if (!overflow && !draining) {
+                    draining = true;
+                    schedule = true;
+                }
+            }
+
+            if (overflow) {
+                onSlowConsumer(this);
+                return false;
+            }
+            if (schedule && !dispatch(this::drain)) {
+                synchronized (this) {
+                    draining = false;
+                }
+                return false;
+            }
+            return true;
+        }
+
+        synchronized int depth() {
+            return queue.size() + latestByEvent.size();
+        }
+
+        synchronized void close() {
+            closed = true;
+            queue.clear();
+            latestByEvent.clear();
+        }
+
+        private void drain() {
+            while (true) {
+                PendingEvent next;
+                synchronized (this) {
+                    next = closed ? null : poll();
+                    if (next == null) {
+                        draining = false;
+                        return;
+                    }
+                }
+                if (!write(next)) {
+                    return;
+                }
+            }
+        }
+
+        // Coalesced state goes out after the queued events, so it always reflects them.
+        private PendingEvent poll() {
+            PendingEvent next = queue.poll();
+            if (next != null) {
+                return next;
+            }
+            Iterator<PendingEvent> latest = latestByEvent.values().iterator();
+            if (!latest.hasNext()) {
+                return null;
+            }
+            next = latest.next();
+            latest.remove();
+            return next;
+        }
+
+        private boolean write(PendingEvent pending) {
+            SseEmitter.SseEventBuilder event = SseEmitter.event().name(pending.name());
+            if (pending.id() != null) {
+                event.id(pending.id().toString());
+            }
+            try {
+                emitter.send(event.data(pending.payload(), MediaType.APPLICATION_JSON));
+                sent.increment();
+                return true;
+            } catch (IOException | IllegalStateException ex) {
+                writeFailures.increment();
+                remove(userId, connectionId);
+                emitter.completeWithError(ex);
+                synchronized (this) {
+                    draining = false;
+                }
+                return false;
+            }
+        }
+    }
+
+    private record PendingEvent(String name, Long id, Object payload) {
+    }
+
     private static final class ManagedSseEmitter extends SseEmitter {
         private final Runnable cleanup;
 
@@ -114,13 +350,13 @@ public class NotificationSseRegistry {
         }
 
         @Override
-        public synchronized void complete() {
+        public void complete() {
             cleanup.run();
             super.complete();
         }
 
         @Override
-        public synchronized void completeWithError(Throwable ex) {
+        public void completeWithError(Throwable ex) {
             cleanup.run();
             super.completeWithError(ex);
         }
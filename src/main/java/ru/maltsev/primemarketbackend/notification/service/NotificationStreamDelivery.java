@@ -0,0 +1,36 @@
+package ru.maltsev.primemarketbackend.notification.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import ru.maltsev.primemarketbackend.notification.api.dto.UnreadNotificationsCountResponse;
+
+// Applies a fanned-out stream message to the connections held by this node.
+@Component
+@RequiredArgsConstructor
+public class NotificationStreamDelivery {
+    private final NotificationSseRegistry notificationSseRegistry;
+    private final NotificationUnreadCounters notificationUnreadCounters;
+
+    public void deliver(NotificationStreamMessage message) {
+        if (message.data() != null) {
+            notificationSseRegistry.sendToUser(
+                message.userId(),
+                message.eventName(),
+                message.eventId(),
+                message.data()
+            );
+        }
+        if (message.unreadDelta() == 0) {
+            return;
+        }
+
+        Long unreadCount = notificationUnreadCounters.apply(message.userId(), message.unreadDelta());
+        if (unreadCount != null) {
+            notificationSseRegistry.sendToUser(
+                message.userId(),
+                NotificationStreamEventNames.UNREAD_COUNT_UPDATED,
+                new UnreadNotificationsCountResponse(unreadCount)
+            );
+        }
+    }
+}
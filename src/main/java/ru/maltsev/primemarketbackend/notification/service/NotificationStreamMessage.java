@@ -0,0 +1,12 @@
+package ru.maltsev.primemarketbackend.notification.service;
+
+// unreadDelta moves the receiving node's unread counter, so a created notification travels as one event
+// instead of a payload plus a separately counted unread total.
+public record NotificationStreamMessage(
+    Long userId,
+    String eventName,
+    Long eventId,
+    Object data,
+    long unreadDelta
+) {
+}
@@ -6,10 +6,33 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 @ConfigurationProperties(prefix = "app.notifications.sse")
 public record NotificationStreamProperties(
     Duration emitterTimeout,
-    Duration keepaliveInterval
+    Duration keepaliveInterval,
+    int connectionQueueCapacity,
+    SlowConsumerPolicy slowConsumerPolicy,
+    DeliveryExecutor deliveryExecutor,
+    int deliveryThreads
 ) {
     public NotificationStreamProperties {
         emitterTimeout = emitterTimeout == null ? Duration.ofMinutes(30) : emitterTimeout;
         keepaliveInterval = keepaliveInterval == null ? Duration.ofSeconds(25) : keepaliveInterval;
+        connectionQueueCapacity = connectionQueueCapacity <= 0 ? 256 : connectionQueueCapacity;
+        slowConsumerPolicy = slowConsumerPolicy == null ? SlowConsumerPolicy.DISCONNECT : slowConsumerPolicy;
+        deliveryExecutor = deliveryExecutor == null ? DeliveryExecutor.VIRTUAL : deliveryExecutor;
+        deliveryThreads = deliveryThreads <= 0 ? Math.max(Runtime.getRuntime().availableProcessors(), 2) : deliveryThreads;
+    }
+
+    // What happens to a connection whose queue is full: DISCONNECT closes it so the client reconnects and
+    // catches up through Last-Event-ID, DROP discards the new event and keeps the connection.
+    public enum SlowConsumerPolicy {
+        DISCONNECT,
+        DROP
+    }
+
+    // VIRTUAL drains each busy connection on its own virtual thread, so a write stuck on a slow socket costs
+    // no platform thread. PLATFORM drains on a fixed pool of delivery-threads and relies on the slow-consumer
+    // policy to shed connections that would otherwise hold a pool thread.
+    public enum DeliveryExecutor {
+        VIRTUAL,
+        PLATFORM
     }
 }
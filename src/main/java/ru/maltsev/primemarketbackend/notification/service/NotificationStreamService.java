@@ -1,8 +1,8 @@
 package ru.maltsev.primemarketbackend.notification.service;
 
 import java.time.Instant;
-import java.util.UUID;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
@@ -10,6 +10,7 @@ import ru.maltsev.primemarketbackend.notification.api.dto.NotificationResponse;
 import ru.maltsev.primemarketbackend.notification.api.dto.NotificationStreamConnectedEvent;
 import ru.maltsev.primemarketbackend.notification.api.dto.NotificationStreamKeepaliveEvent;
 import ru.maltsev.primemarketbackend.notification.api.dto.UnreadNotificationsCountResponse;
+import ru.maltsev.primemarketbackend.notification.domain.Notification;
 import ru.maltsev.primemarketbackend.notification.repository.NotificationRepository;
 
 @Service
@@ -17,8 +18,15 @@ import ru.maltsev.primemarketbackend.notification.repository.NotificationReposit
 public class NotificationStreamService {
     private final NotificationRepository notificationRepository;
     private final NotificationSseRegistry notificationSseRegistry;
+    private final NotificationFanout notificationFanout;
+    private final NotificationFanoutProperties fanoutProperties;
+    private final NotificationUnreadCounters notificationUnreadCounters;
 
     public SseEmitter subscribe(Long userId) {
+        return subscribe(userId, null);
+    }
+
+    public SseEmitter subscribe(Long userId, String lastEventId) {
         NotificationSseRegistry.NotificationSseSession session = notificationSseRegistry.register(userId);
         notificationSseRegistry.sendToConnection(
             userId,
@@ -30,27 +38,35 @@ public class NotificationStreamService {
             userId,
             session.connectionId(),
             NotificationStreamEventNames.UNREAD_COUNT_UPDATED,
-            unreadCountPayload(userId)
+            new UnreadNotificationsCountResponse(notificationUnreadCounters.seed(userId))
         );
+        replayMissed(userId, session.connectionId(), parseEventId(lastEventId));
         return session.emitter();
     }
 
-    public void publishNotificationCreated(Long userId, UUID publicId) {
-        notificationRepository.findByPublicIdAndUserId(publicId, userId)
-            .map(NotificationResponse::from)
-            .ifPresent(payload -> notificationSseRegistry.sendToUser(
-                userId,
-                NotificationStreamEventNames.NOTIFICATION_CREATED,
-                payload
-            ));
+    // The saved entity already holds everything the event needs, including the generated id and createdAt.
+    public void publishNotificationCreated(Notification notification) {
+        notificationFanout.publish(new NotificationStreamMessage(
+            notification.getUserId(),
+            NotificationStreamEventNames.NOTIFICATION_CREATED,
+            notification.getId(),
+            NotificationResponse.from(notification),
+            notification.isRead() ? 0L : 1L
+        ));
     }
 
-    public void publishUnreadCount(Long userId) {
-        notificationSseRegistry.sendToUser(
+    public void publishUnreadDelta(Long userId, long delta) {
+        if (delta == 0) {
+            return;
+        }
+
+        notificationFanout.publish(new NotificationStreamMessage(
             userId,
             NotificationStreamEventNames.UNREAD_COUNT_UPDATED,
-            unreadCountPayload(userId)
-        );
+            null,
+            null,
+            delta
+        ));
     }
 
     @Scheduled(fixedDelayString = "${app.notifications.sse.keepalive-interval:25s}")
@@ -69,7 +85,36 @@ public class NotificationStreamService {
         notificationSseRegistry.disconnectAll();
     }
 
-    private UnreadNotificationsCountResponse unreadCountPayload(Long userId) {
-        return new UnreadNotificationsCountResponse(notificationRepository.countByUserIdAndIsReadFalse(userId));
+    // notification.created events carry the notification id as the SSE id, so a reconnecting
+    // EventSource sends it back as Last-Event-ID and gets whatever was created in between.
+    private void replayMissed(Long userId, String connectionId, Long lastEventId) {
+        if (lastEventId == null) {
+            return;
+        }
+
+        for (Notification notification : notificationRepository.findAllByUserIdAndIdGreaterThanOrderByIdAsc(
+            userId,
+            lastEventId,
+            Limit.of(Math.max(fanoutProperties.replayLimit(), 1))
+        )) {
+            notificationSseRegistry.sendToConnection(
+                userId,
+                connectionId,
+                NotificationStreamEventNames.NOTIFICATION_CREATED,
+                notification.getId(),
+                NotificationResponse.from(notification)
+            );
+        }
+    }
+
+    private Long parseEventId(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException ex) {
+            return null;
+        }
     }
 }
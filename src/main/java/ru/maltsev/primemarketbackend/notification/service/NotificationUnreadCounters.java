@@ -0,0 +1,77 @@
+package ru.maltsev.primemarketbackend.notification.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.maltsev.primemarketbackend.notification.api.dto.UnreadNotificationsCountResponse;
+import ru.maltsev.primemarketbackend.notification.repository.NotificationUnreadCount;
+import ru.maltsev.primemarketbackend.notification.repository.NotificationUnreadCounterRepository;
+
+// Unread counts for users with an open stream on this node. A count is seeded from the unread counter table
+// when a stream opens and then moved by the deltas carried on stream events. The periodic reconcile repairs
+// drift from dropped events or from deltas racing the seed, and pushes the corrected count to the user.
+@Component
+@RequiredArgsConstructor
+public class NotificationUnreadCounters {
+    private static final int RECONCILE_BATCH_SIZE = 500;
+
+    private final NotificationUnreadCounterRepository notificationUnreadCounterRepository;
+    private final NotificationSseRegistry notificationSseRegistry;
+    private final Map<Long, AtomicLong> countsByUserId = new ConcurrentHashMap<>();
+    private final LongAdder corrections = new LongAdder();
+
+    public long seed(Long userId) {
+        Long stored = notificationUnreadCounterRepository.findUnreadCount(userId);
+        long count = stored == null ? 0L : stored;
+        countsByUserId.computeIfAbsent(userId, ignored -> new AtomicLong()).set(count);
+        return count;
+    }
+
+    public Long apply(Long userId, long delta) {
+        AtomicLong count = countsByUserId.get(userId);
+        if (count == null) {
+            return null;
+        }
+        return count.updateAndGet(current -> Math.max(current + delta, 0L));
+    }
+
+    @Scheduled(fixedDelayString = "${app.notifications.sse.unread-reconcile-interval:60s}")
+    public void reconcile() {
+        countsByUserId.keySet().removeIf(userId -> notificationSseRegistry.connectionCount(userId) == 0);
+
+        List<Long> userIds = new ArrayList<>(countsByUserId.keySet());
+        for (int from = 0; from < userIds.size(); from += RECONCILE_BATCH_SIZE) {
+            List<Long> batch = userIds.subList(from, Math.min(from + RECONCILE_BATCH_SIZE, userIds.size()));
+            Map<Long, Long> actual = notificationUnreadCounterRepository.findUnreadCounts(batch).stream()
+                .collect(Collectors.toMap(NotificationUnreadCount::userId, NotificationUnreadCount::count));
+            for (Long userId : batch) {
+                AtomicLong count = countsByUserId.get(userId);
+                long expected = actual.getOrDefault(userId, 0L);
+                if (count == null || count.getAndSet(expected) == expected) {
+                    continue;
+                }
+                corrections.increment();
+                notificationSseRegistry.sendToUser(
+                    userId,
+                    NotificationStreamEventNames.UNREAD_COUNT_UPDATED,
+                    new UnreadNotificationsCountResponse(expected)
+                );
+            }
+        }
+    }
+
+    public int trackedUsers() {
+        return countsByUserId.size();
+    }
+
+    public long corrections() {
+        return corrections.sum();
+    }
+}
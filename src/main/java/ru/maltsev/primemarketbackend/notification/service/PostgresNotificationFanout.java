@@ -0,0 +1,299 @@
+package ru.maltsev.primemarketbackend.notification.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import ru.maltsev.primemarketbackend.config.RequiredDataSourceProperties;
+import ru.maltsev.primemarketbackend.notification.api.dto.NotificationFanoutStatsResponse;
+import ru.maltsev.primemarketbackend.notification.api.dto.NotificationResponse;
+import ru.maltsev.primemarketbackend.notification.domain.Notification;
+import ru.maltsev.primemarketbackend.notification.repository.NotificationRepository;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+// Every node LISTENs on one channel and receives every event, including its own, so local delivery has a
+// single path. pg_notify joins the caller's transaction, so Postgres releases the event only on commit and
+// no second pooled connection is taken. LISTEN holds one dedicated connection opened outside the Hikari pool,
+// so it takes no slot from request traffic and is not retired at maxLifetime. A listener thread only decodes
+// and enqueues; a delivery thread drains the bounded inbox in batches, which keeps a slow SSE write from
+// stalling the LISTEN connection.
+// When the inbox is full the event is dropped and counted; clients recover missed notifications through Last-Event-ID replay.
+@Slf4j
+@Component
+@ConditionalOnProperty(
+    prefix = "app.notifications.fanout",
+    name = "mode",
+    havingValue = NotificationFanoutProperties.MODE_POSTGRES,
+    matchIfMissing = true
+)
+public class PostgresNotificationFanout implements NotificationFanout {
+    private final NotificationFanoutProperties properties;
+    private final NotificationSseRegistry notificationSseRegistry;
+    private final NotificationStreamDelivery notificationStreamDelivery;
+    private final NotificationUnreadCounters notificationUnreadCounters;
+    private final NotificationRepository notificationRepository;
+    private final RequiredDataSourceProperties dataSourceProperties;
+    private final JdbcTemplate jdbcTemplate;
+    private final JsonMapper jsonMapper;
+    private final BlockingQueue<NotificationStreamMessage> inbox;
+    private final LongAdder published = new LongAdder();
+    private final LongAdder received = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder reloaded = new LongAdder();
+    private final LongAdder reloadMisses = new LongAdder();
+    private volatile boolean running;
+    private volatile boolean listening;
+    private volatile Connection listenConnection;
+    private Thread listener;
+    private Thread deliverer;
+
+    public PostgresNotificationFanout(
+        NotificationFanoutProperties properties,
+        NotificationSseRegistry notificationSseRegistry,
+        NotificationStreamDelivery notificationStreamDelivery,
+        NotificationUnreadCounters notificationUnreadCounters,
+        NotificationRepository notificationRepository,
+        RequiredDataSourceProperties dataSourceProperties,
+        JdbcTemplate jdbcTemplate,
+        JsonMapper jsonMapper
+    ) {
+        this.properties = properties;
+        this.notificationSseRegistry = notificationSseRegistry;
+        this.notificationStreamDelivery = notificationStreamDelivery;
+        this.notificationUnreadCounters = notificationUnreadCounters;
+        this.notificationRepository = notificationRepository;
+        this.dataSourceProperties = dataSourceProperties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.jsonMapper = jsonMapper;
+        this.inbox = new ArrayBlockingQueue<>(Math.max(properties.queueCapacity(), 1));
+    }
+
+    @PostConstruct
+    void start() {
+        running = true;
+        listener = Thread.ofPlatform()
+            .name("notification-fanout-listener")
+            .daemon(true)
+            .start(this::listenLoop);
+        deliverer = Thread.ofPlatform()
+            .name("notification-fanout-delivery")
+            .daemon(true)
+            .start(this::deliveryLoop);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        closeListenConnection();
+        deliverer.interrupt();
+        listener.join(TimeUnit.SECONDS.toMillis(2));
+        deliverer.join(TimeUnit.SECONDS.toMillis(2));
+    }
+
+    @Override
+    public void publish(NotificationStreamMessage message) {
+        String payload = encode(message);
+        if (payload == null) {
+            dropped.increment();
+            return;
+        }
+        // A failed pg_notify aborts the surrounding transaction, so it is not swallowed here.
+        jdbcTemplate.queryForList("select pg_notify(?, ?)", properties.channel(), payload);
+        published.increment();
+    }
+
+    @Override
+    public NotificationFanoutStatsResponse stats() {
+        return new NotificationFanoutStatsResponse(
+            NotificationFanoutProperties.MODE_POSTGRES,
+            properties.channel(),
+            listening,
+            published.sum(),
+            received.sum(),
+            delivered.sum(),
+            dropped.sum(),
+            reloaded.sum(),
+            reloadMisses.sum(),
+            inbox.size(),
+            notificationSseRegistry.totalConnectionCount(),
+            notificationUnreadCounters.trackedUsers(),
+            notificationUnreadCounters.corrections()
+        );
+    }
+
+    private String encode(NotificationStreamMessage message) {
+        try {
+            String payload = jsonMapper.writeValueAsString(message);
+            if (payload.getBytes(StandardCharsets.UTF_8).length <= properties.maxPayloadBytes()) {
+                return payload;
+            }
+            if (message.eventId() != null) {
+                // Receivers reload oversized notifications by id.
+                return jsonMapper.writeValueAsString(new NotificationStreamMessage(
+                    message.userId(),
+                    message.eventName(),
+                    message.eventId(),
+                    null,
+                    message.unreadDelta()
+                ));
+            }
+            log.warn("Notification stream event exceeds NOTIFY payload limit. userId={}, event={}",
+                message.userId(), message.eventName());
+            return null;
+        } catch (JacksonException ex) {
+            log.warn("Failed to encode notification stream event. userId={}, event={}",
+                message.userId(), message.eventName(), ex);
+            return null;
+        }
+    }
+
+    private void listenLoop() {
+        int pollMillis = (int) Math.max(properties.pollInterval().toMillis(), 1L);
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(
+                dataSourceProperties.url(),
+                dataSourceProperties.username(),
+                dataSourceProperties.password()
+            )) {
+                listenConnection = connection;
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("listen " + properties.channel());
+                }
+                listening = true;
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(pollMillis);
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        accept(notification.getParameter());
+                    }
+                }
+            } catch (SQLException | RuntimeException ex) {
+                listening = false;
+                if (!running) {
+                    return;
+                }
+                log.warn("Notification fan-out listener lost its connection, reconnecting", ex);
+                try {
+                    Thread.sleep(pollMillis);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            } finally {
+                listenConnection = null;
+                listening = false;
+            }
+        }
+    }
+
+    private void closeListenConnection() {
+        Connection connection = listenConnection;
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException ex) {
+            log.debug("Failed to close notification fan-out listen connection", ex);
+        }
+    }
+
+    private void accept(String payload) {
+        received.increment();
+        NotificationStreamMessage message;
+        try {
+            message = jsonMapper.readValue(payload, NotificationStreamMessage.class);
+        } catch (JacksonException ex) {
+            dropped.increment();
+            log.warn("Ignoring malformed notification stream event: {}", payload);
+            return;
+        }
+        if (notificationSseRegistry.connectionCount(message.userId()) == 0) {
+            return;
+        }
+        if (!inbox.offer(message)) {
+            dropped.increment();
+        }
+    }
+
+    private void deliveryLoop() {
+        int batchSize = Math.max(properties.batchSize(), 1);
+        long pollMillis = Math.max(properties.pollInterval().toMillis(), 1L);
+        List<NotificationStreamMessage> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                NotificationStreamMessage first = inbox.poll(pollMillis, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                inbox.drainTo(batch, batchSize - 1);
+                deliver(batch);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException ex) {
+                log.warn("Notification fan-out delivery batch failed", ex);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void deliver(List<NotificationStreamMessage> batch) {
+        Map<Long, NotificationResponse> reloads = reloadOversized(batch);
+        for (NotificationStreamMessage message : batch) {
+            if (message.data() == null && message.eventId() != null) {
+                NotificationResponse reloadedData = reloads.get(message.eventId());
+                if (reloadedData == null) {
+                    // The row is gone (archived or deleted); the event still carries the unread delta.
+                    reloadMisses.increment();
+                }
+                message = new NotificationStreamMessage(
+                    message.userId(),
+                    message.eventName(),
+                    message.eventId(),
+                    reloadedData,
+                    message.unreadDelta()
+                );
+            }
+            notificationStreamDelivery.deliver(message);
+            delivered.increment();
+        }
+    }
+
+    private Map<Long, NotificationResponse> reloadOversized(List<NotificationStreamMessage> batch) {
+        List<Long> ids = batch.stream()
+            .filter(message -> message.data() == null && message.eventId() != null)
+            .map(NotificationStreamMessage::eventId)
+            .toList();
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        reloaded.add(ids.size());
+        return notificationRepository.findAllById(ids).stream()
+            .collect(Collectors.toMap(Notification::getId, NotificationResponse::from, (left, right) -> left));
+    }
+}
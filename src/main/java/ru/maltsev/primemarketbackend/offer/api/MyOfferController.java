@@ -26,7 +26,7 @@ public class MyOfferController {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
 
-        List<OfferResponse> response = offerService.listViewsForUser(principal.getUser().getId())
+        List<OfferResponse> response = offerService.listViewsForUser(principal.getUserId())
             .stream()
             .map(OfferResponse::from)
             .toList();
@@ -39,8 +39,8 @@ public class OfferController {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
 
-        Offer offer = offerService.create(principal.getUser().getId(), request);
-        OfferView response = offerService.getViewForUser(offer.getId(), principal.getUser().getId());
+        Offer offer = offerService.create(principal.getUserId(), request);
+        OfferView response = offerService.getViewForUser(offer.getId(), principal.getUserId());
         return ResponseEntity.status(HttpStatus.CREATED).body(OfferResponse.from(response));
     }
 
@@ -53,7 +53,7 @@ public class OfferController {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
 
-        OfferView offer = offerService.getViewForUser(offerId, principal.getUser().getId());
+        OfferView offer = offerService.getViewForUser(offerId, principal.getUserId());
         List<OfferContextResponse> contexts = offerService.getContextValues(offerId)
             .stream()
             .map(OfferContextResponse::from)
@@ -76,8 +76,8 @@ public class OfferController {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
 
-        Offer offer = offerService.update(offerId, principal.getUser().getId(), request);
-        OfferView response = offerService.getViewForUser(offer.getId(), principal.getUser().getId());
+        Offer offer = offerService.update(offerId, principal.getUserId(), request);
+        OfferView response = offerService.getViewForUser(offer.getId(), principal.getUserId());
         return ResponseEntity.ok(OfferResponse.from(response));
     }
 }
@@ -14,6 +14,7 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.hibernate.annotations.Generated;
 import org.hibernate.generator.EventType;
+import ru.maltsev.primemarketbackend.account.AccountBalanceSupport;
 
 @Getter
 @Setter
@@ -66,6 +67,10 @@ public class Offer {
     @Column(name = "quantity_step", precision = 18, scale = 8)
     private BigDecimal quantityStep;
 
+    @Column(name = "reserved_quantity", nullable = false, precision = 18, scale = 8)
+    @Setter(AccessLevel.NONE)
+    private BigDecimal reservedQuantity = BigDecimal.ZERO;
+
     @Column(nullable = false)
     @Setter(AccessLevel.NONE)
     private Long version = 1L;
@@ -97,4 +102,33 @@ public class Offer {
     public void incrementVersion() {
         this.version = version == null ? 1L : version + 1L;
     }
+
+    public BigDecimal availableQuantity() {
+        if (quantity == null) {
+            return BigDecimal.ZERO;
+        }
+        BigDecimal available = quantity.subtract(reservedQuantity);
+        return available.signum() < 0 ? BigDecimal.ZERO : available;
+    }
+
+    public void increaseReservedQuantity(BigDecimal amount) {
+        reservedQuantity = AccountBalanceSupport.increaseReserved(reservedQuantity, amount);
+    }
+
+    public void decreaseReservedQuantity(BigDecimal amount) {
+        reservedQuantity = AccountBalanceSupport.decreaseReserved(reservedQuantity, amount);
+    }
+
+    public void changeReservedQuantity(BigDecimal previousAmount, BigDecimal nextAmount) {
+        int comparison = nextAmount.compareTo(previousAmount);
+        if (comparison > 0) {
+            increaseReservedQuantity(nextAmount.subtract(previousAmount));
+        } else if (comparison < 0) {
+            decreaseReservedQuantity(previousAmount.subtract(nextAmount));
+        }
+    }
+
+    public void resetReservedQuantity(BigDecimal reservedQuantity) {
+        this.reservedQuantity = reservedQuantity;
+    }
 }
@@ -20,6 +20,21 @@ public interface OfferRepository extends JpaRepository<Offer, Long> {
     @Query("select o from Offer o where o.id = :offerId")
     Optional<Offer> findByIdForUpdate(@Param("offerId") Long offerId);
 
+    @Query(value = """
+        select o.id
+        from offers o
+        left join (
+            select r.offer_id, sum(r.quantity) as reserved_quantity
+            from offer_reservations r
+            where r.status = 'active'
+            group by r.offer_id
+        ) r
+          on r.offer_id = o.id
+        where o.reserved_quantity <> coalesce(r.reserved_quantity, 0)
+        order by o.id asc
+        """, nativeQuery = true)
+    List<Long> findIdsWithReservedQuantityDrift();
+
     @Query("""
         select new ru.maltsev.primemarketbackend.offer.repository.OfferView(
             o.id,
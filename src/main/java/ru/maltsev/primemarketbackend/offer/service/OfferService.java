@@ -29,6 +29,7 @@ import ru.maltsev.primemarketbackend.context.repository.CategoryContextDimension
 import ru.maltsev.primemarketbackend.context.repository.ContextDimensionValueRepository;
 import ru.maltsev.primemarketbackend.exception.ApiProblemException;
 import ru.maltsev.primemarketbackend.offer.api.dto.OfferContextRequest;
+import ru.maltsev.primemarketbackend.market.service.MarketOrderBook;
 import ru.maltsev.primemarketbackend.offer.api.dto.OfferAttributeRequest;
 import ru.maltsev.primemarketbackend.offer.api.dto.OfferCreateRequest;
 import ru.maltsev.primemarketbackend.offer.api.dto.OfferUpdateRequest;
@@ -41,7 +42,6 @@ import ru.maltsev.primemarketbackend.offer.repository.OfferContextValueRepositor
 import ru.maltsev.primemarketbackend.offer.repository.OfferDeliveryMethodRepository;
 import ru.maltsev.primemarketbackend.offer.repository.OfferRepository;
 import ru.maltsev.primemarketbackend.offer.repository.OfferView;
-import ru.maltsev.primemarketbackend.order.repository.OfferReservationRepository;
 import ru.maltsev.primemarketbackend.order.service.FundsHoldService;
 import ru.maltsev.primemarketbackend.tradefield.domain.CategoryTradeFieldConfig;
 import ru.maltsev.primemarketbackend.tradefield.repository.CategoryTradeFieldConfigRepository;
@@ -78,8 +78,8 @@ public class OfferService {
     private final OfferDeliveryMethodRepository offerDeliveryMethodRepository;
     private final CategoryTradeFieldConfigRepository categoryTradeFieldConfigRepository;
     private final CurrencyRepository currencyRepository;
-    private final OfferReservationRepository offerReservationRepository;
     private final FundsHoldService fundsHoldService;
+    private final MarketOrderBook marketOrderBook;
 
     @Transactional
     public Offer create(Long userId, OfferCreateRequest request) {
@@ -115,6 +115,7 @@ public class OfferService {
         replaceAttributes(saved, request.attributes(), strict);
         replaceDeliveryMethods(saved, request.deliveryMethods());
         fundsHoldService.syncBuyOfferFunding(saved);
+        marketOrderBook.offerChanged(saved.getId());
         return saved;
     }
 
@@ -247,11 +248,7 @@ public class OfferService {
         validatePriceCurrency(offer);
 
         if (strict) {
-            BigDecimal activeReservedQuantity = offerReservationRepository.sumQuantityByOfferIdAndStatus(
-                offerId,
-                FundsHoldService.STATUS_ACTIVE
-            );
-            validateQuantityNotBelowActiveReservations(offer, activeReservedQuantity);
+            validateQuantityNotBelowActiveReservations(offer, offer.getReservedQuantity());
             validateTradeFieldsForActive(targetCategoryId, offer, request.deliveryMethodsPresent() ? request.deliveryMethods() : null, offerId);
             validatePriceForActive(offer);
             validateEffectiveQuantityForActive(offer);
@@ -280,6 +277,7 @@ public class OfferService {
             replaceDeliveryMethods(saved, request.deliveryMethods());
         }
         fundsHoldService.syncBuyOfferFunding(saved);
+        marketOrderBook.offerChanged(saved.getId());
         return saved;
     }
 
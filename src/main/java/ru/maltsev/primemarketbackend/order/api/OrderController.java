@@ -16,6 +16,7 @@ import ru.maltsev.primemarketbackend.order.api.dto.MarkPartiallyDeliveredRequest
 import ru.maltsev.primemarketbackend.order.api.dto.OrderRequestResponse;
 import ru.maltsev.primemarketbackend.order.api.dto.OrderResponse;
 import ru.maltsev.primemarketbackend.order.api.dto.RequestAmendQuantityRequest;
+import ru.maltsev.primemarketbackend.order.service.FundsLockCoordinator;
 import ru.maltsev.primemarketbackend.order.service.OrderLifecycleService;
 import ru.maltsev.primemarketbackend.order.service.OrderRequestService;
 import ru.maltsev.primemarketbackend.order.service.OrderService;
@@ -28,6 +29,7 @@ public class OrderController {
     private final OrderService orderService;
     private final OrderLifecycleService orderLifecycleService;
     private final OrderRequestService orderRequestService;
+    private final FundsLockCoordinator fundsLockCoordinator;
 
     @PostMapping
     public ResponseEntity<OrderResponse> createOrder(
@@ -38,7 +40,10 @@ public class OrderController {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
 
-        OrderResponse response = orderService.createOrder(principal.getUser().getId(), request);
+        OrderResponse response = fundsLockCoordinator.withOfferLock(
+            orderService.findQuoteOfferId(request),
+            () -> orderService.createOrder(principal.getUserId(), request)
+        );
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
@@ -51,7 +56,7 @@ public class OrderController {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
 
-        OrderResponse response = orderLifecycleService.confirmReady(orderId, principal.getUser().getId());
+        OrderResponse response = orderLifecycleService.confirmReady(orderId, principal.getUserId());
         return ResponseEntity.ok(response);
     }
 
@@ -64,7 +69,9 @@ public class OrderController {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
 
-        OrderResponse response = orderLifecycleService.cancel(orderId, principal.getUser().getId());
+        OrderResponse response = fundsLockCoordinator.withDeadlockRetry(
+            () -> orderLifecycleService.cancel(orderId, principal.getUserId())
+        );
         return ResponseEntity.ok(response);
     }
 
@@ -77,7 +84,7 @@ public class OrderController {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
 
-        OrderRequestResponse response = orderRequestService.requestCancel(orderId, principal.getUser().getId());
+        OrderRequestResponse response = orderRequestService.requestCancel(orderId, principal.getUserId());
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
@@ -93,7 +100,7 @@ public class OrderController {
 
         OrderRequestResponse response = orderRequestService.requestAmendQuantity(
             orderId,
-            principal.getUser().getId(),
+            principal.getUserId(),
             request == null ? null : request.quantity()
         );
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
@@ -111,7 +118,7 @@ public class OrderController {
 
         OrderResponse response = orderLifecycleService.markPartiallyDelivered(
             orderId,
-            principal.getUser().getId(),
+            principal.getUserId(),
             request.deliveredQuantity()
         );
         return ResponseEntity.ok(response);
@@ -126,7 +133,7 @@ public class OrderController {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
 
-        OrderResponse response = orderLifecycleService.markDelivered(orderId, principal.getUser().getId());
+        OrderResponse response = orderLifecycleService.markDelivered(orderId, principal.getUserId());
         return ResponseEntity.ok(response);
     }
 
@@ -139,7 +146,9 @@ public class OrderController {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
 
-        OrderResponse response = orderLifecycleService.confirmReceived(orderId, principal.getUser().getId());
+        OrderResponse response = fundsLockCoordinator.withDeadlockRetry(
+            () -> orderLifecycleService.confirmReceived(orderId, principal.getUserId())
+        );
         return ResponseEntity.ok(response);
     }
 }
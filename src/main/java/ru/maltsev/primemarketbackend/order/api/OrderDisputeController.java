@@ -17,6 +17,7 @@ import ru.maltsev.primemarketbackend.order.api.dto.CreateOrderDisputeRequest;
 import ru.maltsev.primemarketbackend.order.api.dto.OrderDisputeResponse;
 import ru.maltsev.primemarketbackend.order.api.dto.ResolveOrderDisputeAmendQuantityRequest;
 import ru.maltsev.primemarketbackend.order.api.dto.ResolveOrderDisputeRequest;
+import ru.maltsev.primemarketbackend.order.service.FundsLockCoordinator;
 import ru.maltsev.primemarketbackend.order.service.OrderDisputeService;
 import ru.maltsev.primemarketbackend.security.user.UserPrincipal;
 
@@ -25,6 +26,7 @@ import ru.maltsev.primemarketbackend.security.user.UserPrincipal;
 @RequiredArgsConstructor
 public class OrderDisputeController {
     private final OrderDisputeService orderDisputeService;
+    private final FundsLockCoordinator fundsLockCoordinator;
 
     @PostMapping("/orders/{orderId}/disputes")
     public ResponseEntity<OrderDisputeResponse> openDispute(
@@ -76,7 +78,9 @@ public class OrderDisputeController {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
 
-        return ResponseEntity.ok(orderDisputeService.resolveCancel(disputeId, principal, request));
+        return ResponseEntity.ok(fundsLockCoordinator.withDeadlockRetry(
+            () -> orderDisputeService.resolveCancel(disputeId, principal, request)
+        ));
     }
 
     @PostMapping("/order-disputes/{disputeId}/resolve-complete")
@@ -90,7 +94,9 @@ public class OrderDisputeController {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
 
-        return ResponseEntity.ok(orderDisputeService.resolveComplete(disputeId, principal, request));
+        return ResponseEntity.ok(fundsLockCoordinator.withDeadlockRetry(
+            () -> orderDisputeService.resolveComplete(disputeId, principal, request)
+        ));
     }
 
     @PostMapping("/order-disputes/{disputeId}/resolve-amend-quantity-and-complete")
@@ -104,6 +110,8 @@ public class OrderDisputeController {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
 
-        return ResponseEntity.ok(orderDisputeService.resolveAmendQuantityAndComplete(disputeId, principal, request));
+        return ResponseEntity.ok(fundsLockCoordinator.withDeadlockRetry(
+            () -> orderDisputeService.resolveAmendQuantityAndComplete(disputeId, principal, request)
+        ));
     }
 }
@@ -0,0 +1,32 @@
+package ru.maltsev.primemarketbackend.order.api;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import ru.maltsev.primemarketbackend.order.api.dto.OrderExpirationStatsResponse;
+import ru.maltsev.primemarketbackend.order.api.dto.OrderExpiryTimerStatsResponse;
+import ru.maltsev.primemarketbackend.order.service.OrderExpirationSweeper;
+import ru.maltsev.primemarketbackend.order.service.OrderExpiryTimer;
+import ru.maltsev.primemarketbackend.security.PermissionCodes;
+
+@RestController
+@RequestMapping({"/api/admin/orders/expiration", "/api/backoffice/orders/expiration"})
+@RequiredArgsConstructor
+@PreAuthorize("hasAuthority('" + PermissionCodes.METRICS_VIEW + "')")
+public class OrderExpirationAdminController {
+    private final OrderExpirationSweeper orderExpirationSweeper;
+    private final OrderExpiryTimer orderExpiryTimer;
+
+    @GetMapping
+    public ResponseEntity<OrderExpirationStatsResponse> stats() {
+        return ResponseEntity.ok(orderExpirationSweeper.stats());
+    }
+
+    @GetMapping("/timer")
+    public ResponseEntity<OrderExpiryTimerStatsResponse> timerStats() {
+        return ResponseEntity.ok(orderExpiryTimer.stats());
+    }
+}
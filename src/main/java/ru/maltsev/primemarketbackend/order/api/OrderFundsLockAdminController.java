@@ -0,0 +1,24 @@
+package ru.maltsev.primemarketbackend.order.api;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import ru.maltsev.primemarketbackend.order.api.dto.FundsLockStatsResponse;
+import ru.maltsev.primemarketbackend.order.service.FundsLockCoordinator;
+import ru.maltsev.primemarketbackend.security.PermissionCodes;
+
+@RestController
+@RequestMapping({"/api/admin/orders/funds-locks", "/api/backoffice/orders/funds-locks"})
+@RequiredArgsConstructor
+@PreAuthorize("hasAuthority('" + PermissionCodes.METRICS_VIEW + "')")
+public class OrderFundsLockAdminController {
+    private final FundsLockCoordinator fundsLockCoordinator;
+
+    @GetMapping
+    public ResponseEntity<FundsLockStatsResponse> stats() {
+        return ResponseEntity.ok(fundsLockCoordinator.stats());
+    }
+}
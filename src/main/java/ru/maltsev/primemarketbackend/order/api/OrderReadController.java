@@ -1,5 +1,7 @@
 package ru.maltsev.primemarketbackend.order.api;
 
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Schema;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -28,15 +30,24 @@ public class OrderReadController {
         @RequestParam(required = false) String status,
         @RequestParam(required = false) String role,
         @RequestParam(required = false) Integer page,
-        @RequestParam(required = false) Integer size
+        @RequestParam(required = false) Integer size,
+        @Parameter(
+            description = "Pagination mode. `keyset` ignores `page`, returns `nextCursor`, and skips the total count unless `includeTotal` is set. Defaults to `offset`, or to `keyset` when `cursor` is present.",
+            schema = @Schema(type = "string", allowableValues = { "offset", "keyset" })
+        )
+        @RequestParam(required = false) String pagination,
+        @Parameter(description = "Opaque `nextCursor` value from the previous keyset page.")
+        @RequestParam(required = false) String cursor,
+        @Parameter(description = "Keyset mode only: also compute `total`.")
+        @RequestParam(required = false) Boolean includeTotal
     ) {
         if (principal == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
 
         MyOrdersResponse response = orderReadService.getMyOrders(
-            principal.getUser().getId(),
-            new MyOrdersRequest(status, role, page, size)
+            principal.getUserId(),
+            new MyOrdersRequest(status, role, page, size, pagination, cursor, includeTotal)
         );
         return ResponseEntity.ok(response);
     }
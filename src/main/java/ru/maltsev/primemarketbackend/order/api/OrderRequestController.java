@@ -10,6 +10,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import ru.maltsev.primemarketbackend.order.api.dto.OrderRequestResponse;
+import ru.maltsev.primemarketbackend.order.service.FundsLockCoordinator;
 import ru.maltsev.primemarketbackend.order.service.OrderRequestService;
 import ru.maltsev.primemarketbackend.security.user.UserPrincipal;
 
@@ -18,6 +19,7 @@ import ru.maltsev.primemarketbackend.security.user.UserPrincipal;
 @RequiredArgsConstructor
 public class OrderRequestController {
     private final OrderRequestService orderRequestService;
+    private final FundsLockCoordinator fundsLockCoordinator;
 
     @PostMapping("/{requestId}/approve")
     public ResponseEntity<OrderRequestResponse> approve(
@@ -28,7 +30,10 @@ public class OrderRequestController {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
 
-        return ResponseEntity.ok(orderRequestService.approve(requestId, principal.getUser().getId()));
+        OrderRequestResponse response = fundsLockCoordinator.withDeadlockRetry(
+            () -> orderRequestService.approve(requestId, principal.getUserId())
+        );
+        return ResponseEntity.ok(response);
     }
 
     @PostMapping("/{requestId}/reject")
@@ -40,6 +45,6 @@ public class OrderRequestController {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
 
-        return ResponseEntity.ok(orderRequestService.reject(requestId, principal.getUser().getId()));
+        return ResponseEntity.ok(orderRequestService.reject(requestId, principal.getUserId()));
     }
 }
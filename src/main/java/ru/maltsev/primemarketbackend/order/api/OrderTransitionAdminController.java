@@ -0,0 +1,24 @@
+package ru.maltsev.primemarketbackend.order.api;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import ru.maltsev.primemarketbackend.order.api.dto.OrderTransitionStatsResponse;
+import ru.maltsev.primemarketbackend.order.service.OrderTransitionMetrics;
+import ru.maltsev.primemarketbackend.security.PermissionCodes;
+
+@RestController
+@RequestMapping({"/api/admin/orders/transitions", "/api/backoffice/orders/transitions"})
+@RequiredArgsConstructor
+@PreAuthorize("hasAuthority('" + PermissionCodes.METRICS_VIEW + "')")
+public class OrderTransitionAdminController {
+    private final OrderTransitionMetrics orderTransitionMetrics;
+
+    @GetMapping
+    public ResponseEntity<OrderTransitionStatsResponse> stats() {
+        return ResponseEntity.ok(orderTransitionMetrics.stats());
+    }
+}
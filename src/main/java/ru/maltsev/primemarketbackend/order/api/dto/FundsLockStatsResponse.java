@@ -0,0 +1,14 @@
+package ru.maltsev.primemarketbackend.order.api.dto;
+
+import ru.maltsev.primemarketbackend.instrumentation.api.dto.LatencyStatsResponse;
+
+public record FundsLockStatsResponse(
+    boolean offerStripesEnabled,
+    int stripes,
+    long offerLockAcquisitions,
+    long offerLockContended,
+    long deadlockRetries,
+    long deadlockFailures,
+    LatencyStatsResponse offerLockWait
+) {
+}
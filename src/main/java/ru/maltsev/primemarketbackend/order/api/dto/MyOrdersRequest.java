@@ -4,6 +4,9 @@ public record MyOrdersRequest(
     String status,
     String role,
     Integer page,
-    Integer size
+    Integer size,
+    String pagination,
+    String cursor,
+    Boolean includeTotal
 ) {
 }
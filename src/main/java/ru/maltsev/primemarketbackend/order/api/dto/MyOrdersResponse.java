@@ -14,7 +14,8 @@ public record MyOrdersResponse(
     List<Item> items,
     int page,
     int size,
-    long total
+    Long total,
+    String nextCursor
 ) {
     @Schema(name = "MyOrderListItem")
     public record Item(
@@ -0,0 +1,15 @@
+package ru.maltsev.primemarketbackend.order.api.dto;
+
+import java.time.Instant;
+
+public record OrderExpirationStatsResponse(
+    long backlog,
+    Long oldestOverdueSeconds,
+    Instant lastSweepAt,
+    int lastSweepExpired,
+    int lastSweepBatches,
+    long lastSweepDurationMs,
+    long totalExpired,
+    long failedBatches
+) {
+}
@@ -0,0 +1,14 @@
+package ru.maltsev.primemarketbackend.order.api.dto;
+
+import ru.maltsev.primemarketbackend.instrumentation.api.dto.LatencyStatsResponse;
+
+public record OrderExpiryTimerStatsResponse(
+    boolean enabled,
+    int pending,
+    long scheduled,
+    long fired,
+    long expired,
+    long failedBatches,
+    LatencyStatsResponse lateness
+) {
+}
@@ -0,0 +1,13 @@
+package ru.maltsev.primemarketbackend.order.api.dto;
+
+import ru.maltsev.primemarketbackend.instrumentation.api.dto.LatencyStatsResponse;
+
+public record OrderTransitionStatsResponse(
+    boolean optimisticEnabled,
+    long optimisticApplied,
+    long optimisticConflicts,
+    long lockedApplied,
+    LatencyStatsResponse optimisticLatency,
+    LatencyStatsResponse lockedLatency
+) {
+}
@@ -158,6 +158,10 @@ public class Order {
     @Column(name = "expires_at", nullable = false)
     private Instant expiresAt;
 
+    @Column(name = "version", nullable = false, insertable = false, updatable = false)
+    @Generated(event = {EventType.INSERT, EventType.UPDATE})
+    private Long version;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     @Generated(event = EventType.INSERT)
     private Instant createdAt;
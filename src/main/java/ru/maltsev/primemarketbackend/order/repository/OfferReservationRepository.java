@@ -18,19 +18,6 @@ public interface OfferReservationRepository extends JpaRepository<OfferReservati
         """)
     BigDecimal sumQuantityByOfferIdAndStatus(@Param("offerId") Long offerId, @Param("status") String status);
 
-    @Query("""
-        select coalesce(sum(r.quantity), 0)
-        from OfferReservation r
-        where r.offerId = :offerId
-          and r.status = :status
-          and r.orderId <> :orderId
-        """)
-    BigDecimal sumQuantityByOfferIdAndStatusExcludingOrder(
-        @Param("offerId") Long offerId,
-        @Param("status") String status,
-        @Param("orderId") Long orderId
-    );
-
     Optional<OfferReservation> findByOrderId(Long orderId);
 
     @Lock(LockModeType.PESSIMISTIC_WRITE)
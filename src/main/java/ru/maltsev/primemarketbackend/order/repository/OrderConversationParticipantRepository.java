@@ -2,6 +2,9 @@ package ru.maltsev.primemarketbackend.order.repository;
 
 import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.maltsev.primemarketbackend.order.domain.OrderConversationParticipant;
 
 public interface OrderConversationParticipantRepository
@@ -10,4 +13,16 @@ public interface OrderConversationParticipantRepository
     boolean existsByConversationIdAndUserId(Long conversationId, Long userId);
 
     List<OrderConversationParticipant> findAllByConversationId(Long conversationId);
+
+    @Modifying
+    @Query(value = """
+        insert into order_conversation_participants (conversation_id, user_id, participant_role)
+        values (:conversationId, :userId, :participantRole)
+        on conflict (conversation_id, user_id) do nothing
+        """, nativeQuery = true)
+    int insertIfAbsent(
+        @Param("conversationId") Long conversationId,
+        @Param("userId") Long userId,
+        @Param("participantRole") String participantRole
+    );
 }
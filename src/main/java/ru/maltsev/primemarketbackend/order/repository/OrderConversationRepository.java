@@ -7,6 +7,7 @@ import java.util.Optional;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import ru.maltsev.primemarketbackend.order.domain.OrderConversation;
@@ -25,15 +26,17 @@ public interface OrderConversationRepository extends JpaRepository<OrderConversa
     @Query("select c from OrderConversation c where c.publicId = :publicId")
     Optional<OrderConversation> findByPublicIdForUpdate(@Param("publicId") UUID publicId);
 
-    @Lock(LockModeType.PESSIMISTIC_WRITE)
-    @Query("""
-        select c
-        from OrderConversation c
-        where c.orderId = :orderId
-          and c.conversationType = :conversationType
-        """)
-    Optional<OrderConversation> findByOrderIdAndConversationTypeForUpdate(
+    // Idempotent create: concurrent callers race on the (order_id, conversation_type) unique key, not on a row lock.
+    @Modifying
+    @Query(value = """
+        insert into order_conversations (public_id, order_id, conversation_type, status)
+        values (:publicId, :orderId, :conversationType, :status)
+        on conflict (order_id, conversation_type) do nothing
+        """, nativeQuery = true)
+    int insertIfAbsent(
+        @Param("publicId") UUID publicId,
         @Param("orderId") Long orderId,
-        @Param("conversationType") String conversationType
+        @Param("conversationType") String conversationType,
+        @Param("status") String status
     );
 }
@@ -0,0 +1,72 @@
+package ru.maltsev.primemarketbackend.order.repository;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+import ru.maltsev.primemarketbackend.order.domain.Order;
+
+public record OrderHistoryRow(
+    Long id,
+    UUID publicId,
+    String status,
+    Long makerUserId,
+    String makerRole,
+    String takerRole,
+    Long gameId,
+    String gameSlug,
+    String gameTitle,
+    Long categoryId,
+    String categorySlug,
+    String categoryTitle,
+    String title,
+    String ownerUsername,
+    String takerUsername,
+    BigDecimal orderedQuantity,
+    BigDecimal deliveredQuantity,
+    String offerPriceCurrencyCode,
+    BigDecimal offerPriceAmount,
+    BigDecimal displayUnitPriceAmount,
+    BigDecimal displayTotalAmount,
+    String viewerCurrencyCode,
+    BigDecimal sellerGrossAmount,
+    int sellerFeeBps,
+    BigDecimal sellerFeeAmount,
+    BigDecimal sellerNetAmount,
+    Instant expiresAt,
+    Instant createdAt,
+    Instant updatedAt
+) {
+    public static OrderHistoryRow from(Order order) {
+        return new OrderHistoryRow(
+            order.getId(),
+            order.getPublicId(),
+            order.getStatus(),
+            order.getMakerUserId(),
+            order.getMakerRole(),
+            order.getTakerRole(),
+            order.getGameIdSnapshot(),
+            order.getGameSlugSnapshot(),
+            order.getGameTitleSnapshot(),
+            order.getCategoryIdSnapshot(),
+            order.getCategorySlugSnapshot(),
+            order.getCategoryTitleSnapshot(),
+            order.getTitleSnapshot(),
+            order.getOwnerUsernameSnapshot(),
+            order.getTakerUsernameSnapshot(),
+            order.getOrderedQuantity(),
+            order.getDeliveredQuantity(),
+            order.getOfferPriceCurrencyCodeSnapshot(),
+            order.getOfferPriceAmountSnapshot(),
+            order.getDisplayUnitPriceAmount(),
+            order.getDisplayTotalAmount(),
+            order.getViewerCurrencyCodeSnapshot(),
+            order.getSellerGrossAmount(),
+            order.getSellerFeeBpsSnapshot(),
+            order.getSellerFeeAmount(),
+            order.getSellerNetAmount(),
+            order.getExpiresAt(),
+            order.getCreatedAt(),
+            order.getUpdatedAt()
+        );
+    }
+}
@@ -6,6 +6,12 @@ import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
@@ -13,16 +19,52 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Repository;
 import ru.maltsev.primemarketbackend.order.domain.Order;
+import ru.maltsev.primemarketbackend.order.service.OrderHistoryCursor;
 
 @Repository
 @RequiredArgsConstructor
 public class OrderReadQueryRepository {
     private static final String ROLE_MAKER = "maker";
     private static final String ROLE_TAKER = "taker";
+    private static final RowMapper<OrderHistoryRow> ORDER_HISTORY_ROW_MAPPER = (rs, rowNum) -> new OrderHistoryRow(
+        rs.getLong("id"),
+        rs.getObject("public_id", UUID.class),
+        rs.getString("status"),
+        rs.getLong("maker_user_id"),
+        rs.getString("maker_role"),
+        rs.getString("taker_role"),
+        rs.getLong("game_id_snapshot"),
+        rs.getString("game_slug_snapshot"),
+        rs.getString("game_title_snapshot"),
+        rs.getLong("category_id_snapshot"),
+        rs.getString("category_slug_snapshot"),
+        rs.getString("category_title_snapshot"),
+        rs.getString("title_snapshot"),
+        rs.getString("owner_username_snapshot"),
+        rs.getString("taker_username_snapshot"),
+        rs.getBigDecimal("ordered_quantity"),
+        rs.getBigDecimal("delivered_quantity"),
+        rs.getString("offer_price_currency_code_snapshot"),
+        rs.getBigDecimal("offer_price_amount_snapshot"),
+        rs.getBigDecimal("display_unit_price_amount"),
+        rs.getBigDecimal("display_total_amount"),
+        rs.getString("viewer_currency_code_snapshot"),
+        rs.getBigDecimal("seller_gross_amount"),
+        rs.getInt("seller_fee_bps_snapshot"),
+        rs.getBigDecimal("seller_fee_amount"),
+        rs.getBigDecimal("seller_net_amount"),
+        getInstant(rs, "expires_at"),
+        getInstant(rs, "created_at"),
+        getInstant(rs, "updated_at")
+    );
 
     private final EntityManager entityManager;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
 
     public Page<Order> findMyOrders(Long userId, String status, String role, int page, int size) {
         CriteriaBuilder cb = entityManager.getCriteriaBuilder();
@@ -53,6 +95,114 @@ public class OrderReadQueryRepository {
         return new PageImpl<>(items, PageRequest.of(page, size), total);
     }
 
+    // Each participant branch seeks its own (user, created_at, id) index and stops after `limit` entries,
+    // so only the final page touches the heap instead of every order matched by an OR filter.
+    @SuppressWarnings("SqlSourceToSinkFlow")
+    public List<OrderHistoryRow> findMyOrdersAfter(
+        Long userId,
+        String status,
+        String role,
+        OrderHistoryCursor after,
+        int limit
+    ) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+            .addValue("userId", userId)
+            .addValue("status", status)
+            .addValue("limit", limit);
+        if (after != null) {
+            parameters
+                .addValue("cursorCreatedAt", OffsetDateTime.ofInstant(after.createdAt(), ZoneOffset.UTC))
+                .addValue("cursorOrderId", after.orderId());
+        }
+
+        String sql = """
+            select o.id,
+                   o.public_id,
+                   o.status,
+                   o.maker_user_id,
+                   o.maker_role,
+                   o.taker_role,
+                   o.game_id_snapshot,
+                   o.game_slug_snapshot,
+                   o.game_title_snapshot,
+                   o.category_id_snapshot,
+                   o.category_slug_snapshot,
+                   o.category_title_snapshot,
+                   o.title_snapshot,
+                   o.owner_username_snapshot,
+                   o.taker_username_snapshot,
+                   o.ordered_quantity,
+                   o.delivered_quantity,
+                   o.offer_price_currency_code_snapshot,
+                   o.offer_price_amount_snapshot,
+                   o.display_unit_price_amount,
+                   o.display_total_amount,
+                   o.viewer_currency_code_snapshot,
+                   o.seller_gross_amount,
+                   o.seller_fee_bps_snapshot,
+                   o.seller_fee_amount,
+                   o.seller_net_amount,
+                   o.expires_at,
+                   o.created_at,
+                   o.updated_at
+            from (
+            %s
+            ) h
+            join orders o
+              on o.id = h.id
+            order by h.created_at desc, h.id desc
+            limit :limit
+            """.formatted(String.join("\n    union all\n", historyBranches(status, role, after)));
+        return jdbcTemplate.query(sql, parameters, ORDER_HISTORY_ROW_MAPPER);
+    }
+
+    @SuppressWarnings("SqlSourceToSinkFlow")
+    public long countMyOrders(Long userId, String status, String role) {
+        List<String> counts = new ArrayList<>();
+        for (String column : participantColumns(role)) {
+            counts.add("""
+                (select count(*) from orders where %s = :userId%s)""".formatted(column, statusCondition(status)));
+        }
+        Long total = jdbcTemplate.queryForObject(
+            "select " + String.join(" + ", counts),
+            new MapSqlParameterSource()
+                .addValue("userId", userId)
+                .addValue("status", status),
+            Long.class
+        );
+        return total == null ? 0 : total;
+    }
+
+    private List<String> historyBranches(String status, String role, OrderHistoryCursor after) {
+        String seekCondition = after == null
+            ? ""
+            : " and (created_at, id) < (:cursorCreatedAt, :cursorOrderId)";
+        List<String> branches = new ArrayList<>();
+        for (String column : participantColumns(role)) {
+            branches.add("""
+                (select id, created_at
+                 from orders
+                 where %s = :userId%s%s
+                 order by created_at desc, id desc
+                 limit :limit)""".formatted(column, statusCondition(status), seekCondition));
+        }
+        return branches;
+    }
+
+    private List<String> participantColumns(String role) {
+        if (ROLE_MAKER.equals(role)) {
+            return List.of("maker_user_id");
+        }
+        if (ROLE_TAKER.equals(role)) {
+            return List.of("taker_user_id");
+        }
+        return List.of("maker_user_id", "taker_user_id");
+    }
+
+    private String statusCondition(String status) {
+        return status == null ? "" : " and status = :status";
+    }
+
     private List<Predicate> buildPredicates(
         CriteriaBuilder cb,
         Root<Order> root,
@@ -84,4 +234,9 @@ public class OrderReadQueryRepository {
             cb.equal(root.get("takerUserId"), userId)
         );
     }
+
+    private static Instant getInstant(ResultSet resultSet, String column) throws SQLException {
+        Timestamp timestamp = resultSet.getTimestamp(column);
+        return timestamp == null ? null : timestamp.toInstant();
+    }
 }
@@ -1,12 +1,15 @@
 package ru.maltsev.primemarketbackend.order.repository;
 
+import java.math.BigDecimal;
 import java.util.Optional;
 import java.util.UUID;
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import ru.maltsev.primemarketbackend.order.domain.Order;
@@ -22,13 +25,84 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     @Query("select o from Order o where o.id = :orderId")
     Optional<Order> findByIdForUpdate(@Param("orderId") Long orderId);
 
-    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    // Guarded single-row transitions: zero rows means the order moved on since it was read.
+    @Modifying(clearAutomatically = true)
     @Query("""
-        select o
-        from Order o
+        update Order o
+        set o.status = 'in_progress'
+        where o.id = :orderId
+          and o.status = 'pending'
+          and o.version = :version
+        """)
+    int markInProgressIfUnchanged(@Param("orderId") Long orderId, @Param("version") Long version);
+
+    @Modifying(clearAutomatically = true)
+    @Query("""
+        update Order o
+        set o.status = 'partially_delivered',
+            o.deliveredQuantity = :deliveredQuantity
+        where o.id = :orderId
+          and o.status = :status
+          and o.version = :version
+        """)
+    int markPartiallyDeliveredIfUnchanged(
+        @Param("orderId") Long orderId,
+        @Param("status") String status,
+        @Param("version") Long version,
+        @Param("deliveredQuantity") BigDecimal deliveredQuantity
+    );
+
+    @Modifying(clearAutomatically = true)
+    @Query("""
+        update Order o
+        set o.status = 'delivered',
+            o.deliveredQuantity = o.orderedQuantity
+        where o.id = :orderId
+          and o.status = :status
+          and o.version = :version
+        """)
+    int markDeliveredIfUnchanged(
+        @Param("orderId") Long orderId,
+        @Param("status") String status,
+        @Param("version") Long version
+    );
+
+    // Claims a bounded chunk; rows already locked by another sweeper or a live transition are skipped.
+    @Query(value = """
+        select o.*
+        from orders o
         where o.status = 'pending'
-          and o.expiresAt <= :now
+          and o.expires_at <= :now
+        order by o.expires_at asc, o.id asc
+        limit :limit
+        for update skip locked
+        """, nativeQuery = true)
+    List<Order> findPendingExpiredForUpdateSkipLocked(@Param("now") Instant now, @Param("limit") int limit);
+
+    @Query(value = """
+        select o.*
+        from orders o
+        where o.id in (:orderIds)
+          and o.status = 'pending'
+          and o.expires_at <= :now
         order by o.id asc
+        for update skip locked
+        """, nativeQuery = true)
+    List<Order> findPendingExpiredByIdsForUpdateSkipLocked(
+        @Param("orderIds") Collection<Long> orderIds,
+        @Param("now") Instant now
+    );
+
+    @Query("""
+        select new ru.maltsev.primemarketbackend.order.repository.PendingOrderExpiryProjection(o.id, o.expiresAt)
+        from Order o
+        where o.status = 'pending'
         """)
-    List<Order> findAllPendingExpiredForUpdate(@Param("now") Instant now);
+    List<PendingOrderExpiryProjection> findPendingExpiries();
+
+    @Query("select count(o) from Order o where o.status = 'pending' and o.expiresAt <= :now")
+    long countPendingExpired(@Param("now") Instant now);
+
+    @Query("select min(o.expiresAt) from Order o where o.status = 'pending' and o.expiresAt <= :now")
+    Optional<Instant> findOldestPendingExpiredAt(@Param("now") Instant now);
 }
@@ -19,6 +19,13 @@ public interface OrderRequestRepository extends JpaRepository<OrderRequest, Long
         """)
     Optional<OrderRequest> findByPublicIdForUpdate(@Param("publicId") UUID publicId);
 
+    @Query("""
+        select r.orderId
+        from OrderRequest r
+        where r.publicId = :publicId
+        """)
+    Optional<Long> findOrderIdByPublicId(@Param("publicId") UUID publicId);
+
     @Query("""
         select r
         from OrderRequest r
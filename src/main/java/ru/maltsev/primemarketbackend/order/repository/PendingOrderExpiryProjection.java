@@ -0,0 +1,9 @@
+package ru.maltsev.primemarketbackend.order.repository;
+
+import java.time.Instant;
+
+public record PendingOrderExpiryProjection(
+    Long orderId,
+    Instant expiresAt
+) {
+}
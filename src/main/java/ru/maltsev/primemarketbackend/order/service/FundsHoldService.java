@@ -3,19 +3,20 @@ package ru.maltsev.primemarketbackend.order.service;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.Instant;
+import java.util.Arrays;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.maltsev.primemarketbackend.account.domain.UserAccount;
-import ru.maltsev.primemarketbackend.account.repository.UserAccountRepository;
-import ru.maltsev.primemarketbackend.account.service.UserAccountService;
 import ru.maltsev.primemarketbackend.exception.ApiProblemException;
 import ru.maltsev.primemarketbackend.offer.domain.Offer;
 import ru.maltsev.primemarketbackend.order.domain.UserAccountHold;
 import ru.maltsev.primemarketbackend.order.domain.UserAccountHoldAllocation;
-import ru.maltsev.primemarketbackend.order.repository.OfferReservationRepository;
 import ru.maltsev.primemarketbackend.order.repository.UserAccountHoldAllocationRepository;
 import ru.maltsev.primemarketbackend.order.repository.UserAccountHoldRepository;
 
@@ -32,11 +33,9 @@ public class FundsHoldService {
     private static final String HOLD_REASON_ORDER_FUNDS_HOLD = "order_funds_hold";
     private static final int ACCOUNT_MONEY_SCALE = 4;
 
-    private final UserAccountService userAccountService;
-    private final UserAccountRepository userAccountRepository;
+    private final FundsLockCoordinator fundsLockCoordinator;
     private final UserAccountHoldRepository userAccountHoldRepository;
     private final UserAccountHoldAllocationRepository userAccountHoldAllocationRepository;
-    private final OfferReservationRepository offerReservationRepository;
 
     @Transactional
     public void createOrderFundsHold(
@@ -47,7 +46,7 @@ public class FundsHoldService {
         Instant expiresAt
     ) {
         BigDecimal holdAmount = scaleAccountMoney(amount);
-        UserAccount buyerAccount = userAccountService.getOrCreateAccountForUpdate(buyerUserId, currencyCode);
+        UserAccount buyerAccount = lockAccount(fundsLockCoordinator.resolveAccountId(buyerUserId, currencyCode));
         if (buyerAccount.available().compareTo(holdAmount) < 0) {
             throw new ApiProblemException(
                 HttpStatus.CONFLICT,
@@ -207,10 +206,7 @@ public class FundsHoldService {
             HOLD_REASON_BUY_OFFER_FUNDS_HOLD
         ).orElse(null);
 
-        BigDecimal activeReservedQuantity = offerReservationRepository.sumQuantityByOfferIdAndStatus(
-            offer.getId(),
-            STATUS_ACTIVE
-        );
+        BigDecimal activeReservedQuantity = offer.getReservedQuantity();
         if (offer.getQuantity() != null && activeReservedQuantity.compareTo(offer.getQuantity()) > 0) {
             throw invalidHoldAllocation("Offer quantity cannot be lower than active reserved capacity");
         }
@@ -248,8 +244,15 @@ public class FundsHoldService {
         BigDecimal targetAmount,
         String insufficientFundsCode
     ) {
-        UserAccount currentAccount = hold == null ? null : lockAccount(hold.getUserAccountId());
-        UserAccount targetAccount = resolveTargetAccount(offer, currentAccount, activeAllocationAmount);
+        // Both wallets are locked in one call, in id order, when the hold moves to another wallet.
+        Long currentAccountId = hold == null ? null : hold.getUserAccountId();
+        Long targetAccountId = fundsLockCoordinator.resolveAccountId(offer.getUserId(), offer.getPriceCurrencyCode());
+        if (currentAccountId != null && !currentAccountId.equals(targetAccountId) && activeAllocationAmount.signum() > 0) {
+            throw invalidHoldAllocation("Cannot change funded buy offer currency while allocations are active");
+        }
+        Map<Long, UserAccount> accounts = lockAccounts(currentAccountId, targetAccountId);
+        UserAccount currentAccount = currentAccountId == null ? null : requireAccount(accounts, currentAccountId);
+        UserAccount targetAccount = requireAccount(accounts, targetAccountId);
 
         if (hold == null) {
             ensureAvailableDelta(targetAccount, BigDecimal.ZERO, targetAmount, insufficientFundsCode);
@@ -281,19 +284,6 @@ public class FundsHoldService {
         hold.activate(targetAccount.getId(), targetAmount, null);
     }
 
-    private UserAccount resolveTargetAccount(Offer offer, UserAccount currentAccount, BigDecimal activeAllocationAmount) {
-        if (currentAccount != null) {
-            if (currentAccount.getUser().getId().equals(offer.getUserId())
-                && currentAccount.getCurrencyCode().equalsIgnoreCase(offer.getPriceCurrencyCode())) {
-                return currentAccount;
-            }
-            if (activeAllocationAmount.signum() > 0) {
-                throw invalidHoldAllocation("Cannot change funded buy offer currency while allocations are active");
-            }
-        }
-        return userAccountService.getOrCreateAccountForUpdate(offer.getUserId(), offer.getPriceCurrencyCode());
-    }
-
     private void reconcileHoldOnCurrentAccount(
         UserAccountHold hold,
         UserAccount account,
@@ -334,10 +324,23 @@ public class FundsHoldService {
     }
 
     private UserAccount lockAccount(Long userAccountId) {
-        return userAccountRepository.findByIdForUpdate(userAccountId)
+        return fundsLockCoordinator.lockAccount(userAccountId)
             .orElseThrow(() -> invalidHoldAllocation("User account hold references missing wallet"));
     }
 
+    private Map<Long, UserAccount> lockAccounts(Long... userAccountIds) {
+        return fundsLockCoordinator.lockAccountsInOrder(Arrays.asList(userAccountIds)).stream()
+            .collect(Collectors.toMap(UserAccount::getId, Function.identity()));
+    }
+
+    private UserAccount requireAccount(Map<Long, UserAccount> accounts, Long userAccountId) {
+        UserAccount account = accounts.get(userAccountId);
+        if (account == null) {
+            throw invalidHoldAllocation("User account hold references missing wallet");
+        }
+        return account;
+    }
+
     private void ensureAvailableDelta(
         UserAccount account,
         BigDecimal currentActiveAmount,
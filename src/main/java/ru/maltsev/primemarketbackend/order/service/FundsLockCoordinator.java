@@ -0,0 +1,153 @@
+package ru.maltsev.primemarketbackend.order.service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.maltsev.primemarketbackend.account.domain.UserAccount;
+import ru.maltsev.primemarketbackend.account.repository.UserAccountRepository;
+import ru.maltsev.primemarketbackend.account.service.UserAccountService;
+import ru.maltsev.primemarketbackend.config.FundsLockProperties;
+import ru.maltsev.primemarketbackend.exception.ApiProblemException;
+import ru.maltsev.primemarketbackend.instrumentation.service.LatencyHistogram;
+import ru.maltsev.primemarketbackend.order.api.dto.FundsLockStatsResponse;
+
+// Canonical lock order for money paths: order -> reservation -> offer -> holds/allocations -> user accounts
+// (ascending id) -> platform account. Offer stripes are taken before the transaction starts, so takers queued
+// on a hot offer wait in the JVM instead of holding a pooled connection while blocked on the offer row.
+@Slf4j
+@Component
+public class FundsLockCoordinator {
+    private final FundsLockProperties properties;
+    private final UserAccountRepository userAccountRepository;
+    private final UserAccountService userAccountService;
+    private final ReentrantLock[] offerStripes;
+    private final LongAdder offerLockAcquisitions = new LongAdder();
+    private final LongAdder offerLockContended = new LongAdder();
+    private final LongAdder deadlockRetries = new LongAdder();
+    private final LongAdder deadlockFailures = new LongAdder();
+    private final LatencyHistogram offerLockWait = new LatencyHistogram();
+
+    public FundsLockCoordinator(
+        FundsLockProperties properties,
+        UserAccountRepository userAccountRepository,
+        UserAccountService userAccountService
+    ) {
+        this.properties = properties;
+        this.userAccountRepository = userAccountRepository;
+        this.userAccountService = userAccountService;
+        this.offerStripes = new ReentrantLock[Math.max(properties.stripes(), 1)];
+        for (int i = 0; i < offerStripes.length; i++) {
+            offerStripes[i] = new ReentrantLock();
+        }
+    }
+
+    public <T> T withOfferLock(Long offerId, Supplier<T> action) {
+        if (offerId == null || !properties.offerStripesEnabled()) {
+            return withDeadlockRetry(action);
+        }
+        ReentrantLock lock = offerStripes[Math.floorMod(offerId.hashCode(), offerStripes.length)];
+        long startedAt = System.nanoTime();
+        if (!lock.tryLock()) {
+            offerLockContended.increment();
+            lock.lock();
+        }
+        offerLockAcquisitions.increment();
+        offerLockWait.recordLatency(System.nanoTime() - startedAt);
+        try {
+            return withDeadlockRetry(action);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Re-runs the whole transaction when Postgres picks it as a deadlock victim or a lock wait times out.
+    public <T> T withDeadlockRetry(Supplier<T> action) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return action.get();
+        }
+        int maxAttempts = Math.max(properties.deadlockMaxAttempts(), 1);
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return action.get();
+            } catch (PessimisticLockingFailureException ex) {
+                if (attempt >= maxAttempts) {
+                    deadlockFailures.increment();
+                    log.warn("Funds lock conflict persisted after {} attempts", attempt, ex);
+                    throw fundsLockConflict();
+                }
+                deadlockRetries.increment();
+                backoff(attempt);
+            }
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<UserAccount> lockAccountsInOrder(Collection<Long> userAccountIds) {
+        List<Long> ids = userAccountIds.stream()
+            .filter(Objects::nonNull)
+            .distinct()
+            .sorted()
+            .toList();
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return userAccountRepository.findAllByIdInForUpdate(ids);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Optional<UserAccount> lockAccount(Long userAccountId) {
+        return lockAccountsInOrder(List.of(userAccountId)).stream().findFirst();
+    }
+
+    // Resolves a wallet by id only, so its row is first loaded under the lock taken by lockAccountsInOrder
+    // rather than read unlocked into the persistence context. A missing wallet is created, and locked, here:
+    // nobody else can be waiting on a row that did not exist yet.
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Long resolveAccountId(Long userId, String currencyCode) {
+        return userAccountRepository.findIdByUserIdAndCurrencyCodeIgnoreCase(userId, currencyCode)
+            .orElseGet(() -> userAccountService.getOrCreateAccountForUpdate(userId, currencyCode).getId());
+    }
+
+    public FundsLockStatsResponse stats() {
+        return new FundsLockStatsResponse(
+            properties.offerStripesEnabled(),
+            offerStripes.length,
+            offerLockAcquisitions.sum(),
+            offerLockContended.sum(),
+            deadlockRetries.sum(),
+            deadlockFailures.sum(),
+            offerLockWait.snapshot("offer-lock-wait")
+        );
+    }
+
+    private void backoff(int attempt) {
+        long baseMillis = Math.max(properties.deadlockBackoff().toMillis(), 1L);
+        long sleepMillis = baseMillis * attempt + ThreadLocalRandom.current().nextLong(baseMillis);
+        try {
+            Thread.sleep(sleepMillis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw fundsLockConflict();
+        }
+    }
+
+    private ApiProblemException fundsLockConflict() {
+        return new ApiProblemException(
+            HttpStatus.CONFLICT,
+            "FUNDS_LOCK_CONFLICT",
+            "Funds are busy, please retry"
+        );
+    }
+}
@@ -0,0 +1,19 @@
+package ru.maltsev.primemarketbackend.order.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class OfferReservationReconciliationScheduler {
+    private final OfferReservationReconciliationService offerReservationReconciliationService;
+
+    @Scheduled(
+        initialDelayString = "${app.orders.reserved-quantity-reconcile-delay:15m}",
+        fixedDelayString = "${app.orders.reserved-quantity-reconcile-delay:15m}"
+    )
+    public void reconcileReservedQuantities() {
+        offerReservationReconciliationService.reconcileReservedQuantities();
+    }
+}
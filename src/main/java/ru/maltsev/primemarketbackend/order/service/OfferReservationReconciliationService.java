@@ -0,0 +1,52 @@
+package ru.maltsev.primemarketbackend.order.service;
+
+import java.math.BigDecimal;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.maltsev.primemarketbackend.market.service.MarketOrderBook;
+import ru.maltsev.primemarketbackend.offer.domain.Offer;
+import ru.maltsev.primemarketbackend.offer.repository.OfferRepository;
+import ru.maltsev.primemarketbackend.order.repository.OfferReservationRepository;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OfferReservationReconciliationService {
+    private final OfferRepository offerRepository;
+    private final OfferReservationRepository offerReservationRepository;
+    private final MarketOrderBook marketOrderBook;
+
+    @Transactional
+    public int reconcileReservedQuantities() {
+        List<Long> offerIds = offerRepository.findIdsWithReservedQuantityDrift();
+        int corrected = 0;
+        for (Long offerId : offerIds) {
+            Offer offer = offerRepository.findByIdForUpdate(offerId).orElse(null);
+            if (offer == null) {
+                continue;
+            }
+
+            BigDecimal activeReservedQuantity = offerReservationRepository.sumQuantityByOfferIdAndStatus(
+                offerId,
+                FundsHoldService.STATUS_ACTIVE
+            );
+            if (offer.getReservedQuantity().compareTo(activeReservedQuantity) == 0) {
+                continue;
+            }
+
+            log.warn(
+                "Offer reserved quantity drift corrected. offerId={}, counter={}, actual={}",
+                offerId,
+                offer.getReservedQuantity(),
+                activeReservedQuantity
+            );
+            offer.resetReservedQuantity(activeReservedQuantity);
+            marketOrderBook.offerChanged(offerId);
+            corrected++;
+        }
+        return corrected;
+    }
+}
@@ -20,7 +20,7 @@ public class OrderAccessService {
 
     public Order requireReadableOrder(UUID publicOrderId, UserPrincipal principal) {
         Order order = loadOrder(publicOrderId);
-        Long currentUserId = principal.getUser().getId();
+        Long currentUserId = principal.getUserId();
         if (isParticipant(order, currentUserId) || principal.hasAuthority(PermissionCodes.ORDERS_VIEW_ANY)) {
             return order;
         }
@@ -91,11 +91,12 @@ public class OrderConversationService {
         createSystemMessage(mainConversation, systemMessage);
     }
 
-    @Transactional
+    // Pure read: the main conversation is created together with the order, so polling takes no row locks.
+    @Transactional(readOnly = true)
     public OrderConversationListResponse getOrderConversations(UUID publicOrderId, UserPrincipal principal) {
-        Order order = orderRepository.findByPublicIdForUpdate(publicOrderId)
+        Order order = orderRepository.findByPublicId(publicOrderId)
             .orElseThrow(this::orderNotFound);
-        Long currentUserId = principal.getUser().getId();
+        Long currentUserId = principal.getUserId();
         String currentUserRole = orderAccessService.resolveParticipantRole(order, currentUserId);
         boolean participant = currentUserRole != null;
         boolean supportPassiveAccess = !participant && canPassiveSupportView(order, principal);
@@ -103,8 +104,6 @@ public class OrderConversationService {
             throw orderNotFound();
         }
 
-        ensureMainConversation(order);
-
         List<String> visibleTypes = new ArrayList<>();
         visibleTypes.add(OrderConversation.TYPE_MAIN);
         if (participant) {
@@ -146,7 +145,7 @@ public class OrderConversationService {
         SendOrderMessageRequest request
     ) {
         OrderConversation conversation = loadAccessibleConversation(publicConversationId, principal, true);
-        Long currentUserId = principal.getUser().getId();
+        Long currentUserId = principal.getUserId();
         String body = normalizeMessageBody(request);
         if (!participantRepository.existsByConversationIdAndUserId(conversation.getId(), currentUserId)) {
             ensureSupportSenderParticipant(conversation, principal);
@@ -166,19 +165,7 @@ public class OrderConversationService {
     }
 
     private OrderConversation ensureMainConversation(Order order) {
-        OrderConversation conversation = conversationRepository
-            .findByOrderIdAndConversationTypeForUpdate(order.getId(), OrderConversation.TYPE_MAIN)
-            .orElseGet(() -> {
-                OrderConversation created = conversationRepository.saveAndFlush(new OrderConversation(
-                    UUID.randomUUID(),
-                    order.getId(),
-                    OrderConversation.TYPE_MAIN,
-                    OrderConversation.STATUS_ACTIVE
-                ));
-                createSystemMessage(created, MAIN_OPENED_MESSAGE);
-                return created;
-            });
-
+        OrderConversation conversation = ensureConversation(order, OrderConversation.TYPE_MAIN, MAIN_OPENED_MESSAGE);
         ensureParticipant(
             conversation,
             orderAccessService.resolveBuyerUserId(order),
@@ -198,32 +185,29 @@ public class OrderConversationService {
         Long participantUserId,
         String participantRole
     ) {
-        OrderConversation conversation = conversationRepository
-            .findByOrderIdAndConversationTypeForUpdate(order.getId(), conversationType)
-            .orElseGet(() -> {
-                OrderConversation created = conversationRepository.saveAndFlush(new OrderConversation(
-                    UUID.randomUUID(),
-                    order.getId(),
-                    conversationType,
-                    OrderConversation.STATUS_ACTIVE
-                ));
-                createSystemMessage(created, SUPPORT_OPENED_MESSAGE);
-                return created;
-            });
-
+        OrderConversation conversation = ensureConversation(order, conversationType, SUPPORT_OPENED_MESSAGE);
         ensureParticipant(conversation, participantUserId, participantRole);
         return conversation;
     }
 
-    private void ensureParticipant(OrderConversation conversation, Long userId, String participantRole) {
-        if (participantRepository.existsByConversationIdAndUserId(conversation.getId(), userId)) {
-            return;
+    private OrderConversation ensureConversation(Order order, String conversationType, String openedMessage) {
+        boolean created = conversationRepository.insertIfAbsent(
+            UUID.randomUUID(),
+            order.getId(),
+            conversationType,
+            OrderConversation.STATUS_ACTIVE
+        ) == 1;
+        OrderConversation conversation = conversationRepository
+            .findByOrderIdAndConversationType(order.getId(), conversationType)
+            .orElseThrow(this::conversationNotFound);
+        if (created) {
+            createSystemMessage(conversation, openedMessage);
         }
-        participantRepository.save(new OrderConversationParticipant(
-            conversation.getId(),
-            userId,
-            participantRole
-        ));
+        return conversation;
+    }
+
+    private void ensureParticipant(OrderConversation conversation, Long userId, String participantRole) {
+        participantRepository.insertIfAbsent(conversation.getId(), userId, participantRole);
     }
 
     private void createSystemMessage(OrderConversation conversation, String body) {
@@ -250,7 +234,7 @@ public class OrderConversationService {
     }
 
     private void ensureConversationAccess(OrderConversation conversation, UserPrincipal principal, boolean forSend) {
-        Long userId = principal.getUser().getId();
+        Long userId = principal.getUserId();
         if (participantRepository.existsByConversationIdAndUserId(conversation.getId(), userId)) {
             return;
         }
@@ -301,7 +285,7 @@ public class OrderConversationService {
         }
         ensureParticipant(
             conversation,
-            principal.getUser().getId(),
+            principal.getUserId(),
             OrderConversationParticipant.ROLE_SUPPORT
         );
     }
@@ -67,7 +67,7 @@ public class OrderDisputeService {
     ) {
         Order order = orderRepository.findByPublicIdForUpdate(publicOrderId)
             .orElseThrow(this::orderNotFound);
-        Long currentUserId = principal.getUser().getId();
+        Long currentUserId = principal.getUserId();
         if (!orderAccessService.isParticipant(order, currentUserId)) {
             throw new ApiProblemException(
                 HttpStatus.FORBIDDEN,
@@ -128,7 +128,7 @@ public class OrderDisputeService {
             .findTopByOrderIdAndStatusInOrderByCreatedAtDescIdDesc(order.getId(), ACTIVE_DISPUTE_STATUSES)
             .orElse(null);
 
-        boolean canOpenDispute = orderAccessService.isParticipant(order, principal.getUser().getId())
+        boolean canOpenDispute = orderAccessService.isParticipant(order, principal.getUserId())
             && isDisputeEligibleOrderStatus(order)
             && activeDispute == null;
         if (latestDispute == null) {
@@ -206,13 +206,13 @@ public class OrderDisputeService {
 
         Order order = loadOrderForUpdate(dispute.getOrderId());
         Instant now = Instant.now();
-        dispute.markTakenInWork(principal.getUser().getId(), now);
+        dispute.markTakenInWork(principal.getUserId(), now);
         orderConversationService.connectSupportToOrderMainConversation(
             order,
-            principal.getUser().getId(),
+            principal.getUserId(),
             SUPPORT_JOINED_ORDER_MESSAGE
         );
-        orderEventWriteService.recordDisputeTakenInWork(order, dispute.getId(), principal.getUser().getId());
+        orderEventWriteService.recordDisputeTakenInWork(order, dispute.getId(), principal.getUserId());
         notificationService.notifyDisputeTakenInWork(order, dispute, resolveParticipantUserIds(order));
         return toResponse(dispute, order, principal);
     }
@@ -229,21 +229,21 @@ public class OrderDisputeService {
         );
         Instant now = Instant.now();
         orderLifecycleService.cancelOrderAndReleaseResources(context.order(), now);
-        cancelPendingRequests(context.order().getId(), principal.getUser().getId(), now);
+        cancelPendingRequests(context.order().getId(), principal.getUserId(), now);
         context.dispute().markResolved(
-            principal.getUser().getId(),
+            principal.getUserId(),
             now,
             OrderDispute.RESOLUTION_FORCE_CANCEL,
             context.resolutionNote()
         );
-        orderEventWriteService.recordOrderCanceled(context.order(), principal.getUser().getId(), OrderDispute.ROLE_SUPPORT);
+        orderEventWriteService.recordOrderCanceled(context.order(), principal.getUserId(), OrderDispute.ROLE_SUPPORT);
         orderEventWriteService.recordDisputeResolved(
             context.order(),
             context.dispute().getId(),
-            principal.getUser().getId(),
+            principal.getUserId(),
             OrderDispute.RESOLUTION_FORCE_CANCEL
         );
-        orderEventWriteService.recordOrderForceCanceledBySupport(context.order(), principal.getUser().getId());
+        orderEventWriteService.recordOrderForceCanceledBySupport(context.order(), principal.getUserId());
         notificationService.notifyOrderStatusChanged(context.order(), resolveParticipantUserIds(context.order()));
         return toResponse(context.dispute(), context.order(), principal);
     }
@@ -261,21 +261,21 @@ public class OrderDisputeService {
         Instant now = Instant.now();
         context.order().markCompleted();
         orderSettlementService.settleCompletedOrder(context.order());
-        cancelPendingRequests(context.order().getId(), principal.getUser().getId(), now);
+        cancelPendingRequests(context.order().getId(), principal.getUserId(), now);
         context.dispute().markResolved(
-            principal.getUser().getId(),
+            principal.getUserId(),
             now,
             OrderDispute.RESOLUTION_FORCE_COMPLETE,
             context.resolutionNote()
         );
-        orderEventWriteService.recordOrderCompleted(context.order(), principal.getUser().getId(), OrderDispute.ROLE_SUPPORT);
+        orderEventWriteService.recordOrderCompleted(context.order(), principal.getUserId(), OrderDispute.ROLE_SUPPORT);
         orderEventWriteService.recordDisputeResolved(
             context.order(),
             context.dispute().getId(),
-            principal.getUser().getId(),
+            principal.getUserId(),
             OrderDispute.RESOLUTION_FORCE_COMPLETE
         );
-        orderEventWriteService.recordOrderForceCompletedBySupport(context.order(), principal.getUser().getId());
+        orderEventWriteService.recordOrderForceCompletedBySupport(context.order(), principal.getUserId());
         notificationService.notifyOrderStatusChanged(context.order(), resolveParticipantUserIds(context.order()));
         return toResponse(context.dispute(), context.order(), principal);
     }
@@ -305,26 +305,26 @@ public class OrderDisputeService {
         Instant now = Instant.now();
         context.order().markCompleted();
         orderSettlementService.settleCompletedOrder(context.order());
-        cancelPendingRequests(context.order().getId(), principal.getUser().getId(), now);
+        cancelPendingRequests(context.order().getId(), principal.getUserId(), now);
         context.dispute().markResolved(
-            principal.getUser().getId(),
+            principal.getUserId(),
             now,
             OrderDispute.RESOLUTION_FORCE_AMEND_QUANTITY_AND_COMPLETE,
             context.resolutionNote()
         );
         orderEventWriteService.recordOrderForceAmendedQuantityBySupport(
             context.order(),
-            principal.getUser().getId(),
+            principal.getUserId(),
             amendResult.previousQuantity()
         );
-        orderEventWriteService.recordOrderCompleted(context.order(), principal.getUser().getId(), OrderDispute.ROLE_SUPPORT);
+        orderEventWriteService.recordOrderCompleted(context.order(), principal.getUserId(), OrderDispute.ROLE_SUPPORT);
         orderEventWriteService.recordDisputeResolved(
             context.order(),
             context.dispute().getId(),
-            principal.getUser().getId(),
+            principal.getUserId(),
             OrderDispute.RESOLUTION_FORCE_AMEND_QUANTITY_AND_COMPLETE
         );
-        orderEventWriteService.recordOrderForceCompletedBySupport(context.order(), principal.getUser().getId());
+        orderEventWriteService.recordOrderForceCompletedBySupport(context.order(), principal.getUserId());
         notificationService.notifyOrderStatusChanged(context.order(), resolveParticipantUserIds(context.order()));
         return toResponse(context.dispute(), context.order(), principal);
     }
@@ -397,7 +397,7 @@ public class OrderDisputeService {
     }
 
     private boolean canViewDispute(Order order, UserPrincipal principal) {
-        return orderAccessService.isParticipant(order, principal.getUser().getId())
+        return orderAccessService.isParticipant(order, principal.getUserId())
             || principal.hasAuthority(PermissionCodes.ORDER_DISPUTES_VIEW);
     }
 
@@ -2,16 +2,31 @@ package ru.maltsev.primemarketbackend.order.service;
 
 import java.time.Instant;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class OrderExpirationScheduler {
-    private final OrderLifecycleService orderLifecycleService;
+    private final OrderExpirationSweeper orderExpirationSweeper;
+    private final OrderExpiryTimer orderExpiryTimer;
 
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        try {
+            orderExpiryTimer.rebuild();
+        } catch (RuntimeException ex) {
+            log.warn("Failed to rebuild order expiry timer", ex);
+        }
+    }
+
+    // Safety net for orders created on other nodes or missed by the in-memory timer.
     @Scheduled(fixedDelayString = "${app.orders.pending-expire-sweep-delay:1m}")
     public void expirePendingOrders() {
-        orderLifecycleService.expirePendingOrders(Instant.now());
+        orderExpirationSweeper.sweep(Instant.now());
     }
 }
@@ -0,0 +1,79 @@
+package ru.maltsev.primemarketbackend.order.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import ru.maltsev.primemarketbackend.config.OrderProperties;
+import ru.maltsev.primemarketbackend.order.api.dto.OrderExpirationStatsResponse;
+import ru.maltsev.primemarketbackend.order.repository.OrderRepository;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderExpirationSweeper {
+    private final OrderLifecycleService orderLifecycleService;
+    private final OrderRepository orderRepository;
+    private final OrderProperties orderProperties;
+
+    private final AtomicLong totalExpired = new AtomicLong();
+    private final AtomicLong failedBatches = new AtomicLong();
+    private volatile SweepResult lastSweep;
+
+    // Every batch runs in its own transaction, so a large backlog never holds more than one chunk of row locks.
+    public int sweep(Instant now) {
+        int batchSize = Math.max(orderProperties.pendingExpireBatchSize(), 1);
+        int maxBatches = Math.max(orderProperties.pendingExpireMaxBatchesPerSweep(), 1);
+        long startedAt = System.nanoTime();
+        int expired = 0;
+        int batches = 0;
+
+        while (batches < maxBatches) {
+            int claimed;
+            try {
+                claimed = orderLifecycleService.expirePendingOrdersBatch(now, batchSize);
+            } catch (RuntimeException ex) {
+                failedBatches.incrementAndGet();
+                log.warn("Failed to expire pending orders batch", ex);
+                break;
+            }
+            batches++;
+            expired += claimed;
+            if (claimed < batchSize) {
+                break;
+            }
+        }
+
+        long durationMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+        totalExpired.addAndGet(expired);
+        lastSweep = new SweepResult(now, expired, batches, durationMs);
+        if (expired > 0) {
+            log.info("Expired {} pending orders in {} batches ({} ms)", expired, batches, durationMs);
+        }
+        return expired;
+    }
+
+    public OrderExpirationStatsResponse stats() {
+        Instant now = Instant.now();
+        Long oldestOverdueSeconds = orderRepository.findOldestPendingExpiredAt(now)
+            .map(expiresAt -> Duration.between(expiresAt, now).toSeconds())
+            .orElse(null);
+        SweepResult sweep = lastSweep;
+        return new OrderExpirationStatsResponse(
+            orderRepository.countPendingExpired(now),
+            oldestOverdueSeconds,
+            sweep == null ? null : sweep.at(),
+            sweep == null ? 0 : sweep.expired(),
+            sweep == null ? 0 : sweep.batches(),
+            sweep == null ? 0 : sweep.durationMs(),
+            totalExpired.get(),
+            failedBatches.get()
+        );
+    }
+
+    private record SweepResult(Instant at, int expired, int batches, long durationMs) {
+    }
+}
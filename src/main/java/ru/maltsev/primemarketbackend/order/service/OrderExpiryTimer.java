@@ -0,0 +1,184 @@
+package ru.maltsev.primemarketbackend.order.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.maltsev.primemarketbackend.config.OrderProperties;
+import ru.maltsev.primemarketbackend.instrumentation.service.LatencyHistogram;
+import ru.maltsev.primemarketbackend.order.api.dto.OrderExpiryTimerStatsResponse;
+import ru.maltsev.primemarketbackend.order.domain.Order;
+import ru.maltsev.primemarketbackend.order.repository.OrderRepository;
+import ru.maltsev.primemarketbackend.order.repository.PendingOrderExpiryProjection;
+
+@Slf4j
+@Component
+public class OrderExpiryTimer {
+    private final OrderProperties properties;
+    private final OrderLifecycleService orderLifecycleService;
+    private final OrderRepository orderRepository;
+    private final DelayQueue<Deadline> queue = new DelayQueue<>();
+    // Latest known deadline per order; queue entries that no longer match are stale and skipped.
+    private final Map<Long, Instant> deadlines = new ConcurrentHashMap<>();
+    private final LongAdder scheduled = new LongAdder();
+    private final LongAdder fired = new LongAdder();
+    private final LongAdder expired = new LongAdder();
+    private final LongAdder failedBatches = new LongAdder();
+    private final LatencyHistogram lateness = new LatencyHistogram();
+    private volatile boolean running;
+    private Thread worker;
+
+    public OrderExpiryTimer(
+        OrderProperties properties,
+        OrderLifecycleService orderLifecycleService,
+        OrderRepository orderRepository
+    ) {
+        this.properties = properties;
+        this.orderLifecycleService = orderLifecycleService;
+        this.orderRepository = orderRepository;
+    }
+
+    @PostConstruct
+    void start() {
+        if (!properties.expiryTimerEnabled()) {
+            return;
+        }
+        running = true;
+        worker = Thread.ofPlatform()
+            .name("order-expiry-timer")
+            .daemon(true)
+            .start(this::fireLoop);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+            worker.join(TimeUnit.SECONDS.toMillis(2));
+        }
+    }
+
+    public boolean isEnabled() {
+        return properties.expiryTimerEnabled();
+    }
+
+    public void rebuild() {
+        if (!isEnabled()) {
+            return;
+        }
+        List<PendingOrderExpiryProjection> pending = orderRepository.findPendingExpiries();
+        pending.forEach(order -> schedule(order.orderId(), order.expiresAt()));
+        log.info("Order expiry timer rebuilt: pending={}", pending.size());
+    }
+
+    public void orderCreated(Order order) {
+        if (!isEnabled()) {
+            return;
+        }
+        Long orderId = order.getId();
+        Instant expiresAt = order.getExpiresAt();
+        afterCommit(() -> schedule(orderId, expiresAt));
+    }
+
+    public void schedule(Long orderId, Instant expiresAt) {
+        if (!isEnabled() || orderId == null || expiresAt == null) {
+            return;
+        }
+        deadlines.put(orderId, expiresAt);
+        queue.add(new Deadline(orderId, expiresAt));
+        scheduled.increment();
+    }
+
+    public OrderExpiryTimerStatsResponse stats() {
+        return new OrderExpiryTimerStatsResponse(
+            isEnabled(),
+            deadlines.size(),
+            scheduled.sum(),
+            fired.sum(),
+            expired.sum(),
+            failedBatches.sum(),
+            lateness.snapshot("order-expiry-lateness")
+        );
+    }
+
+    private void fireLoop() {
+        int batchSize = Math.max(properties.expiryTimerBatchSize(), 1);
+        while (running) {
+            List<Deadline> due = new ArrayList<>(batchSize);
+            try {
+                due.add(queue.take());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            queue.drainTo(due, batchSize - 1);
+            fire(due);
+        }
+    }
+
+    private void fire(List<Deadline> due) {
+        Instant now = Instant.now();
+        List<Long> orderIds = new ArrayList<>(due.size());
+        for (Deadline deadline : due) {
+            if (deadlines.remove(deadline.orderId(), deadline.expiresAt())) {
+                orderIds.add(deadline.orderId());
+                lateness.recordLatency(Duration.between(deadline.expiresAt(), now).toNanos());
+            }
+        }
+        if (orderIds.isEmpty()) {
+            return;
+        }
+
+        fired.add(orderIds.size());
+        // Rows locked by a live transition are skipped here; the periodic sweep picks up anything left pending.
+        try {
+            expired.add(orderLifecycleService.expireDuePendingOrders(orderIds, now));
+        } catch (RuntimeException ex) {
+            failedBatches.increment();
+            log.warn("Failed to expire due pending orders: orderIds={}", orderIds, ex);
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()
+            && TransactionSynchronizationManager.isActualTransactionActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+            return;
+        }
+        action.run();
+    }
+
+    private record Deadline(Long orderId, Instant expiresAt) implements Delayed {
+        @Override
+        public long getDelay(TimeUnit unit) {
+            // Full precision: firing even a millisecond early would find the order not yet due.
+            return unit.convert(Duration.between(Instant.now(), expiresAt));
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            if (other instanceof Deadline deadline) {
+                return expiresAt.compareTo(deadline.expiresAt());
+            }
+            return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package ru.maltsev.primemarketbackend.order.service;
+
+import java.time.Instant;
+import ru.maltsev.primemarketbackend.pagination.InstantIdCursor;
+
+public record OrderHistoryCursor(
+    Instant createdAt,
+    Long orderId
+) {
+    private static final String INVALID_CURSOR_CODE = "INVALID_ORDER_CURSOR";
+
+    public String encode() {
+        return new InstantIdCursor(createdAt, orderId).encode();
+    }
+
+    public static OrderHistoryCursor decode(String rawCursor) {
+        InstantIdCursor cursor = InstantIdCursor.decode(rawCursor, INVALID_CURSOR_CODE);
+        return cursor == null ? null : new OrderHistoryCursor(cursor.instant(), cursor.id());
+    }
+}
@@ -2,14 +2,19 @@ package ru.maltsev.primemarketbackend.order.service;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import ru.maltsev.primemarketbackend.config.OrderProperties;
 import ru.maltsev.primemarketbackend.exception.ApiProblemException;
+import ru.maltsev.primemarketbackend.market.service.MarketOrderBook;
 import ru.maltsev.primemarketbackend.notification.service.NotificationService;
 import ru.maltsev.primemarketbackend.offer.domain.Offer;
 import ru.maltsev.primemarketbackend.offer.repository.OfferRepository;
@@ -36,20 +41,27 @@ public class OrderLifecycleService {
     private final OrderSettlementService orderSettlementService;
     private final OrderEventWriteService orderEventWriteService;
     private final NotificationService notificationService;
+    private final MarketOrderBook marketOrderBook;
+    private final OrderTransitionMetrics orderTransitionMetrics;
+    private final OrderProperties orderProperties;
 
     @Transactional
     public OrderResponse confirmReady(UUID publicOrderId, Long actorUserId) {
-        Order order = loadOrderForUpdate(publicOrderId);
-        if (!order.getMakerUserId().equals(actorUserId)) {
-            throw new ApiProblemException(
-                HttpStatus.FORBIDDEN,
-                "ONLY_MAKER_CAN_CONFIRM_READY",
-                "Only maker can confirm ready"
-            );
-        }
-
-        validatePendingForConfirm(order);
-        order.markInProgress();
+        Order order = applySingleRowTransition(
+            publicOrderId,
+            current -> {
+                if (!current.getMakerUserId().equals(actorUserId)) {
+                    throw new ApiProblemException(
+                        HttpStatus.FORBIDDEN,
+                        "ONLY_MAKER_CAN_CONFIRM_READY",
+                        "Only maker can confirm ready"
+                    );
+                }
+                validatePendingForConfirm(current);
+            },
+            current -> orderRepository.markInProgressIfUnchanged(current.getId(), current.getVersion()),
+            Order::markInProgress
+        );
         orderEventWriteService.recordMakerConfirmedReady(order);
         notificationService.notifyOrderStatusChanged(order, List.of(resolveCounterpartyUserId(order, actorUserId)));
         return OrderResponse.from(order);
@@ -83,11 +95,25 @@ public class OrderLifecycleService {
 
     @Transactional
     public OrderResponse markPartiallyDelivered(UUID publicOrderId, Long actorUserId, BigDecimal deliveredQuantity) {
-        Order order = loadOrderForUpdate(publicOrderId);
-        requireSeller(order, actorUserId, "ONLY_SELLER_CAN_MARK_PARTIALLY_DELIVERED", "Only seller can mark partial delivery");
-        validatePartialDelivery(order, deliveredQuantity);
-
-        order.markPartiallyDelivered(deliveredQuantity);
+        Order order = applySingleRowTransition(
+            publicOrderId,
+            current -> {
+                requireSeller(
+                    current,
+                    actorUserId,
+                    "ONLY_SELLER_CAN_MARK_PARTIALLY_DELIVERED",
+                    "Only seller can mark partial delivery"
+                );
+                validatePartialDelivery(current, deliveredQuantity);
+            },
+            current -> orderRepository.markPartiallyDeliveredIfUnchanged(
+                current.getId(),
+                current.getStatus(),
+                current.getVersion(),
+                deliveredQuantity
+            ),
+            current -> current.markPartiallyDelivered(deliveredQuantity)
+        );
         orderEventWriteService.recordSellerMarkedPartialDelivery(order, actorUserId);
         notificationService.notifyOrderStatusChanged(order, List.of(resolveBuyerUserId(order)));
         return OrderResponse.from(order);
@@ -95,11 +121,15 @@ public class OrderLifecycleService {
 
     @Transactional
     public OrderResponse markDelivered(UUID publicOrderId, Long actorUserId) {
-        Order order = loadOrderForUpdate(publicOrderId);
-        requireSeller(order, actorUserId, "ONLY_SELLER_CAN_MARK_DELIVERED", "Only seller can mark delivered");
-        validateDeliveryUpdateAllowed(order);
-
-        order.markDelivered();
+        Order order = applySingleRowTransition(
+            publicOrderId,
+            current -> {
+                requireSeller(current, actorUserId, "ONLY_SELLER_CAN_MARK_DELIVERED", "Only seller can mark delivered");
+                validateDeliveryUpdateAllowed(current);
+            },
+            current -> orderRepository.markDeliveredIfUnchanged(current.getId(), current.getStatus(), current.getVersion()),
+            Order::markDelivered
+        );
         orderEventWriteService.recordSellerMarkedDelivered(order, actorUserId);
         notificationService.notifyOrderStatusChanged(order, List.of(resolveBuyerUserId(order)));
         return OrderResponse.from(order);
@@ -120,8 +150,8 @@ public class OrderLifecycleService {
     }
 
     @Transactional
-    public int expirePendingOrders(Instant now) {
-        List<Order> orders = orderRepository.findAllPendingExpiredForUpdate(now);
+    public int expirePendingOrdersBatch(Instant now, int batchSize) {
+        List<Order> orders = orderRepository.findPendingExpiredForUpdateSkipLocked(now, batchSize);
         for (Order order : orders) {
             transitionPendingToExpired(order, now);
             orderEventWriteService.recordOrderExpired(order);
@@ -129,6 +159,54 @@ public class OrderLifecycleService {
         return orders.size();
     }
 
+    @Transactional
+    public int expireDuePendingOrders(Collection<Long> orderIds, Instant now) {
+        if (orderIds.isEmpty()) {
+            return 0;
+        }
+        List<Order> orders = orderRepository.findPendingExpiredByIdsForUpdateSkipLocked(orderIds, now);
+        for (Order order : orders) {
+            transitionPendingToExpired(order, now);
+            orderEventWriteService.recordOrderExpired(order);
+        }
+        return orders.size();
+    }
+
+    // Transitions that touch only the order row: validate an unlocked read, then apply a status + version
+    // guarded update. Losing the race falls back to the row lock so the caller still gets the precise error.
+    private Order applySingleRowTransition(
+        UUID publicOrderId,
+        Consumer<Order> validate,
+        ToIntFunction<Order> guardedUpdate,
+        Consumer<Order> apply
+    ) {
+        long startedAt = System.nanoTime();
+        if (orderProperties.optimisticTransitionsEnabled()) {
+            Order snapshot = loadOrder(publicOrderId);
+            validate.accept(snapshot);
+            if (guardedUpdate.applyAsInt(snapshot) == 1) {
+                orderTransitionMetrics.recordOptimistic(System.nanoTime() - startedAt);
+                return loadOrder(publicOrderId);
+            }
+            orderTransitionMetrics.recordConflict();
+        }
+
+        Order order = loadOrderForUpdate(publicOrderId);
+        validate.accept(order);
+        apply.accept(order);
+        orderTransitionMetrics.recordLocked(System.nanoTime() - startedAt);
+        return order;
+    }
+
+    private Order loadOrder(UUID publicOrderId) {
+        return orderRepository.findByPublicId(publicOrderId)
+            .orElseThrow(() -> new ApiProblemException(
+                HttpStatus.NOT_FOUND,
+                "ORDER_NOT_FOUND",
+                "Order not found"
+            ));
+    }
+
     private Order loadOrderForUpdate(UUID publicOrderId) {
         return orderRepository.findByPublicIdForUpdate(publicOrderId)
             .orElseThrow(() -> new ApiProblemException(
@@ -247,6 +325,8 @@ public class OrderLifecycleService {
     private void releaseOrderResources(Order order, boolean expired, Instant now) {
         OfferReservation reservation = offerReservationRepository.findByOrderIdForUpdate(order.getId())
             .orElseThrow(() -> invalidOrderStatus("Order reservation not found"));
+        Offer offer = offerRepository.findByIdForUpdate(reservation.getOfferId())
+            .orElseThrow(() -> invalidOrderStatus("Offer backing order reservation not found"));
 
         if (SIDE_SELL.equals(order.getOfferSideSnapshot())) {
             fundsHoldService.releaseOrderFundsHold(order.getId(), expired, now);
@@ -260,11 +340,11 @@ public class OrderLifecycleService {
             } else {
                 reservation.markReleased(now);
             }
+            offer.decreaseReservedQuantity(reservation.getQuantity());
+            marketOrderBook.offerChanged(offer.getId());
         }
 
         if (!SIDE_SELL.equals(order.getOfferSideSnapshot())) {
-            Offer offer = offerRepository.findByIdForUpdate(reservation.getOfferId())
-                .orElseThrow(() -> invalidOrderStatus("Offer backing order reservation not found"));
             fundsHoldService.syncBuyOfferFunding(offer);
         }
     }
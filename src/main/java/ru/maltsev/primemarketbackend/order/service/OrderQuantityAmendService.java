@@ -8,6 +8,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import ru.maltsev.primemarketbackend.exception.ApiProblemException;
+import ru.maltsev.primemarketbackend.market.service.MarketOrderBook;
 import ru.maltsev.primemarketbackend.offer.domain.Offer;
 import ru.maltsev.primemarketbackend.offer.repository.OfferRepository;
 import ru.maltsev.primemarketbackend.order.domain.OfferReservation;
@@ -25,6 +26,7 @@ public class OrderQuantityAmendService {
     private final OfferReservationRepository offerReservationRepository;
     private final OfferRepository offerRepository;
     private final FundsHoldService fundsHoldService;
+    private final MarketOrderBook marketOrderBook;
 
     public BigDecimal normalizeRequestedQuantity(BigDecimal quantity) {
         if (quantity == null || quantity.signum() <= 0) {
@@ -49,9 +51,11 @@ public class OrderQuantityAmendService {
 
         OfferReservation reservation = loadActiveReservation(order);
         Offer offer = loadOfferForUpdate(reservation.getOfferId());
-        validateAgainstLiveCapacity(order, offer, requestedQuantity);
+        validateAgainstLiveCapacity(offer, reservation, requestedQuantity);
     }
 
+    // Reservation and offer are locked here; holds and wallets after them in FundsHoldService, wallets via
+    // FundsLockCoordinator, which keeps the canonical order -> reservation -> offer -> holds -> accounts.
     public AmendResult amendQuantity(Order order, BigDecimal requestedQuantity) {
         BigDecimal normalizedQuantity = normalizeRequestedQuantity(requestedQuantity);
         validateRequestedQuantity(order, normalizedQuantity);
@@ -67,6 +71,8 @@ public class OrderQuantityAmendService {
             fundsHoldService.changeBuyOfferAllocationAmountForAmend(offer, order.getId(), amounts.sellerGrossAmount());
         }
 
+        offer.changeReservedQuantity(reservation.getQuantity(), normalizedQuantity);
+        marketOrderBook.offerChanged(offer.getId());
         reservation.changeQuantity(normalizedQuantity);
         order.amendQuantity(
             normalizedQuantity,
@@ -90,8 +96,8 @@ public class OrderQuantityAmendService {
     }
 
     private void validateAgainstLiveCapacity(
-        Order order,
         Offer offer,
+        OfferReservation reservation,
         BigDecimal requestedQuantity
     ) {
         if (offer.getQuantity() == null || offer.getQuantity().signum() <= 0) {
@@ -101,11 +107,7 @@ public class OrderQuantityAmendService {
                 "Offer has no available capacity"
             );
         }
-        BigDecimal otherReservedQuantity = offerReservationRepository.sumQuantityByOfferIdAndStatusExcludingOrder(
-            offer.getId(),
-            FundsHoldService.STATUS_ACTIVE,
-            order.getId()
-        );
+        BigDecimal otherReservedQuantity = offer.getReservedQuantity().subtract(reservation.getQuantity());
         BigDecimal maxQuantity = offer.getQuantity().subtract(otherReservedQuantity);
         if (maxQuantity.signum() < 0 || requestedQuantity.compareTo(maxQuantity) > 0) {
             throw new ApiProblemException(
@@ -19,6 +19,7 @@ import ru.maltsev.primemarketbackend.order.api.dto.OrderDetailsResponse;
 import ru.maltsev.primemarketbackend.order.api.dto.OrderReadModelDtos;
 import ru.maltsev.primemarketbackend.order.domain.Order;
 import ru.maltsev.primemarketbackend.order.domain.OrderRequest;
+import ru.maltsev.primemarketbackend.order.repository.OrderHistoryRow;
 import ru.maltsev.primemarketbackend.order.repository.OrderReadQueryRepository;
 import ru.maltsev.primemarketbackend.order.repository.OrderRequestRepository;
 import ru.maltsev.primemarketbackend.security.user.UserPrincipal;
@@ -30,6 +31,8 @@ public class OrderReadService {
     private static final int DEFAULT_SIZE = 20;
     private static final String FILTER_ROLE_MAKER = "maker";
     private static final String FILTER_ROLE_TAKER = "taker";
+    private static final String PAGINATION_OFFSET = "offset";
+    private static final String PAGINATION_KEYSET = "keyset";
     private static final String ROLE_BUYER = "buyer";
     private static final String ROLE_SELLER = "seller";
     private static final String VIEWER_PERSPECTIVE_MAKER = "maker";
@@ -52,17 +55,58 @@ public class OrderReadService {
         String status = normalizeOptionalValue(request.status());
         String role = normalizeRole(request.role());
 
+        if (isKeysetPagination(request.pagination(), request.cursor())) {
+            return getMyOrdersAfter(
+                currentUserId,
+                status,
+                role,
+                OrderHistoryCursor.decode(request.cursor()),
+                size,
+                Boolean.TRUE.equals(request.includeTotal())
+            );
+        }
+
         Page<Order> orders = orderReadQueryRepository.findMyOrders(currentUserId, status, role, page, size);
         List<MyOrdersResponse.Item> items = orders.getContent().stream()
-            .map(order -> toListItem(order, currentUserId))
+            .map(order -> toListItem(OrderHistoryRow.from(order), currentUserId))
+            .toList();
+        return new MyOrdersResponse(items, page, size, orders.getTotalElements(), null);
+    }
+
+    private MyOrdersResponse getMyOrdersAfter(
+        Long currentUserId,
+        String status,
+        String role,
+        OrderHistoryCursor after,
+        int size,
+        boolean includeTotal
+    ) {
+        List<OrderHistoryRow> rows = orderReadQueryRepository.findMyOrdersAfter(
+            currentUserId,
+            status,
+            role,
+            after,
+            size + 1
+        );
+        boolean hasMore = rows.size() > size;
+        List<OrderHistoryRow> pageRows = hasMore ? rows.subList(0, size) : rows;
+        List<MyOrdersResponse.Item> items = pageRows.stream()
+            .map(row -> toListItem(row, currentUserId))
             .toList();
-        return new MyOrdersResponse(items, page, size, orders.getTotalElements());
+
+        String nextCursor = null;
+        if (hasMore) {
+            OrderHistoryRow last = pageRows.getLast();
+            nextCursor = new OrderHistoryCursor(last.createdAt(), last.id()).encode();
+        }
+        Long total = includeTotal ? orderReadQueryRepository.countMyOrders(currentUserId, status, role) : null;
+        return new MyOrdersResponse(items, 0, size, total, nextCursor);
     }
 
     @Transactional(readOnly = true)
     public OrderDetailsResponse getOrderDetails(java.util.UUID publicOrderId, UserPrincipal principal) {
         Order order = orderAccessService.requireReadableOrder(publicOrderId, principal);
-        Long currentUserId = principal.getUser().getId();
+        Long currentUserId = principal.getUserId();
 
         boolean viewerIsParticipant = isParticipant(order, currentUserId);
         boolean viewerIsMaker = isMaker(order, currentUserId);
@@ -104,7 +148,7 @@ public class OrderReadService {
                 order.getDisplayTotalAmount(),
                 order.getViewerCurrencyCodeSnapshot()
             ),
-            toFinancialSummary(order, viewerIsMaker),
+            toFinancialSummary(OrderHistoryRow.from(order), viewerIsMaker),
             order.getSellerGrossAmount(),
             order.getSellerFeeAmount(),
             order.getSellerNetAmount(),
@@ -128,50 +172,50 @@ public class OrderReadService {
         );
     }
 
-    private MyOrdersResponse.Item toListItem(Order order, Long currentUserId) {
-        boolean viewerIsMaker = isMaker(order, currentUserId);
+    private MyOrdersResponse.Item toListItem(OrderHistoryRow order, Long currentUserId) {
+        boolean viewerIsMaker = order.makerUserId().equals(currentUserId);
         return new MyOrdersResponse.Item(
-            order.getId(),
-            order.getPublicId(),
-            order.getStatus(),
-            viewerIsMaker ? order.getMakerRole() : order.getTakerRole(),
-            viewerIsMaker ? order.getTakerRole() : order.getMakerRole(),
+            order.id(),
+            order.publicId(),
+            order.status(),
+            viewerIsMaker ? order.makerRole() : order.takerRole(),
+            viewerIsMaker ? order.takerRole() : order.makerRole(),
             new OrderReadModelDtos.Game(
-                order.getGameIdSnapshot(),
-                order.getGameSlugSnapshot(),
-                order.getGameTitleSnapshot()
+                order.gameId(),
+                order.gameSlug(),
+                order.gameTitle()
             ),
             new OrderReadModelDtos.Category(
-                order.getCategoryIdSnapshot(),
-                order.getCategorySlugSnapshot(),
-                order.getCategoryTitleSnapshot()
+                order.categoryId(),
+                order.categorySlug(),
+                order.categoryTitle()
             ),
-            order.getTitleSnapshot(),
-            new OrderReadModelDtos.Counterparty(resolveCounterpartyUsername(order, viewerIsMaker)),
-            order.getOrderedQuantity(),
-            order.getDeliveredQuantity(),
-            order.getDisplayUnitPriceAmount(),
-            order.getDisplayTotalAmount(),
-            order.getViewerCurrencyCodeSnapshot(),
-            order.getSellerGrossAmount(),
-            order.getSellerFeeAmount(),
-            order.getSellerNetAmount(),
+            order.title(),
+            new OrderReadModelDtos.Counterparty(viewerIsMaker ? order.takerUsername() : order.ownerUsername()),
+            order.orderedQuantity(),
+            order.deliveredQuantity(),
+            order.displayUnitPriceAmount(),
+            order.displayTotalAmount(),
+            order.viewerCurrencyCode(),
+            order.sellerGrossAmount(),
+            order.sellerFeeAmount(),
+            order.sellerNetAmount(),
             toFinancialSummaryPreview(toFinancialSummary(order, viewerIsMaker)),
-            order.getExpiresAt(),
-            order.getCreatedAt(),
-            order.getUpdatedAt()
+            order.expiresAt(),
+            order.createdAt(),
+            order.updatedAt()
         );
     }
 
-    private OrderReadModelDtos.FinancialSummary toFinancialSummary(Order order, boolean viewerIsMaker) {
+    private OrderReadModelDtos.FinancialSummary toFinancialSummary(OrderHistoryRow order, boolean viewerIsMaker) {
         if (!viewerIsMaker) {
             return new OrderReadModelDtos.FinancialSummary(
                 LABEL_DEAL_AMOUNT,
-                order.getDisplayTotalAmount(),
-                order.getViewerCurrencyCodeSnapshot(),
-                order.getDisplayTotalAmount(),
-                order.getDisplayUnitPriceAmount(),
-                order.getViewerCurrencyCodeSnapshot(),
+                order.displayTotalAmount(),
+                order.viewerCurrencyCode(),
+                order.displayTotalAmount(),
+                order.displayUnitPriceAmount(),
+                order.viewerCurrencyCode(),
                 null,
                 null,
                 null,
@@ -179,28 +223,28 @@ public class OrderReadService {
             );
         }
 
-        String settlementCurrencyCode = order.getOfferPriceCurrencyCodeSnapshot();
+        String settlementCurrencyCode = order.offerPriceCurrencyCode();
         BigDecimal settlementUnitPriceAmount = resolveSettlementUnitPriceAmount(order);
-        if (ROLE_SELLER.equals(order.getMakerRole())) {
+        if (ROLE_SELLER.equals(order.makerRole())) {
             return new OrderReadModelDtos.FinancialSummary(
                 LABEL_MAKER_SELLER_PRIMARY,
-                order.getSellerNetAmount(),
+                order.sellerNetAmount(),
                 settlementCurrencyCode,
-                order.getSellerGrossAmount(),
+                order.sellerGrossAmount(),
                 settlementUnitPriceAmount,
                 settlementCurrencyCode,
-                order.getSellerFeeBpsSnapshot(),
-                feeRatePercent(order.getSellerFeeBpsSnapshot()),
-                order.getSellerFeeAmount(),
+                order.sellerFeeBps(),
+                feeRatePercent(order.sellerFeeBps()),
+                order.sellerFeeAmount(),
                 VIEWER_PERSPECTIVE_MAKER
             );
         }
-        if (ROLE_BUYER.equals(order.getMakerRole())) {
+        if (ROLE_BUYER.equals(order.makerRole())) {
             return new OrderReadModelDtos.FinancialSummary(
                 LABEL_MAKER_BUYER_PRIMARY,
-                order.getSellerGrossAmount(),
+                order.sellerGrossAmount(),
                 settlementCurrencyCode,
-                order.getSellerGrossAmount(),
+                order.sellerGrossAmount(),
                 settlementUnitPriceAmount,
                 settlementCurrencyCode,
                 null,
@@ -209,7 +253,7 @@ public class OrderReadService {
                 VIEWER_PERSPECTIVE_MAKER
             );
         }
-        throw new IllegalStateException("Unsupported order maker role: " + order.getMakerRole());
+        throw new IllegalStateException("Unsupported order maker role: " + order.makerRole());
     }
 
     private OrderReadModelDtos.FinancialSummaryPreview toFinancialSummaryPreview(
@@ -223,17 +267,17 @@ public class OrderReadService {
         );
     }
 
-    private BigDecimal resolveSettlementUnitPriceAmount(Order order) {
-        if (order.getOfferPriceAmountSnapshot() != null) {
-            return order.getOfferPriceAmountSnapshot();
+    private BigDecimal resolveSettlementUnitPriceAmount(OrderHistoryRow order) {
+        if (order.offerPriceAmount() != null) {
+            return order.offerPriceAmount();
         }
-        if (order.getSellerGrossAmount() == null
-            || order.getOrderedQuantity() == null
-            || order.getOrderedQuantity().signum() == 0) {
+        if (order.sellerGrossAmount() == null
+            || order.orderedQuantity() == null
+            || order.orderedQuantity().signum() == 0) {
             return null;
         }
-        return order.getSellerGrossAmount()
-            .divide(order.getOrderedQuantity(), ORDER_MONEY_SCALE, RoundingMode.HALF_UP);
+        return order.sellerGrossAmount()
+            .divide(order.orderedQuantity(), ORDER_MONEY_SCALE, RoundingMode.HALF_UP);
     }
 
     private BigDecimal feeRatePercent(int feeRateBps) {
@@ -324,6 +368,22 @@ public class OrderReadService {
         return size;
     }
 
+    private boolean isKeysetPagination(String pagination, String cursor) {
+        String normalized = normalizeOptionalValue(pagination);
+        if (normalized == null) {
+            return cursor != null && !cursor.isBlank();
+        }
+        return switch (normalized) {
+            case PAGINATION_OFFSET -> false;
+            case PAGINATION_KEYSET -> true;
+            default -> throw new ApiProblemException(
+                HttpStatus.BAD_REQUEST,
+                "INVALID_PAGINATION",
+                "Query parameter 'pagination' must be 'offset' or 'keyset'"
+            );
+        };
+    }
+
     private String normalizeRole(String role) {
         String normalized = normalizeOptionalValue(role);
         if (normalized == null) {
@@ -98,9 +98,13 @@ public class OrderRequestService {
 
     @Transactional
     public OrderRequestResponse approve(UUID publicRequestId, Long actorUserId) {
+        // Order before request, as in requestCancel/requestAmendQuantity: only the order id is read unlocked,
+        // and the request is loaded under its lock and re-checked once the order is held.
+        Long orderId = orderRequestRepository.findOrderIdByPublicId(publicRequestId)
+            .orElseThrow(this::orderRequestNotFound);
+        Order order = loadOrderByIdForUpdate(orderId);
         OrderRequest request = loadRequestForUpdate(publicRequestId);
         ensurePending(request);
-        Order order = loadOrderByIdForUpdate(request.getOrderId());
         String actorRole = requireCounterparty(order, request, actorUserId);
 
         if (request.isCancelRequest()) {
@@ -123,7 +127,8 @@ public class OrderRequestService {
     public OrderRequestResponse reject(UUID publicRequestId, Long actorUserId) {
         OrderRequest request = loadRequestForUpdate(publicRequestId);
         ensurePending(request);
-        Order order = loadOrderByIdForUpdate(request.getOrderId());
+        // Rejecting only changes the request row; the order is read for participant checks.
+        Order order = loadOrderById(request.getOrderId());
         String actorRole = requireCounterparty(order, request, actorUserId);
 
         Instant now = Instant.now();
@@ -184,6 +189,15 @@ public class OrderRequestService {
             ));
     }
 
+    private Order loadOrderById(Long orderId) {
+        return orderRepository.findById(orderId)
+            .orElseThrow(() -> new ApiProblemException(
+                HttpStatus.NOT_FOUND,
+                "ORDER_NOT_FOUND",
+                "Order not found"
+            ));
+    }
+
     private Order loadOrderByIdForUpdate(Long orderId) {
         return orderRepository.findByIdForUpdate(orderId)
             .orElseThrow(() -> new ApiProblemException(
@@ -195,11 +209,15 @@ public class OrderRequestService {
 
     private OrderRequest loadRequestForUpdate(UUID publicRequestId) {
         return orderRequestRepository.findByPublicIdForUpdate(publicRequestId)
-            .orElseThrow(() -> new ApiProblemException(
-                HttpStatus.NOT_FOUND,
-                "ORDER_REQUEST_NOT_FOUND",
-                "Order request not found"
-            ));
+            .orElseThrow(this::orderRequestNotFound);
+    }
+
+    private ApiProblemException orderRequestNotFound() {
+        return new ApiProblemException(
+            HttpStatus.NOT_FOUND,
+            "ORDER_REQUEST_NOT_FOUND",
+            "Order request not found"
+        );
     }
 
     private void ensurePending(OrderRequest request) {
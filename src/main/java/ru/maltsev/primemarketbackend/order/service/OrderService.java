@@ -13,6 +13,7 @@ import ru.maltsev.primemarketbackend.exception.ApiProblemException;
 import ru.maltsev.primemarketbackend.offer.domain.Offer;
 import ru.maltsev.primemarketbackend.offer.repository.OfferRepository;
 import ru.maltsev.primemarketbackend.offer.service.OfferQuantityRules;
+import ru.maltsev.primemarketbackend.market.service.MarketOrderBook;
 import ru.maltsev.primemarketbackend.notification.service.NotificationService;
 import ru.maltsev.primemarketbackend.order.api.dto.CreateOrderRequest;
 import ru.maltsev.primemarketbackend.order.api.dto.OrderResponse;
@@ -21,7 +22,7 @@ import ru.maltsev.primemarketbackend.order.domain.Order;
 import ru.maltsev.primemarketbackend.order.repository.OfferReservationRepository;
 import ru.maltsev.primemarketbackend.order.repository.OrderRepository;
 import ru.maltsev.primemarketbackend.orderquote.domain.OrderQuote;
-import ru.maltsev.primemarketbackend.orderquote.repository.OrderQuoteRepository;
+import ru.maltsev.primemarketbackend.orderquote.service.OrderQuoteStore;
 import ru.maltsev.primemarketbackend.user.domain.User;
 import ru.maltsev.primemarketbackend.user.repository.UserRepository;
 
@@ -38,7 +39,7 @@ public class OrderService {
 
     private final OrderRepository orderRepository;
     private final OfferReservationRepository offerReservationRepository;
-    private final OrderQuoteRepository orderQuoteRepository;
+    private final OrderQuoteStore orderQuoteStore;
     private final OfferRepository offerRepository;
     private final UserRepository userRepository;
     private final OrderProperties orderProperties;
@@ -46,10 +47,12 @@ public class OrderService {
     private final OrderEventWriteService orderEventWriteService;
     private final OrderConversationService orderConversationService;
     private final NotificationService notificationService;
+    private final MarketOrderBook marketOrderBook;
+    private final OrderExpiryTimer orderExpiryTimer;
 
     @Transactional
     public OrderResponse createOrder(Long takerUserId, CreateOrderRequest request) {
-        OrderQuote quote = orderQuoteRepository.findByPublicIdForUpdate(requireQuoteId(request))
+        OrderQuote quote = orderQuoteStore.claimForUpdate(requireQuoteId(request))
             .orElseThrow(() -> new ApiProblemException(
                 HttpStatus.NOT_FOUND,
                 "ORDER_QUOTE_NOT_FOUND",
@@ -76,12 +79,7 @@ public class OrderService {
             ));
         ensureOfferAvailable(offer);
 
-        BigDecimal activeReservedQuantity = offerReservationRepository.sumQuantityByOfferIdAndStatus(
-            offer.getId(),
-            FundsHoldService.STATUS_ACTIVE
-        );
-        BigDecimal availableQuantity = offer.getQuantity().subtract(activeReservedQuantity);
-        if (availableQuantity.compareTo(requestedQuantity) < 0) {
+        if (offer.availableQuantity().compareTo(requestedQuantity) < 0) {
             throw new ApiProblemException(
                 HttpStatus.CONFLICT,
                 "INSUFFICIENT_AVAILABLE_QUANTITY",
@@ -98,6 +96,7 @@ public class OrderService {
                 "USER_NOT_FOUND",
                 "User not found"
             ));
+        quote = orderQuoteStore.consume(quote);
         Order order = orderRepository.saveAndFlush(
             buildOrder(quote, takerUser.getUsername(), requestedQuantity, roles, amounts, expiresAt)
         );
@@ -108,15 +107,24 @@ public class OrderService {
             FundsHoldService.STATUS_ACTIVE,
             expiresAt
         ));
+        offer.increaseReservedQuantity(requestedQuantity);
+        marketOrderBook.offerChanged(offer.getId());
         reserveFunds(quote, offer, order, roles, amounts, expiresAt);
-        quote.markConsumed();
         orderConversationService.createMainConversation(order);
         orderEventWriteService.recordOrderCreated(order, takerUserId, roles.takerRole());
         notificationService.notifyOrderCreated(order);
+        orderExpiryTimer.orderCreated(order);
 
         return OrderResponse.from(order);
     }
 
+    public Long findQuoteOfferId(CreateOrderRequest request) {
+        if (request == null || request.quoteId() == null) {
+            return null;
+        }
+        return orderQuoteStore.peekOfferId(request.quoteId()).orElse(null);
+    }
+
     private UUID requireQuoteId(CreateOrderRequest request) {
         if (request == null || request.quoteId() == null) {
             throw new ApiProblemException(
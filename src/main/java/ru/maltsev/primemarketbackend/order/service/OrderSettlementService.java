@@ -3,6 +3,7 @@ package ru.maltsev.primemarketbackend.order.service;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.Instant;
+import java.util.Arrays;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
@@ -14,6 +15,8 @@ import ru.maltsev.primemarketbackend.account.repository.UserAccountRepository;
 import ru.maltsev.primemarketbackend.account.repository.UserAccountTxRepository;
 import ru.maltsev.primemarketbackend.account.service.UserAccountService;
 import ru.maltsev.primemarketbackend.exception.ApiProblemException;
+import ru.maltsev.primemarketbackend.ledger.service.LedgerWriter;
+import ru.maltsev.primemarketbackend.market.service.MarketOrderBook;
 import ru.maltsev.primemarketbackend.offer.domain.Offer;
 import ru.maltsev.primemarketbackend.offer.repository.OfferRepository;
 import ru.maltsev.primemarketbackend.order.domain.OfferReservation;
@@ -23,10 +26,6 @@ import ru.maltsev.primemarketbackend.order.domain.UserAccountHoldAllocation;
 import ru.maltsev.primemarketbackend.order.repository.OfferReservationRepository;
 import ru.maltsev.primemarketbackend.order.repository.UserAccountHoldAllocationRepository;
 import ru.maltsev.primemarketbackend.order.repository.UserAccountHoldRepository;
-import ru.maltsev.primemarketbackend.platform.domain.PlatformAccount;
-import ru.maltsev.primemarketbackend.platform.domain.PlatformAccountTx;
-import ru.maltsev.primemarketbackend.platform.repository.PlatformAccountTxRepository;
-import ru.maltsev.primemarketbackend.platform.service.PlatformAccountService;
 
 @Service
 @RequiredArgsConstructor
@@ -54,13 +53,15 @@ public class OrderSettlementService {
     private final UserAccountHoldRepository userAccountHoldRepository;
     private final UserAccountHoldAllocationRepository userAccountHoldAllocationRepository;
     private final FundsHoldService fundsHoldService;
-    private final PlatformAccountService platformAccountService;
-    private final PlatformAccountTxRepository platformAccountTxRepository;
+    private final LedgerWriter ledgerWriter;
+    private final MarketOrderBook marketOrderBook;
+    private final FundsLockCoordinator fundsLockCoordinator;
 
     public void settleCompletedOrder(Order order) {
         Instant now = Instant.now();
         OfferReservation reservation = loadActiveReservation(order);
         Offer offer = loadOfferForUpdate(reservation.getOfferId());
+        lockSettlementAccounts(order, offer);
 
         if (SIDE_SELL.equals(order.getOfferSideSnapshot())) {
             settleSellOffer(order, now);
@@ -70,6 +71,8 @@ public class OrderSettlementService {
 
         applyOfferCompletion(offer, order);
         reservation.markConsumed(now);
+        offer.decreaseReservedQuantity(reservation.getQuantity());
+        marketOrderBook.offerChanged(offer.getId());
         creditSellerAndPlatform(order);
 
         if (!SIDE_SELL.equals(order.getOfferSideSnapshot())) {
@@ -77,6 +80,39 @@ public class OrderSettlementService {
         }
     }
 
+    // Holds first, then buyer and seller wallets together in id order, so opposite-direction settlements
+    // between the same two users cannot deadlock on each other's wallets.
+    private void lockSettlementAccounts(Order order, Offer offer) {
+        Long buyerAccountId;
+        if (SIDE_SELL.equals(order.getOfferSideSnapshot())) {
+            buyerAccountId = userAccountHoldRepository.findByRefForUpdate(
+                    REF_TYPE_ORDER,
+                    order.getId(),
+                    HOLD_REASON_ORDER_FUNDS_HOLD
+                )
+                .map(UserAccountHold::getUserAccountId)
+                .orElse(null);
+        } else {
+            userAccountHoldAllocationRepository.findByOrderIdForUpdate(order.getId());
+            buyerAccountId = userAccountHoldRepository.findByRefForUpdate(
+                    REF_TYPE_OFFER,
+                    offer.getId(),
+                    HOLD_REASON_BUY_OFFER_FUNDS_HOLD
+                )
+                .map(UserAccountHold::getUserAccountId)
+                .orElse(null);
+        }
+
+        Long sellerAccountId = null;
+        if (sellerNetAmount(order).signum() > 0) {
+            sellerAccountId = fundsLockCoordinator.resolveAccountId(
+                resolveSellerUserId(order),
+                order.getOfferPriceCurrencyCodeSnapshot()
+            );
+        }
+        fundsLockCoordinator.lockAccountsInOrder(Arrays.asList(buyerAccountId, sellerAccountId));
+    }
+
     private void settleSellOffer(Order order, Instant now) {
         UserAccountHold hold = userAccountHoldRepository.findByRefForUpdate(
                 REF_TYPE_ORDER,
@@ -162,9 +198,8 @@ public class OrderSettlementService {
     }
 
     private void creditSellerAndPlatform(Order order) {
-        BigDecimal grossAmount = scaleAccountMoney(order.getSellerGrossAmount());
         BigDecimal feeAmount = scaleAccountMoney(order.getSellerFeeAmount());
-        BigDecimal sellerNetAmount = grossAmount.subtract(feeAmount);
+        BigDecimal sellerNetAmount = sellerNetAmount(order);
         if (sellerNetAmount.signum() < 0) {
             throw settlementError("Seller net settlement amount cannot be negative");
         }
@@ -174,28 +209,30 @@ public class OrderSettlementService {
                 resolveSellerUserId(order),
                 order.getOfferPriceCurrencyCodeSnapshot()
             );
-            userAccountTxRepository.save(new UserAccountTx(
+            ledgerWriter.creditUser(
                 sellerAccount,
                 sellerNetAmount,
                 USER_TX_TYPE_ORDER_SELLER_PAYOUT,
                 USER_TX_REF_ORDER_SELLER_PAYOUT,
                 order.getId()
-            ));
+            );
         }
 
         if (feeAmount.signum() > 0) {
-            PlatformAccount platformAccount = platformAccountService
-                .getOrCreateAccountForUpdate(order.getOfferPriceCurrencyCodeSnapshot());
-            platformAccountTxRepository.save(new PlatformAccountTx(
-                platformAccount,
+            ledgerWriter.creditPlatform(
+                order.getOfferPriceCurrencyCodeSnapshot(),
                 feeAmount,
                 PLATFORM_TX_TYPE_ORDER_FEE,
                 PLATFORM_TX_REF_ORDER_FEE,
                 order.getId()
-            ));
+            );
         }
     }
 
+    private BigDecimal sellerNetAmount(Order order) {
+        return scaleAccountMoney(order.getSellerGrossAmount()).subtract(scaleAccountMoney(order.getSellerFeeAmount()));
+    }
+
     private OfferReservation loadActiveReservation(Order order) {
         OfferReservation reservation = offerReservationRepository.findByOrderIdForUpdate(order.getId())
             .orElseThrow(() -> settlementError("Offer reservation not found"));
@@ -0,0 +1,45 @@
+package ru.maltsev.primemarketbackend.order.service;
+
+import java.util.concurrent.atomic.LongAdder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import ru.maltsev.primemarketbackend.config.OrderProperties;
+import ru.maltsev.primemarketbackend.instrumentation.service.LatencyHistogram;
+import ru.maltsev.primemarketbackend.order.api.dto.OrderTransitionStatsResponse;
+
+@Component
+@RequiredArgsConstructor
+public class OrderTransitionMetrics {
+    private final OrderProperties properties;
+    private final LongAdder optimisticApplied = new LongAdder();
+    private final LongAdder optimisticConflicts = new LongAdder();
+    private final LongAdder lockedApplied = new LongAdder();
+    private final LatencyHistogram optimisticLatency = new LatencyHistogram();
+    // Includes time spent waiting for the order row lock.
+    private final LatencyHistogram lockedLatency = new LatencyHistogram();
+
+    public void recordOptimistic(long nanos) {
+        optimisticApplied.increment();
+        optimisticLatency.recordLatency(nanos);
+    }
+
+    public void recordConflict() {
+        optimisticConflicts.increment();
+    }
+
+    public void recordLocked(long nanos) {
+        lockedApplied.increment();
+        lockedLatency.recordLatency(nanos);
+    }
+
+    public OrderTransitionStatsResponse stats() {
+        return new OrderTransitionStatsResponse(
+            properties.optimisticTransitionsEnabled(),
+            optimisticApplied.sum(),
+            optimisticConflicts.sum(),
+            lockedApplied.sum(),
+            optimisticLatency.snapshot("order-transition-optimistic"),
+            lockedLatency.snapshot("order-transition-locked")
+        );
+    }
+}
@@ -0,0 +1,32 @@
+package ru.maltsev.primemarketbackend.orderquote.api;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import ru.maltsev.primemarketbackend.orderquote.api.dto.OrderQuoteRetentionStatsResponse;
+import ru.maltsev.primemarketbackend.orderquote.api.dto.OrderQuoteStoreStatsResponse;
+import ru.maltsev.primemarketbackend.orderquote.service.OrderQuoteRetentionSweeper;
+import ru.maltsev.primemarketbackend.orderquote.service.OrderQuoteStore;
+import ru.maltsev.primemarketbackend.security.PermissionCodes;
+
+@RestController
+@RequestMapping({"/api/admin/order-quotes", "/api/backoffice/order-quotes"})
+@RequiredArgsConstructor
+@PreAuthorize("hasAuthority('" + PermissionCodes.METRICS_VIEW + "')")
+public class OrderQuoteAdminController {
+    private final OrderQuoteRetentionSweeper orderQuoteRetentionSweeper;
+    private final OrderQuoteStore orderQuoteStore;
+
+    @GetMapping("/retention")
+    public ResponseEntity<OrderQuoteRetentionStatsResponse> retentionStats() {
+        return ResponseEntity.ok(orderQuoteRetentionSweeper.stats());
+    }
+
+    @GetMapping("/store")
+    public ResponseEntity<OrderQuoteStoreStatsResponse> storeStats() {
+        return ResponseEntity.ok(orderQuoteStore.stats());
+    }
+}
@@ -0,0 +1,17 @@
+package ru.maltsev.primemarketbackend.orderquote.api.dto;
+
+import java.time.Instant;
+import java.util.Map;
+
+public record OrderQuoteRetentionStatsResponse(
+    long tableSizeBytes,
+    Map<String, Long> quotesByStatus,
+    Instant lastSweepAt,
+    int lastSweepExpired,
+    int lastSweepPurged,
+    long lastSweepDurationMs,
+    long totalExpired,
+    long totalPurged,
+    long failedBatches
+) {
+}
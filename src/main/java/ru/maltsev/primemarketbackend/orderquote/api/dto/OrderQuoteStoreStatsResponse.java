@@ -0,0 +1,14 @@
+package ru.maltsev.primemarketbackend.orderquote.api.dto;
+
+public record OrderQuoteStoreStatsResponse(
+    String mode,
+    int cached,
+    int capacity,
+    long issued,
+    long databaseInserts,
+    long databaseUpdates,
+    long hits,
+    long misses,
+    long evictions
+) {
+}
@@ -234,4 +234,43 @@ public class OrderQuote {
     public void markConsumed() {
         status = STATUS_CONSUMED;
     }
+
+    public OrderQuote copyUnsaved() {
+        OrderQuote copy = new OrderQuote(
+            publicId,
+            offerId,
+            offerVersionSnapshot,
+            intent,
+            viewerCurrencyCode,
+            offerSideSnapshot,
+            ownerUserId,
+            ownerUsernameSnapshot,
+            gameIdSnapshot,
+            gameSlugSnapshot,
+            gameTitleSnapshot,
+            categoryIdSnapshot,
+            categorySlugSnapshot,
+            categoryTitleSnapshot,
+            titleSnapshot,
+            descriptionSnapshot,
+            tradeTermsSnapshot,
+            publishedAtSnapshot,
+            quantitySnapshot,
+            minTradeQuantitySnapshot,
+            maxTradeQuantitySnapshot,
+            quantityStepSnapshot,
+            offerPriceCurrencyCodeSnapshot,
+            offerPriceAmountSnapshot,
+            fxFromCurrencyCode,
+            fxToCurrencyCode,
+            fxRate,
+            displayUnitPriceAmount,
+            contextsSnapshot,
+            attributesSnapshot,
+            deliveryMethodsSnapshot,
+            expiresAt
+        );
+        copy.status = status;
+        return copy;
+    }
 }
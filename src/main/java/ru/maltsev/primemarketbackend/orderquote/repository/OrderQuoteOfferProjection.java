@@ -25,6 +25,7 @@ public record OrderQuoteOfferProjection(
     String priceCurrencyCode,
     BigDecimal priceAmount,
     BigDecimal quantity,
+    BigDecimal reservedQuantity,
     BigDecimal minTradeQuantity,
     BigDecimal maxTradeQuantity,
     BigDecimal quantityStep,
@@ -30,6 +30,7 @@ public interface OrderQuoteOfferRepository extends JpaRepository<Offer, Long> {
             o.priceCurrencyCode,
             o.priceAmount,
             o.quantity,
+            o.reservedQuantity,
             o.minTradeQuantity,
             o.maxTradeQuantity,
             o.quantityStep,
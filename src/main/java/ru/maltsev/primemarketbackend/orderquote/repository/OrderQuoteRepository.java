@@ -1,10 +1,13 @@
 package ru.maltsev.primemarketbackend.orderquote.repository;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import ru.maltsev.primemarketbackend.orderquote.domain.OrderQuote;
@@ -12,7 +15,52 @@ import ru.maltsev.primemarketbackend.orderquote.domain.OrderQuote;
 public interface OrderQuoteRepository extends JpaRepository<OrderQuote, Long> {
     Optional<OrderQuote> findByPublicId(UUID publicId);
 
+    @Query("select q.offerId from OrderQuote q where q.publicId = :publicId")
+    Optional<Long> findOfferIdByPublicId(@Param("publicId") UUID publicId);
+
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("select q from OrderQuote q where q.publicId = :publicId")
     Optional<OrderQuote> findByPublicIdForUpdate(@Param("publicId") UUID publicId);
+
+    @Modifying
+    @Query(value = """
+        update order_quotes
+        set status = 'expired'
+        where id in (
+            select q.id
+            from order_quotes q
+            where q.status = 'active'
+              and q.expires_at <= :now
+            order by q.expires_at asc
+            limit :limit
+            for update skip locked
+        )
+        """, nativeQuery = true)
+    int expireActiveBatch(@Param("now") Instant now, @Param("limit") int limit);
+
+    // Consumed quotes stay: orders reference them for their snapshot.
+    @Modifying
+    @Query(value = """
+        delete from order_quotes
+        where id in (
+            select q.id
+            from order_quotes q
+            where q.status in ('expired', 'invalidated')
+              and q.expires_at < :cutoff
+            order by q.expires_at asc
+            limit :limit
+            for update skip locked
+        )
+        """, nativeQuery = true)
+    int deleteTerminalBatch(@Param("cutoff") Instant cutoff, @Param("limit") int limit);
+
+    @Query("""
+        select new ru.maltsev.primemarketbackend.orderquote.repository.OrderQuoteStatusCount(q.status, count(q))
+        from OrderQuote q
+        group by q.status
+        """)
+    List<OrderQuoteStatusCount> countByStatus();
+
+    @Query(value = "select pg_total_relation_size('order_quotes')", nativeQuery = true)
+    long totalRelationSizeBytes();
 }
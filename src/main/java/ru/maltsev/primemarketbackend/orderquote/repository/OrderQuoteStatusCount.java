@@ -0,0 +1,7 @@
+package ru.maltsev.primemarketbackend.orderquote.repository;
+
+public record OrderQuoteStatusCount(
+    String status,
+    long count
+) {
+}
@@ -0,0 +1,25 @@
+package ru.maltsev.primemarketbackend.orderquote.service;
+
+import java.time.Instant;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.maltsev.primemarketbackend.config.OrderQuoteRetentionProperties;
+
+@Component
+@RequiredArgsConstructor
+public class OrderQuoteRetentionScheduler {
+    private final OrderQuoteRetentionProperties properties;
+    private final OrderQuoteRetentionSweeper orderQuoteRetentionSweeper;
+
+    @Scheduled(
+        initialDelayString = "${app.order-quotes.retention.sweep-interval:1m}",
+        fixedDelayString = "${app.order-quotes.retention.sweep-interval:1m}"
+    )
+    public void sweep() {
+        if (!properties.enabled()) {
+            return;
+        }
+        orderQuoteRetentionSweeper.sweep(Instant.now());
+    }
+}
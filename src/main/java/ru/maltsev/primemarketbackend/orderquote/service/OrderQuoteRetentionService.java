@@ -0,0 +1,23 @@
+package ru.maltsev.primemarketbackend.orderquote.service;
+
+import java.time.Instant;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.maltsev.primemarketbackend.orderquote.repository.OrderQuoteRepository;
+
+@Service
+@RequiredArgsConstructor
+public class OrderQuoteRetentionService {
+    private final OrderQuoteRepository orderQuoteRepository;
+
+    @Transactional
+    public int expireBatch(Instant now, int batchSize) {
+        return orderQuoteRepository.expireActiveBatch(now, batchSize);
+    }
+
+    @Transactional
+    public int purgeBatch(Instant cutoff, int batchSize) {
+        return orderQuoteRepository.deleteTerminalBatch(cutoff, batchSize);
+    }
+}
@@ -0,0 +1,88 @@
+package ru.maltsev.primemarketbackend.orderquote.service;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntUnaryOperator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import ru.maltsev.primemarketbackend.config.OrderQuoteRetentionProperties;
+import ru.maltsev.primemarketbackend.orderquote.api.dto.OrderQuoteRetentionStatsResponse;
+import ru.maltsev.primemarketbackend.orderquote.repository.OrderQuoteRepository;
+import ru.maltsev.primemarketbackend.orderquote.repository.OrderQuoteStatusCount;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderQuoteRetentionSweeper {
+    private final OrderQuoteRetentionService orderQuoteRetentionService;
+    private final OrderQuoteRepository orderQuoteRepository;
+    private final OrderQuoteRetentionProperties properties;
+
+    private final AtomicLong totalExpired = new AtomicLong();
+    private final AtomicLong totalPurged = new AtomicLong();
+    private final AtomicLong failedBatches = new AtomicLong();
+    private volatile SweepResult lastSweep;
+
+    // Marks lapsed active quotes expired, then deletes terminal quotes past retention; one transaction per batch.
+    public void sweep(Instant now) {
+        long startedAt = System.nanoTime();
+        Instant cutoff = now.minus(properties.retention());
+        int expired = runBatches(batchSize -> orderQuoteRetentionService.expireBatch(now, batchSize));
+        int purged = runBatches(batchSize -> orderQuoteRetentionService.purgeBatch(cutoff, batchSize));
+
+        long durationMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+        totalExpired.addAndGet(expired);
+        totalPurged.addAndGet(purged);
+        lastSweep = new SweepResult(now, expired, purged, durationMs);
+        if (expired > 0 || purged > 0) {
+            log.info("Order quote retention: expired={}, purged={} ({} ms)", expired, purged, durationMs);
+        }
+    }
+
+    public OrderQuoteRetentionStatsResponse stats() {
+        Map<String, Long> quotesByStatus = new LinkedHashMap<>();
+        for (OrderQuoteStatusCount count : orderQuoteRepository.countByStatus()) {
+            quotesByStatus.put(count.status(), count.count());
+        }
+        SweepResult sweep = lastSweep;
+        return new OrderQuoteRetentionStatsResponse(
+            orderQuoteRepository.totalRelationSizeBytes(),
+            quotesByStatus,
+            sweep == null ? null : sweep.at(),
+            sweep == null ? 0 : sweep.expired(),
+            sweep == null ? 0 : sweep.purged(),
+            sweep == null ? 0 : sweep.durationMs(),
+            totalExpired.get(),
+            totalPurged.get(),
+            failedBatches.get()
+        );
+    }
+
+    private int runBatches(IntUnaryOperator batch) {
+        int batchSize = Math.max(properties.batchSize(), 1);
+        int maxBatches = Math.max(properties.maxBatchesPerSweep(), 1);
+        int affected = 0;
+        for (int i = 0; i < maxBatches; i++) {
+            int rows;
+            try {
+                rows = batch.applyAsInt(batchSize);
+            } catch (RuntimeException ex) {
+                failedBatches.incrementAndGet();
+                log.warn("Order quote retention batch failed", ex);
+                break;
+            }
+            affected += rows;
+            if (rows < batchSize) {
+                break;
+            }
+        }
+        return affected;
+    }
+
+    private record SweepResult(Instant at, int expired, int purged, long durationMs) {
+    }
+}
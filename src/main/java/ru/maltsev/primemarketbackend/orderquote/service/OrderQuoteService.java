@@ -13,25 +13,24 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.maltsev.primemarketbackend.catalog.service.CatalogCache;
 import ru.maltsev.primemarketbackend.currency.domain.CurrencyRate;
 import ru.maltsev.primemarketbackend.currency.repository.CurrencyRateRepository;
-import ru.maltsev.primemarketbackend.currency.repository.CurrencyRepository;
 import ru.maltsev.primemarketbackend.exception.ApiProblemException;
 import ru.maltsev.primemarketbackend.market.api.dto.MarketOfferListResponse;
+import ru.maltsev.primemarketbackend.market.repository.MarketOfferQueryRepository;
+import ru.maltsev.primemarketbackend.market.repository.MarketOfferQueryRepository.MarketOfferAttributeRecord;
+import ru.maltsev.primemarketbackend.market.repository.MarketOfferQueryRepository.MarketOfferContextRecord;
+import ru.maltsev.primemarketbackend.market.repository.MarketOfferQueryRepository.MarketOfferDeliveryMethodRecord;
+import ru.maltsev.primemarketbackend.market.repository.MarketOfferQueryRepository.MarketOfferFacets;
 import ru.maltsev.primemarketbackend.market.service.MarketIntent;
 import ru.maltsev.primemarketbackend.offer.service.OfferQuantityRules;
 import ru.maltsev.primemarketbackend.offer.service.OfferQuantityRules.EffectiveLimits;
-import ru.maltsev.primemarketbackend.offer.repository.OfferAttributeValueRepository;
-import ru.maltsev.primemarketbackend.offer.repository.OfferContextValueRepository;
-import ru.maltsev.primemarketbackend.offer.repository.OfferDeliveryMethodRepository;
-import ru.maltsev.primemarketbackend.order.repository.OfferReservationRepository;
-import ru.maltsev.primemarketbackend.order.service.FundsHoldService;
 import ru.maltsev.primemarketbackend.orderquote.api.dto.CreateOrderQuoteRequest;
 import ru.maltsev.primemarketbackend.orderquote.api.dto.OrderQuoteResponse;
 import ru.maltsev.primemarketbackend.orderquote.domain.OrderQuote;
 import ru.maltsev.primemarketbackend.orderquote.repository.OrderQuoteOfferProjection;
 import ru.maltsev.primemarketbackend.orderquote.repository.OrderQuoteOfferRepository;
-import ru.maltsev.primemarketbackend.orderquote.repository.OrderQuoteRepository;
 
 @Service
 @RequiredArgsConstructor
@@ -40,13 +39,10 @@ public class OrderQuoteService {
     private static final int DISPLAY_SCALE = 8;
     private static final long QUOTE_TTL_SECONDS = 60L;
 
-    private final OrderQuoteRepository orderQuoteRepository;
+    private final OrderQuoteStore orderQuoteStore;
     private final OrderQuoteOfferRepository orderQuoteOfferRepository;
-    private final OfferContextValueRepository offerContextValueRepository;
-    private final OfferAttributeValueRepository offerAttributeValueRepository;
-    private final OfferDeliveryMethodRepository offerDeliveryMethodRepository;
-    private final OfferReservationRepository offerReservationRepository;
-    private final CurrencyRepository currencyRepository;
+    private final MarketOfferQueryRepository marketOfferQueryRepository;
+    private final CatalogCache catalogCache;
     private final CurrencyRateRepository currencyRateRepository;
     private final ObjectMapper objectMapper;
 
@@ -55,7 +51,7 @@ public class OrderQuoteService {
         MarketIntent intent = MarketIntent.fromBody(request.intent());
         String viewerCurrencyCode = requireValidViewerCurrencyCode(request.viewerCurrencyCode());
         QuotePayload payload = prepareQuotePayload(offerId, intent, viewerCurrencyCode);
-        OrderQuote quote = orderQuoteRepository.save(buildQuote(payload));
+        OrderQuote quote = orderQuoteStore.save(buildQuote(payload));
         return toResponse(
             quote,
             payload,
@@ -66,7 +62,7 @@ public class OrderQuoteService {
 
     @Transactional(noRollbackFor = ApiProblemException.class)
     public OrderQuoteResponse refreshQuote(UUID quoteId) {
-        OrderQuote existingQuote = orderQuoteRepository.findByPublicId(quoteId)
+        OrderQuote existingQuote = orderQuoteStore.findByPublicId(quoteId)
             .orElseThrow(() -> new ApiProblemException(
                 HttpStatus.NOT_FOUND,
                 "ORDER_QUOTE_NOT_FOUND",
@@ -93,16 +89,16 @@ public class OrderQuoteService {
         boolean expiredNow = existingQuote.isActive() && !existingQuote.getExpiresAt().isAfter(now);
         if (expiredNow) {
             existingQuote.markExpired();
-            orderQuoteRepository.save(existingQuote);
+            orderQuoteStore.update(existingQuote);
         }
 
         MarketIntent intent = MarketIntent.fromBody(existingQuote.getIntent());
         QuotePayload payload = prepareQuotePayload(existingQuote.getOfferId(), intent, existingQuote.getViewerCurrencyCode());
-        OrderQuote newQuote = orderQuoteRepository.save(buildQuote(payload));
+        OrderQuote newQuote = orderQuoteStore.save(buildQuote(payload));
 
         if (wasActiveAndUnexpired) {
             existingQuote.markInvalidated();
-            orderQuoteRepository.save(existingQuote);
+            orderQuoteStore.update(existingQuote);
         }
 
         return toResponse(
@@ -124,9 +120,12 @@ public class OrderQuoteService {
         OrderQuoteOfferProjection offer = adjustAvailableQuantity(rawOffer);
         ensureOfferIsPubliclyAvailable(offer, intent);
         QuotePrice price = resolveQuotePrice(offer, intent, viewerCurrencyCode);
-        List<MarketOfferListResponse.Context> contexts = loadContexts(offer.id());
-        List<MarketOfferListResponse.Attribute> attributes = loadAttributes(offer.id());
-        List<MarketOfferListResponse.DeliveryMethod> deliveryMethods = loadDeliveryMethods(offer.id());
+        MarketOfferFacets facets = marketOfferQueryRepository.loadFacets(List.of(offer.id()));
+        List<MarketOfferListResponse.Context> contexts = mapContexts(facets.contextsOf(offer.id()));
+        List<MarketOfferListResponse.Attribute> attributes = mapAttributes(facets.attributesOf(offer.id()));
+        List<MarketOfferListResponse.DeliveryMethod> deliveryMethods = mapDeliveryMethods(
+            facets.deliveryMethodsOf(offer.id())
+        );
         return new QuotePayload(
             offer,
             intent,
@@ -145,11 +144,7 @@ public class OrderQuoteService {
         if (offer.quantity() == null) {
             return offer;
         }
-        BigDecimal activeReservedQuantity = offerReservationRepository.sumQuantityByOfferIdAndStatus(
-            offer.id(),
-            FundsHoldService.STATUS_ACTIVE
-        );
-        BigDecimal availableQuantity = offer.quantity().subtract(activeReservedQuantity);
+        BigDecimal availableQuantity = offer.quantity().subtract(offer.reservedQuantity());
         if (availableQuantity.signum() < 0) {
             availableQuantity = BigDecimal.ZERO.setScale(offer.quantity().scale(), RoundingMode.HALF_UP);
         }
@@ -181,6 +176,7 @@ public class OrderQuoteService {
             offer.priceCurrencyCode(),
             offer.priceAmount(),
             effectiveLimits.availableQuantity(),
+            offer.reservedQuantity(),
             effectiveLimits.effectiveMinTradeQuantity(),
             effectiveLimits.effectiveMaxTradeQuantity(),
             offer.quantityStep(),
@@ -246,38 +242,37 @@ public class OrderQuoteService {
         );
     }
 
-    private List<MarketOfferListResponse.Context> loadContexts(Long offerId) {
-        return offerContextValueRepository.findAllByOfferId(offerId).stream()
-            .map(value -> new MarketOfferListResponse.Context(
-                value.getContextDimension().getSlug(),
-                value.getContextDimensionValue().getSlug(),
-                value.getContextDimensionValue().getTitle()
+    private List<MarketOfferListResponse.Context> mapContexts(List<MarketOfferContextRecord> contexts) {
+        return contexts.stream()
+            .map(context -> new MarketOfferListResponse.Context(
+                context.dimensionSlug(),
+                context.valueSlug(),
+                context.valueTitle()
             ))
             .toList();
     }
 
-    private List<MarketOfferListResponse.Attribute> loadAttributes(Long offerId) {
-        return offerAttributeValueRepository.findAllByOfferId(offerId).stream()
-            .map(value -> new MarketOfferListResponse.Attribute(
-                value.getCategoryAttribute().getSlug(),
-                value.getCategoryAttributeOption() == null ? null : value.getCategoryAttributeOption().getSlug(),
-                value.getCategoryAttributeOption() == null ? value.getValueText() : value.getCategoryAttributeOption().getTitle()
+    private List<MarketOfferListResponse.Attribute> mapAttributes(List<MarketOfferAttributeRecord> attributes) {
+        return attributes.stream()
+            .map(attribute -> new MarketOfferListResponse.Attribute(
+                attribute.attributeSlug(),
+                attribute.optionSlug(),
+                attribute.optionSlug() == null ? attribute.valueText() : attribute.optionTitle()
             ))
             .toList();
     }
 
-    private List<MarketOfferListResponse.DeliveryMethod> loadDeliveryMethods(Long offerId) {
-        return offerDeliveryMethodRepository.findAllByOfferId(offerId).stream()
-            .map(value -> new MarketOfferListResponse.DeliveryMethod(
-                value.getDeliveryMethod().getSlug(),
-                value.getDeliveryMethod().getTitle()
-            ))
+    private List<MarketOfferListResponse.DeliveryMethod> mapDeliveryMethods(
+        List<MarketOfferDeliveryMethodRecord> deliveryMethods
+    ) {
+        return deliveryMethods.stream()
+            .map(method -> new MarketOfferListResponse.DeliveryMethod(method.slug(), method.title()))
             .toList();
     }
 
     private String requireValidViewerCurrencyCode(String viewerCurrencyCode) {
         String normalized = viewerCurrencyCode.trim().toUpperCase(Locale.ROOT);
-        if (!currencyRepository.existsByCodeIgnoreCaseAndActiveTrue(normalized)) {
+        if (!catalogCache.snapshot().isActiveCurrency(normalized)) {
             throw new ApiProblemException(
                 HttpStatus.BAD_REQUEST,
                 "INVALID_VIEWER_CURRENCY_CODE",
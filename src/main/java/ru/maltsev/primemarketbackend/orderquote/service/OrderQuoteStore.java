@@ -0,0 +1,169 @@
+package ru.maltsev.primemarketbackend.orderquote.service;
+
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.maltsev.primemarketbackend.config.OrderQuoteStoreProperties;
+import ru.maltsev.primemarketbackend.orderquote.api.dto.OrderQuoteStoreStatsResponse;
+import ru.maltsev.primemarketbackend.orderquote.domain.OrderQuote;
+import ru.maltsev.primemarketbackend.orderquote.repository.OrderQuoteRepository;
+
+// In-memory mode keeps unconsumed quotes in process and writes a quote to order_quotes only when an order consumes it.
+// Quotes are node-local in that mode, so it needs a single node or sticky routing by client.
+@Component
+@RequiredArgsConstructor
+public class OrderQuoteStore {
+    private final OrderQuoteRepository orderQuoteRepository;
+    private final OrderQuoteStoreProperties properties;
+
+    // Insertion order matches expiry order because every quote gets the same TTL.
+    private final Map<UUID, OrderQuote> quotes = new LinkedHashMap<>(16, 0.75f, false) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<UUID, OrderQuote> eldest) {
+            if (size() > properties.maxSize()) {
+                evictions.incrementAndGet();
+                return true;
+            }
+            return false;
+        }
+    };
+    private final AtomicLong issued = new AtomicLong();
+    private final AtomicLong databaseInserts = new AtomicLong();
+    private final AtomicLong databaseUpdates = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public OrderQuote save(OrderQuote quote) {
+        issued.incrementAndGet();
+        if (!properties.inMemory()) {
+            databaseInserts.incrementAndGet();
+            return orderQuoteRepository.save(quote);
+        }
+        synchronized (quotes) {
+            evictExpired(Instant.now());
+            quotes.put(quote.getPublicId(), quote);
+        }
+        return quote;
+    }
+
+    public Optional<OrderQuote> findByPublicId(UUID publicId) {
+        OrderQuote cached = cached(publicId, false);
+        return cached != null ? Optional.of(cached) : orderQuoteRepository.findByPublicId(publicId);
+    }
+
+    // Used to pick the offer lock before the order transaction starts; left out of the hit/miss counters
+    // so each order is counted once, by its claim.
+    public Optional<Long> peekOfferId(UUID publicId) {
+        if (publicId == null) {
+            return Optional.empty();
+        }
+        if (properties.inMemory()) {
+            OrderQuote quote;
+            synchronized (quotes) {
+                quote = quotes.get(publicId);
+            }
+            if (quote != null) {
+                return Optional.of(quote.getOfferId());
+            }
+        }
+        return orderQuoteRepository.findOfferIdByPublicId(publicId);
+    }
+
+    // Takes the quote out of memory so a concurrent order cannot consume it twice; a rollback puts it back.
+    public Optional<OrderQuote> claimForUpdate(UUID publicId) {
+        OrderQuote claimed = cached(publicId, true);
+        if (claimed == null) {
+            return orderQuoteRepository.findByPublicIdForUpdate(publicId);
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        synchronized (quotes) {
+                            quotes.putIfAbsent(claimed.getPublicId(), claimed);
+                        }
+                    }
+                }
+            });
+        }
+        return Optional.of(claimed);
+    }
+
+    public void update(OrderQuote quote) {
+        if (quote.getId() == null) {
+            return;
+        }
+        databaseUpdates.incrementAndGet();
+        orderQuoteRepository.save(quote);
+    }
+
+    // Returns the persisted quote; an in-memory quote is inserted as a copy so a rollback can restore the original.
+    public OrderQuote consume(OrderQuote quote) {
+        if (quote.getId() != null) {
+            quote.markConsumed();
+            databaseUpdates.incrementAndGet();
+            return quote;
+        }
+        OrderQuote persisted = quote.copyUnsaved();
+        persisted.markConsumed();
+        databaseInserts.incrementAndGet();
+        return orderQuoteRepository.saveAndFlush(persisted);
+    }
+
+    public OrderQuoteStoreStatsResponse stats() {
+        int cached;
+        synchronized (quotes) {
+            cached = quotes.size();
+        }
+        return new OrderQuoteStoreStatsResponse(
+            properties.inMemory() ? "memory" : "database",
+            cached,
+            properties.maxSize(),
+            issued.get(),
+            databaseInserts.get(),
+            databaseUpdates.get(),
+            hits.get(),
+            misses.get(),
+            evictions.get()
+        );
+    }
+
+    private OrderQuote cached(UUID publicId, boolean remove) {
+        if (!properties.inMemory() || publicId == null) {
+            return null;
+        }
+        OrderQuote quote;
+        synchronized (quotes) {
+            quote = remove ? quotes.remove(publicId) : quotes.get(publicId);
+        }
+        if (quote == null) {
+            misses.incrementAndGet();
+        } else {
+            hits.incrementAndGet();
+        }
+        return quote;
+    }
+
+    private void evictExpired(Instant now) {
+        Instant threshold = now.minus(properties.retainAfterExpiry());
+        Iterator<OrderQuote> iterator = quotes.values().iterator();
+        while (iterator.hasNext()) {
+            OrderQuote quote = iterator.next();
+            if (quote.getExpiresAt().isAfter(threshold)) {
+                return;
+            }
+            iterator.remove();
+            evictions.incrementAndGet();
+        }
+    }
+}
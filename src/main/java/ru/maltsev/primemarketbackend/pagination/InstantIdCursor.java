@@ -0,0 +1,35 @@
+package ru.maltsev.primemarketbackend.pagination;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+
+// Seek key for feeds ordered by (timestamp desc, id desc).
+public record InstantIdCursor(
+    Instant instant,
+    Long id
+) {
+    private static final String INVALID_CURSOR_DETAIL = "Query parameter 'cursor' is invalid";
+
+    public String encode() {
+        return KeysetCursorCodec.encode(
+            Long.toString(instant.getEpochSecond()),
+            Integer.toString(instant.getNano()),
+            Long.toString(id)
+        );
+    }
+
+    public static InstantIdCursor decode(String rawCursor, String problemCode) {
+        try {
+            String[] parts = KeysetCursorCodec.decode(rawCursor, 3);
+            if (parts == null) {
+                return null;
+            }
+            return new InstantIdCursor(
+                Instant.ofEpochSecond(Long.parseLong(parts[0]), Integer.parseInt(parts[1])),
+                Long.parseLong(parts[2])
+            );
+        } catch (IllegalArgumentException | DateTimeException ex) {
+            throw KeysetCursorCodec.invalidCursor(problemCode, INVALID_CURSOR_DETAIL);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package ru.maltsev.primemarketbackend.pagination;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import org.springframework.http.HttpStatus;
+import ru.maltsev.primemarketbackend.exception.ApiProblemException;
+
+// Keyset cursors are opaque to clients: the seek key is joined with '|' and base64url-encoded.
+public final class KeysetCursorCodec {
+    private static final String SEPARATOR = "|";
+
+    private KeysetCursorCodec() {
+    }
+
+    public static String encode(String... parts) {
+        String raw = String.join(SEPARATOR, parts);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Returns null for an absent cursor; throws IllegalArgumentException when it is malformed.
+    public static String[] decode(String rawCursor, int expectedParts) {
+        if (rawCursor == null || rawCursor.isBlank()) {
+            return null;
+        }
+        String raw = new String(Base64.getUrlDecoder().decode(rawCursor.trim()), StandardCharsets.UTF_8);
+        String[] parts = raw.split("\\|", -1);
+        if (parts.length != expectedParts) {
+            throw new IllegalArgumentException("Expected " + expectedParts + " cursor parts");
+        }
+        return parts;
+    }
+
+    public static ApiProblemException invalidCursor(String problemCode, String detail) {
+        return new ApiProblemException(HttpStatus.BAD_REQUEST, problemCode, detail);
+    }
+}
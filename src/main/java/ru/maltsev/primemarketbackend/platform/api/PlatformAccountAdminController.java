@@ -0,0 +1,24 @@
+package ru.maltsev.primemarketbackend.platform.api;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import ru.maltsev.primemarketbackend.platform.api.dto.PlatformFeeShardStatsResponse;
+import ru.maltsev.primemarketbackend.platform.service.PlatformFeeShardService;
+import ru.maltsev.primemarketbackend.security.PermissionCodes;
+
+@RestController
+@RequestMapping({"/api/admin/platform-accounts", "/api/backoffice/platform-accounts"})
+@RequiredArgsConstructor
+@PreAuthorize("hasAuthority('" + PermissionCodes.METRICS_VIEW + "')")
+public class PlatformAccountAdminController {
+    private final PlatformFeeShardService platformFeeShardService;
+
+    @GetMapping("/fee-shards")
+    public ResponseEntity<PlatformFeeShardStatsResponse> feeShards() {
+        return ResponseEntity.ok(platformFeeShardService.stats());
+    }
+}
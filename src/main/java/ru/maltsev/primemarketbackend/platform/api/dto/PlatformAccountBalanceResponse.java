@@ -0,0 +1,12 @@
+package ru.maltsev.primemarketbackend.platform.api.dto;
+
+import java.math.BigDecimal;
+
+public record PlatformAccountBalanceResponse(
+    String currencyCode,
+    BigDecimal balance,
+    BigDecimal unrolledAmount,
+    BigDecimal totalBalance,
+    long activeShards
+) {
+}
@@ -0,0 +1,13 @@
+package ru.maltsev.primemarketbackend.platform.api.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+public record PlatformFeeShardStatsResponse(
+    boolean enabled,
+    int shards,
+    long rollUps,
+    Instant lastRollUpAt,
+    List<PlatformAccountBalanceResponse> accounts
+) {
+}
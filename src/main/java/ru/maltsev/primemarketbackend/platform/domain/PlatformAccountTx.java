@@ -45,6 +45,9 @@ public class PlatformAccountTx {
     @Column(name = "ref_id", nullable = false)
     private Long refId;
 
+    @Column(name = "shard_no")
+    private Short shardNo;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private Instant createdAt;
 
@@ -62,6 +65,18 @@ public class PlatformAccountTx {
         this.refId = refId;
     }
 
+    public PlatformAccountTx(
+        PlatformAccount platformAccount,
+        BigDecimal amount,
+        String txType,
+        String refType,
+        Long refId,
+        Short shardNo
+    ) {
+        this(platformAccount, amount, txType, refType, refId);
+        this.shardNo = shardNo;
+    }
+
     @PrePersist
     private void onCreate() {
         if (publicId == null) {
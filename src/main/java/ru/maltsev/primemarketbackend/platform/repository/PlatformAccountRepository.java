@@ -1,12 +1,66 @@
 package ru.maltsev.primemarketbackend.platform.repository;
 
+import java.util.List;
 import java.util.Optional;
 import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.maltsev.primemarketbackend.platform.domain.PlatformAccount;
 
 public interface PlatformAccountRepository extends JpaRepository<PlatformAccount, Long> {
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     Optional<PlatformAccount> findByCurrencyCodeIgnoreCase(String currencyCode);
+
+    Optional<PlatformAccount> findByCurrencyCode(String currencyCode);
+
+    @Modifying
+    @Query(value = """
+        insert into platform_accounts (currency_code)
+        values (:currencyCode)
+        on conflict (currency_code) do nothing
+        """, nativeQuery = true)
+    int insertIfAbsent(@Param("currencyCode") String currencyCode);
+
+    // Moves every non-zero fee stripe into its platform account; stripes are locked in key order.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = """
+        with drained as (
+            update platform_account_shards s
+            set balance = 0
+            from (
+                select platform_account_id, shard_no, balance
+                from platform_account_shards
+                where balance <> 0
+                order by platform_account_id, shard_no
+                for update
+            ) locked
+            where s.platform_account_id = locked.platform_account_id
+              and s.shard_no = locked.shard_no
+            returning s.platform_account_id, locked.balance
+        )
+        update platform_accounts p
+        set balance = p.balance + d.amount
+        from (
+            select platform_account_id, sum(balance) as amount
+            from drained
+            group by platform_account_id
+        ) d
+        where p.id = d.platform_account_id
+        """, nativeQuery = true)
+    int rollUpShards();
+
+    @Query(value = """
+        select p.currency_code as currencyCode,
+               p.balance as balance,
+               coalesce(sum(s.balance), 0) as unrolledAmount,
+               count(s.shard_no) filter (where s.balance <> 0) as activeShards
+        from platform_accounts p
+        left join platform_account_shards s on s.platform_account_id = p.id
+        group by p.id, p.currency_code, p.balance
+        order by p.currency_code
+        """, nativeQuery = true)
+    List<PlatformAccountShardBalanceView> findShardBalances();
 }
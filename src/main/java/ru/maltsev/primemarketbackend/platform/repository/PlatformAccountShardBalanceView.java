@@ -0,0 +1,13 @@
+package ru.maltsev.primemarketbackend.platform.repository;
+
+import java.math.BigDecimal;
+
+public interface PlatformAccountShardBalanceView {
+    String getCurrencyCode();
+
+    BigDecimal getBalance();
+
+    BigDecimal getUnrolledAmount();
+
+    long getActiveShards();
+}
@@ -1,8 +1,9 @@
 package ru.maltsev.primemarketbackend.platform.service;
 
 import java.util.Locale;
+import java.util.Optional;
+import java.util.function.Function;
 import lombok.RequiredArgsConstructor;
-import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -19,21 +20,26 @@ public class PlatformAccountService {
     public PlatformAccount getOrCreateAccountForUpdate(String currencyCode) {
         String normalizedCurrencyCode = normalizeCurrencyCode(currencyCode);
         return platformAccountRepository.findByCurrencyCodeIgnoreCase(normalizedCurrencyCode)
-            .orElseGet(() -> createAccount(normalizedCurrencyCode));
+            .orElseGet(() -> createAccount(normalizedCurrencyCode, platformAccountRepository::findByCurrencyCodeIgnoreCase));
     }
 
-    private PlatformAccount createAccount(String currencyCode) {
-        PlatformAccount account = new PlatformAccount(currencyCode);
-        try {
-            return platformAccountRepository.saveAndFlush(account);
-        } catch (DataIntegrityViolationException ex) {
-            return platformAccountRepository.findByCurrencyCodeIgnoreCase(currencyCode)
-                .orElseThrow(() -> new ApiProblemException(
-                    HttpStatus.CONFLICT,
-                    "PLATFORM_ACCOUNT_ERROR",
-                    "Failed to create platform account"
-                ));
-        }
+    // No row lock: used when the caller only needs the account id, e.g. to queue a ledger posting.
+    @Transactional
+    public PlatformAccount getOrCreateAccount(String currencyCode) {
+        String normalizedCurrencyCode = normalizeCurrencyCode(currencyCode);
+        return platformAccountRepository.findByCurrencyCode(normalizedCurrencyCode)
+            .orElseGet(() -> createAccount(normalizedCurrencyCode, platformAccountRepository::findByCurrencyCode));
+    }
+
+    // Insert-if-absent keeps concurrent first postings in one currency from failing the caller's transaction.
+    private PlatformAccount createAccount(String currencyCode, Function<String, Optional<PlatformAccount>> finder) {
+        platformAccountRepository.insertIfAbsent(currencyCode);
+        return finder.apply(currencyCode)
+            .orElseThrow(() -> new ApiProblemException(
+                HttpStatus.CONFLICT,
+                "PLATFORM_ACCOUNT_ERROR",
+                "Failed to create platform account"
+            ));
     }
 
     private String normalizeCurrencyCode(String currencyCode) {
@@ -0,0 +1,26 @@
+package ru.maltsev.primemarketbackend.platform.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PlatformFeeRollUpScheduler {
+    private final PlatformFeeShardService platformFeeShardService;
+
+    // Runs even when sharding is off so stripes left from an earlier run still reach the canonical balance.
+    @Scheduled(
+        initialDelayString = "${app.platform.fee-shards.roll-up-interval:1m}",
+        fixedDelayString = "${app.platform.fee-shards.roll-up-interval:1m}"
+    )
+    public void rollUp() {
+        try {
+            platformFeeShardService.rollUp();
+        } catch (RuntimeException ex) {
+            log.warn("Platform fee roll-up failed", ex);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package ru.maltsev.primemarketbackend.platform.service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.maltsev.primemarketbackend.config.PlatformFeeShardProperties;
+import ru.maltsev.primemarketbackend.platform.api.dto.PlatformAccountBalanceResponse;
+import ru.maltsev.primemarketbackend.platform.api.dto.PlatformFeeShardStatsResponse;
+import ru.maltsev.primemarketbackend.platform.repository.PlatformAccountRepository;
+
+@Service
+@RequiredArgsConstructor
+public class PlatformFeeShardService {
+    private final PlatformFeeShardProperties properties;
+    private final PlatformAccountRepository platformAccountRepository;
+    private final LongAdder rollUps = new LongAdder();
+    private volatile Instant lastRollUpAt;
+
+    public boolean isEnabled() {
+        return properties.enabled();
+    }
+
+    // Stripe by the posting ref (order id), so one order always lands on the same stripe.
+    public short shardFor(Long refId) {
+        return (short) Math.floorMod(refId, Math.max(properties.shards(), 1));
+    }
+
+    @Transactional
+    public int rollUp() {
+        int accounts = platformAccountRepository.rollUpShards();
+        rollUps.increment();
+        lastRollUpAt = Instant.now();
+        return accounts;
+    }
+
+    @Transactional(readOnly = true)
+    public PlatformFeeShardStatsResponse stats() {
+        List<PlatformAccountBalanceResponse> accounts = platformAccountRepository.findShardBalances().stream()
+            .map(view -> new PlatformAccountBalanceResponse(
+                view.getCurrencyCode(),
+                view.getBalance(),
+                view.getUnrolledAmount(),
+                view.getBalance().add(view.getUnrolledAmount()),
+                view.getActiveShards()
+            ))
+            .toList();
+        return new PlatformFeeShardStatsResponse(
+            properties.enabled(),
+            Math.max(properties.shards(), 1),
+            rollUps.sum(),
+            lastRollUpAt,
+            accounts
+        );
+    }
+}
@@ -14,6 +14,8 @@ public final class PermissionCodes {
     public static final String WITHDRAWAL_REQUESTS_TAKE = "WITHDRAWAL_REQUESTS_TAKE";
     public static final String WITHDRAWAL_REQUESTS_REJECT = "WITHDRAWAL_REQUESTS_REJECT";
     public static final String WITHDRAWAL_REQUESTS_CONFIRM = "WITHDRAWAL_REQUESTS_CONFIRM";
+    public static final String CATALOG_MANAGE = "CATALOG_MANAGE";
+    public static final String METRICS_VIEW = "METRICS_VIEW";
 
     private PermissionCodes() {
     }
@@ -2,6 +2,7 @@ package ru.maltsev.primemarketbackend.security.jwt;
 
 import io.jsonwebtoken.JwtException;
 import java.io.IOException;
+import java.time.Instant;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -13,15 +14,24 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import ru.maltsev.primemarketbackend.security.jwt.JwtService.AccessTokenClaims;
+import ru.maltsev.primemarketbackend.security.user.PrincipalCache;
+import ru.maltsev.primemarketbackend.security.user.UserPrincipal;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final PrincipalCache principalCache;
 
-    public JwtAuthenticationFilter(JwtService jwtService, UserDetailsService userDetailsService) {
+    public JwtAuthenticationFilter(
+        JwtService jwtService,
+        UserDetailsService userDetailsService,
+        PrincipalCache principalCache
+    ) {
         this.jwtService = jwtService;
         this.userDetailsService = userDetailsService;
+        this.principalCache = principalCache;
     }
 
     @Override
@@ -37,17 +47,19 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         String token = authHeader.substring(7);
-        String username;
+        AccessTokenClaims claims;
         try {
-            username = jwtService.extractUsername(token);
+            claims = jwtService.parseAccessToken(token);
         } catch (JwtException | IllegalArgumentException ex) {
             filterChain.doFilter(request, response);
             return;
         }
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-            if (jwtService.isTokenValid(token, userDetails)) {
+        if (claims.subject() != null
+            && !claims.isExpired(Instant.now())
+            && SecurityContextHolder.getContext().getAuthentication() == null) {
+            UserDetails userDetails = resolvePrincipal(claims);
+            if (userDetails != null) {
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                     userDetails,
                     null,
@@ -60,4 +72,27 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    private UserDetails resolvePrincipal(AccessTokenClaims claims) {
+        if (jwtService.isStatelessEnabled() && claims.isStateless()) {
+            return jwtService.toStatelessPrincipal(claims);
+        }
+
+        UserPrincipal cached = principalCache.get(claims.subject(), claims.tokenVersion());
+        if (cached != null) {
+            return cached;
+        }
+
+        UserDetails userDetails = userDetailsService.loadUserByUsername(claims.subject());
+        if (!userDetails.getUsername().equals(claims.subject())) {
+            return null;
+        }
+        if (userDetails instanceof UserPrincipal principal) {
+            if (principal.getTokenVersion() != claims.tokenVersion()) {
+                return null;
+            }
+            principalCache.put(principal);
+        }
+        return userDetails;
+    }
 }
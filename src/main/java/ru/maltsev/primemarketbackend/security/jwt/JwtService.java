@@ -1,32 +1,61 @@
 package ru.maltsev.primemarketbackend.security.jwt;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtBuilder;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.Collection;
 import java.util.Date;
+import java.util.List;
 import javax.crypto.SecretKey;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
+import ru.maltsev.primemarketbackend.security.user.UserPrincipal;
 
 @Service
 public class JwtService {
+    private static final String TOKEN_VERSION_CLAIM = "tv";
+    private static final String USER_ID_CLAIM = "uid";
+    private static final String ROLES_CLAIM = "roles";
+    private static final String PERMISSIONS_CLAIM = "perms";
+    private static final String REVOCATION_EPOCH_CLAIM = "ep";
+
     private final JwtProperties properties;
+    private final StatelessJwtProperties statelessProperties;
     private final SecretKey key;
 
-    public JwtService(JwtProperties properties) {
+    public JwtService(JwtProperties properties, StatelessJwtProperties statelessProperties) {
         this.properties = properties;
+        this.statelessProperties = statelessProperties;
         this.key = Keys.hmacShaKeyFor(properties.secret().getBytes(StandardCharsets.UTF_8));
     }
 
     public String generateToken(UserDetails userDetails) {
         Instant now = Instant.now();
-        Instant expiresAt = now.plus(properties.accessTokenTtl());
-        return Jwts.builder()
+        Duration ttl = properties.accessTokenTtl();
+        JwtBuilder builder = Jwts.builder()
             .subject(userDetails.getUsername())
-            .issuedAt(Date.from(now))
-            .expiration(Date.from(expiresAt))
+            .issuedAt(Date.from(now));
+
+        if (userDetails instanceof UserPrincipal principal) {
+            builder.claim(TOKEN_VERSION_CLAIM, principal.getTokenVersion());
+            if (statelessProperties.enabled()) {
+                builder
+                    .claim(USER_ID_CLAIM, principal.getUserId())
+                    .claim(ROLES_CLAIM, List.copyOf(principal.getRoleCodes()))
+                    .claim(PERMISSIONS_CLAIM, List.copyOf(principal.getPermissionCodes()))
+                    .claim(REVOCATION_EPOCH_CLAIM, statelessProperties.revocationEpoch());
+                if (statelessProperties.accessTokenTtl().compareTo(ttl) < 0) {
+                    ttl = statelessProperties.accessTokenTtl();
+                }
+            }
+        }
+
+        return builder
+            .expiration(Date.from(now.plus(ttl)))
             .signWith(key)
             .compact();
     }
@@ -35,10 +64,69 @@ public class JwtService {
         return parseClaims(token).getSubject();
     }
 
+    public AccessTokenClaims parseAccessToken(String token) {
+        Claims claims = parseClaims(token);
+        Integer tokenVersion = claims.get(TOKEN_VERSION_CLAIM, Integer.class);
+        return new AccessTokenClaims(
+            claims.getSubject(),
+            tokenVersion == null ? 0 : tokenVersion,
+            claims.getExpiration().toInstant(),
+            claims.get(USER_ID_CLAIM, Long.class),
+            stringList(claims.get(ROLES_CLAIM)),
+            stringList(claims.get(PERMISSIONS_CLAIM)),
+            claims.get(REVOCATION_EPOCH_CLAIM, Integer.class)
+        );
+    }
+
+    public boolean isStatelessEnabled() {
+        return statelessProperties.enabled();
+    }
+
+    // Stateless tokens are trusted without a DB lookup, so they are only accepted for the current epoch.
+    public UserPrincipal toStatelessPrincipal(AccessTokenClaims claims) {
+        if (!statelessProperties.enabled()
+            || !claims.isStateless()
+            || claims.revocationEpoch() != statelessProperties.revocationEpoch()) {
+            return null;
+        }
+        return UserPrincipal.fromClaims(
+            claims.userId(),
+            claims.subject(),
+            claims.tokenVersion(),
+            claims.roles(),
+            claims.permissions()
+        );
+    }
+
     public boolean isTokenValid(String token, UserDetails userDetails) {
         return userDetails.getUsername().equals(extractUsername(token)) && !isTokenExpired(token);
     }
 
+    public record AccessTokenClaims(
+        String subject,
+        int tokenVersion,
+        Instant expiresAt,
+        Long userId,
+        List<String> roles,
+        List<String> permissions,
+        Integer revocationEpoch
+    ) {
+        public boolean isExpired(Instant now) {
+            return expiresAt.isBefore(now);
+        }
+
+        public boolean isStateless() {
+            return userId != null && roles != null && permissions != null && revocationEpoch != null;
+        }
+    }
+
+    private List<String> stringList(Object value) {
+        if (!(value instanceof Collection<?> values)) {
+            return null;
+        }
+        return values.stream().map(String::valueOf).toList();
+    }
+
     private boolean isTokenExpired(String token) {
         return parseClaims(token).getExpiration().before(new Date());
     }
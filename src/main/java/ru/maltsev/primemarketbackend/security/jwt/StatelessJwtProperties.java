@@ -0,0 +1,13 @@
+package ru.maltsev.primemarketbackend.security.jwt;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "security.jwt.stateless")
+public record StatelessJwtProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("PT5M") Duration accessTokenTtl,
+    @DefaultValue("0") int revocationEpoch
+) {
+}
@@ -0,0 +1,103 @@
+package ru.maltsev.primemarketbackend.security.user;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Component
+@RequiredArgsConstructor
+public class PrincipalCache {
+    private final PrincipalCacheProperties properties;
+
+    private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > properties.maxSize();
+        }
+    };
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public UserPrincipal get(String email, int tokenVersion) {
+        if (!properties.enabled() || email == null) {
+            return null;
+        }
+        String key = normalize(email);
+        Instant now = Instant.now();
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.expiresAt().isAfter(now)
+                && entry.principal().getTokenVersion() == tokenVersion) {
+                hits.incrementAndGet();
+                return entry.principal();
+            }
+            if (entry != null) {
+                entries.remove(key);
+            }
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    public void put(UserPrincipal principal) {
+        if (!properties.enabled()) {
+            return;
+        }
+        Entry entry = new Entry(principal, Instant.now().plus(properties.ttl()));
+        synchronized (entries) {
+            entries.put(normalize(principal.getUsername()), entry);
+        }
+    }
+
+    public void evict(String email) {
+        if (email == null) {
+            return;
+        }
+        synchronized (entries) {
+            entries.remove(normalize(email));
+        }
+    }
+
+    // Evicting only after commit keeps a concurrent request from re-caching the pre-change user.
+    public void evictAfterCommit(String email) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()
+            && TransactionSynchronizationManager.isActualTransactionActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(email);
+                }
+            });
+            return;
+        }
+
+        evict(email);
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public long hits() {
+        return hits.get();
+    }
+
+    public long misses() {
+        return misses.get();
+    }
+
+    private String normalize(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+
+    private record Entry(UserPrincipal principal, Instant expiresAt) {
+    }
+}
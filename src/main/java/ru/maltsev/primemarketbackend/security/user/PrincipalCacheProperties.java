@@ -0,0 +1,13 @@
+package ru.maltsev.primemarketbackend.security.user;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "security.principal-cache")
+public record PrincipalCacheProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("PT1M") Duration ttl,
+    @DefaultValue("10000") int maxSize
+) {
+}
@@ -2,47 +2,95 @@ package ru.maltsev.primemarketbackend.security.user;
 
 import java.util.Collection;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 
 import lombok.Getter;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import ru.maltsev.primemarketbackend.user.domain.Permission;
+import ru.maltsev.primemarketbackend.user.domain.Role;
 import ru.maltsev.primemarketbackend.user.domain.User;
 
 @Getter
 public class UserPrincipal implements UserDetails {
     private final User user;
+    private final Long userId;
+    private final String email;
+    private final int tokenVersion;
+    private final Set<String> roleCodes;
+    private final Set<String> permissionCodes;
+    private final Set<String> authorityCodes;
+    private final List<GrantedAuthority> grantedAuthorities;
 
     public UserPrincipal(User user) {
+        this(
+            user,
+            user.getId(),
+            user.getEmail(),
+            user.getTokenVersion(),
+            user.getRoles().stream().map(Role::getCode).toList(),
+            user.getPermissions().stream().map(Permission::getCode).toList()
+        );
+    }
+
+    private UserPrincipal(
+        User user,
+        Long userId,
+        String email,
+        int tokenVersion,
+        Collection<String> roleCodes,
+        Collection<String> permissionCodes
+    ) {
         this.user = user;
+        this.userId = userId;
+        this.email = email;
+        this.tokenVersion = tokenVersion;
+        this.roleCodes = Set.copyOf(roleCodes);
+        this.permissionCodes = Set.copyOf(permissionCodes);
+
+        Set<String> authorities = new LinkedHashSet<>();
+        if (roleCodes.isEmpty()) {
+            authorities.add("ROLE_USER");
+        } else {
+            roleCodes.forEach(role -> authorities.add("ROLE_" + role));
+        }
+        authorities.addAll(permissionCodes);
+        this.authorityCodes = Set.copyOf(authorities);
+        this.grantedAuthorities = authorities.stream()
+            .<GrantedAuthority>map(SimpleGrantedAuthority::new)
+            .toList();
+    }
+
+    // Built from access token claims only; there is no backing entity and no password.
+    public static UserPrincipal fromClaims(
+        Long userId,
+        String email,
+        int tokenVersion,
+        Collection<String> roleCodes,
+        Collection<String> permissionCodes
+    ) {
+        return new UserPrincipal(null, userId, email, tokenVersion, roleCodes, permissionCodes);
     }
 
     public boolean hasAuthority(String authority) {
-        return getAuthorities().stream()
-            .anyMatch(candidate -> authority.equals(candidate.getAuthority()));
+        return authorityCodes.contains(authority);
     }
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        Set<String> authorities = new LinkedHashSet<>();
-        if (user.getRoles().isEmpty()) {
-            authorities.add("ROLE_USER");
-        } else {
-            user.getRoles().forEach(role -> authorities.add("ROLE_" + role.getCode()));
-        }
-        user.getPermissions().forEach(permission -> authorities.add(permission.getCode()));
-        return authorities.stream().map(SimpleGrantedAuthority::new).toList();
+        return grantedAuthorities;
     }
 
     @Override
     public String getPassword() {
-        return user.getPasswordHash();
+        return user == null ? null : user.getPasswordHash();
     }
 
     @Override
     public String getUsername() {
-        return user.getEmail();
+        return email;
     }
 
     @Override
@@ -62,6 +110,6 @@ public class UserPrincipal implements UserDetails {
 
     @Override
     public boolean isEnabled() {
-        return user.isActive();
+        return user == null || user.isActive();
     }
 }
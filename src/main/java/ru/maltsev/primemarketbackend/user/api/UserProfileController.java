@@ -31,7 +31,7 @@ public class UserProfileController {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
         return ResponseEntity.ok(
-            UserProfileResponse.from(userProfileService.getProfile(principal.getUser().getId()))
+            UserProfileResponse.from(userProfileService.getProfile(principal.getUserId()))
         );
     }
 
@@ -43,7 +43,7 @@ public class UserProfileController {
         if (principal == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
-        userProfileService.requestEmailChange(principal.getUser(), request.newEmail(), request.currentPassword());
+        userProfileService.requestEmailChange(principal.getUserId(), request.newEmail(), request.currentPassword());
         return ResponseEntity.accepted().body(StatusResponse.sent());
     }
 
@@ -55,7 +55,7 @@ public class UserProfileController {
         if (principal == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
-        userProfileService.requestPasswordChange(principal.getUser(), request.currentPassword(), request.newPassword());
+        userProfileService.requestPasswordChange(principal.getUserId(), request.currentPassword(), request.newPassword());
         return ResponseEntity.accepted().body(StatusResponse.sent());
     }
 
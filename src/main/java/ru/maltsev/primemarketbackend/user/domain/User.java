@@ -38,6 +38,9 @@ public class User {
     @Column(name = "is_active", nullable = false)
     private boolean active = true;
 
+    @Column(name = "token_version", nullable = false)
+    private int tokenVersion = 0;
+
     @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(
         name = "user_roles",
@@ -59,6 +62,10 @@ public class User {
         this.passwordHash = passwordHash;
     }
 
+    public void bumpTokenVersion() {
+        tokenVersion++;
+    }
+
     public Set<Permission> getPermissions() {
         if (roles.isEmpty()) {
             permissions = Set.of();
@@ -23,6 +23,7 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.server.ResponseStatusException;
 import ru.maltsev.primemarketbackend.config.EmailProperties;
 import ru.maltsev.primemarketbackend.exception.ApiProblemException;
+import ru.maltsev.primemarketbackend.security.user.PrincipalCache;
 import ru.maltsev.primemarketbackend.user.change.EmailChangeToken;
 import ru.maltsev.primemarketbackend.user.change.EmailChangeTokenRepository;
 import ru.maltsev.primemarketbackend.user.change.PasswordChangeToken;
@@ -42,6 +43,7 @@ public class UserProfileService {
     private final EmailProperties emailProperties;
     private final EmailChangeTokenRepository emailChangeTokenRepository;
     private final PasswordChangeTokenRepository passwordChangeTokenRepository;
+    private final PrincipalCache principalCache;
     private final SecureRandom secureRandom = new SecureRandom();
 
     @Transactional(readOnly = true)
@@ -55,7 +57,8 @@ public class UserProfileService {
     }
 
     @Transactional
-    public void requestEmailChange(User user, String rawNewEmail, String rawCurrentPassword) {
+    public void requestEmailChange(Long userId, String rawNewEmail, String rawCurrentPassword) {
+        User user = getProfile(userId);
         String newEmail = normalizeEmail(rawNewEmail);
         verifyCurrentPassword(user, rawCurrentPassword);
 
@@ -103,14 +106,18 @@ public class UserProfileService {
             throw new ApiProblemException(HttpStatus.CONFLICT, "EMAIL_ALREADY_IN_USE", "Email already in use");
         }
 
+        String previousEmail = user.getEmail();
         user.setEmail(newEmail);
+        user.bumpTokenVersion();
         userRepository.save(user);
+        principalCache.evictAfterCommit(previousEmail);
         token.confirm(now);
         emailChangeTokenRepository.save(token);
     }
 
     @Transactional
-    public void requestPasswordChange(User user, String rawCurrentPassword, String rawNewPassword) {
+    public void requestPasswordChange(Long userId, String rawCurrentPassword, String rawNewPassword) {
+        User user = getProfile(userId);
         verifyCurrentPassword(user, rawCurrentPassword);
         String newPassword = requireNonBlank(rawNewPassword, "New password");
         if (passwordEncoder.matches(newPassword, user.getPasswordHash())) {
@@ -151,7 +158,9 @@ public class UserProfileService {
 
         User user = token.getUser();
         user.setPasswordHash(token.getNewPasswordHash());
+        user.bumpTokenVersion();
         userRepository.save(user);
+        principalCache.evictAfterCommit(user.getEmail());
         token.confirm(now);
         passwordChangeTokenRepository.save(token);
     }
@@ -90,7 +90,7 @@ public class BackofficeWithdrawalRequestController {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
 
-        WithdrawalRequest request = withdrawalRequestService.take(publicId, principal.getUser().getId());
+        WithdrawalRequest request = withdrawalRequestService.take(publicId, principal.getUserId());
         return ResponseEntity.ok(BackofficeWithdrawalRequestResponse.from(request));
     }
 
@@ -107,7 +107,7 @@ public class BackofficeWithdrawalRequestController {
 
         WithdrawalRequest withdrawalRequest = withdrawalRequestService.reject(
             publicId,
-            principal.getUser().getId(),
+            principal.getUserId(),
             request
         );
         return ResponseEntity.ok(BackofficeWithdrawalRequestResponse.from(withdrawalRequest));
@@ -126,7 +126,7 @@ public class BackofficeWithdrawalRequestController {
 
         WithdrawalRequest withdrawalRequest = withdrawalRequestService.confirm(
             publicId,
-            principal.getUser().getId(),
+            principal.getUserId(),
             request
         );
         return ResponseEntity.ok(BackofficeWithdrawalRequestResponse.from(withdrawalRequest));
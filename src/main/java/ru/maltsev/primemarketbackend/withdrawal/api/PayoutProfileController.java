@@ -36,7 +36,7 @@ public class PayoutProfileController {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
 
-        return ResponseEntity.ok(payoutProfileService.list(principal.getUser().getId()).stream()
+        return ResponseEntity.ok(payoutProfileService.list(principal.getUserId()).stream()
             .map(PayoutProfileResponse::from)
             .toList());
     }
@@ -50,7 +50,7 @@ public class PayoutProfileController {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
 
-        PayoutProfile profile = payoutProfileService.create(principal.getUser().getId(), request);
+        PayoutProfile profile = payoutProfileService.create(principal.getUserId(), request);
         return ResponseEntity.status(HttpStatus.CREATED).body(PayoutProfileResponse.from(profile));
     }
 
@@ -64,7 +64,7 @@ public class PayoutProfileController {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
 
-        PayoutProfile profile = payoutProfileService.update(principal.getUser().getId(), publicId, request);
+        PayoutProfile profile = payoutProfileService.update(principal.getUserId(), publicId, request);
         return ResponseEntity.ok(PayoutProfileResponse.from(profile));
     }
 
@@ -77,7 +77,7 @@ public class PayoutProfileController {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
 
-        payoutProfileService.delete(principal.getUser().getId(), publicId);
+        payoutProfileService.delete(principal.getUserId(), publicId);
         return ResponseEntity.noContent().build();
     }
 
@@ -90,7 +90,7 @@ public class PayoutProfileController {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
 
-        PayoutProfile profile = payoutProfileService.makeDefault(principal.getUser().getId(), publicId);
+        PayoutProfile profile = payoutProfileService.makeDefault(principal.getUserId(), publicId);
         return ResponseEntity.ok(PayoutProfileResponse.from(profile));
     }
 }
@@ -49,7 +49,7 @@ public class WithdrawalRequestController {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
 
-        WithdrawalRequest withdrawalRequest = withdrawalRequestService.create(principal.getUser().getId(), request);
+        WithdrawalRequest withdrawalRequest = withdrawalRequestService.create(principal.getUserId(), request);
         return ResponseEntity.status(HttpStatus.CREATED).body(WithdrawalRequestResponse.from(withdrawalRequest));
     }
 
@@ -76,7 +76,7 @@ public class WithdrawalRequestController {
         }
 
         return ResponseEntity.ok(withdrawalRequestService
-            .listForUser(principal.getUser().getId(), status, pageable)
+            .listForUser(principal.getUserId(), status, pageable)
             .map(WithdrawalRequestResponse::from));
     }
 
@@ -90,7 +90,7 @@ public class WithdrawalRequestController {
         }
 
         return ResponseEntity.ok(WithdrawalRequestResponse.from(
-            withdrawalRequestService.getForUser(publicId, principal.getUser().getId())
+            withdrawalRequestService.getForUser(publicId, principal.getUserId())
         ));
     }
 
@@ -103,7 +103,7 @@ public class WithdrawalRequestController {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
 
-        WithdrawalRequest withdrawalRequest = withdrawalRequestService.cancel(publicId, principal.getUser().getId());
+        WithdrawalRequest withdrawalRequest = withdrawalRequestService.cancel(publicId, principal.getUserId());
         return ResponseEntity.ok(WithdrawalRequestResponse.from(withdrawalRequest));
     }
 }
@@ -0,0 +1,26 @@
+alter table offers
+    add column reserved_quantity numeric(18, 8) not null default 0;
+
+update offers o
+set reserved_quantity = r.reserved_quantity
+from (
+    select offer_id, sum(quantity) as reserved_quantity
+    from offer_reservations
+    where status = 'active'
+    group by offer_id
+) r
+where r.offer_id = o.id;
+
+alter table offers
+    add constraint offers_reserved_quantity_nonnegative
+        check (reserved_quantity >= 0);
+
+alter table offers
+    add column available_quantity numeric(18, 8)
+        generated always as (greatest(coalesce(quantity, 0) - reserved_quantity, 0)) stored;
+
+create index if not exists ix_offers_market_listing_available
+    on offers (game_id, category_id, side, published_at desc, id)
+    where status = 'active'
+      and published_at is not null
+      and available_quantity > 0;
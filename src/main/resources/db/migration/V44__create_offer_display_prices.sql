@@ -0,0 +1,200 @@
+create table offer_display_prices
+(
+    offer_id             bigint        not null references offers (id) on delete cascade,
+    viewer_currency_code varchar(5)    not null references currencies (code),
+
+    game_id              bigint        not null,
+    category_id          bigint        not null,
+    side                 varchar(8)    not null,
+    published_at         timestamptz   null,
+    is_listed            boolean       not null,
+
+    display_price_amount numeric       not null,
+    rate                 numeric(20,8) not null,
+
+    constraint pk_offer_display_prices
+        primary key (offer_id, viewer_currency_code)
+);
+
+create index if not exists ix_offer_display_prices_listing_asc
+    on offer_display_prices (viewer_currency_code, game_id, category_id, side,
+                             display_price_amount asc, published_at desc, offer_id asc)
+    where is_listed;
+
+create index if not exists ix_offer_display_prices_listing_desc
+    on offer_display_prices (viewer_currency_code, game_id, category_id, side,
+                             display_price_amount desc, published_at desc, offer_id desc)
+    where is_listed;
+
+create or replace function fn_offer_display_prices_refresh_offer()
+    returns trigger
+    language plpgsql
+as $$
+begin
+    delete from offer_display_prices
+    where offer_id = new.id;
+
+    if new.price_amount is null or new.price_currency_code is null then
+        return new;
+    end if;
+
+    insert into offer_display_prices (
+        offer_id, viewer_currency_code, game_id, category_id, side, published_at, is_listed,
+        display_price_amount, rate
+    )
+    select new.id,
+           p.viewer_currency_code,
+           new.game_id,
+           new.category_id,
+           new.side,
+           new.published_at,
+           new.status = 'active' and new.published_at is not null,
+           p.display_price_amount,
+           p.rate
+    from (
+        select new.price_currency_code as viewer_currency_code,
+               new.price_amount as display_price_amount,
+               cast(1 as numeric(20, 8)) as rate
+        union all
+        select cr.from_currency_code,
+               round(new.price_amount / cr.rate, 8),
+               cr.rate
+        from currency_rates cr
+        where new.side = 'sell'
+          and cr.to_currency_code = new.price_currency_code
+        union all
+        select cr.to_currency_code,
+               round(new.price_amount * cr.rate, 8),
+               cr.rate
+        from currency_rates cr
+        where new.side = 'buy'
+          and cr.from_currency_code = new.price_currency_code
+    ) p
+    on conflict (offer_id, viewer_currency_code) do update
+        set game_id = excluded.game_id,
+            category_id = excluded.category_id,
+            side = excluded.side,
+            published_at = excluded.published_at,
+            is_listed = excluded.is_listed,
+            display_price_amount = excluded.display_price_amount,
+            rate = excluded.rate;
+
+    return new;
+end;
+$$;
+
+create trigger trg_offers_insert_display_prices
+    after insert on offers
+    for each row
+execute function fn_offer_display_prices_refresh_offer();
+
+create trigger trg_offers_update_display_prices
+    after update on offers
+    for each row
+    when (
+        old.price_amount is distinct from new.price_amount
+            or old.price_currency_code is distinct from new.price_currency_code
+            or old.side is distinct from new.side
+            or old.game_id is distinct from new.game_id
+            or old.category_id is distinct from new.category_id
+            or old.status is distinct from new.status
+            or old.published_at is distinct from new.published_at
+        )
+execute function fn_offer_display_prices_refresh_offer();
+
+create or replace function fn_offer_display_prices_refresh_rate()
+    returns trigger
+    language plpgsql
+as $$
+begin
+    if tg_op in ('UPDATE', 'DELETE') then
+        delete from offer_display_prices dp
+        using offers o
+        where o.id = dp.offer_id
+          and (
+              (o.side = 'sell'
+                  and o.price_currency_code = old.to_currency_code
+                  and dp.viewer_currency_code = old.from_currency_code)
+              or (o.side = 'buy'
+                  and o.price_currency_code = old.from_currency_code
+                  and dp.viewer_currency_code = old.to_currency_code)
+          );
+    end if;
+
+    if tg_op in ('INSERT', 'UPDATE') then
+        insert into offer_display_prices (
+            offer_id, viewer_currency_code, game_id, category_id, side, published_at, is_listed,
+            display_price_amount, rate
+        )
+        select o.id,
+               case when o.side = 'sell' then new.from_currency_code else new.to_currency_code end,
+               o.game_id,
+               o.category_id,
+               o.side,
+               o.published_at,
+               o.status = 'active' and o.published_at is not null,
+               case
+                   when o.side = 'sell' then round(o.price_amount / new.rate, 8)
+                   else round(o.price_amount * new.rate, 8)
+               end,
+               new.rate
+        from offers o
+        where o.price_amount is not null
+          and (
+              (o.side = 'sell' and o.price_currency_code = new.to_currency_code)
+              or (o.side = 'buy' and o.price_currency_code = new.from_currency_code)
+          )
+        on conflict (offer_id, viewer_currency_code) do update
+            set game_id = excluded.game_id,
+                category_id = excluded.category_id,
+                side = excluded.side,
+                published_at = excluded.published_at,
+                is_listed = excluded.is_listed,
+                display_price_amount = excluded.display_price_amount,
+                rate = excluded.rate;
+    end if;
+
+    return null;
+end;
+$$;
+
+create trigger trg_currency_rates_refresh_display_prices
+    after insert or update or delete on currency_rates
+    for each row
+execute function fn_offer_display_prices_refresh_rate();
+
+insert into offer_display_prices (
+    offer_id, viewer_currency_code, game_id, category_id, side, published_at, is_listed,
+    display_price_amount, rate
+)
+select o.id,
+       p.viewer_currency_code,
+       o.game_id,
+       o.category_id,
+       o.side,
+       o.published_at,
+       o.status = 'active' and o.published_at is not null,
+       p.display_price_amount,
+       p.rate
+from offers o
+cross join lateral (
+    select o.price_currency_code as viewer_currency_code,
+           o.price_amount as display_price_amount,
+           cast(1 as numeric(20, 8)) as rate
+    union all
+    select cr.from_currency_code,
+           round(o.price_amount / cr.rate, 8),
+           cr.rate
+    from currency_rates cr
+    where o.side = 'sell'
+      and cr.to_currency_code = o.price_currency_code
+    union all
+    select cr.to_currency_code,
+           round(o.price_amount * cr.rate, 8),
+           cr.rate
+    from currency_rates cr
+    where o.side = 'buy'
+      and cr.from_currency_code = o.price_currency_code
+) p
+where o.price_amount is not null
+  and o.price_currency_code is not null;
@@ -0,0 +1,7 @@
+insert into permissions (code)
+select v.code
+from (values
+          ('METRICS_VIEW')) as v(code)
+where not exists(select 1
+                 from permissions p
+                 where lower(p.code) = lower(v.code));
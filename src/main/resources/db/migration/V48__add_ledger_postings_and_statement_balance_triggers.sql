@@ -0,0 +1,90 @@
+-- Balance triggers become statement-level: a multi-row insert applies one update per account,
+-- in account id order, instead of one update per inserted row.
+drop trigger if exists trg_user_account_txs_apply_balance on user_account_txs;
+drop function if exists fn_user_account_txs_apply_balance();
+
+create or replace function fn_user_account_txs_apply_balance()
+    returns trigger
+    language plpgsql
+as $$
+declare
+    posting record;
+begin
+    for posting in
+        select user_account_id, sum(amount) as amount
+        from inserted_txs
+        group by user_account_id
+        order by user_account_id
+    loop
+        update user_accounts
+        set balance = balance + posting.amount
+        where id = posting.user_account_id;
+    end loop;
+
+    return null;
+end;
+$$;
+
+create trigger trg_user_account_txs_apply_balance
+    after insert on user_account_txs
+    referencing new table as inserted_txs
+    for each statement
+execute function fn_user_account_txs_apply_balance();
+
+drop trigger if exists trg_platform_account_txs_apply_balance on platform_account_txs;
+drop function if exists fn_platform_account_txs_apply_balance();
+
+create or replace function fn_platform_account_txs_apply_balance()
+    returns trigger
+    language plpgsql
+as $$
+declare
+    posting record;
+begin
+    for posting in
+        select platform_account_id, sum(amount) as amount
+        from inserted_txs
+        group by platform_account_id
+        order by platform_account_id
+    loop
+        update platform_accounts
+        set balance = balance + posting.amount
+        where id = posting.platform_account_id;
+    end loop;
+
+    return null;
+end;
+$$;
+
+create trigger trg_platform_account_txs_apply_balance
+    after insert on platform_account_txs
+    referencing new table as inserted_txs
+    for each statement
+execute function fn_platform_account_txs_apply_balance();
+
+-- Credits queued by the group-commit ledger writer; drained rows are moved into the tx tables.
+create table ledger_postings
+(
+    id                  bigint primary key generated by default as identity,
+    user_account_id     bigint         null references user_accounts (id),
+    platform_account_id bigint         null references platform_accounts (id),
+    amount              decimal(13, 4) not null,
+    type                text           not null,
+    ref_type            text           not null,
+    ref_id              bigint         not null,
+    created_at          timestamptz    not null default now(),
+
+    constraint ck_ledger_postings_single_account
+        check ((user_account_id is null) <> (platform_account_id is null)),
+
+    constraint ck_ledger_postings_amount_positive
+        check (amount > 0)
+);
+
+create unique index if not exists ux_ledger_postings_user_ref
+    on ledger_postings (ref_type, ref_id)
+    where user_account_id is not null;
+
+create unique index if not exists ux_ledger_postings_platform_ref
+    on ledger_postings (ref_type, ref_id)
+    where platform_account_id is not null;
@@ -0,0 +1,49 @@
+-- Fee postings can target one of N stripes of a platform account instead of the account row itself.
+-- Stripes are rolled up into platform_accounts.balance periodically.
+create table platform_account_shards
+(
+    platform_account_id bigint         not null references platform_accounts (id),
+    shard_no            smallint       not null,
+    balance             decimal(13, 4) not null default 0,
+
+    constraint pk_platform_account_shards
+        primary key (platform_account_id, shard_no),
+
+    constraint ck_platform_account_shards_balance_nonnegative
+        check (balance >= 0)
+);
+
+alter table platform_account_txs
+    add column shard_no smallint null;
+
+create or replace function fn_platform_account_txs_apply_balance()
+    returns trigger
+    language plpgsql
+as $$
+declare
+    posting record;
+begin
+    for posting in
+        select platform_account_id, sum(amount) as amount
+        from inserted_txs
+        where shard_no is null
+        group by platform_account_id
+        order by platform_account_id
+    loop
+        update platform_accounts
+        set balance = balance + posting.amount
+        where id = posting.platform_account_id;
+    end loop;
+
+    insert into platform_account_shards (platform_account_id, shard_no, balance)
+    select platform_account_id, shard_no, sum(amount)
+    from inserted_txs
+    where shard_no is not null
+    group by platform_account_id, shard_no
+    order by platform_account_id, shard_no
+    on conflict (platform_account_id, shard_no) do update
+        set balance = platform_account_shards.balance + excluded.balance;
+
+    return null;
+end;
+$$;
@@ -0,0 +1,19 @@
+-- Bumped on every update so single-row transitions can use a status + version guarded update
+-- instead of holding a row lock for the whole request.
+alter table orders
+    add column version bigint not null default 1;
+
+create or replace function fn_orders_bump_version()
+    returns trigger
+    language plpgsql
+as $$
+begin
+    new.version = old.version + 1;
+    return new;
+end;
+$$;
+
+create trigger trg_orders_bump_version
+    before update on orders
+    for each row
+execute function fn_orders_bump_version();
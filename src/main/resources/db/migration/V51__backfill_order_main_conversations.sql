@@ -0,0 +1,32 @@
+-- Conversation listing no longer creates the main chat on read, so every order must already have one.
+insert into order_conversations (public_id, order_id, conversation_type, status)
+select gen_random_uuid(), o.id, 'order_main', 'active'
+from orders o
+where not exists (
+    select 1
+    from order_conversations c
+    where c.order_id = o.id
+      and c.conversation_type = 'order_main'
+)
+on conflict (order_id, conversation_type) do nothing;
+
+insert into order_conversation_participants (conversation_id, user_id, participant_role)
+select c.id, p.user_id, p.participant_role
+from order_conversations c
+join orders o on o.id = c.order_id
+cross join lateral (
+    values (o.maker_user_id, o.maker_role),
+           (o.taker_user_id, o.taker_role)
+) p (user_id, participant_role)
+where c.conversation_type = 'order_main'
+on conflict (conversation_id, user_id) do nothing;
+
+insert into order_messages (public_id, conversation_id, sender_user_id, message_type, body)
+select gen_random_uuid(), c.id, null, 'system', 'Chat opened for this order'
+from order_conversations c
+where c.conversation_type = 'order_main'
+  and not exists (
+      select 1
+      from order_messages m
+      where m.conversation_id = c.id
+  );
@@ -0,0 +1,8 @@
+drop index if exists ix_orders_maker_user_id_created_at;
+drop index if exists ix_orders_taker_user_id_created_at;
+
+create index if not exists ix_orders_maker_user_id_history
+    on orders (maker_user_id, created_at desc, id desc) include (status);
+
+create index if not exists ix_orders_taker_user_id_history
+    on orders (taker_user_id, created_at desc, id desc) include (status);
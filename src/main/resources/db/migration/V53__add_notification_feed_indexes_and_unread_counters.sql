@@ -0,0 +1,155 @@
+-- Feeds seek (user, created_at, id) from a cursor instead of paging by offset; unread feeds and
+-- mark-all-read only ever touch unread rows, so they get a partial index of their own.
+drop index if exists ix_notifications_user_created_at;
+drop index if exists ix_notifications_user_is_read;
+
+create index if not exists ix_notifications_user_feed
+    on notifications (user_id, created_at desc, id desc);
+
+create index if not exists ix_notifications_user_unread_feed
+    on notifications (user_id, created_at desc, id desc)
+    where not is_read;
+
+create index if not exists ix_notifications_read_at
+    on notifications (read_at)
+    where is_read;
+
+-- Unread counts are kept per user by statement-level triggers, so every writer of notifications
+-- (including bulk updates and retention) moves them without counting the user's rows again.
+create table notification_unread_counters
+(
+    user_id      bigint      primary key references users (id) on delete cascade,
+    unread_count bigint      not null default 0,
+    updated_at   timestamptz not null default now(),
+
+    constraint ck_notification_unread_counters_nonnegative
+        check (unread_count >= 0)
+);
+
+insert into notification_unread_counters (user_id, unread_count)
+select user_id, count(*)
+from notifications
+where not is_read
+group by user_id;
+
+create or replace function fn_notifications_count_inserted_unread()
+    returns trigger
+    language plpgsql
+as $$
+begin
+    insert into notification_unread_counters (user_id, unread_count)
+    select user_id, count(*)
+    from inserted_notifications
+    where not is_read
+    group by user_id
+    order by user_id
+    on conflict (user_id) do update
+        set unread_count = notification_unread_counters.unread_count + excluded.unread_count,
+            updated_at   = now();
+
+    return null;
+end;
+$$;
+
+create trigger trg_notifications_count_inserted_unread
+    after insert on notifications
+    referencing new table as inserted_notifications
+    for each statement
+execute function fn_notifications_count_inserted_unread();
+
+create or replace function fn_notifications_count_updated_unread()
+    returns trigger
+    language plpgsql
+as $$
+declare
+    change record;
+begin
+    for change in
+        select n.user_id,
+               sum((case when n.is_read then 0 else 1 end) - (case when o.is_read then 0 else 1 end)) as delta
+        from updated_notifications n
+        join previous_notifications o
+          on o.id = n.id
+        where n.is_read <> o.is_read
+        group by n.user_id
+        order by n.user_id
+    loop
+        insert into notification_unread_counters (user_id, unread_count)
+        values (change.user_id, greatest(change.delta, 0))
+        on conflict (user_id) do update
+            set unread_count = greatest(notification_unread_counters.unread_count + change.delta, 0),
+                updated_at   = now();
+    end loop;
+
+    return null;
+end;
+$$;
+
+create trigger trg_notifications_count_updated_unread
+    after update on notifications
+    referencing old table as previous_notifications new table as updated_notifications
+    for each statement
+execute function fn_notifications_count_updated_unread();
+
+create or replace function fn_notifications_count_deleted_unread()
+    returns trigger
+    language plpgsql
+as $$
+declare
+    change record;
+begin
+    for change in
+        select user_id, count(*) as removed
+        from deleted_notifications
+        where not is_read
+        group by user_id
+        order by user_id
+    loop
+        update notification_unread_counters
+        set unread_count = greatest(unread_count - change.removed, 0),
+            updated_at   = now()
+        where user_id = change.user_id;
+    end loop;
+
+    return null;
+end;
+$$;
+
+create trigger trg_notifications_count_deleted_unread
+    after delete on notifications
+    referencing old table as deleted_notifications
+    for each statement
+execute function fn_notifications_count_deleted_unread();
+
+create or replace function fn_notifications_reset_unread_counters()
+    returns trigger
+    language plpgsql
+as $$
+begin
+    delete from notification_unread_counters;
+    return null;
+end;
+$$;
+
+create trigger trg_notifications_reset_unread_counters
+    after truncate on notifications
+    for each statement
+execute function fn_notifications_reset_unread_counters();
+
+-- Old read notifications are moved here by the retention job to keep the hot table small.
+create table notifications_archive
+(
+    id          bigint       primary key,
+    public_id   uuid         not null,
+    user_id     bigint       not null references users (id) on delete cascade,
+    type        varchar(64)  not null,
+    title       varchar(200) not null,
+    body        text         not null,
+    payload     jsonb        not null,
+    created_at  timestamptz  not null,
+    read_at     timestamptz  not null,
+    archived_at timestamptz  not null default now()
+);
+
+create index if not exists ix_notifications_archive_user_created_at
+    on notifications_archive (user_id, created_at desc, id desc);
@@ -0,0 +1,94 @@
+package ru.maltsev.primemarketbackend.catalog.api;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+import ru.maltsev.primemarketbackend.catalog.api.dto.CatalogCacheStatsResponse;
+import ru.maltsev.primemarketbackend.catalog.service.CatalogCache;
+import ru.maltsev.primemarketbackend.security.user.UserPrincipal;
+import ru.maltsev.primemarketbackend.support.AbstractPostgresIntegrationTest;
+import ru.maltsev.primemarketbackend.user.domain.User;
+import ru.maltsev.primemarketbackend.user.repository.UserRepository;
+
+@ActiveProfiles("test")
+@SpringBootTest
+@AutoConfigureMockMvc
+class CatalogCacheAdminApiIntegrationTest extends AbstractPostgresIntegrationTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CatalogCache catalogCache;
+
+    @Test
+    void catalogReadsAreServedFromSnapshotAndRefreshBumpsVersion() throws Exception {
+        catalogCache.refresh();
+        CatalogCacheStatsResponse before = catalogCache.stats();
+
+        mockMvc.perform(get("/api/games"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].slug").value("path-of-exile"));
+        mockMvc.perform(get("/api/games/PATH-OF-EXILE/categories/currency/offer-schema"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.contexts").isArray());
+        mockMvc.perform(get("/api/games/path-of-exile/categories/unknown/offer-schema"))
+            .andExpect(status().isNotFound())
+            .andExpect(jsonPath("$.code").value("CATEGORY_NOT_FOUND"));
+
+        CatalogCacheStatsResponse after = catalogCache.stats();
+        assertThat(after.version()).isEqualTo(before.version());
+        assertThat(after.hits()).isGreaterThanOrEqualTo(before.hits() + 3);
+        assertThat(after.misses()).isEqualTo(before.misses());
+
+        User support = loadUser("sup1@123.123");
+        mockMvc.perform(post("/api/admin/catalog/cache/refresh").with(auth(support)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.version").value(before.version() + 1))
+            .andExpect(jsonPath("$.games").value(after.games()))
+            .andExpect(jsonPath("$.currencies").value(8));
+    }
+
+    @Test
+    void catalogCacheAdminEndpointsRequireCatalogManagePermission() throws Exception {
+        User regularUser = loadUser("user1@123.123");
+        User support = loadUser("sup1@123.123");
+
+        mockMvc.perform(get("/api/admin/catalog/cache").with(auth(regularUser)))
+            .andExpect(status().isForbidden());
+        mockMvc.perform(post("/api/backoffice/catalog/cache/refresh").with(auth(regularUser)))
+            .andExpect(status().isForbidden());
+
+        mockMvc.perform(get("/api/backoffice/catalog/cache").with(auth(support)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.hits").isNumber());
+    }
+
+    private User loadUser(String email) {
+        return userRepository.findWithRolesByEmailIgnoreCase(email)
+            .orElseThrow(() -> new IllegalStateException("User not found: " + email));
+    }
+
+    private RequestPostProcessor auth(User user) {
+        UserPrincipal principal = new UserPrincipal(user);
+        return authentication(new UsernamePasswordAuthenticationToken(
+            principal,
+            null,
+            principal.getAuthorities()
+        ));
+    }
+}
@@ -0,0 +1,98 @@
+package ru.maltsev.primemarketbackend.instrumentation.api;
+
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+import ru.maltsev.primemarketbackend.security.user.UserPrincipal;
+import ru.maltsev.primemarketbackend.support.AbstractPostgresIntegrationTest;
+import ru.maltsev.primemarketbackend.user.domain.User;
+import ru.maltsev.primemarketbackend.user.repository.UserRepository;
+
+@ActiveProfiles("test")
+@SpringBootTest
+@AutoConfigureMockMvc
+class InstrumentationAdminApiIntegrationTest extends AbstractPostgresIntegrationTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void methodStatsAreRecordedAndListedForMetricsViewers() throws Exception {
+        User support = loadUser("sup1@123.123");
+        User regularUser = loadUser("user1@123.123");
+
+        mockMvc.perform(post("/api/admin/instrumentation/methods/reset").with(auth(support)))
+            .andExpect(status().isNoContent());
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(get("/api/games")).andExpect(status().isOk());
+        }
+
+        mockMvc.perform(get("/api/admin/instrumentation/methods")
+                .queryParam("sort", "calls")
+                .queryParam("limit", "100")
+                .with(auth(support)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[*].name").value(hasItem("GameService.getActiveGames()")))
+            .andExpect(jsonPath("$[?(@.name == 'GameService.getActiveGames()')].calls").value(hasItem(3)));
+
+        mockMvc.perform(get("/api/admin/instrumentation/methods")
+                .queryParam("sort", "slowest")
+                .with(auth(support)))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.code").value("VALIDATION_ERROR"));
+        mockMvc.perform(get("/api/backoffice/instrumentation/methods").with(auth(regularUser)))
+            .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void routeLatencyAndAccessLogAreAggregatedByRouteTemplate() throws Exception {
+        User support = loadUser("sup1@123.123");
+
+        mockMvc.perform(post("/api/admin/instrumentation/routes/reset").with(auth(support)))
+            .andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/games/path-of-exile/categories")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/games/albion-online/categories")).andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/admin/instrumentation/routes")
+                .queryParam("sort", "calls")
+                .with(auth(support)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[*].name").value(hasItem("GET /api/games/{gameSlug}/categories")))
+            .andExpect(jsonPath("$[?(@.name == 'GET /api/games/{gameSlug}/categories')].calls").value(hasItem(2)));
+
+        mockMvc.perform(get("/api/admin/instrumentation/access-log").with(auth(support)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.enabled").value(true))
+            .andExpect(jsonPath("$.accepted").value(greaterThanOrEqualTo(2)))
+            .andExpect(jsonPath("$.dropped").value(0));
+    }
+
+    private User loadUser(String email) {
+        return userRepository.findWithRolesByEmailIgnoreCase(email)
+            .orElseThrow(() -> new IllegalStateException("User not found: " + email));
+    }
+
+    private RequestPostProcessor auth(User user) {
+        UserPrincipal principal = new UserPrincipal(user);
+        return authentication(new UsernamePasswordAuthenticationToken(
+            principal,
+            null,
+            principal.getAuthorities()
+        ));
+    }
+}
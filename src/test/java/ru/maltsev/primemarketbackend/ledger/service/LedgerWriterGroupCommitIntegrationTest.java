@@ -0,0 +1,158 @@
+package ru.maltsev.primemarketbackend.ledger.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.maltsev.primemarketbackend.account.domain.UserAccount;
+import ru.maltsev.primemarketbackend.account.service.UserAccountService;
+import ru.maltsev.primemarketbackend.security.user.UserPrincipal;
+import ru.maltsev.primemarketbackend.support.AbstractPostgresIntegrationTest;
+import ru.maltsev.primemarketbackend.user.domain.User;
+import ru.maltsev.primemarketbackend.user.repository.UserRepository;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = "app.ledger.group-commit.enabled=true")
+@AutoConfigureMockMvc
+class LedgerWriterGroupCommitIntegrationTest extends AbstractPostgresIntegrationTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserAccountService userAccountService;
+
+    @Autowired
+    private LedgerWriter ledgerWriter;
+
+    @BeforeEach
+    void resetState() {
+        jdbcTemplate.execute("""
+            truncate table
+                ledger_postings,
+                platform_account_txs,
+                platform_accounts
+            restart identity cascade
+            """);
+    }
+
+    @Test
+    void platformFeesQueuedByManyOrdersAreAppliedInOneBatch() throws Exception {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (long orderId = 1; orderId <= 50; orderId++) {
+                ledgerWriter.creditPlatform("USD", new BigDecimal("0.5000"), "ORDER_PLATFORM_FEE", "ORDER_PLATFORM_FEE", orderId);
+            }
+        });
+        assertThat(loadPlatformBalance("USD")).isEqualByComparingTo("0");
+
+        awaitNoPendingPostings();
+
+        assertThat(loadPlatformBalance("USD")).isEqualByComparingTo("25.0000");
+        assertThat(countPlatformTxs()).isEqualTo(50);
+        assertThat(ledgerWriter.stats().largestBatch()).isGreaterThanOrEqualTo(50);
+
+        User support = userRepository.findWithRolesByEmailIgnoreCase("sup1@123.123").orElseThrow();
+        mockMvc.perform(get("/api/admin/ledger/writer").with(auth(support)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.mode").value("group-commit"))
+            .andExpect(jsonPath("$.pending").value(0));
+    }
+
+    @Test
+    void repeatedRefIsBookedOnlyOnce() {
+        transactionTemplate.executeWithoutResult(status ->
+            ledgerWriter.creditPlatform("USD", new BigDecimal("1.0000"), "ORDER_PLATFORM_FEE", "ORDER_PLATFORM_FEE", 7L)
+        );
+        ledgerWriter.flush();
+        long skippedBefore = ledgerWriter.stats().duplicatesSkipped();
+
+        transactionTemplate.executeWithoutResult(status ->
+            ledgerWriter.creditPlatform("USD", new BigDecimal("1.0000"), "ORDER_PLATFORM_FEE", "ORDER_PLATFORM_FEE", 7L)
+        );
+        ledgerWriter.flush();
+
+        assertThat(loadPlatformBalance("USD")).isEqualByComparingTo("1.0000");
+        assertThat(countPlatformTxs()).isEqualTo(1);
+        assertThat(ledgerWriter.stats().duplicatesSkipped()).isEqualTo(skippedBefore + 1);
+    }
+
+    @Test
+    void userCreditIsAppliedAfterCommit() throws Exception {
+        User user = userRepository.findWithRolesByEmailIgnoreCase("user1@123.123").orElseThrow();
+        UserAccount account = userAccountService.getOrCreateAccount(user.getId(), "USD");
+        BigDecimal balanceBefore = loadUserBalance(account.getId());
+        long refId = System.nanoTime();
+
+        transactionTemplate.executeWithoutResult(status ->
+            ledgerWriter.creditUser(account, new BigDecimal("12.3400"), "TEST_TOP_UP", "LEDGER_TEST", refId)
+        );
+        awaitNoPendingPostings();
+
+        assertThat(loadUserBalance(account.getId())).isEqualByComparingTo(balanceBefore.add(new BigDecimal("12.3400")));
+    }
+
+    private void awaitNoPendingPostings() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (countPendingPostings() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(countPendingPostings()).isZero();
+    }
+
+    private int countPendingPostings() {
+        Integer count = jdbcTemplate.queryForObject("select count(*) from ledger_postings", Integer.class);
+        return count == null ? 0 : count;
+    }
+
+    private int countPlatformTxs() {
+        Integer count = jdbcTemplate.queryForObject("select count(*) from platform_account_txs", Integer.class);
+        return count == null ? 0 : count;
+    }
+
+    private BigDecimal loadPlatformBalance(String currencyCode) {
+        return jdbcTemplate.query(
+            "select balance from platform_accounts where currency_code = ?",
+            rs -> rs.next() ? rs.getBigDecimal(1) : BigDecimal.ZERO,
+            currencyCode
+        );
+    }
+
+    private BigDecimal loadUserBalance(Long userAccountId) {
+        return jdbcTemplate.queryForObject(
+            "select balance from user_accounts where id = ?",
+            BigDecimal.class,
+            userAccountId
+        );
+    }
+
+    private RequestPostProcessor auth(User user) {
+        UserPrincipal principal = new UserPrincipal(user);
+        return authentication(new UsernamePasswordAuthenticationToken(
+            principal,
+            null,
+            principal.getAuthorities()
+        ));
+    }
+}
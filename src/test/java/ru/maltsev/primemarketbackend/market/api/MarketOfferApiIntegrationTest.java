@@ -3,6 +3,7 @@ package ru.maltsev.primemarketbackend.market.api;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -11,6 +12,8 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicLong;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -28,6 +31,13 @@ import ru.maltsev.primemarketbackend.account.domain.UserAccount;
 import ru.maltsev.primemarketbackend.account.service.UserAccountService;
 import ru.maltsev.primemarketbackend.category.domain.Category;
 import ru.maltsev.primemarketbackend.category.repository.CategoryRepository;
+import ru.maltsev.primemarketbackend.market.repository.MarketOfferQueryRepository;
+import ru.maltsev.primemarketbackend.market.repository.MarketOfferQueryRepository.MarketOfferPageData;
+import ru.maltsev.primemarketbackend.market.repository.MarketOfferQueryRepository.MarketOfferRecord;
+import ru.maltsev.primemarketbackend.market.repository.MarketOfferSearchCriteria;
+import ru.maltsev.primemarketbackend.market.service.MarketIntent;
+import ru.maltsev.primemarketbackend.market.service.MarketOrderBook;
+import ru.maltsev.primemarketbackend.market.service.MarketPriceSort;
 import ru.maltsev.primemarketbackend.offer.domain.Offer;
 import ru.maltsev.primemarketbackend.offer.repository.OfferRepository;
 import ru.maltsev.primemarketbackend.security.user.UserPrincipal;
@@ -60,6 +70,12 @@ class MarketOfferApiIntegrationTest extends AbstractPostgresIntegrationTest {
     @Autowired
     private UserAccountService userAccountService;
 
+    @Autowired
+    private MarketOfferQueryRepository marketOfferQueryRepository;
+
+    @Autowired
+    private MarketOrderBook marketOrderBook;
+
     private final AtomicLong testRefIdSequence = new AtomicLong(1L);
 
     @BeforeEach
@@ -130,6 +146,36 @@ class MarketOfferApiIntegrationTest extends AbstractPostgresIntegrationTest {
         assertThat(item.path("price").path("amount").decimalValue()).isEqualByComparingTo("231.25000000");
     }
 
+    @Test
+    void marketListingFollowsCurrencyRateUpdates() throws Exception {
+        User seller = createUser("seller-rate-update");
+        createActiveOffer(seller, "sell", "USD", "2.50", "divine-orb", "Rate follower");
+
+        jdbcTemplate.update(
+            "update currency_rates set rate = ? where from_currency_code = 'RUB' and to_currency_code = 'USD'",
+            new BigDecimal("0.01250000")
+        );
+        try {
+            MvcResult result = mockMvc.perform(get("/api/market/offers")
+                    .queryParam("gameSlug", "path-of-exile")
+                    .queryParam("categorySlug", "currency")
+                    .queryParam("intent", "buy")
+                    .queryParam("viewerCurrencyCode", "RUB"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andReturn();
+
+            JsonNode item = readBody(result).path("items").get(0);
+            assertThat(item.path("price").path("rate").decimalValue()).isEqualByComparingTo("0.01250000");
+            assertThat(item.path("price").path("amount").decimalValue()).isEqualByComparingTo("200.00000000");
+        } finally {
+            jdbcTemplate.update(
+                "update currency_rates set rate = ? where from_currency_code = 'RUB' and to_currency_code = 'USD'",
+                new BigDecimal("0.01050000")
+            );
+        }
+    }
+
     @Test
     void marketListingFiltersByCurrencyType() throws Exception {
         User seller = createUser("seller-filter");
@@ -187,6 +233,124 @@ class MarketOfferApiIntegrationTest extends AbstractPostgresIntegrationTest {
         assertThat(items.get(1).path("price").path("amount").decimalValue()).isEqualByComparingTo("190.47619048");
     }
 
+    @Test
+    void marketListingKeysetPaginationWalksPagesWithoutTotal() throws Exception {
+        User seller = createUser("seller-keyset");
+        createActiveOffer(seller, "sell", "RUB", "100.00", "divine-orb", "First");
+        createActiveOffer(seller, "sell", "RUB", "150.00", "divine-orb", "Second");
+        createActiveOffer(seller, "sell", "RUB", "150.00", "chaos-orb", "Third");
+
+        MvcResult firstPage = mockMvc.perform(get("/api/market/offers")
+                .queryParam("gameSlug", "path-of-exile")
+                .queryParam("categorySlug", "currency")
+                .queryParam("intent", "buy")
+                .queryParam("viewerCurrencyCode", "RUB")
+                .queryParam("pagination", "keyset")
+                .queryParam("size", "2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items.length()").value(2))
+            .andExpect(jsonPath("$.items[0].title").value("First"))
+            .andExpect(jsonPath("$.items[1].title").value("Third"))
+            .andExpect(jsonPath("$.total").doesNotExist())
+            .andReturn();
+        String nextCursor = readBody(firstPage).path("nextCursor").asText();
+        assertThat(nextCursor).isNotBlank();
+
+        mockMvc.perform(get("/api/market/offers")
+                .queryParam("gameSlug", "path-of-exile")
+                .queryParam("categorySlug", "currency")
+                .queryParam("intent", "buy")
+                .queryParam("viewerCurrencyCode", "RUB")
+                .queryParam("cursor", nextCursor)
+                .queryParam("size", "2")
+                .queryParam("includeTotal", "true"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items.length()").value(1))
+            .andExpect(jsonPath("$.items[0].title").value("Second"))
+            .andExpect(jsonPath("$.total").value(3))
+            .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void marketListingRejectsCursorIssuedForAnotherSort() throws Exception {
+        User seller = createUser("seller-keyset-sort");
+        createActiveOffer(seller, "sell", "RUB", "100.00", "divine-orb", "First");
+        createActiveOffer(seller, "sell", "RUB", "150.00", "divine-orb", "Second");
+
+        MvcResult firstPage = mockMvc.perform(get("/api/market/offers")
+                .queryParam("gameSlug", "path-of-exile")
+                .queryParam("categorySlug", "currency")
+                .queryParam("intent", "buy")
+                .queryParam("viewerCurrencyCode", "RUB")
+                .queryParam("pagination", "keyset")
+                .queryParam("size", "1"))
+            .andExpect(status().isOk())
+            .andReturn();
+
+        mockMvc.perform(get("/api/market/offers")
+                .queryParam("gameSlug", "path-of-exile")
+                .queryParam("categorySlug", "currency")
+                .queryParam("intent", "buy")
+                .queryParam("viewerCurrencyCode", "RUB")
+                .queryParam("sort", "price_desc")
+                .queryParam("cursor", readBody(firstPage).path("nextCursor").asText()))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.code").value("INVALID_MARKET_CURSOR"));
+    }
+
+    @Test
+    void marketOrderBookMatchesSqlListingAndFollowsOfferUpdates() throws Exception {
+        User seller = createUser("seller-order-book");
+        long usdOfferId = createActiveOffer(seller, "sell", "USD", "2.00", "divine-orb", "USD offer");
+        createActiveOffer(seller, "sell", "RUB", "150.00", "chaos-orb", "RUB offer");
+        createActiveOffer(seller, "sell", "KZT", "1000.00", "divine-orb", "No RUB rate");
+        User buyer = createUser("buyer-order-book");
+        createActiveOffer(buyer, "buy", "USD", "2.50", "divine-orb", "Buy offer");
+        Category category = requireCategory("path-of-exile", "currency");
+
+        marketOrderBook.rebuild();
+
+        for (MarketIntent intent : MarketIntent.values()) {
+            for (MarketPriceSort sort : MarketPriceSort.values()) {
+                for (String currencyType : Arrays.asList(null, "divine-orb")) {
+                    MarketOfferSearchCriteria criteria = new MarketOfferSearchCriteria(
+                        category.getGame().getId(),
+                        category.getId(),
+                        intent.offerSide(),
+                        "RUB",
+                        intent,
+                        sort,
+                        "pc",
+                        null,
+                        null,
+                        null,
+                        currencyType,
+                        0,
+                        20,
+                        null
+                    );
+                    MarketOfferPageData fromBook = marketOrderBook.findCurrencyOffers(criteria);
+                    MarketOfferPageData fromSql = marketOfferQueryRepository.findCurrencyOffers(criteria);
+                    assertThat(fromBook.total()).isEqualTo(fromSql.total());
+                    assertThat(offerKeys(fromBook.items())).isEqualTo(offerKeys(fromSql.items()));
+                }
+            }
+        }
+
+        mockMvc.perform(patch("/api/offers/{offerId}", usdOfferId)
+                .with(auth(seller))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                    {"priceAmount": 1.00}
+                    """))
+            .andExpect(status().isOk());
+
+        MarketOfferRecord updated = marketOrderBook.findCurrencyOfferById(usdOfferId, MarketIntent.BUY, "RUB")
+            .orElseThrow();
+        assertThat(updated.displayPriceAmount()).isEqualByComparingTo("95.23809524");
+        assertThat(marketOrderBook.findCurrencyOfferById(usdOfferId, MarketIntent.SELL, "RUB")).isEmpty();
+    }
+
     @Test
     void marketListingReturnsEffectiveQuantityLimitsForRelaxedRawOfferRules() throws Exception {
         User seller = createUser("seller-effective-limits");
@@ -464,6 +628,18 @@ class MarketOfferApiIntegrationTest extends AbstractPostgresIntegrationTest {
             """.formatted(gameId, categoryId, side, title, currencyCode, priceAmount, currencyType);
     }
 
+    private List<String> offerKeys(List<MarketOfferRecord> offers) {
+        return offers.stream()
+            .map(offer -> "%d|%s|%s|%s|%s".formatted(
+                offer.id(),
+                offer.displayPriceAmount().stripTrailingZeros().toPlainString(),
+                offer.rate().stripTrailingZeros().toPlainString(),
+                offer.quantity().stripTrailingZeros().toPlainString(),
+                offer.maxTradeQuantity().stripTrailingZeros().toPlainString()
+            ))
+            .toList();
+    }
+
     private JsonNode readBody(MvcResult result) throws Exception {
         return objectMapper.readTree(result.getResponse().getContentAsString());
     }
@@ -4,6 +4,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.databind.JsonNode;
@@ -12,9 +13,16 @@ import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import java.math.BigDecimal;
 import java.sql.Timestamp;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -28,6 +36,7 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.RequestPostProcessor;
+import org.springframework.transaction.support.TransactionTemplate;
 import ru.maltsev.primemarketbackend.account.domain.UserAccount;
 import ru.maltsev.primemarketbackend.account.service.UserAccountService;
 import ru.maltsev.primemarketbackend.category.domain.Category;
@@ -35,6 +44,10 @@ import ru.maltsev.primemarketbackend.category.repository.CategoryRepository;
 import ru.maltsev.primemarketbackend.notification.domain.Notification;
 import ru.maltsev.primemarketbackend.notification.domain.NotificationTypes;
 import ru.maltsev.primemarketbackend.notification.repository.NotificationRepository;
+import ru.maltsev.primemarketbackend.notification.service.NotificationRetentionSweeper;
+import ru.maltsev.primemarketbackend.notification.service.NotificationService;
+import ru.maltsev.primemarketbackend.order.domain.Order;
+import ru.maltsev.primemarketbackend.order.repository.OrderRepository;
 import ru.maltsev.primemarketbackend.security.user.UserPrincipal;
 import ru.maltsev.primemarketbackend.support.AbstractPostgresIntegrationTest;
 import ru.maltsev.primemarketbackend.user.domain.User;
@@ -67,6 +80,18 @@ class NotificationApiIntegrationTest extends AbstractPostgresIntegrationTest {
     @Autowired
     private NotificationRepository notificationRepository;
 
+    @Autowired
+    private NotificationRetentionSweeper notificationRetentionSweeper;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
     private final AtomicLong testRefIdSequence = new AtomicLong(1000L);
 
     @BeforeEach
@@ -279,6 +304,150 @@ class NotificationApiIntegrationTest extends AbstractPostgresIntegrationTest {
         assertThat(unreadCount(otherUser)).isEqualTo(1L);
     }
 
+    @Test
+    void feedWalksNotificationsByCursorNewestFirst() throws Exception {
+        User user = createUser("notifications-feed-owner");
+        User otherUser = createUser("notifications-feed-other");
+        Notification oldest = saveNotification(
+            user,
+            NotificationTypes.ORDER_CREATED,
+            Instant.parse("2026-04-20T08:00:00Z"),
+            false
+        );
+        Notification tiedFirst = saveNotification(
+            user,
+            NotificationTypes.ORDER_CREATED,
+            Instant.parse("2026-04-20T09:00:00Z"),
+            true
+        );
+        Notification tiedSecond = saveNotification(
+            user,
+            NotificationTypes.ORDER_STATUS_CHANGED,
+            Instant.parse("2026-04-20T09:00:00Z"),
+            false
+        );
+        Notification newer = saveNotification(
+            user,
+            NotificationTypes.ORDER_MESSAGE_RECEIVED,
+            Instant.parse("2026-04-20T10:00:00Z"),
+            false
+        );
+        Notification newest = saveNotification(
+            user,
+            NotificationTypes.DEPOSIT_CONFIRMED,
+            Instant.parse("2026-04-20T11:00:00Z"),
+            true
+        );
+        saveNotification(
+            otherUser,
+            NotificationTypes.ORDER_CREATED,
+            Instant.parse("2026-04-20T10:30:00Z"),
+            false
+        );
+
+        assertThat(walkFeed(user, null)).containsExactly(
+            newest.getPublicId().toString(),
+            newer.getPublicId().toString(),
+            tiedSecond.getPublicId().toString(),
+            tiedFirst.getPublicId().toString(),
+            oldest.getPublicId().toString()
+        );
+        assertThat(walkFeed(user, false)).containsExactly(
+            newer.getPublicId().toString(),
+            tiedSecond.getPublicId().toString(),
+            oldest.getPublicId().toString()
+        );
+
+        mockMvc.perform(get("/api/notifications/feed").with(auth(user)).param("cursor", "not-a-cursor"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.code").value("INVALID_NOTIFICATION_CURSOR"));
+    }
+
+    @Test
+    void retentionArchivesOldReadNotificationsAndKeepsUnreadCount() throws Exception {
+        User user = createUser("notifications-retention-owner");
+        Instant now = Instant.now();
+        Notification oldRead = saveNotification(
+            user,
+            NotificationTypes.ORDER_CREATED,
+            now.minus(Duration.ofDays(200)),
+            true
+        );
+        Notification oldUnread = saveNotification(
+            user,
+            NotificationTypes.ORDER_CREATED,
+            now.minus(Duration.ofDays(200)),
+            false
+        );
+        Notification recentRead = saveNotification(
+            user,
+            NotificationTypes.ORDER_STATUS_CHANGED,
+            now.minus(Duration.ofDays(1)),
+            true
+        );
+        assertThat(unreadCount(user)).isEqualTo(1L);
+
+        notificationRetentionSweeper.sweep(now);
+
+        assertThat(notificationRepository.findById(oldRead.getId())).isEmpty();
+        assertThat(jdbcTemplate.queryForObject(
+            "select count(*) from notifications_archive where public_id = ?",
+            Long.class,
+            oldRead.getPublicId()
+        )).isEqualTo(1L);
+        assertThat(walkFeed(user, null)).containsExactly(
+            recentRead.getPublicId().toString(),
+            oldUnread.getPublicId().toString()
+        );
+        assertThat(unreadCount(user)).isEqualTo(1L);
+        assertThat(notificationRetentionSweeper.stats().lastSweepArchived()).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    void crossedMultiRecipientNotificationsDoNotDeadlockOnUnreadCounters() throws Exception {
+        User seller = createUser("notification-crossed-seller");
+        User buyer = createUser("notification-crossed-buyer");
+        fundWallet(buyer, "RUB", "10000.0000");
+        JsonNode created = createPendingSellOrder(seller, buyer, "20", "Notification crossed recipients");
+        Order order = orderRepository.findByPublicId(UUID.fromString(created.path("publicId").asText())).orElseThrow();
+        long sellerUnreadBefore = unreadCount(seller);
+        long buyerUnreadBefore = unreadCount(buyer);
+
+        int threads = 4;
+        int notificationsPerThread = 10;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                List<Long> recipients = t % 2 == 0
+                    ? List.of(seller.getId(), buyer.getId())
+                    : List.of(buyer.getId(), seller.getId());
+                results.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < notificationsPerThread; i++) {
+                        transactionTemplate.executeWithoutResult(
+                            status -> notificationService.notifyOrderStatusChanged(order, recipients)
+                        );
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        int expected = threads * notificationsPerThread;
+        assertThat(loadNotificationsByType(seller.getId(), NotificationTypes.ORDER_STATUS_CHANGED)).hasSize(expected);
+        assertThat(loadNotificationsByType(buyer.getId(), NotificationTypes.ORDER_STATUS_CHANGED)).hasSize(expected);
+        assertThat(unreadCount(seller)).isEqualTo(sellerUnreadBefore + expected);
+        assertThat(unreadCount(buyer)).isEqualTo(buyerUnreadBefore + expected);
+    }
+
     @Test
     void orderCreatedFlowCreatesNotificationForMaker() throws Exception {
         User seller = createUser("notification-order-maker");
@@ -401,6 +570,26 @@ class NotificationApiIntegrationTest extends AbstractPostgresIntegrationTest {
         return readBody(result);
     }
 
+    private List<String> walkFeed(User user, Boolean isRead) throws Exception {
+        List<String> publicIds = new ArrayList<>();
+        String cursor = null;
+        do {
+            var request = get("/api/notifications/feed").with(auth(user)).param("size", "2");
+            if (isRead != null) {
+                request.param("isRead", isRead.toString());
+            }
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            JsonNode page = readBody(mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn());
+            page.path("items").forEach(item -> publicIds.add(item.path("publicId").asText()));
+            cursor = page.path("nextCursor").isNull() ? null : page.path("nextCursor").asText();
+        } while (cursor != null);
+        return publicIds;
+    }
+
     private long unreadCount(User user) throws Exception {
         MvcResult result = mockMvc.perform(get("/api/notifications/unread-count").with(auth(user)))
             .andExpect(status().isOk())
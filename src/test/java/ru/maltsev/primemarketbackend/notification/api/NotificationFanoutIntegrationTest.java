@@ -0,0 +1,201 @@
+package ru.maltsev.primemarketbackend.notification.api;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import ru.maltsev.primemarketbackend.PrimeMarketBackendApplication;
+import ru.maltsev.primemarketbackend.notification.domain.NotificationTypes;
+import ru.maltsev.primemarketbackend.notification.service.NotificationFanout;
+import ru.maltsev.primemarketbackend.notification.service.NotificationService;
+import ru.maltsev.primemarketbackend.notification.service.NotificationSseRegistry;
+import ru.maltsev.primemarketbackend.security.jwt.JwtService;
+import ru.maltsev.primemarketbackend.security.user.UserPrincipal;
+import ru.maltsev.primemarketbackend.support.AbstractPostgresIntegrationTest;
+import ru.maltsev.primemarketbackend.user.domain.User;
+import ru.maltsev.primemarketbackend.user.repository.UserRepository;
+
+@ActiveProfiles("test")
+@SpringBootTest
+class NotificationFanoutIntegrationTest extends AbstractPostgresIntegrationTest {
+    private static final List<String> SHARED_PROPERTIES = List.of(
+        "spring.datasource.url",
+        "spring.datasource.username",
+        "spring.datasource.password",
+        "spring.flyway.locations",
+        "spring.flyway.default-schema",
+        "spring.flyway.schemas",
+        "spring.flyway.create-schemas",
+        "spring.jpa.properties.hibernate.default_schema",
+        "security.jwt.secret",
+        "app.email.verification-required"
+    );
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final List<Stream<String>> openStreams = new CopyOnWriteArrayList<>();
+    private ConfigurableApplicationContext secondNode;
+
+    @BeforeEach
+    void startSecondNode() {
+        jdbcTemplate.execute("truncate table notifications restart identity cascade");
+        jdbcTemplate.update("delete from users where email like ?", "%.notification-fanout.example.test");
+        // Command-line arguments, unlike builder default properties, take precedence over application.yaml.
+        List<String> arguments = new ArrayList<>();
+        for (String key : SHARED_PROPERTIES) {
+            arguments.add("--" + key + "=" + environment.getRequiredProperty(key));
+        }
+        arguments.add("--server.port=0");
+        secondNode = new SpringApplicationBuilder(PrimeMarketBackendApplication.class)
+            .profiles("test")
+            .run(arguments.toArray(String[]::new));
+    }
+
+    @AfterEach
+    void stopSecondNode() {
+        openStreams.forEach(Stream::close);
+        if (secondNode != null) {
+            // Open SSE requests would otherwise hold graceful shutdown for its full timeout.
+            secondNode.getBean(NotificationSseRegistry.class).disconnectAll();
+            secondNode.close();
+        }
+    }
+
+    @Test
+    void notificationCreatedOnOneNodeReachesSubscriberOnAnotherNode() throws Exception {
+        User user = createUser("fanout-cross-node");
+        List<String> lines = openStream(user, null);
+        awaitLine(lines, "event:stream.connected");
+
+        UUID publicId = notificationService.createNotification(
+            user.getId(),
+            NotificationTypes.ORDER_CREATED,
+            "Cross node",
+            "Created on node A",
+            payload("cross-node")
+        );
+
+        awaitLine(lines, publicId.toString());
+        awaitLine(lines, "\"count\":1");
+        // The created event carries the unread delta, so one fan-out message moves both.
+        assertThat(secondNode.getBean(NotificationFanout.class).stats().delivered()).isEqualTo(1);
+    }
+
+    @Test
+    void reconnectWithLastEventIdReplaysNotificationsMissedWhileDisconnected() throws Exception {
+        User user = createUser("fanout-replay");
+        List<String> lines = openStream(user, null);
+        awaitLine(lines, "event:stream.connected");
+
+        UUID seen = notificationService.createNotification(
+            user.getId(),
+            NotificationTypes.ORDER_CREATED,
+            "Seen",
+            "Delivered live",
+            payload("replay-seen")
+        );
+        awaitLine(lines, seen.toString());
+        String lastEventId = lines.stream()
+            .filter(line -> line.startsWith("id:"))
+            .reduce((first, second) -> second)
+            .map(line -> line.substring("id:".length()).trim())
+            .orElseThrow();
+        openStreams.forEach(Stream::close);
+        openStreams.clear();
+
+        UUID missed = notificationService.createNotification(
+            user.getId(),
+            NotificationTypes.ORDER_STATUS_CHANGED,
+            "Missed",
+            "Created while offline",
+            payload("replay-missed")
+        );
+
+        List<String> resumed = openStream(user, lastEventId);
+        awaitLine(resumed, missed.toString());
+        assertThat(resumed).noneMatch(line -> line.contains(seen.toString()));
+    }
+
+    private List<String> openStream(User user, String lastEventId) throws Exception {
+        int port = ((WebServerApplicationContext) secondNode).getWebServer().getPort();
+        String token = secondNode.getBean(JwtService.class).generateToken(new UserPrincipal(user));
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/notifications/stream"))
+            .header("Authorization", "Bearer " + token)
+            .header("Accept", "text/event-stream");
+        if (lastEventId != null) {
+            request.header("Last-Event-ID", lastEventId);
+        }
+        HttpResponse<Stream<String>> response = httpClient
+            .sendAsync(request.build(), HttpResponse.BodyHandlers.ofLines())
+            .get(10, TimeUnit.SECONDS);
+        assertThat(response.statusCode()).isEqualTo(200);
+
+        List<String> lines = new CopyOnWriteArrayList<>();
+        Stream<String> body = response.body();
+        openStreams.add(body);
+        Thread.ofVirtual().start(() -> {
+            try {
+                body.forEach(lines::add);
+            } catch (RuntimeException ignored) {
+                // Closed by the test.
+            }
+        });
+        return lines;
+    }
+
+    private void awaitLine(List<String> lines, String expected) throws Exception {
+        Instant deadline = Instant.now().plus(Duration.ofSeconds(10));
+        while (Instant.now().isBefore(deadline)) {
+            if (lines.stream().anyMatch(line -> line.contains(expected))) {
+                return;
+            }
+            Thread.sleep(50L);
+        }
+        throw new AssertionError("SSE stream does not contain '%s'. Lines: %s".formatted(expected, lines));
+    }
+
+    private User createUser(String slug) {
+        User user = new User(slug, slug + "@notification-fanout.example.test", "password-hash");
+        user.setActive(true);
+        return userRepository.saveAndFlush(user);
+    }
+
+    private ObjectNode payload(String suffix) {
+        return JsonNodeFactory.instance.objectNode()
+            .put("orderPublicId", UUID.nameUUIDFromBytes(("fanout-" + suffix).getBytes()).toString());
+    }
+}
@@ -1,9 +1,11 @@
 package ru.maltsev.primemarketbackend.notification.api;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -30,6 +32,7 @@ import org.springframework.test.web.servlet.request.RequestPostProcessor;
 import ru.maltsev.primemarketbackend.notification.domain.NotificationTypes;
 import ru.maltsev.primemarketbackend.notification.service.NotificationService;
 import ru.maltsev.primemarketbackend.notification.service.NotificationSseRegistry;
+import ru.maltsev.primemarketbackend.notification.service.NotificationUnreadCounters;
 import ru.maltsev.primemarketbackend.security.user.UserPrincipal;
 import ru.maltsev.primemarketbackend.support.AbstractPostgresIntegrationTest;
 import ru.maltsev.primemarketbackend.user.domain.User;
@@ -57,6 +60,9 @@ class NotificationStreamIntegrationTest extends AbstractPostgresIntegrationTest
     @Autowired
     private NotificationSseRegistry notificationSseRegistry;
 
+    @Autowired
+    private NotificationUnreadCounters notificationUnreadCounters;
+
     @BeforeEach
     void resetState() {
         notificationSseRegistry.disconnectAll();
@@ -207,6 +213,59 @@ class NotificationStreamIntegrationTest extends AbstractPostgresIntegrationTest
         awaitStreamContains(stream, "\"count\":0");
     }
 
+    @Test
+    void unreadCounterIsReconciledWithChangesMadeOutsideTheService() throws Exception {
+        User user = createUser("stream-reconcile");
+        MvcResult stream = openStream(user);
+        awaitStreamContains(stream, "\"count\":0");
+
+        jdbcTemplate.update(
+            """
+                insert into notifications (public_id, user_id, type, title, body, payload)
+                values (?, ?, ?, ?, ?, '{}'::jsonb)
+                """,
+            UUID.randomUUID(),
+            user.getId(),
+            NotificationTypes.ORDER_CREATED,
+            "Out of band",
+            "Inserted without a stream event"
+        );
+        long correctionsBefore = notificationUnreadCounters.corrections();
+
+        notificationUnreadCounters.reconcile();
+
+        awaitStreamContains(stream, "\"count\":1");
+        assertThat(notificationUnreadCounters.corrections()).isEqualTo(correctionsBefore + 1);
+
+        notificationService.createNotification(
+            user.getId(),
+            NotificationTypes.ORDER_STATUS_CHANGED,
+            "Live after reconcile",
+            "Live after reconcile body",
+            payload("reconcile-live")
+        );
+
+        awaitStreamContains(stream, "\"count\":2");
+    }
+
+    @Test
+    void streamStatsExposeConnectionQueues() throws Exception {
+        User user = createUser("stream-stats");
+        MvcResult stream = openStream(user);
+        awaitStreamContains(stream, "\"count\":0");
+
+        User support = userRepository.findWithRolesByEmailIgnoreCase("sup1@123.123").orElseThrow();
+        mockMvc.perform(get("/api/admin/notifications/stream").with(auth(support)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.connections").value(1))
+            .andExpect(jsonPath("$.slowConsumerPolicy").value("disconnect"))
+            .andExpect(jsonPath("$.queueCapacity").value(256))
+            .andExpect(jsonPath("$.sent").value(greaterThanOrEqualTo(2)));
+
+        mockMvc.perform(get("/api/admin/notifications/stream").with(auth(user)))
+            .andExpect(status().isForbidden());
+    }
+
     private User createUser(String slug) {
         String username = slug;
         if (username.length() > 24) {
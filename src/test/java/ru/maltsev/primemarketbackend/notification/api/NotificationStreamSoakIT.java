@@ -0,0 +1,380 @@
+package ru.maltsev.primemarketbackend.notification.api;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.BooleanSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.maltsev.primemarketbackend.notification.api.dto.NotificationStreamStatsResponse;
+import ru.maltsev.primemarketbackend.notification.domain.NotificationTypes;
+import ru.maltsev.primemarketbackend.notification.service.NotificationService;
+import ru.maltsev.primemarketbackend.notification.service.NotificationSseRegistry;
+import ru.maltsev.primemarketbackend.notification.service.NotificationStreamService;
+import ru.maltsev.primemarketbackend.security.jwt.JwtService;
+import ru.maltsev.primemarketbackend.security.user.UserPrincipal;
+import ru.maltsev.primemarketbackend.support.AbstractPostgresIntegrationTest;
+import ru.maltsev.primemarketbackend.user.repository.UserRepository;
+
+// Soak harness, run with: mvn -Pnotification-soak test -Dsoak.streams=20000 -Dsoak.events=2000
+// Add -Dsoak.virtual-threads=true or -Dsoak.delivery-executor=platform to compare execution modes.
+// Streams are read by one selector thread in this JVM, so the heap figure is an upper bound that also
+// includes the harness' own per-socket state.
+@ActiveProfiles("test")
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = {
+        "security.jwt.stateless.enabled=true",
+        "server.tomcat.max-connections=200000",
+        "server.tomcat.accept-count=1000"
+    }
+)
+class NotificationStreamSoakIT extends AbstractPostgresIntegrationTest {
+    private static final int STREAMS = Integer.getInteger("soak.streams", 2000);
+    private static final int EVENTS = Integer.getInteger("soak.events", 500);
+    private static final int CONNECT_BATCH = Integer.getInteger("soak.connect-batch", 500);
+    private static final Pattern SOAK_TITLE = Pattern.compile("\"title\":\"soak-(\\d+)\"");
+
+    @Value("${local.server.port}")
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private NotificationStreamService notificationStreamService;
+
+    @Autowired
+    private NotificationSseRegistry notificationSseRegistry;
+
+    @Test
+    void holdsManyStreamsAndDeliversToThem() throws Exception {
+        List<Long> userIds = createUsers(STREAMS);
+        List<String> tokens = issueTokens(userIds);
+
+        long heapBefore = usedHeapAfterGc();
+        int threadsBefore = ManagementFactory.getThreadMXBean().getThreadCount();
+        long[] sentAt = new long[EVENTS];
+        AtomicLongArray receivedAt = new AtomicLongArray(EVENTS);
+
+        StreamClient client = new StreamClient(port, sentAt, receivedAt);
+        try {
+            long connectStarted = System.nanoTime();
+            for (int from = 0; from < tokens.size(); from += CONNECT_BATCH) {
+                int to = Math.min(from + CONNECT_BATCH, tokens.size());
+                for (String token : tokens.subList(from, to)) {
+                    client.open(token);
+                }
+                int expected = to;
+                awaitUntil(Duration.ofMinutes(2), () -> client.connected() >= expected);
+            }
+            long connectMillis = elapsedMillis(connectStarted);
+            awaitUntil(Duration.ofMinutes(1), () -> notificationSseRegistry.stats().queuedEvents() == 0);
+
+            long heapAfter = usedHeapAfterGc();
+            int threadsAfter = ManagementFactory.getThreadMXBean().getThreadCount();
+
+            long keepaliveStarted = System.nanoTime();
+            notificationStreamService.publishKeepalive();
+            long keepaliveEnqueueMillis = elapsedMillis(keepaliveStarted);
+            awaitUntil(Duration.ofMinutes(1), () -> notificationSseRegistry.stats().queuedEvents() == 0);
+            long keepaliveDrainMillis = elapsedMillis(keepaliveStarted);
+
+            for (int event = 0; event < EVENTS; event++) {
+                Long userId = userIds.get(event % userIds.size());
+                sentAt[event] = System.nanoTime();
+                notificationService.createNotification(
+                    userId,
+                    NotificationTypes.ORDER_CREATED,
+                    "soak-" + event,
+                    "Soak notification",
+                    null
+                );
+            }
+            awaitUntil(Duration.ofMinutes(2), () -> received(receivedAt) == EVENTS);
+
+            long[] latencies = new long[EVENTS];
+            for (int event = 0; event < EVENTS; event++) {
+                latencies[event] = receivedAt.get(event) - sentAt[event];
+            }
+            Arrays.sort(latencies);
+            NotificationStreamStatsResponse stats = notificationSseRegistry.stats();
+
+            System.out.printf(
+                """
+                    notification stream soak (%s delivery):
+                      streams=%d connected in %d ms
+                      heap per stream=%d bytes (server and harness), live threads %d -> %d
+                      keepalive to all streams: enqueue %d ms, drained %d ms
+                      delivery latency over %d events: p50=%.2f ms p99=%.2f ms max=%.2f ms
+                      sent=%d coalesced=%d dropped=%d slowConsumerDisconnects=%d writeFailures=%d
+                    """,
+                stats.deliveryExecutor(),
+                client.connected(),
+                connectMillis,
+                (heapAfter - heapBefore) / STREAMS,
+                threadsBefore,
+                threadsAfter,
+                keepaliveEnqueueMillis,
+                keepaliveDrainMillis,
+                EVENTS,
+                percentile(latencies, 0.50),
+                percentile(latencies, 0.99),
+                percentile(latencies, 1.0),
+                stats.sent(),
+                stats.coalesced(),
+                stats.dropped(),
+                stats.slowConsumerDisconnects(),
+                stats.writeFailures()
+            );
+
+            assertThat(stats.connections()).isEqualTo(STREAMS);
+            assertThat(stats.writeFailures()).isZero();
+            // Idle streams hold no thread; anything close to one thread per stream means a regression.
+            assertThat(threadsAfter - threadsBefore).isLessThan(Math.max(STREAMS / 10, 250));
+        } finally {
+            // Complete the server side first so the emitters are not left writing into closed sockets.
+            notificationSseRegistry.disconnectAll();
+            client.close();
+        }
+    }
+
+    private List<Long> createUsers(int count) {
+        jdbcTemplate.update(
+            """
+                insert into users (username, email, password_hash, is_active)
+                select 'soak-' || g, 'soak-' || g || '@notification-soak.example.test', 'password-hash', true
+                from generate_series(1, ?) g
+                """,
+            count
+        );
+        return jdbcTemplate.queryForList(
+            "select id from users where email like '%@notification-soak.example.test' order by id",
+            Long.class
+        );
+    }
+
+    private List<String> issueTokens(List<Long> userIds) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        return transaction.execute(status -> userRepository.findAllById(userIds).stream()
+            .map(user -> jwtService.generateToken(new UserPrincipal(user)))
+            .toList());
+    }
+
+    private long usedHeapAfterGc() throws InterruptedException {
+        for (int attempt = 0; attempt < 3; attempt++) {
+            System.gc();
+            Thread.sleep(200L);
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private int received(AtomicLongArray receivedAt) {
+        int count = 0;
+        for (int event = 0; event < receivedAt.length(); event++) {
+            if (receivedAt.get(event) != 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private double percentile(long[] sortedNanos, double percentile) {
+        int index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+        return sortedNanos[Math.clamp(index, 0, sortedNanos.length - 1)] / 1_000_000.0;
+    }
+
+    private long elapsedMillis(long startedNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedNanos);
+    }
+
+    private void awaitUntil(Duration timeout, BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (condition.getAsBoolean()) {
+                return;
+            }
+            Thread.sleep(20L);
+        }
+        throw new AssertionError("Soak condition was not met within " + timeout);
+    }
+
+    // Minimal SSE reader: one selector thread for every stream, keeping only the unfinished line per socket.
+    private static final class StreamClient implements AutoCloseable {
+        private final InetSocketAddress address;
+        private final long[] sentAt;
+        private final AtomicLongArray receivedAt;
+        private final Selector selector;
+        private final Queue<StreamState> pending = new ConcurrentLinkedQueue<>();
+        private final List<SocketChannel> channels = new ArrayList<>();
+        private final AtomicInteger connected = new AtomicInteger();
+        private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(64 * 1024);
+        private final Thread loop;
+        private volatile boolean running = true;
+
+        private StreamClient(int port, long[] sentAt, AtomicLongArray receivedAt) throws IOException {
+            this.address = new InetSocketAddress("localhost", port);
+            this.sentAt = sentAt;
+            this.receivedAt = receivedAt;
+            this.selector = Selector.open();
+            this.loop = Thread.ofPlatform().name("notification-soak-client").daemon(true).start(this::run);
+        }
+
+        void open(String token) throws IOException {
+            SocketChannel channel = SocketChannel.open();
+            channel.configureBlocking(false);
+            channel.socket().setReceiveBufferSize(4096);
+            channel.connect(address);
+            pending.add(new StreamState(channel, ("""
+                GET /api/notifications/stream HTTP/1.1\r
+                Host: localhost\r
+                Accept: text/event-stream\r
+                Authorization: Bearer %s\r
+                \r
+                """).formatted(token).getBytes(StandardCharsets.US_ASCII)));
+            channels.add(channel);
+            selector.wakeup();
+        }
+
+        int connected() {
+            return connected.get();
+        }
+
+        private void run() {
+            try {
+                while (running) {
+                    StreamState state;
+                    while ((state = pending.poll()) != null) {
+                        state.channel.register(selector, SelectionKey.OP_CONNECT, state);
+                    }
+                    selector.select(100L);
+                    for (SelectionKey key : selector.selectedKeys()) {
+                        handle(key);
+                    }
+                    selector.selectedKeys().clear();
+                }
+            } catch (IOException ex) {
+                if (running) {
+                    throw new IllegalStateException("Soak client failed", ex);
+                }
+            }
+        }
+
+        private void handle(SelectionKey key) throws IOException {
+            SocketChannel channel = (SocketChannel) key.channel();
+            StreamState state = (StreamState) key.attachment();
+            if (!key.isValid()) {
+                return;
+            }
+            if (key.isConnectable() && channel.finishConnect()) {
+                key.interestOps(SelectionKey.OP_WRITE);
+            }
+            if (key.isValid() && key.isWritable()) {
+                channel.write(state.request);
+                if (!state.request.hasRemaining()) {
+                    key.interestOps(SelectionKey.OP_READ);
+                }
+            }
+            if (key.isValid() && key.isReadable()) {
+                readBuffer.clear();
+                int read = channel.read(readBuffer);
+                if (read < 0) {
+                    key.cancel();
+                    channel.close();
+                    return;
+                }
+                readBuffer.flip();
+                byte[] bytes = new byte[readBuffer.remaining()];
+                readBuffer.get(bytes);
+                accept(state, new String(bytes, StandardCharsets.UTF_8));
+            }
+        }
+
+        private void accept(StreamState state, String chunk) {
+            String text = state.partialLine == null ? chunk : state.partialLine + chunk;
+            int lineStart = 0;
+            int lineEnd;
+            while ((lineEnd = text.indexOf('\n', lineStart)) >= 0) {
+                onLine(state, text.substring(lineStart, lineEnd));
+                lineStart = lineEnd + 1;
+            }
+            state.partialLine = lineStart < text.length() ? text.substring(lineStart) : null;
+        }
+
+        private void onLine(StreamState state, String line) {
+            if (!state.connected && line.startsWith("event:stream.connected")) {
+                state.connected = true;
+                connected.incrementAndGet();
+                return;
+            }
+            // The response is chunked, so the JSON may sit on its own line after the data: field name.
+            Matcher matcher = SOAK_TITLE.matcher(line);
+            if (matcher.find()) {
+                int event = Integer.parseInt(matcher.group(1));
+                if (event < sentAt.length) {
+                    receivedAt.compareAndSet(event, 0L, System.nanoTime());
+                }
+            }
+        }
+
+        @Override
+        public void close() throws Exception {
+            running = false;
+            selector.wakeup();
+            loop.join(TimeUnit.SECONDS.toMillis(5));
+            for (SocketChannel channel : channels) {
+                channel.close();
+            }
+            selector.close();
+        }
+    }
+
+    private static final class StreamState {
+        private final SocketChannel channel;
+        private final ByteBuffer request;
+        private String partialLine;
+        private boolean connected;
+
+        private StreamState(SocketChannel channel, byte[] request) {
+            this.channel = channel;
+            this.request = ByteBuffer.wrap(request);
+        }
+    }
+}
@@ -1,9 +1,13 @@
 package ru.maltsev.primemarketbackend.notification.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static ru.maltsev.primemarketbackend.notification.service.NotificationStreamProperties.SlowConsumerPolicy.DISCONNECT;
+import static ru.maltsev.primemarketbackend.notification.service.NotificationStreamProperties.SlowConsumerPolicy.DROP;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.function.BooleanSupplier;
 import org.junit.jupiter.api.Test;
 
@@ -32,8 +36,76 @@ class NotificationSseRegistryTest {
         awaitUntil(() -> registry.connectionCount(202L) == 0);
     }
 
+    @Test
+    void unreadCountUpdatesAreCoalescedWhileConnectionIsBusy() {
+        List<Runnable> pendingDrains = new ArrayList<>();
+        NotificationSseRegistry registry = new NotificationSseRegistry(properties(4, DISCONNECT), pendingDrains::add);
+        registry.register(303L);
+
+        registry.sendToUser(303L, NotificationStreamEventNames.NOTIFICATION_CREATED, 1L, "created");
+        registry.sendToUser(303L, NotificationStreamEventNames.UNREAD_COUNT_UPDATED, 1);
+        registry.sendToUser(303L, NotificationStreamEventNames.UNREAD_COUNT_UPDATED, 2);
+        registry.sendToUser(303L, NotificationStreamEventNames.UNREAD_COUNT_UPDATED, 3);
+
+        assertThat(pendingDrains).hasSize(1);
+        assertThat(registry.stats().queuedEvents()).isEqualTo(2);
+        assertThat(registry.stats().coalesced()).isEqualTo(2);
+
+        pendingDrains.forEach(Runnable::run);
+
+        assertThat(registry.stats().queuedEvents()).isZero();
+        assertThat(registry.stats().sent()).isEqualTo(2);
+    }
+
+    @Test
+    void slowConsumerIsDisconnectedWhenItsQueueOverflows() {
+        List<Runnable> pendingTasks = new ArrayList<>();
+        NotificationSseRegistry registry = new NotificationSseRegistry(properties(2, DISCONNECT), pendingTasks::add);
+        registry.register(404L);
+        registry.register(405L);
+
+        for (long id = 1; id <= 3; id++) {
+            registry.sendToUser(404L, NotificationStreamEventNames.NOTIFICATION_CREATED, id, "created-" + id);
+        }
+        registry.sendToUser(405L, NotificationStreamEventNames.NOTIFICATION_CREATED, 1L, "created-1");
+
+        assertThat(registry.connectionCount(404L)).isZero();
+        assertThat(registry.connectionCount(405L)).isEqualTo(1);
+        assertThat(registry.stats().slowConsumerDisconnects()).isEqualTo(1);
+        assertThat(registry.stats().maxQueueDepth()).isEqualTo(1);
+    }
+
+    @Test
+    void dropPolicyKeepsSlowConsumerConnected() {
+        List<Runnable> pendingDrains = new ArrayList<>();
+        NotificationSseRegistry registry = new NotificationSseRegistry(properties(2, DROP), pendingDrains::add);
+        registry.register(505L);
+
+        for (long id = 1; id <= 3; id++) {
+            registry.sendToUser(505L, NotificationStreamEventNames.NOTIFICATION_CREATED, id, "created-" + id);
+        }
+
+        assertThat(registry.connectionCount(505L)).isEqualTo(1);
+        assertThat(registry.stats().dropped()).isEqualTo(1);
+        assertThat(registry.stats().maxQueueDepth()).isEqualTo(2);
+    }
+
     private NotificationStreamProperties properties() {
-        return new NotificationStreamProperties(Duration.ofMinutes(30), Duration.ofSeconds(25));
+        return properties(256, DISCONNECT);
+    }
+
+    private NotificationStreamProperties properties(
+        int queueCapacity,
+        NotificationStreamProperties.SlowConsumerPolicy slowConsumerPolicy
+    ) {
+        return new NotificationStreamProperties(
+            Duration.ofMinutes(30),
+            Duration.ofSeconds(25),
+            queueCapacity,
+            slowConsumerPolicy,
+            NotificationStreamProperties.DeliveryExecutor.VIRTUAL,
+            0
+        );
     }
 
     private void awaitUntil(BooleanSupplier condition) throws Exception {
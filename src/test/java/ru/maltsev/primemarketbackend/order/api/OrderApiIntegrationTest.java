@@ -1,6 +1,7 @@
 package ru.maltsev.primemarketbackend.order.api;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
@@ -11,11 +12,20 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.Timestamp;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import javax.sql.DataSource;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -29,6 +39,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.test.web.servlet.request.RequestPostProcessor;
+import org.springframework.transaction.support.TransactionTemplate;
 import ru.maltsev.primemarketbackend.account.domain.UserAccount;
 import ru.maltsev.primemarketbackend.account.repository.UserAccountRepository;
 import ru.maltsev.primemarketbackend.account.service.UserAccountService;
@@ -38,9 +49,12 @@ import ru.maltsev.primemarketbackend.order.domain.OfferReservation;
 import ru.maltsev.primemarketbackend.order.domain.UserAccountHold;
 import ru.maltsev.primemarketbackend.order.domain.UserAccountHoldAllocation;
 import ru.maltsev.primemarketbackend.order.repository.OfferReservationRepository;
+import ru.maltsev.primemarketbackend.order.repository.OrderRepository;
 import ru.maltsev.primemarketbackend.order.repository.UserAccountHoldAllocationRepository;
 import ru.maltsev.primemarketbackend.order.repository.UserAccountHoldRepository;
-import ru.maltsev.primemarketbackend.order.service.OrderLifecycleService;
+import ru.maltsev.primemarketbackend.order.service.OfferReservationReconciliationService;
+import ru.maltsev.primemarketbackend.order.service.OrderExpirationSweeper;
+import ru.maltsev.primemarketbackend.order.service.OrderExpiryTimer;
 import ru.maltsev.primemarketbackend.orderquote.repository.OrderQuoteRepository;
 import ru.maltsev.primemarketbackend.security.user.UserPrincipal;
 import ru.maltsev.primemarketbackend.support.AbstractPostgresIntegrationTest;
@@ -88,7 +102,22 @@ class OrderApiIntegrationTest extends AbstractPostgresIntegrationTest {
     private OrderQuoteRepository orderQuoteRepository;
 
     @Autowired
-    private OrderLifecycleService orderLifecycleService;
+    private OrderExpirationSweeper orderExpirationSweeper;
+
+    @Autowired
+    private OrderExpiryTimer orderExpiryTimer;
+
+    @Autowired
+    private OfferReservationReconciliationService offerReservationReconciliationService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private DataSource dataSource;
 
     private final AtomicLong testRefIdSequence = new AtomicLong(1L);
 
@@ -419,6 +448,71 @@ class OrderApiIntegrationTest extends AbstractPostgresIntegrationTest {
         assertThat(events.get(2).payload().path("deliveredQuantity").decimalValue()).isEqualByComparingTo("20");
     }
 
+    @Test
+    void deliveryTransitionsUseVersionGuardedUpdates() throws Exception {
+        User seller = createUser("guarded-seller");
+        User buyer = createUser("guarded-buyer");
+        fundWallet(buyer, "RUB", "10000.0000");
+
+        JsonNode order = createPendingSellOrder(seller, buyer, "20");
+        String publicOrderId = order.path("publicId").asText();
+        long orderId = order.path("id").asLong();
+        assertThat(loadOrderVersion(orderId)).isEqualTo(1L);
+        confirmReady(seller, publicOrderId);
+        assertThat(loadOrderVersion(orderId)).isEqualTo(2L);
+
+        Integer staleRows = transactionTemplate.execute(status ->
+            orderRepository.markDeliveredIfUnchanged(orderId, "in_progress", 1L)
+        );
+        assertThat(staleRows).isZero();
+        assertThat(loadOrderStatus(publicOrderId)).isEqualTo("in_progress");
+
+        List<String> quantities = List.of("11", "12", "13", "14", "15", "16", "17", "18");
+        ExecutorService executor = Executors.newFixedThreadPool(quantities.size());
+        List<String> applied = new ArrayList<>();
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Integer>> results = new ArrayList<>();
+            for (String quantity : quantities) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return mockMvc.perform(post("/api/orders/{orderId}/mark-partially-delivered", publicOrderId)
+                            .with(auth(seller))
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("""
+                                {
+                                  "deliveredQuantity": %s
+                                }
+                                """.formatted(quantity)))
+                        .andReturn()
+                        .getResponse()
+                        .getStatus();
+                }));
+            }
+            start.countDown();
+            for (int i = 0; i < quantities.size(); i++) {
+                int responseStatus = results.get(i).get(30, TimeUnit.SECONDS);
+                assertThat(responseStatus).isIn(200, 400);
+                if (responseStatus == 200) {
+                    applied.add(quantities.get(i));
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        BigDecimal highestApplied = applied.stream().map(BigDecimal::new).max(BigDecimal::compareTo).orElseThrow();
+        JsonNode details = getOrderDetails(seller, publicOrderId);
+        assertThat(details.path("deliveredQuantity").decimalValue()).isEqualByComparingTo(highestApplied);
+        assertThat(loadOrderEvents(orderId)).hasSize(2 + applied.size());
+
+        User support = userRepository.findWithRolesByEmailIgnoreCase("sup1@123.123").orElseThrow();
+        mockMvc.perform(get("/api/admin/orders/transitions").with(auth(support)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.optimisticEnabled").value(true))
+            .andExpect(jsonPath("$.optimisticApplied").value(greaterThanOrEqualTo(2)));
+    }
+
     @Test
     void buyerCanConfirmReceivedAndCompleteSellOfferOrder() throws Exception {
         User seller = createUser("complete-sell-seller");
@@ -964,7 +1058,7 @@ class OrderApiIntegrationTest extends AbstractPostgresIntegrationTest {
 
         JsonNode order = createPendingSellOrder(seller, buyer, "20");
         forceOrderExpiration(order.path("publicId").asText());
-        int expiredCount = orderLifecycleService.expirePendingOrders(Instant.now());
+        int expiredCount = orderExpirationSweeper.sweep(Instant.now());
 
         long orderId = order.path("id").asLong();
         UserAccountHold hold = userAccountHoldRepository.findByRef("order", orderId, "order_funds_hold").orElseThrow();
@@ -987,7 +1081,7 @@ class OrderApiIntegrationTest extends AbstractPostgresIntegrationTest {
         JsonNode order = createPendingSellOrder(seller, buyer, "20");
         forceOrderExpiration(order.path("publicId").asText());
 
-        int expiredCount = orderLifecycleService.expirePendingOrders(Instant.now());
+        int expiredCount = orderExpirationSweeper.sweep(Instant.now());
 
         List<StoredOrderEvent> events = loadOrderEvents(order.path("id").asLong());
         assertThat(expiredCount).isEqualTo(1);
@@ -1007,7 +1101,7 @@ class OrderApiIntegrationTest extends AbstractPostgresIntegrationTest {
         JsonNode order = createPendingBuyOrder(buyerMaker, sellerTaker, "20");
         long offerId = loadOfferIdForOrder(order.path("id").asLong());
         forceOrderExpiration(order.path("publicId").asText());
-        int expiredCount = orderLifecycleService.expirePendingOrders(Instant.now());
+        int expiredCount = orderExpirationSweeper.sweep(Instant.now());
 
         UserAccountHold parentHold = userAccountHoldRepository.findByRef("offer", offerId, "buy_offer_funds_hold").orElseThrow();
         UserAccountHoldAllocation allocation = userAccountHoldAllocationRepository.findByOrderId(order.path("id").asLong()).orElseThrow();
@@ -1023,6 +1117,154 @@ class OrderApiIntegrationTest extends AbstractPostgresIntegrationTest {
         assertThat(buyerWallet.getReserved()).isEqualByComparingTo("250.0000");
     }
 
+    @Test
+    void expirationSweepStatsReportLastRunAndBacklog() throws Exception {
+        User seller = createUser("expire-stats-seller");
+        User buyer = createUser("expire-stats-buyer");
+        fundWallet(buyer, "RUB", "10000.0000");
+
+        JsonNode first = createPendingSellOrder(seller, buyer, "10", "expire-stats-first");
+        JsonNode second = createPendingSellOrder(seller, buyer, "10", "expire-stats-second");
+        forceOrderExpiration(first.path("publicId").asText());
+        forceOrderExpiration(second.path("publicId").asText());
+        int expiredCount = orderExpirationSweeper.sweep(Instant.now());
+
+        User support = userRepository.findWithRolesByEmailIgnoreCase("sup1@123.123").orElseThrow();
+        assertThat(expiredCount).isEqualTo(2);
+        mockMvc.perform(get("/api/admin/orders/expiration").with(auth(support)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.backlog").value(0))
+            .andExpect(jsonPath("$.lastSweepExpired").value(2))
+            .andExpect(jsonPath("$.lastSweepBatches").value(1))
+            .andExpect(jsonPath("$.failedBatches").value(0));
+        mockMvc.perform(get("/api/backoffice/orders/expiration").with(auth(buyer)))
+            .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void expiryTimerExpiresPendingOrderWithoutWaitingForSweep() throws Exception {
+        User seller = createUser("expire-timer-seller");
+        User buyer = createUser("expire-timer-buyer");
+        fundWallet(buyer, "RUB", "10000.0000");
+
+        JsonNode order = createPendingSellOrder(seller, buyer, "20");
+        String publicOrderId = order.path("publicId").asText();
+        Instant expiresAt = Instant.now().plusMillis(300);
+        jdbcTemplate.update(
+            "update orders set expires_at = ? where public_id = ?",
+            Timestamp.from(expiresAt),
+            UUID.fromString(publicOrderId)
+        );
+        orderExpiryTimer.schedule(order.path("id").asLong(), expiresAt);
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!"expired".equals(loadOrderStatus(publicOrderId)) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+
+        User support = userRepository.findWithRolesByEmailIgnoreCase("sup1@123.123").orElseThrow();
+        UserAccount buyerWallet = userAccountRepository.findByUserIdAndCurrencyCode(buyer.getId(), "RUB").orElseThrow();
+        assertThat(loadOrderStatus(publicOrderId)).isEqualTo("expired");
+        assertThat(buyerWallet.getReserved()).isEqualByComparingTo("0.0000");
+        assertThat(loadOrderEvents(order.path("id").asLong()).get(1).eventType()).isEqualTo("order_expired");
+        mockMvc.perform(get("/api/admin/orders/expiration/timer").with(auth(support)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.enabled").value(true))
+            .andExpect(jsonPath("$.lateness.sampled").value(greaterThanOrEqualTo(1)));
+    }
+
+    @Test
+    void concurrentTakersOnHotBuyOfferAllocateFundsWithoutDeadlocks() throws Exception {
+        User buyerMaker = createUser("hot-buy-maker");
+        fundWallet(buyerMaker, "USD", "500.0000");
+        long offerId = createActiveOffer(buyerMaker, "buy", "USD", "2.50", "Hot buy offer");
+        int takers = 10;
+        List<User> sellers = new ArrayList<>();
+        List<String> quoteIds = new ArrayList<>();
+        for (int i = 0; i < takers; i++) {
+            sellers.add(createUser("hot-buy-seller-" + i));
+            quoteIds.add(createQuote(offerId, "sell", "RUB", 1L, SELL_QUOTE_DISPLAY_PRICE).path("quoteId").asText());
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(takers);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < takers; i++) {
+                User seller = sellers.get(i);
+                String quoteId = quoteIds.get(i);
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return mockMvc.perform(post("/api/orders")
+                            .with(auth(seller))
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(createOrderRequest(quoteId, "10")))
+                        .andReturn()
+                        .getResponse()
+                        .getStatus();
+                }));
+            }
+            start.countDown();
+            for (Future<Integer> result : results) {
+                assertThat(result.get(30, TimeUnit.SECONDS)).isEqualTo(201);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        UserAccountHold buyOfferHold = userAccountHoldRepository.findByRef("offer", offerId, "buy_offer_funds_hold")
+            .orElseThrow();
+        BigDecimal allocated = jdbcTemplate.queryForObject(
+            "select coalesce(sum(amount), 0) from user_account_hold_allocations where user_account_hold_id = ? and status = 'active'",
+            BigDecimal.class,
+            buyOfferHold.getId()
+        );
+        UserAccount buyerWallet = userAccountRepository.findByUserIdAndCurrencyCode(buyerMaker.getId(), "USD").orElseThrow();
+        assertThat(loadOfferReservedQuantity(offerId)).isEqualByComparingTo("100");
+        assertThat(allocated).isEqualByComparingTo("250.0000");
+        assertThat(buyerWallet.getReserved()).isEqualByComparingTo("250.0000");
+
+        User support = userRepository.findWithRolesByEmailIgnoreCase("sup1@123.123").orElseThrow();
+        mockMvc.perform(get("/api/admin/orders/funds-locks").with(auth(support)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.offerLockAcquisitions").value(greaterThanOrEqualTo(takers)))
+            .andExpect(jsonPath("$.deadlockFailures").value(0));
+    }
+
+    @Test
+    void offerReservedQuantityFollowsReservationLifecycle() throws Exception {
+        User seller = createUser("reserved-counter-seller");
+        User buyer = createUser("reserved-counter-buyer");
+        fundWallet(buyer, "RUB", "20000.0000");
+
+        JsonNode expiring = createPendingSellOrder(seller, buyer, "20");
+        long offerId = loadOfferIdForOrder(expiring.path("id").asLong());
+        assertThat(loadOfferReservedQuantity(offerId)).isEqualByComparingTo("20");
+        assertThat(loadOfferAvailableQuantity(offerId)).isEqualByComparingTo("80");
+
+        forceOrderExpiration(expiring.path("publicId").asText());
+        orderExpirationSweeper.sweep(Instant.now());
+        assertThat(loadOfferReservedQuantity(offerId)).isEqualByComparingTo("0");
+        assertThat(loadOfferAvailableQuantity(offerId)).isEqualByComparingTo("100");
+    }
+
+    @Test
+    void reconciliationCorrectsReservedQuantityDrift() throws Exception {
+        User seller = createUser("reserved-drift-seller");
+        User buyer = createUser("reserved-drift-buyer");
+        fundWallet(buyer, "RUB", "10000.0000");
+
+        JsonNode order = createPendingSellOrder(seller, buyer, "20");
+        long offerId = loadOfferIdForOrder(order.path("id").asLong());
+        jdbcTemplate.update("update offers set reserved_quantity = ? where id = ?", new BigDecimal("7"), offerId);
+
+        int corrected = offerReservationReconciliationService.reconcileReservedQuantities();
+
+        assertThat(corrected).isEqualTo(1);
+        assertThat(loadOfferReservedQuantity(offerId)).isEqualByComparingTo("20");
+        assertThat(offerReservationReconciliationService.reconcileReservedQuantities()).isZero();
+    }
+
     @Test
     void repeatedCancelOnCanceledOrderFailsPredictably() throws Exception {
         User seller = createUser("repeat-cancel-seller");
@@ -1132,6 +1374,80 @@ class OrderApiIntegrationTest extends AbstractPostgresIntegrationTest {
         assertThat(response.path("items").get(0).path("status").asText()).isEqualTo("in_progress");
     }
 
+    @Test
+    void getMyOrdersKeysetCursorWalksMakerAndTakerHistoryWithoutGaps() throws Exception {
+        User sharedUser = createUser("orders-keyset");
+        User firstBuyer = createUser("orders-keyset-b1");
+        User secondBuyer = createUser("orders-keyset-b2");
+        User sellerCounterparty = createUser("orders-keyset-s");
+
+        fundWallet(sharedUser, "RUB", "10000.0000");
+        fundWallet(firstBuyer, "RUB", "10000.0000");
+        fundWallet(secondBuyer, "RUB", "10000.0000");
+
+        createPendingSellOrder(sharedUser, firstBuyer, "10", "Keyset maker 1");
+        JsonNode tiedMaker = createPendingSellOrder(sharedUser, secondBuyer, "10", "Keyset maker 2");
+        JsonNode tiedTaker = createPendingSellOrder(sellerCounterparty, sharedUser, "10", "Keyset taker 1");
+        createPendingSellOrder(sharedUser, firstBuyer, "10", "Keyset maker 3");
+        createPendingSellOrder(sellerCounterparty, sharedUser, "10", "Keyset taker 2");
+        jdbcTemplate.update(
+            "update orders set created_at = (select created_at from orders where public_id = ?::uuid) where public_id = ?::uuid",
+            tiedMaker.path("publicId").asText(),
+            tiedTaker.path("publicId").asText()
+        );
+
+        List<String> expectedTitles = new ArrayList<>();
+        getMyOrders(sharedUser, null, null, 0, 20).path("items")
+            .forEach(item -> expectedTitles.add(item.path("title").asText()));
+        assertThat(expectedTitles).hasSize(5);
+
+        List<String> walkedTitles = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            MockHttpServletRequestBuilder request = get("/api/my/orders")
+                .with(auth(sharedUser))
+                .param("pagination", "keyset")
+                .param("size", "2");
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            JsonNode page = readBody(mockMvc.perform(request).andExpect(status().isOk()).andReturn());
+            assertThat(page.path("total").isNull()).isTrue();
+            page.path("items").forEach(item -> walkedTitles.add(item.path("title").asText()));
+            cursor = page.path("nextCursor").isNull() ? null : page.path("nextCursor").asText();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(walkedTitles).containsExactlyElementsOf(expectedTitles);
+
+        mockMvc.perform(get("/api/my/orders")
+                .with(auth(sharedUser))
+                .param("pagination", "keyset")
+                .param("role", "taker")
+                .param("includeTotal", "true"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.total").value(2))
+            .andExpect(jsonPath("$.items.length()").value(2))
+            .andExpect(jsonPath("$.items[0].myRole").value("buyer"))
+            .andExpect(jsonPath("$.items[0].counterparty.username").value(sellerCounterparty.getUsername()))
+            .andExpect(jsonPath("$.items[0].financialSummary.viewerPerspective").value("taker"))
+            .andExpect(jsonPath("$.nextCursor").doesNotExist());
+
+        mockMvc.perform(get("/api/my/orders")
+                .with(auth(sharedUser))
+                .param("cursor", "not-a-cursor"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.code").value("INVALID_ORDER_CURSOR"));
+
+        mockMvc.perform(get("/api/my/orders")
+                .with(auth(sharedUser))
+                .param("pagination", "scroll"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.code").value("INVALID_PAGINATION"));
+    }
+
     @Test
     void getMyOrdersRejectsInvalidPagingParameters() throws Exception {
         User user = createUser("orders-paging");
@@ -1331,6 +1647,32 @@ class OrderApiIntegrationTest extends AbstractPostgresIntegrationTest {
         assertThat(messages.path("items").get(0).path("sender").isNull()).isTrue();
     }
 
+    @Test
+    void conversationListingDoesNotWaitForOrderRowLock() throws Exception {
+        User seller = createUser("chat-lockfree-s");
+        User buyer = createUser("chat-lockfree-b");
+        fundWallet(buyer, "RUB", "10000.0000");
+
+        JsonNode order = createPendingSellOrder(seller, buyer, "20");
+        String publicOrderId = order.path("publicId").asText();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try (Connection lockHolder = dataSource.getConnection()) {
+            lockHolder.setAutoCommit(false);
+            try (PreparedStatement statement = lockHolder.prepareStatement("select id from orders where id = ? for update")) {
+                statement.setLong(1, order.path("id").asLong());
+                statement.executeQuery().close();
+            }
+
+            Future<JsonNode> conversations = executor.submit(() -> getOrderConversations(buyer, publicOrderId));
+            JsonNode items = conversations.get(5, TimeUnit.SECONDS).path("items");
+            assertThat(items).hasSize(1);
+            assertThat(items.get(0).path("conversationType").asText()).isEqualTo("order_main");
+            lockHolder.rollback();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     @Test
     void buyerSeesOnlyMainConversationBeforeDisputeOpens() throws Exception {
         User seller = createUser("chat-buyer-s");
@@ -1869,6 +2211,11 @@ class OrderApiIntegrationTest extends AbstractPostgresIntegrationTest {
         );
     }
 
+    private long loadOrderVersion(long orderId) {
+        Long version = jdbcTemplate.queryForObject("select version from orders where id = ?", Long.class, orderId);
+        return version == null ? 0L : version;
+    }
+
     private String loadOrderStatus(String publicOrderId) {
         return jdbcTemplate.queryForObject(
             "select status from orders where public_id = ?",
@@ -1893,6 +2240,22 @@ class OrderApiIntegrationTest extends AbstractPostgresIntegrationTest {
         );
     }
 
+    private BigDecimal loadOfferReservedQuantity(long offerId) {
+        return jdbcTemplate.queryForObject(
+            "select reserved_quantity from offers where id = ?",
+            BigDecimal.class,
+            offerId
+        );
+    }
+
+    private BigDecimal loadOfferAvailableQuantity(long offerId) {
+        return jdbcTemplate.queryForObject(
+            "select available_quantity from offers where id = ?",
+            BigDecimal.class,
+            offerId
+        );
+    }
+
     private BigDecimal loadOfferMaxTradeQuantity(long offerId) {
         return jdbcTemplate.queryForObject(
             "select max_trade_quantity from offers where id = ?",
@@ -0,0 +1,268 @@
+package ru.maltsev.primemarketbackend.orderquote.api;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+import ru.maltsev.primemarketbackend.account.domain.UserAccount;
+import ru.maltsev.primemarketbackend.account.service.UserAccountService;
+import ru.maltsev.primemarketbackend.category.domain.Category;
+import ru.maltsev.primemarketbackend.category.repository.CategoryRepository;
+import ru.maltsev.primemarketbackend.orderquote.api.dto.OrderQuoteStoreStatsResponse;
+import ru.maltsev.primemarketbackend.orderquote.service.OrderQuoteStore;
+import ru.maltsev.primemarketbackend.security.user.UserPrincipal;
+import ru.maltsev.primemarketbackend.support.AbstractPostgresIntegrationTest;
+import ru.maltsev.primemarketbackend.user.domain.User;
+import ru.maltsev.primemarketbackend.user.repository.UserRepository;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = "app.order-quotes.store.in-memory=true")
+@AutoConfigureMockMvc
+class InMemoryOrderQuoteStoreIntegrationTest extends AbstractPostgresIntegrationTest {
+    // Static: this class does not truncate ledger tables, so ref ids must stay unique across test methods.
+    private static final AtomicLong TEST_REF_ID_SEQUENCE = new AtomicLong(1_000_000L);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private UserAccountService userAccountService;
+
+    @Autowired
+    private OrderQuoteStore orderQuoteStore;
+
+    @Test
+    void quotesStayInMemoryUntilAnOrderConsumesThem() throws Exception {
+        User seller = createUser("memory-quote-seller");
+        User buyer = createUser("memory-quote-buyer");
+        fundWallet(buyer, "RUB", "10000.0000");
+        long offerId = createActiveOffer(seller);
+
+        String firstQuoteId = createQuote(offerId).path("quoteId").asText();
+        String refreshedQuoteId = refreshQuote(firstQuoteId).path("quoteId").asText();
+        assertThat(countQuoteRows(offerId)).isZero();
+
+        mockMvc.perform(post("/api/order-quotes/{quoteId}/refresh", firstQuoteId))
+            .andExpect(status().isConflict())
+            .andExpect(jsonPath("$.code").value("ORDER_QUOTE_INVALIDATED"));
+
+        mockMvc.perform(post("/api/orders")
+                .with(auth(buyer))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(createOrderRequest(refreshedQuoteId, "10")))
+            .andExpect(status().isCreated());
+        assertThat(countQuoteRows(offerId)).isEqualTo(1);
+        assertThat(loadQuoteStatus(refreshedQuoteId)).isEqualTo("consumed");
+
+        mockMvc.perform(post("/api/orders")
+                .with(auth(buyer))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(createOrderRequest(refreshedQuoteId, "10")))
+            .andExpect(status().isConflict())
+            .andExpect(jsonPath("$.code").value("ORDER_QUOTE_CONSUMED"));
+
+        User support = userRepository.findWithRolesByEmailIgnoreCase("sup1@123.123").orElseThrow();
+        mockMvc.perform(get("/api/admin/order-quotes/store").with(auth(support)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.mode").value("memory"));
+    }
+
+    @Test
+    void failedOrderCreationReturnsQuoteToMemory() throws Exception {
+        User seller = createUser("memory-rollback-seller");
+        User poorBuyer = createUser("memory-rollback-poor");
+        User buyer = createUser("memory-rollback-buyer");
+        fundWallet(buyer, "RUB", "10000.0000");
+        long offerId = createActiveOffer(seller);
+        String quoteId = createQuote(offerId).path("quoteId").asText();
+
+        mockMvc.perform(post("/api/orders")
+                .with(auth(poorBuyer))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(createOrderRequest(quoteId, "10")))
+            .andExpect(status().is4xxClientError());
+        assertThat(countQuoteRows(offerId)).isZero();
+
+        mockMvc.perform(post("/api/orders")
+                .with(auth(buyer))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(createOrderRequest(quoteId, "10")))
+            .andExpect(status().isCreated());
+        assertThat(loadQuoteStatus(quoteId)).isEqualTo("consumed");
+    }
+
+    @Test
+    void orderCreationCountsOneStoreLookup() throws Exception {
+        User seller = createUser("memory-stats-seller");
+        User buyer = createUser("memory-stats-buyer");
+        fundWallet(buyer, "RUB", "10000.0000");
+        long offerId = createActiveOffer(seller);
+        String quoteId = createQuote(offerId).path("quoteId").asText();
+        OrderQuoteStoreStatsResponse before = orderQuoteStore.stats();
+
+        mockMvc.perform(post("/api/orders")
+                .with(auth(buyer))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(createOrderRequest(quoteId, "10")))
+            .andExpect(status().isCreated());
+
+        OrderQuoteStoreStatsResponse after = orderQuoteStore.stats();
+        assertThat(after.hits()).isEqualTo(before.hits() + 1);
+        assertThat(after.misses()).isEqualTo(before.misses());
+    }
+
+    private User createUser(String slug) {
+        User user = new User(slug, slug + "@memory-quote.example.test", "password-hash");
+        user.setActive(true);
+        return userRepository.saveAndFlush(user);
+    }
+
+    private RequestPostProcessor auth(User user) {
+        UserPrincipal principal = new UserPrincipal(user);
+        return authentication(new UsernamePasswordAuthenticationToken(
+            principal,
+            null,
+            principal.getAuthorities()
+        ));
+    }
+
+    private long createActiveOffer(User owner) throws Exception {
+        Category category = categoryRepository.findActiveByGameSlugAndCategorySlug("path-of-exile", "currency")
+            .orElseThrow();
+        MvcResult result = mockMvc.perform(post("/api/offers")
+                .with(auth(owner))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(activeOfferRequest(category.getGame().getId(), category.getId())))
+            .andExpect(status().isCreated())
+            .andReturn();
+        return readBody(result).path("id").asLong();
+    }
+
+    private void fundWallet(User user, String currencyCode, String amount) {
+        UserAccount account = userAccountService.getOrCreateAccount(user.getId(), currencyCode);
+        jdbcTemplate.update(
+            """
+                insert into user_account_txs (user_account_id, amount, type, ref_type, ref_id)
+                values (?, ?, ?, ?, ?)
+                """,
+            account.getId(),
+            new BigDecimal(amount),
+            "TEST_TOP_UP",
+            "TEST",
+            TEST_REF_ID_SEQUENCE.getAndIncrement()
+        );
+    }
+
+    private JsonNode createQuote(long offerId) throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/market/offers/{offerId}/quote", offerId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                    {
+                      "intent": "buy",
+                      "viewerCurrencyCode": "RUB",
+                      "listedOfferVersion": 1,
+                      "listedUnitPriceAmount": 238.09523810
+                    }
+                    """))
+            .andExpect(status().isOk())
+            .andReturn();
+        return readBody(result);
+    }
+
+    private JsonNode refreshQuote(String quoteId) throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/order-quotes/{quoteId}/refresh", quoteId))
+            .andExpect(status().isOk())
+            .andReturn();
+        return readBody(result);
+    }
+
+    private int countQuoteRows(long offerId) {
+        Integer count = jdbcTemplate.queryForObject(
+            "select count(*) from order_quotes where offer_id = ?",
+            Integer.class,
+            offerId
+        );
+        return count == null ? 0 : count;
+    }
+
+    private String loadQuoteStatus(String quoteId) {
+        return jdbcTemplate.query(
+            "select status from order_quotes where public_id = ?::uuid",
+            rs -> rs.next() ? rs.getString(1) : null,
+            quoteId
+        );
+    }
+
+    private String createOrderRequest(String quoteId, String quantity) {
+        return """
+            {
+              "quoteId": "%s",
+              "quantity": %s
+            }
+            """.formatted(quoteId, quantity);
+    }
+
+    private String activeOfferRequest(Long gameId, Long categoryId) {
+        return """
+            {
+              "gameId": %d,
+              "categoryId": %d,
+              "side": "sell",
+              "title": "Sell Divine Orb",
+              "description": "Fast trade",
+              "tradeTerms": "Whisper in game",
+              "priceCurrencyCode": "USD",
+              "priceAmount": 2.50,
+              "quantity": 100,
+              "minTradeQuantity": 10,
+              "maxTradeQuantity": 50,
+              "quantityStep": 1,
+              "status": "active",
+              "contexts": [
+                {"dimensionSlug":"platform","valueSlug":"pc"},
+                {"dimensionSlug":"league","valueSlug":"standard"},
+                {"dimensionSlug":"mode","valueSlug":"softcore"},
+                {"dimensionSlug":"ruthless","valueSlug":"disabled"}
+              ],
+              "attributes": [
+                {"attributeSlug":"currency-type","optionSlug":"divine-orb"}
+              ],
+              "deliveryMethods": ["f2f", "poe-trade-link"]
+            }
+            """.formatted(gameId, categoryId);
+    }
+
+    private JsonNode readBody(MvcResult result) throws Exception {
+        return objectMapper.readTree(result.getResponse().getContentAsString());
+    }
+}
@@ -1,7 +1,9 @@
 package ru.maltsev.primemarketbackend.orderquote.api;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -11,6 +13,7 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.math.BigDecimal;
 import java.sql.Timestamp;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicLong;
@@ -31,6 +34,7 @@ import ru.maltsev.primemarketbackend.account.service.UserAccountService;
 import ru.maltsev.primemarketbackend.category.domain.Category;
 import ru.maltsev.primemarketbackend.category.repository.CategoryRepository;
 import ru.maltsev.primemarketbackend.offer.repository.OfferRepository;
+import ru.maltsev.primemarketbackend.orderquote.service.OrderQuoteRetentionSweeper;
 import ru.maltsev.primemarketbackend.security.user.UserPrincipal;
 import ru.maltsev.primemarketbackend.support.AbstractPostgresIntegrationTest;
 import ru.maltsev.primemarketbackend.user.domain.User;
@@ -61,6 +65,9 @@ class OrderQuoteApiIntegrationTest extends AbstractPostgresIntegrationTest {
     @Autowired
     private UserAccountService userAccountService;
 
+    @Autowired
+    private OrderQuoteRetentionSweeper orderQuoteRetentionSweeper;
+
     private final AtomicLong testRefIdSequence = new AtomicLong(1L);
 
     @BeforeEach
@@ -256,6 +263,43 @@ class OrderQuoteApiIntegrationTest extends AbstractPostgresIntegrationTest {
         assertThat(storedStatus).isEqualTo("expired");
     }
 
+    @Test
+    void retentionSweepExpiresLapsedQuotesAndPurgesOldTerminalOnes() throws Exception {
+        User seller = createUser("quote-retention-seller");
+        long offerId = createActiveOffer(seller, "sell", "USD", "2.50", "divine-orb", "Sell Divine Orb");
+        UUID activeQuoteId = quoteId(createQuote(offerId, "buy", "RUB", 1L, "238.09523810"));
+        UUID lapsedQuoteId = quoteId(createQuote(offerId, "buy", "RUB", 1L, "238.09523810"));
+        UUID oldQuoteId = quoteId(createQuote(offerId, "buy", "RUB", 1L, "238.09523810"));
+        UUID consumedQuoteId = quoteId(createQuote(offerId, "buy", "RUB", 1L, "238.09523810"));
+        expireQuote(lapsedQuoteId);
+        jdbcTemplate.update(
+            "update order_quotes set expires_at = ? where public_id in (?, ?)",
+            Timestamp.from(Instant.now().minus(Duration.ofDays(2))),
+            oldQuoteId,
+            consumedQuoteId
+        );
+        jdbcTemplate.update("update order_quotes set status = 'consumed' where public_id = ?", consumedQuoteId);
+
+        orderQuoteRetentionSweeper.sweep(Instant.now());
+
+        assertThat(loadQuoteStatus(activeQuoteId)).isEqualTo("active");
+        assertThat(loadQuoteStatus(lapsedQuoteId)).isEqualTo("expired");
+        assertThat(loadQuoteStatus(oldQuoteId)).isNull();
+        assertThat(loadQuoteStatus(consumedQuoteId)).isEqualTo("consumed");
+
+        User support = userRepository.findWithRolesByEmailIgnoreCase("sup1@123.123").orElseThrow();
+        mockMvc.perform(get("/api/admin/order-quotes/retention").with(auth(support)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.lastSweepExpired").value(2))
+            .andExpect(jsonPath("$.lastSweepPurged").value(1))
+            .andExpect(jsonPath("$.quotesByStatus.active").value(1))
+            .andExpect(jsonPath("$.quotesByStatus.expired").value(1))
+            .andExpect(jsonPath("$.quotesByStatus.consumed").value(1))
+            .andExpect(jsonPath("$.tableSizeBytes").value(greaterThan(0)));
+        mockMvc.perform(get("/api/backoffice/order-quotes/retention").with(auth(seller)))
+            .andExpect(status().isForbidden());
+    }
+
     private User createUser(String slug) {
         String username = slug;
         if (username.length() > 24) {
@@ -348,6 +392,18 @@ class OrderQuoteApiIntegrationTest extends AbstractPostgresIntegrationTest {
         return readBody(result);
     }
 
+    private UUID quoteId(JsonNode quote) {
+        return UUID.fromString(quote.path("quoteId").asText());
+    }
+
+    private String loadQuoteStatus(UUID quoteId) {
+        return jdbcTemplate.query(
+            "select status from order_quotes where public_id = ?",
+            rs -> rs.next() ? rs.getString(1) : null,
+            quoteId
+        );
+    }
+
     private void expireQuote(UUID quoteId) {
         jdbcTemplate.update(
             "update order_quotes set expires_at = ? where public_id = ?",
@@ -0,0 +1,145 @@
+package ru.maltsev.primemarketbackend.platform.api;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.maltsev.primemarketbackend.ledger.service.LedgerWriter;
+import ru.maltsev.primemarketbackend.platform.service.PlatformFeeShardService;
+import ru.maltsev.primemarketbackend.security.user.UserPrincipal;
+import ru.maltsev.primemarketbackend.support.AbstractPostgresIntegrationTest;
+import ru.maltsev.primemarketbackend.user.domain.User;
+import ru.maltsev.primemarketbackend.user.repository.UserRepository;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = {
+    "app.platform.fee-shards.enabled=true",
+    "app.platform.fee-shards.shards=4",
+    "app.platform.fee-shards.roll-up-interval=1h"
+})
+@AutoConfigureMockMvc
+class PlatformFeeShardIntegrationTest extends AbstractPostgresIntegrationTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LedgerWriter ledgerWriter;
+
+    @Autowired
+    private PlatformFeeShardService platformFeeShardService;
+
+    @BeforeEach
+    void resetState() {
+        jdbcTemplate.execute("""
+            truncate table
+                platform_account_txs,
+                platform_account_shards,
+                platform_accounts
+            restart identity cascade
+            """);
+    }
+
+    @Test
+    void concurrentFeesLandOnStripesAndRollUpIntoPlatformBalance() throws Exception {
+        int threads = 8;
+        int ordersPerThread = 5;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                long firstOrderId = (long) t * ordersPerThread + 1;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    for (long orderId = firstOrderId; orderId < firstOrderId + ordersPerThread; orderId++) {
+                        long refId = orderId;
+                        transactionTemplate.executeWithoutResult(status -> ledgerWriter.creditPlatform(
+                            "USD",
+                            new BigDecimal("0.2500"),
+                            "ORDER_PLATFORM_FEE",
+                            "ORDER_PLATFORM_FEE",
+                            refId
+                        ));
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(loadPlatformBalance("USD")).isEqualByComparingTo("0");
+        assertThat(countRows("select count(*) from platform_account_txs where shard_no is not null")).isEqualTo(40);
+        assertThat(countRows("select count(*) from platform_account_shards where balance > 0")).isEqualTo(4);
+
+        User support = userRepository.findWithRolesByEmailIgnoreCase("sup1@123.123").orElseThrow();
+        mockMvc.perform(get("/api/admin/platform-accounts/fee-shards").with(auth(support)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.enabled").value(true))
+            .andExpect(jsonPath("$.accounts[0].currencyCode").value("USD"))
+            .andExpect(jsonPath("$.accounts[0].unrolledAmount").value(10.0))
+            .andExpect(jsonPath("$.accounts[0].totalBalance").value(10.0));
+
+        assertThat(platformFeeShardService.rollUp()).isEqualTo(1);
+        assertThat(loadPlatformBalance("USD")).isEqualByComparingTo("10.0000");
+        assertThat(countRows("select count(*) from platform_account_shards where balance > 0")).isZero();
+        assertThat(platformFeeShardService.rollUp()).isZero();
+        assertThat(loadPlatformBalance("USD")).isEqualByComparingTo("10.0000");
+    }
+
+    private int countRows(String sql) {
+        Integer count = jdbcTemplate.queryForObject(sql, Integer.class);
+        return count == null ? 0 : count;
+    }
+
+    private BigDecimal loadPlatformBalance(String currencyCode) {
+        return jdbcTemplate.query(
+            "select balance from platform_accounts where currency_code = ?",
+            rs -> rs.next() ? rs.getBigDecimal(1) : BigDecimal.ZERO,
+            currencyCode
+        );
+    }
+
+    private RequestPostProcessor auth(User user) {
+        UserPrincipal principal = new UserPrincipal(user);
+        return authentication(new UsernamePasswordAuthenticationToken(
+            principal,
+            null,
+            principal.getAuthorities()
+        ));
+    }
+}
@@ -0,0 +1,79 @@
+package ru.maltsev.primemarketbackend.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.maltsev.primemarketbackend.security.jwt.JwtService;
+import ru.maltsev.primemarketbackend.security.user.PrincipalCache;
+import ru.maltsev.primemarketbackend.security.user.UserPrincipal;
+import ru.maltsev.primemarketbackend.support.AbstractPostgresIntegrationTest;
+import ru.maltsev.primemarketbackend.user.domain.User;
+import ru.maltsev.primemarketbackend.user.repository.UserRepository;
+
+@ActiveProfiles("test")
+@SpringBootTest
+@AutoConfigureMockMvc
+class JwtAuthenticationIntegrationTest extends AbstractPostgresIntegrationTest {
+    private static final String EMAIL = "user2@123.123";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void bearerRequestsReuseCachedPrincipalUntilTokenVersionChanges() throws Exception {
+        principalCache.clear();
+        String token = jwtService.generateToken(new UserPrincipal(loadUser()));
+        long missesBefore = principalCache.misses();
+        long hitsBefore = principalCache.hits();
+
+        mockMvc.perform(get("/api/users/me").header("Authorization", "Bearer " + token))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.email").value(EMAIL));
+        mockMvc.perform(get("/api/users/me").header("Authorization", "Bearer " + token))
+            .andExpect(status().isOk());
+
+        assertThat(principalCache.misses()).isEqualTo(missesBefore + 1);
+        assertThat(principalCache.hits()).isEqualTo(hitsBefore + 1);
+
+        jdbcTemplate.update("update users set token_version = token_version + 1 where lower(email) = lower(?)", EMAIL);
+        try {
+            principalCache.evict(EMAIL);
+
+            mockMvc.perform(get("/api/users/me").header("Authorization", "Bearer " + token))
+                .andExpect(status().isUnauthorized());
+
+            String reissued = jwtService.generateToken(new UserPrincipal(loadUser()));
+            mockMvc.perform(get("/api/users/me").header("Authorization", "Bearer " + reissued))
+                .andExpect(status().isOk());
+        } finally {
+            jdbcTemplate.update("update users set token_version = 0 where lower(email) = lower(?)", EMAIL);
+            principalCache.evict(EMAIL);
+        }
+    }
+
+    private User loadUser() {
+        return userRepository.findWithRolesByEmailIgnoreCase(EMAIL)
+            .orElseThrow(() -> new IllegalStateException("User not found: " + EMAIL));
+    }
+}
@@ -0,0 +1,74 @@
+package ru.maltsev.primemarketbackend.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.maltsev.primemarketbackend.security.jwt.JwtService;
+import ru.maltsev.primemarketbackend.security.jwt.JwtService.AccessTokenClaims;
+import ru.maltsev.primemarketbackend.security.user.PrincipalCache;
+import ru.maltsev.primemarketbackend.security.user.UserPrincipal;
+import ru.maltsev.primemarketbackend.support.AbstractPostgresIntegrationTest;
+import ru.maltsev.primemarketbackend.user.domain.User;
+import ru.maltsev.primemarketbackend.user.repository.UserRepository;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = {
+    "security.jwt.stateless.enabled=true",
+    "security.jwt.stateless.revocation-epoch=3"
+})
+@AutoConfigureMockMvc
+class StatelessJwtAuthenticationIntegrationTest extends AbstractPostgresIntegrationTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void statelessTokensCarryAuthoritiesAndSkipPrincipalLookup() throws Exception {
+        User support = loadUser("sup1@123.123");
+        User regularUser = loadUser("user1@123.123");
+        String supportToken = jwtService.generateToken(new UserPrincipal(support));
+        String regularToken = jwtService.generateToken(new UserPrincipal(regularUser));
+
+        AccessTokenClaims claims = jwtService.parseAccessToken(supportToken);
+        assertThat(claims.isStateless()).isTrue();
+        assertThat(claims.userId()).isEqualTo(support.getId());
+        assertThat(claims.revocationEpoch()).isEqualTo(3);
+        assertThat(claims.permissions()).contains(PermissionCodes.DEPOSIT_APPROVE);
+        assertThat(jwtService.toStatelessPrincipal(claims).hasAuthority(PermissionCodes.DEPOSIT_APPROVE)).isTrue();
+
+        long hitsBefore = principalCache.hits();
+        long missesBefore = principalCache.misses();
+
+        mockMvc.perform(get("/api/admin/deposit-requests").header("Authorization", "Bearer " + supportToken))
+            .andExpect(status().isOk());
+        mockMvc.perform(get("/api/admin/deposit-requests").header("Authorization", "Bearer " + regularToken))
+            .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/users/me").header("Authorization", "Bearer " + regularToken))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.id").value(regularUser.getId()));
+
+        assertThat(principalCache.hits()).isEqualTo(hitsBefore);
+        assertThat(principalCache.misses()).isEqualTo(missesBefore);
+    }
+
+    private User loadUser(String email) {
+        return userRepository.findWithRolesByEmailIgnoreCase(email)
+            .orElseThrow(() -> new IllegalStateException("User not found: " + email));
+    }
+}